@@ -0,0 +1,109 @@
+package com.tenable.io.api.codecs;
+
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.core.utilities.AbstractJsonCodec;
+import com.tenable.io.core.utilities.models.MacAddress;
+
+
+/**
+ * Streaming codec of Asset, the record of assets export chunks. Reads and writes the same JSON as Jackson databind
+ * binding of the model; the IPv4 address is parsed without host name lookup, the MAC addresses are still bound by
+ * databind.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class AssetCodec extends AbstractJsonCodec<Asset> {
+    private static final TypeReference<List<MacAddress>> macAddressesType = new TypeReference<List<MacAddress>>() {};
+
+
+    /**
+     * Instantiates a new asset codec.
+     */
+    public AssetCodec() {
+        super( Asset.class );
+    }
+
+
+    @Override
+    protected Asset newInstance() {
+        return new Asset();
+    }
+
+
+    @Override
+    protected boolean readField( JsonParser parser, String name, Asset value ) throws IOException {
+        switch( name ) {
+            case "biosUuid":
+                value.setBiosUuid( readUuid( parser ) );
+                return true;
+            case "hostFqdn":
+                value.setHostFqdn( readString( parser ) );
+                return true;
+            case "hostName":
+                value.setHostName( readString( parser ) );
+                return true;
+            case "hostIpV4":
+                value.setHostIpV4Address( readIpV4( parser ) );
+                return true;
+            case "id":
+                value.setId( readUuid( parser ) );
+                return true;
+            case "lastHostScanStart":
+                value.setLastHostScanStartMillis( readTimestamp( parser ) );
+                return true;
+            case "lastHostScanEnd":
+                value.setLastHostScanEndMillis( readTimestamp( parser ) );
+                return true;
+            case "lastAuthenticatedScanProto":
+                value.setLastAuthenticatedScanProto( readString( parser ) );
+                return true;
+            case "lastAuthenticatedResult":
+                value.setLastAuthenticatedResultMillis( readTimestamp( parser ) );
+                return true;
+            case "macAddresses":
+                value.setMacAddresses( parser.getCurrentToken() == JsonToken.VALUE_NULL ? null : parser.readValueAs( macAddressesType ) );
+                return true;
+            case "mcAfeeApoGuid":
+                value.setMcAfeeApoGuid( readUuid( parser ) );
+                return true;
+            case "netbiosName":
+                value.setNetbiosName( readString( parser ) );
+                return true;
+            case "operatingSystem":
+                value.setOperatingSystem( readString( parser ) );
+                return true;
+            case "systemType":
+                value.setSystemType( readString( parser ) );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+
+    @Override
+    protected void writeFields( JsonGenerator generator, Asset value ) throws IOException {
+        writeUuid( generator, "biosUuid", value.getBiosUuid() );
+        writeString( generator, "hostFqdn", value.getHostFqdn() );
+        writeString( generator, "hostName", value.getHostName() );
+        writeIpV4( generator, "hostIpV4", value.getHostIpV4Address() );
+        writeUuid( generator, "id", value.getId() );
+        writeTimestamp( generator, "lastHostScanStart", value.getLastHostScanStartMillis() );
+        writeTimestamp( generator, "lastHostScanEnd", value.getLastHostScanEndMillis() );
+        writeString( generator, "lastAuthenticatedScanProto", value.getLastAuthenticatedScanProto() );
+        writeTimestamp( generator, "lastAuthenticatedResult", value.getLastAuthenticatedResultMillis() );
+        generator.writeObjectField( "macAddresses", value.getMacAddresses() );
+        writeUuid( generator, "mcAfeeApoGuid", value.getMcAfeeApoGuid() );
+        writeString( generator, "netbiosName", value.getNetbiosName() );
+        writeString( generator, "operatingSystem", value.getOperatingSystem() );
+        writeString( generator, "systemType", value.getSystemType() );
+    }
+}
@@ -0,0 +1,89 @@
+package com.tenable.io.api.codecs;
+
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.tenable.io.api.exports.models.ExportStatus;
+import com.tenable.io.api.exports.models.Status;
+import com.tenable.io.core.utilities.AbstractJsonCodec;
+
+
+/**
+ * Streaming codec of ExportStatus, read on every poll of a running export.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportStatusCodec extends AbstractJsonCodec<ExportStatus> {
+    /**
+     * Instantiates a new export status codec.
+     */
+    public ExportStatusCodec() {
+        super( ExportStatus.class );
+    }
+
+
+    @Override
+    protected ExportStatus newInstance() {
+        return new ExportStatus();
+    }
+
+
+    @Override
+    protected boolean readField( JsonParser parser, String name, ExportStatus value ) throws IOException {
+        switch( name ) {
+            case "uuid":
+                value.setUuid( readString( parser ) );
+                return true;
+            case "status":
+                value.setStatus( readEnum( parser, Status::forValue ) );
+                return true;
+            case "chunks_available":
+                value.setChunksAvailable( readIntList( parser ) );
+                return true;
+            case "chunks_failed":
+                value.setChunksFailed( readIntList( parser ) );
+                return true;
+            case "chunks_cancelled":
+                value.setChunksCancelled( readIntList( parser ) );
+                return true;
+            case "total_chunks":
+                value.setTotalChunks( readInt( parser ) );
+                return true;
+            case "chunks_available_count":
+                value.setChunksAvailableCount( readInt( parser ) );
+                return true;
+            case "empty_chunks_count":
+                value.setEmptyChunksCount( readInt( parser ) );
+                return true;
+            case "finished_chunks":
+                value.setFinishedChunks( readInt( parser ) );
+                return true;
+            case "num_assets_per_chunk":
+                value.setNumAssetsPerChunk( readInt( parser ) );
+                return true;
+            case "created":
+                value.setCreated( readLong( parser ) );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+
+    @Override
+    protected void writeFields( JsonGenerator generator, ExportStatus value ) throws IOException {
+        writeString( generator, "uuid", value.getUuid() );
+        writeString( generator, "status", value.getStatus() != null ? value.getStatus().name() : null );
+        writeIntList( generator, "chunks_available", value.getChunksAvailable() );
+        writeIntList( generator, "chunks_failed", value.getChunksFailed() );
+        writeIntList( generator, "chunks_cancelled", value.getChunksCancelled() );
+        generator.writeNumberField( "total_chunks", value.getTotalChunks() );
+        generator.writeNumberField( "chunks_available_count", value.getChunksAvailableCount() );
+        generator.writeNumberField( "empty_chunks_count", value.getEmptyChunksCount() );
+        generator.writeNumberField( "finished_chunks", value.getFinishedChunks() );
+        generator.writeNumberField( "num_assets_per_chunk", value.getNumAssetsPerChunk() );
+        generator.writeNumberField( "created", value.getCreated() );
+    }
+}
@@ -0,0 +1,244 @@
+package com.tenable.io.api.codecs;
+
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.tenable.io.api.models.RiskFactor;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.utilities.AbstractJsonCodec;
+
+
+/**
+ * Streaming codec of Vulnerability, the record of vulns export chunks. Reads and writes the same JSON as Jackson
+ * databind binding of the model.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnerabilityCodec extends AbstractJsonCodec<Vulnerability> {
+    /**
+     * Instantiates a new vulnerability codec.
+     */
+    public VulnerabilityCodec() {
+        super( Vulnerability.class );
+    }
+
+
+    @Override
+    protected Vulnerability newInstance() {
+        return new Vulnerability();
+    }
+
+
+    @Override
+    protected boolean readField( JsonParser parser, String name, Vulnerability value ) throws IOException {
+        switch( name ) {
+            case "assetUuid":
+                value.setAssetUuid( readUuid( parser ) );
+                return true;
+            case "severity":
+                value.setSeverity( readEnum( parser, SeverityLevel::forValue ) );
+                return true;
+            case "protocol":
+                value.setProtocol( readString( parser ) );
+                return true;
+            case "pluginFamily":
+                value.setPluginFamily( readString( parser ) );
+                return true;
+            case "port":
+                value.setPort( readInt( parser ) );
+                return true;
+            case "pluginID":
+                value.setPluginID( readLong( parser ) );
+                return true;
+            case "pluginName":
+                value.setPluginName( readString( parser ) );
+                return true;
+            case "bids":
+                value.setBids( readStringList( parser ) );
+                return true;
+            case "canvasPackage":
+                value.setCanvasPackage( readString( parser ) );
+                return true;
+            case "cves":
+                value.setCves( readStringList( parser ) );
+                return true;
+            case "cvssBaseScore":
+                value.setCvssBaseScore( readFloat( parser ) );
+                return true;
+            case "cvssTemporalScore":
+                value.setCvssTemporalScore( readFloat( parser ) );
+                return true;
+            case "cvssTemporalVector":
+                value.setCvssTemporalVector( readString( parser ) );
+                return true;
+            case "cvssVector":
+                value.setCvssVector( readString( parser ) );
+                return true;
+            case "cvss3BaseScore":
+                value.setCvss3BaseScore( readFloat( parser ) );
+                return true;
+            case "cvss3TemporalScore":
+                value.setCvss3TemporalScore( readFloat( parser ) );
+                return true;
+            case "cvss3TemporalVector":
+                value.setCvss3TemporalVector( readString( parser ) );
+                return true;
+            case "cvss3Vector":
+                value.setCvss3Vector( readString( parser ) );
+                return true;
+            case "d2ElliotName":
+                value.setD2ElliotName( readString( parser ) );
+                return true;
+            case "description":
+                value.setDescription( readString( parser ) );
+                return true;
+            case "exploitAvailable":
+                value.setExploitAvailable( readBoolean( parser ) );
+                return true;
+            case "exploitedByNessus":
+                value.setExploitedByNessus( readBoolean( parser ) );
+                return true;
+            case "exploitFrameworkCanvas":
+                value.setExploitFrameworkCanvas( readBoolean( parser ) );
+                return true;
+            case "exploitFrameworkCore":
+                value.setExploitFrameworkCore( readBoolean( parser ) );
+                return true;
+            case "exploitFrameworkExploithub":
+                value.setExploitFrameworkExploithub( readBoolean( parser ) );
+                return true;
+            case "exploitFrameworkMetasploit":
+                value.setExploitFrameworkMetasploit( readBoolean( parser ) );
+                return true;
+            case "exploitFrameworkD2Elliot":
+                value.setExploitFrameworkD2Elliot( readBoolean( parser ) );
+                return true;
+            case "exploitedByMalware":
+                value.setExploitedByMalware( readBoolean( parser ) );
+                return true;
+            case "firstFound":
+                value.setFirstFoundMillis( readTimestamp( parser ) );
+                return true;
+            case "hasPatch":
+                value.setHasPatch( readBoolean( parser ) );
+                return true;
+            case "inTheNews":
+                value.setInTheNews( readBoolean( parser ) );
+                return true;
+            case "lastFound":
+                value.setLastFoundMillis( readTimestamp( parser ) );
+                return true;
+            case "lastFixed":
+                value.setLastFixedMillis( readTimestamp( parser ) );
+                return true;
+            case "malware":
+                value.setMalware( readBoolean( parser ) );
+                return true;
+            case "metasploitName":
+                value.setMetasploitName( readString( parser ) );
+                return true;
+            case "patchPublicationDate":
+                value.setPatchPublicationDateMillis( readTimestamp( parser ) );
+                return true;
+            case "pluginModificationDate":
+                value.setPluginModificationDateMillis( readTimestamp( parser ) );
+                return true;
+            case "pluginPublicationDate":
+                value.setPluginPublicationDateMillis( readTimestamp( parser ) );
+                return true;
+            case "pluginOutput":
+                value.setPluginOutput( readString( parser ) );
+                return true;
+            case "pluginType":
+                value.setPluginType( readString( parser ) );
+                return true;
+            case "pluginVersion":
+                value.setPluginVersion( readString( parser ) );
+                return true;
+            case "solution":
+                value.setSolution( readString( parser ) );
+                return true;
+            case "riskFactor":
+                value.setRiskFactor( readEnum( parser, RiskFactor::forValue ) );
+                return true;
+            case "synopsis":
+                value.setSynopsis( readString( parser ) );
+                return true;
+            case "unsupportedByVendor":
+                value.setUnsupportedByVendor( readBoolean( parser ) );
+                return true;
+            case "vulnerabilityState":
+                value.setVulnerabilityState( readEnum( parser, VulnerabilityState::forValue ) );
+                return true;
+            case "vulnPublicationDate":
+                value.setVulnPublicationDateMillis( readTimestamp( parser ) );
+                return true;
+            case "xrefs":
+                value.setXrefs( readStringList( parser ) );
+                return true;
+            case "seeAlsos":
+                value.setSeeAlsos( readStringList( parser ) );
+                return true;
+            default:
+                return false;
+        }
+    }
+
+
+    @Override
+    protected void writeFields( JsonGenerator generator, Vulnerability value ) throws IOException {
+        writeUuid( generator, "assetUuid", value.getAssetUuid() );
+        writeString( generator, "severity", value.getSeverity() != null ? value.getSeverity().getValue() : null );
+        writeString( generator, "protocol", value.getProtocol() );
+        writeString( generator, "pluginFamily", value.getPluginFamily() );
+        generator.writeNumberField( "port", value.getPort() );
+        generator.writeNumberField( "pluginID", value.getPluginID() );
+        writeString( generator, "pluginName", value.getPluginName() );
+        writeStringList( generator, "bids", value.getBids() );
+        writeString( generator, "canvasPackage", value.getCanvasPackage() );
+        writeStringList( generator, "cves", value.getCves() );
+        writeFloat( generator, "cvssBaseScore", value.getCvssBaseScore() );
+        writeFloat( generator, "cvssTemporalScore", value.getCvssTemporalScore() );
+        writeString( generator, "cvssTemporalVector", value.getCvssTemporalVector() );
+        writeString( generator, "cvssVector", value.getCvssVector() );
+        writeFloat( generator, "cvss3BaseScore", value.getCvss3BaseScore() );
+        writeFloat( generator, "cvss3TemporalScore", value.getCvss3TemporalScore() );
+        writeString( generator, "cvss3TemporalVector", value.getCvss3TemporalVector() );
+        writeString( generator, "cvss3Vector", value.getCvss3Vector() );
+        writeString( generator, "d2ElliotName", value.getD2ElliotName() );
+        writeString( generator, "description", value.getDescription() );
+        writeBoolean( generator, "exploitAvailable", value.getExploitAvailable() );
+        writeBoolean( generator, "exploitedByNessus", value.getExploitedByNessus() );
+        writeBoolean( generator, "exploitFrameworkCanvas", value.getExploitFrameworkCanvas() );
+        writeBoolean( generator, "exploitFrameworkCore", value.getExploitFrameworkCore() );
+        writeBoolean( generator, "exploitFrameworkExploithub", value.getExploitFrameworkExploithub() );
+        writeBoolean( generator, "exploitFrameworkMetasploit", value.getExploitFrameworkMetasploit() );
+        writeBoolean( generator, "exploitFrameworkD2Elliot", value.getExploitFrameworkD2Elliot() );
+        writeBoolean( generator, "exploitedByMalware", value.getExploitedByMalware() );
+        writeTimestamp( generator, "firstFound", value.getFirstFoundMillis() );
+        writeBoolean( generator, "hasPatch", value.getHasPatch() );
+        writeBoolean( generator, "inTheNews", value.getInTheNews() );
+        writeTimestamp( generator, "lastFound", value.getLastFoundMillis() );
+        writeTimestamp( generator, "lastFixed", value.getLastFixedMillis() );
+        writeBoolean( generator, "malware", value.getMalware() );
+        writeString( generator, "metasploitName", value.getMetasploitName() );
+        writeTimestamp( generator, "patchPublicationDate", value.getPatchPublicationDateMillis() );
+        writeTimestamp( generator, "pluginModificationDate", value.getPluginModificationDateMillis() );
+        writeTimestamp( generator, "pluginPublicationDate", value.getPluginPublicationDateMillis() );
+        writeString( generator, "pluginOutput", value.getPluginOutput() );
+        writeString( generator, "pluginType", value.getPluginType() );
+        writeString( generator, "pluginVersion", value.getPluginVersion() );
+        writeString( generator, "solution", value.getSolution() );
+        writeString( generator, "riskFactor", value.getRiskFactor() != null ? value.getRiskFactor().getValue() : null );
+        writeString( generator, "synopsis", value.getSynopsis() );
+        writeBoolean( generator, "unsupportedByVendor", value.getUnsupportedByVendor() );
+        writeString( generator, "vulnerabilityState", value.getVulnerabilityState() != null ? value.getVulnerabilityState().getValue() : null );
+        writeTimestamp( generator, "vulnPublicationDate", value.getVulnPublicationDateMillis() );
+        writeStringList( generator, "xrefs", value.getXrefs() );
+        writeStringList( generator, "seeAlsos", value.getSeeAlsos() );
+    }
+}
@@ -0,0 +1,101 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Streams the records of a binary chunk file written by {@link BinaryChunkWriter}, binding them to the same models as
+ * the JSON chunk it was transcoded from.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the record type, e.g. Vulnerability or Asset
+ */
+public class BinaryChunkReader<T> extends ExportChunkReader<T> {
+    private static final JsonHelper jsonHelper = new JsonHelper( true );
+
+
+    /**
+     * Opens the given binary chunk file for reading.
+     *
+     * @param binaryFile the binary chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @throws TenableIoException the tenable IO exception
+     */
+    public BinaryChunkReader( File binaryFile, Class<T> recordClass ) throws TenableIoException {
+        super( binaryFile, recordClass, createParser( binaryFile ) );
+    }
+
+
+    /**
+     * Opens the given binary vulns chunk file for reading.
+     *
+     * @param binaryFile the binary chunk file
+     * @return the reader
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static BinaryChunkReader<Vulnerability> vulns( File binaryFile ) throws TenableIoException {
+        return new BinaryChunkReader<>( binaryFile, Vulnerability.class );
+    }
+
+
+    /**
+     * Opens the given binary assets chunk file for reading.
+     *
+     * @param binaryFile the binary chunk file
+     * @return the reader
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static BinaryChunkReader<Asset> assets( File binaryFile ) throws TenableIoException {
+        return new BinaryChunkReader<>( binaryFile, Asset.class );
+    }
+
+
+    /**
+     * Reads all records of the given binary chunk files, in order, and passes them to the given consumer.
+     *
+     * @param <T> the record type
+     * @param binaryFiles the binary chunk files
+     * @param recordClass the class of the records contained in the chunks
+     * @param consumer the record consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static <T> void readAll( List<File> binaryFiles, Class<T> recordClass, Consumer<? super T> consumer ) throws TenableIoException {
+        for( File binaryFile : binaryFiles ) {
+            try( BinaryChunkReader<T> reader = new BinaryChunkReader<>( binaryFile, recordClass ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    private static JsonParser createParser( File binaryFile ) throws TenableIoException {
+        InputStream in = null;
+        try {
+            in = new FileInputStream( binaryFile );
+            return new BinaryJsonParser( in, jsonHelper.getObjectMapper() );
+        } catch( IOException e ) {
+            if( in != null ) {
+                try {
+                    in.close();
+                } catch( IOException ignored ) {
+                    // already failing
+                }
+            }
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open binary chunk file: %s.", binaryFile.getAbsolutePath() ), e );
+        }
+    }
+}
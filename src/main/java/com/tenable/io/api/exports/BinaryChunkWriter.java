@@ -0,0 +1,277 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Transcodes downloaded export chunk files into a compact binary form of their JSON, read back into the same models by
+ * {@link BinaryChunkReader} without tokenizing text, unescaping strings or parsing numbers, so re-processing an export
+ * costs little more than binding its records. The binary form is the JSON token stream with back references: a
+ * property name, or a string value of at most MAX_SHARED_LENGTH bytes, is written once and then referenced by its
+ * index, in a single byte for the first ones; integers are zigzag varints and floating point numbers their 4 or 8 byte
+ * IEEE representation, as reported by the source parser. Since export records repeat the same property names and enumerated values (states, severities,
+ * families, protocols), the binary chunks are typically several times smaller than the JSON ones, so keeping them as a
+ * cache of yesterday's export costs less disk than the chunks themselves.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class BinaryChunkWriter {
+    /**
+     * The suffix appended to the chunk file name by transcode.
+     */
+    public static final String SUFFIX = ".bin";
+
+    static final int MAGIC = 0x54494F42;
+    static final int VERSION = 1;
+    static final int MAX_SHARED = 1024;
+    static final int MAX_SHARED_LENGTH = 64;
+
+    static final int TYPE_START_OBJECT = 0x01;
+    static final int TYPE_END_OBJECT = 0x02;
+    static final int TYPE_START_ARRAY = 0x03;
+    static final int TYPE_END_ARRAY = 0x04;
+    static final int TYPE_NAME = 0x05;
+    static final int TYPE_SHARED_NAME = 0x06;
+    static final int TYPE_NAME_REFERENCE = 0x07;
+    static final int TYPE_STRING = 0x08;
+    static final int TYPE_SHARED_STRING = 0x09;
+    static final int TYPE_STRING_REFERENCE = 0x0A;
+    static final int TYPE_INTEGER = 0x0B;
+    static final int TYPE_BIG_INTEGER = 0x0C;
+    static final int TYPE_DOUBLE = 0x0D;
+    static final int TYPE_BIG_DECIMAL = 0x0E;
+    static final int TYPE_TRUE = 0x0F;
+    static final int TYPE_FALSE = 0x10;
+    static final int TYPE_NULL = 0x11;
+    static final int TYPE_FLOAT = 0x12;
+    // single byte references to the first 64 names and the first 128 strings
+    static final int TYPE_SHORT_NAME_REFERENCE = 0x40;
+    static final int TYPE_SHORT_STRING_REFERENCE = 0x80;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonHelper jsonHelper = new JsonHelper( true );
+
+    private final OutputStream out;
+    private final Map<String, Integer> names = new HashMap<>();
+    private final Map<String, Integer> strings = new HashMap<>();
+
+
+    private BinaryChunkWriter( OutputStream out ) {
+        this.out = out;
+    }
+
+
+    /**
+     * Transcodes the given chunk file to the binary file next to it, named after the chunk file with SUFFIX appended,
+     * unless that file is already up to date. The binary file is written to a temporary file first, so an interrupted
+     * transcoding never leaves a partial binary file.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @return the binary chunk file
+     * @throws TenableIoException if the chunk file could not be read or the binary file written
+     */
+    public static File transcode( File chunkFile ) throws TenableIoException {
+        File binaryFile = new File( chunkFile.getPath() + SUFFIX );
+        if( binaryFile.exists() && binaryFile.lastModified() >= chunkFile.lastModified() ) {
+            return binaryFile;
+        }
+        File temporary = new File( binaryFile.getPath() + ".tmp" );
+        transcode( chunkFile, temporary );
+        try {
+            Files.move( temporary.toPath(), binaryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        } catch( IOException e ) {
+            temporary.delete();
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write binary chunk file: %s.", binaryFile.getAbsolutePath() ), e );
+        }
+        return binaryFile;
+    }
+
+
+    /**
+     * Transcodes the given chunk files, as with transcode.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @return the binary chunk files, in the same order
+     * @throws TenableIoException if a chunk file could not be read or a binary file written
+     */
+    public static List<File> transcodeAll( List<File> chunkFiles ) throws TenableIoException {
+        List<File> result = new ArrayList<>( chunkFiles.size() );
+        for( File chunkFile : chunkFiles ) {
+            result.add( transcode( chunkFile ) );
+        }
+        return result;
+    }
+
+
+    /**
+     * Transcodes the given chunk file to the given binary file.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param binaryFile the binary chunk file to write
+     * @throws TenableIoException if the chunk file could not be read or the binary file written
+     */
+    public static void transcode( File chunkFile, File binaryFile ) throws TenableIoException {
+        try( JsonParser parser = jsonHelper.createParser( ChunkCompression.open( chunkFile ) );
+             OutputStream out = new BufferedOutputStream( new FileOutputStream( binaryFile ), BUFFER_SIZE ) ) {
+            BinaryChunkWriter writer = new BinaryChunkWriter( out );
+            writer.writeHeader();
+            JsonToken token;
+            while( ( token = parser.nextToken() ) != null ) {
+                writer.writeToken( token, parser );
+            }
+        } catch( IOException e ) {
+            binaryFile.delete();
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't transcode chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Checks whether the given file is a binary chunk file.
+     *
+     * @param file the file
+     * @return true if the file starts with the binary chunk header
+     */
+    public static boolean isBinary( File file ) {
+        try( DataInputStream in = new DataInputStream( new FileInputStream( file ) ) ) {
+            return in.readInt() == MAGIC;
+        } catch( IOException e ) {
+            return false;
+        }
+    }
+
+
+    private void writeHeader() throws IOException {
+        out.write( MAGIC >>> 24 );
+        out.write( MAGIC >>> 16 );
+        out.write( MAGIC >>> 8 );
+        out.write( MAGIC );
+        out.write( VERSION );
+    }
+
+
+    private void writeToken( JsonToken token, JsonParser parser ) throws IOException {
+        switch( token ) {
+            case START_OBJECT:
+                out.write( TYPE_START_OBJECT );
+                break;
+            case END_OBJECT:
+                out.write( TYPE_END_OBJECT );
+                break;
+            case START_ARRAY:
+                out.write( TYPE_START_ARRAY );
+                break;
+            case END_ARRAY:
+                out.write( TYPE_END_ARRAY );
+                break;
+            case FIELD_NAME:
+                writeShared( parser.getCurrentName(), names, TYPE_NAME, TYPE_SHARED_NAME, TYPE_NAME_REFERENCE, TYPE_SHORT_NAME_REFERENCE, 64 );
+                break;
+            case VALUE_STRING:
+                writeShared( parser.getText(), strings, TYPE_STRING, TYPE_SHARED_STRING, TYPE_STRING_REFERENCE, TYPE_SHORT_STRING_REFERENCE, 128 );
+                break;
+            case VALUE_NUMBER_INT:
+                if( parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER ) {
+                    out.write( TYPE_BIG_INTEGER );
+                    writeUtf8( parser.getBigIntegerValue().toString() );
+                } else {
+                    out.write( TYPE_INTEGER );
+                    writeVarint( zigzag( parser.getLongValue() ) );
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                if( parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL ) {
+                    out.write( TYPE_BIG_DECIMAL );
+                    writeUtf8( parser.getDecimalValue().toString() );
+                } else if( parser.getNumberType() == JsonParser.NumberType.FLOAT ) {
+                    out.write( TYPE_FLOAT );
+                    int bits = Float.floatToRawIntBits( parser.getFloatValue() );
+                    for( int shift = 24; shift >= 0; shift -= 8 ) {
+                        out.write( bits >>> shift );
+                    }
+                } else {
+                    out.write( TYPE_DOUBLE );
+                    long bits = Double.doubleToRawLongBits( parser.getDoubleValue() );
+                    for( int shift = 56; shift >= 0; shift -= 8 ) {
+                        out.write( (int) ( bits >>> shift ) );
+                    }
+                }
+                break;
+            case VALUE_TRUE:
+                out.write( TYPE_TRUE );
+                break;
+            case VALUE_FALSE:
+                out.write( TYPE_FALSE );
+                break;
+            case VALUE_NULL:
+                out.write( TYPE_NULL );
+                break;
+            default:
+                throw new IOException( String.format( "Unsupported token %s.", token ) );
+        }
+    }
+
+
+    private void writeShared( String value, Map<String, Integer> table, int plain, int shared, int reference, int shortReference, int shortCount ) throws IOException {
+        Integer index = table.get( value );
+        if( index != null ) {
+            if( index < shortCount ) {
+                out.write( shortReference | index );
+            } else {
+                out.write( reference );
+                writeVarint( index );
+            }
+            return;
+        }
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        if( bytes.length <= MAX_SHARED_LENGTH && table.size() < MAX_SHARED ) {
+            table.put( value, table.size() );
+            out.write( shared );
+        } else {
+            out.write( plain );
+        }
+        writeVarint( bytes.length );
+        out.write( bytes );
+    }
+
+
+    private void writeUtf8( String value ) throws IOException {
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        writeVarint( bytes.length );
+        out.write( bytes );
+    }
+
+
+    private void writeVarint( long value ) throws IOException {
+        while( ( value & ~0x7FL ) != 0 ) {
+            out.write( (int) ( value & 0x7F ) | 0x80 );
+            value >>>= 7;
+        }
+        out.write( (int) value );
+    }
+
+
+    private static long zigzag( long value ) {
+        return ( value << 1 ) ^ ( value >> 63 );
+    }
+}
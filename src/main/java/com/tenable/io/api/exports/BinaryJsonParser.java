@@ -0,0 +1,503 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.core.base.ParserMinimalBase;
+import com.fasterxml.jackson.core.json.JsonReadContext;
+
+import static com.tenable.io.api.exports.BinaryChunkWriter.*;
+
+
+/**
+ * Streaming parser of the binary chunk files written by BinaryChunkWriter, exposing their tokens as a JSON parser so
+ * records are bound to the same models, with the same annotations and codecs, as the JSON chunks. Shared names and
+ * strings are decoded once and returned as the same String instances afterwards.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class BinaryJsonParser extends ParserMinimalBase {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final String[] names = new String[MAX_SHARED];
+    private final String[] strings = new String[MAX_SHARED];
+    private int nameCount;
+    private int stringCount;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private ObjectCodec codec;
+    private JsonReadContext context = JsonReadContext.createRootContext( null );
+    private boolean closed;
+
+    private String text;
+    private long longValue;
+    private double doubleValue;
+    private BigInteger bigIntegerValue;
+    private BigDecimal decimalValue;
+    private NumberType numberType;
+
+
+    BinaryJsonParser( InputStream in, ObjectCodec codec ) throws IOException {
+        super( 0 );
+        this.in = in;
+        this.codec = codec;
+        ensure( 5 );
+        int magic = ( buffer[0] & 0xFF ) << 24 | ( buffer[1] & 0xFF ) << 16 | ( buffer[2] & 0xFF ) << 8 | ( buffer[3] & 0xFF );
+        if( magic != MAGIC || buffer[4] != VERSION ) {
+            throw new JsonParseException( this, "Not a binary chunk file." );
+        }
+        position = 5;
+    }
+
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if( position == limit && !fill() ) {
+            return _currToken = null;
+        }
+        int type = buffer[position++] & 0xFF;
+        if( type >= TYPE_SHORT_STRING_REFERENCE ) {
+            return value( JsonToken.VALUE_STRING, shared( strings, stringCount, type & 0x7F ) );
+        }
+        if( type >= TYPE_SHORT_NAME_REFERENCE ) {
+            return name( shared( names, nameCount, type & 0x3F ) );
+        }
+        switch( type ) {
+            case TYPE_START_OBJECT:
+                context = context.createChildObjectContext( -1, -1 );
+                return _currToken = JsonToken.START_OBJECT;
+            case TYPE_END_OBJECT:
+            case TYPE_END_ARRAY:
+                if( context.inRoot() ) {
+                    throw new JsonParseException( this, "Unbalanced end of container." );
+                }
+                context = context.getParent();
+                return _currToken = type == TYPE_END_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            case TYPE_START_ARRAY:
+                context = context.createChildArrayContext( -1, -1 );
+                return _currToken = JsonToken.START_ARRAY;
+            case TYPE_NAME:
+                return name( readString() );
+            case TYPE_SHARED_NAME:
+                return name( names[nameCount++] = readString() );
+            case TYPE_NAME_REFERENCE:
+                return name( shared( names, nameCount, (int) readVarint() ) );
+            case TYPE_STRING:
+                return value( JsonToken.VALUE_STRING, readString() );
+            case TYPE_SHARED_STRING:
+                return value( JsonToken.VALUE_STRING, strings[stringCount++] = readString() );
+            case TYPE_STRING_REFERENCE:
+                return value( JsonToken.VALUE_STRING, shared( strings, stringCount, (int) readVarint() ) );
+            case TYPE_INTEGER:
+                long zigzag = readVarint();
+                longValue = ( zigzag >>> 1 ) ^ -( zigzag & 1 );
+                numberType = longValue == (int) longValue ? NumberType.INT : NumberType.LONG;
+                return value( JsonToken.VALUE_NUMBER_INT, null );
+            case TYPE_BIG_INTEGER:
+                bigIntegerValue = new BigInteger( readString() );
+                numberType = NumberType.BIG_INTEGER;
+                return value( JsonToken.VALUE_NUMBER_INT, null );
+            case TYPE_DOUBLE:
+                ensure( 8 );
+                long bits = 0;
+                for( int i = 0; i < 8; i++ ) {
+                    bits = bits << 8 | ( buffer[position++] & 0xFF );
+                }
+                doubleValue = Double.longBitsToDouble( bits );
+                numberType = NumberType.DOUBLE;
+                return value( JsonToken.VALUE_NUMBER_FLOAT, null );
+            case TYPE_FLOAT:
+                ensure( 4 );
+                int floatBits = 0;
+                for( int i = 0; i < 4; i++ ) {
+                    floatBits = floatBits << 8 | ( buffer[position++] & 0xFF );
+                }
+                doubleValue = Float.intBitsToFloat( floatBits );
+                numberType = NumberType.FLOAT;
+                return value( JsonToken.VALUE_NUMBER_FLOAT, null );
+            case TYPE_BIG_DECIMAL:
+                decimalValue = new BigDecimal( readString() );
+                numberType = NumberType.BIG_DECIMAL;
+                return value( JsonToken.VALUE_NUMBER_FLOAT, null );
+            case TYPE_TRUE:
+                return value( JsonToken.VALUE_TRUE, null );
+            case TYPE_FALSE:
+                return value( JsonToken.VALUE_FALSE, null );
+            case TYPE_NULL:
+                return value( JsonToken.VALUE_NULL, null );
+            default:
+                throw new JsonParseException( this, String.format( "Unknown type 0x%02x in binary chunk.", type ) );
+        }
+    }
+
+
+    private JsonToken name( String name ) throws IOException {
+        context.setCurrentName( name );
+        return _currToken = JsonToken.FIELD_NAME;
+    }
+
+
+    private JsonToken value( JsonToken token, String value ) {
+        text = value;
+        return _currToken = token;
+    }
+
+
+    private String shared( String[] table, int count, int index ) throws IOException {
+        if( index >= count ) {
+            throw new JsonParseException( this, String.format( "Invalid reference %d in binary chunk.", index ) );
+        }
+        return table[index];
+    }
+
+
+    private String readString() throws IOException {
+        int length = (int) readVarint();
+        ensure( length );
+        String result = new String( buffer, position, length, StandardCharsets.UTF_8 );
+        position += length;
+        return result;
+    }
+
+
+    private long readVarint() throws IOException {
+        long result = 0;
+        for( int shift = 0; shift < 64; shift += 7 ) {
+            if( position == limit && !fill() ) {
+                throw new EOFException( "Unexpected end of binary chunk." );
+            }
+            byte b = buffer[position++];
+            result |= (long) ( b & 0x7F ) << shift;
+            if( b >= 0 ) {
+                return result;
+            }
+        }
+        throw new JsonParseException( this, "Malformed varint in binary chunk." );
+    }
+
+
+    /**
+     * Ensures the buffer holds at least the given number of bytes from the current position, growing it if needed.
+     */
+    private void ensure( int length ) throws IOException {
+        if( limit - position >= length ) {
+            return;
+        }
+        if( length > buffer.length ) {
+            buffer = Arrays.copyOf( buffer, Math.max( length, buffer.length * 2 ) );
+        }
+        while( limit - position < length ) {
+            if( !fill() ) {
+                throw new EOFException( "Unexpected end of binary chunk." );
+            }
+        }
+    }
+
+
+    /**
+     * Reads more bytes, keeping the unread ones.
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if( position > 0 ) {
+            System.arraycopy( buffer, position, buffer, 0, limit - position );
+            limit -= position;
+            position = 0;
+        }
+        int read = in.read( buffer, limit, buffer.length - limit );
+        if( read <= 0 ) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+
+    @Override
+    protected void _handleEOF() throws JsonParseException {
+        if( !context.inRoot() ) {
+            _reportInvalidEOF();
+        }
+    }
+
+
+    @Override
+    public String getCurrentName() {
+        if( ( _currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY ) && context.getParent() != null ) {
+            return context.getParent().getCurrentName();
+        }
+        return context.getCurrentName();
+    }
+
+
+    @Override
+    public void overrideCurrentName( String name ) {
+        JsonReadContext target = ( _currToken == JsonToken.START_OBJECT || _currToken == JsonToken.START_ARRAY ) && context.getParent() != null ? context.getParent() : context;
+        try {
+            target.setCurrentName( name );
+        } catch( IOException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+
+    @Override
+    public JsonStreamContext getParsingContext() {
+        return context;
+    }
+
+
+    @Override
+    public JsonLocation getCurrentLocation() {
+        return JsonLocation.NA;
+    }
+
+
+    @Override
+    public JsonLocation getTokenLocation() {
+        return JsonLocation.NA;
+    }
+
+
+    @Override
+    public String getText() {
+        if( _currToken == null ) {
+            return null;
+        }
+        switch( _currToken ) {
+            case VALUE_STRING:
+                return text;
+            case FIELD_NAME:
+                return context.getCurrentName();
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return numberText();
+            default:
+                return _currToken.asString();
+        }
+    }
+
+
+    /**
+     * Formats the current number by its type, as a float with the precision of a float, as a double otherwise.
+     */
+    private String numberText() {
+        switch( numberType ) {
+            case INT:
+            case LONG:
+                return Long.toString( longValue );
+            case FLOAT:
+                return Float.toString( (float) doubleValue );
+            case DOUBLE:
+                return Double.toString( doubleValue );
+            default:
+                return getNumberValue().toString();
+        }
+    }
+
+
+    @Override
+    public char[] getTextCharacters() {
+        String value = getText();
+        return value != null ? value.toCharArray() : null;
+    }
+
+
+    @Override
+    public boolean hasTextCharacters() {
+        return false;
+    }
+
+
+    @Override
+    public int getTextLength() {
+        String value = getText();
+        return value != null ? value.length() : 0;
+    }
+
+
+    @Override
+    public int getTextOffset() {
+        return 0;
+    }
+
+
+    @Override
+    public byte[] getBinaryValue( Base64Variant variant ) throws IOException {
+        if( _currToken != JsonToken.VALUE_STRING ) {
+            throw new JsonParseException( this, String.format( "Current token %s is not a base64 string.", _currToken ) );
+        }
+        return variant.decode( text );
+    }
+
+
+    @Override
+    public Number getNumberValue() {
+        switch( numberType ) {
+            case INT:
+                return (int) longValue;
+            case LONG:
+                return longValue;
+            case BIG_INTEGER:
+                return bigIntegerValue;
+            case BIG_DECIMAL:
+                return decimalValue;
+            case FLOAT:
+                return (float) doubleValue;
+            default:
+                return doubleValue;
+        }
+    }
+
+
+    @Override
+    public NumberType getNumberType() {
+        return numberType;
+    }
+
+
+    @Override
+    public int getIntValue() throws IOException {
+        if( numberType == NumberType.INT ) {
+            return (int) longValue;
+        }
+        long value = getLongValue();
+        if( value != (int) value ) {
+            reportOverflowInt();
+        }
+        return (int) value;
+    }
+
+
+    @Override
+    public long getLongValue() throws IOException {
+        switch( numberType ) {
+            case INT:
+            case LONG:
+                return longValue;
+            case FLOAT:
+            case DOUBLE:
+                if( doubleValue < Long.MIN_VALUE || doubleValue > Long.MAX_VALUE ) {
+                    reportOverflowLong();
+                }
+                return (long) doubleValue;
+            default:
+                BigInteger value = getBigIntegerValue();
+                if( value.bitLength() > 63 ) {
+                    reportOverflowLong();
+                }
+                return value.longValue();
+        }
+    }
+
+
+    private void reportOverflowInt() throws IOException {
+        _reportError( String.format( "Numeric value (%s) out of range of int (%d - %d)", getText(), Integer.MIN_VALUE, Integer.MAX_VALUE ) );
+    }
+
+
+    private void reportOverflowLong() throws IOException {
+        _reportError( String.format( "Numeric value (%s) out of range of long (%d - %d)", getText(), Long.MIN_VALUE, Long.MAX_VALUE ) );
+    }
+
+
+    @Override
+    public BigInteger getBigIntegerValue() {
+        switch( numberType ) {
+            case INT:
+            case LONG:
+                return BigInteger.valueOf( longValue );
+            case BIG_INTEGER:
+                return bigIntegerValue;
+            case BIG_DECIMAL:
+                return decimalValue.toBigInteger();
+            default:
+                return BigDecimal.valueOf( doubleValue ).toBigInteger();
+        }
+    }
+
+
+    @Override
+    public float getFloatValue() {
+        return (float) getDoubleValue();
+    }
+
+
+    @Override
+    public double getDoubleValue() {
+        return numberType == NumberType.DOUBLE || numberType == NumberType.FLOAT ? doubleValue : getNumberValue().doubleValue();
+    }
+
+
+    @Override
+    public BigDecimal getDecimalValue() {
+        switch( numberType ) {
+            case INT:
+            case LONG:
+                return BigDecimal.valueOf( longValue );
+            case BIG_INTEGER:
+                return new BigDecimal( bigIntegerValue );
+            case BIG_DECIMAL:
+                return decimalValue;
+            case FLOAT:
+                return new BigDecimal( Float.toString( (float) doubleValue ) );
+            default:
+                return BigDecimal.valueOf( doubleValue );
+        }
+    }
+
+
+    @Override
+    public Object getEmbeddedObject() {
+        return null;
+    }
+
+
+    @Override
+    public ObjectCodec getCodec() {
+        return codec;
+    }
+
+
+    @Override
+    public void setCodec( ObjectCodec codec ) {
+        this.codec = codec;
+    }
+
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        if( !closed ) {
+            closed = true;
+            in.close();
+        }
+    }
+}
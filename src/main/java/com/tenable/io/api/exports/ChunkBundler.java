@@ -0,0 +1,184 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.tenable.io.api.exports.models.BundleFormat;
+import com.tenable.io.api.exports.models.BundleManifest;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Concatenates the chunk files of an export, as returned by {@link ExportHelper#downloadVulns} or
+ * {@link ExportHelper#downloadAssets}, into a single bundle file, either NDJSON or a single JSON array, and writes a
+ * {@link BundleManifest} next to it recording the byte range and the record range of each chunk in the bundle.
+ *
+ * Records are never parsed: the chunks are scanned byte by byte for the record boundaries only, see RecordScanner.
+ * In a JSON array bundle, the records of an uncompressed chunk are copied with {@link FileChannel#transferTo}, so they
+ * never leave the kernel. An NDJSON bundle replaces the separators between records, and a gzip compressed chunk must be
+ * decompressed, so their records are copied through a buffer instead.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ChunkBundler {
+    /**
+     * The suffix of the manifest file written next to a bundle file.
+     */
+    public static final String MANIFEST_SUFFIX = ".manifest.json";
+
+    private static final JsonHelper jsonHelper = new JsonHelper( true );
+
+
+    /**
+     * Bundles the given chunk files, in order, into the given bundle file, and writes its manifest. The bundle and the
+     * manifest are written to temporary files first, so an interrupted bundling never leaves a partial bundle.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param bundleFile the bundle file to write
+     * @param format the bundle format
+     * @return the manifest of the bundle
+     * @throws TenableIoException if a chunk file could not be read or is not a JSON array of objects, or if the bundle
+     * could not be written
+     */
+    public static BundleManifest bundle( List<File> chunkFiles, File bundleFile, BundleFormat format ) throws TenableIoException {
+        BundleManifest manifest = new BundleManifest();
+        manifest.setFormat( format );
+        manifest.setBundleFile( bundleFile.getName() );
+
+        File temporary = new File( bundleFile.getPath() + ".tmp" );
+        try {
+            try( FileChannel out = FileChannel.open( temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) ) {
+                if( format == BundleFormat.JSON_ARRAY ) {
+                    write( out, '[' );
+                }
+                for( File chunkFile : chunkFiles ) {
+                    BundleManifest.Chunk chunk = format == BundleFormat.JSON_ARRAY && !ChunkCompression.isCompressed( chunkFile ) ?
+                            transfer( chunkFile, out, manifest.getRecordCount() > 0 ) :
+                            copy( chunkFile, out, format, manifest.getRecordCount() > 0 );
+                    chunk.setChunkFile( chunkFile.getName() );
+                    chunk.setFirstRecord( manifest.getRecordCount() );
+                    manifest.getChunks().add( chunk );
+                    manifest.setRecordCount( manifest.getRecordCount() + chunk.getRecordCount() );
+                }
+                if( format == BundleFormat.JSON_ARRAY ) {
+                    write( out, ']' );
+                }
+                manifest.setSize( out.position() );
+            }
+            Files.move( temporary.toPath(), bundleFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        } catch( IOException e ) {
+            temporary.delete();
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write bundle file: %s.", bundleFile.getAbsolutePath() ), e );
+        } catch( TenableIoException e ) {
+            temporary.delete();
+            throw e;
+        }
+
+        File manifestFile = manifestFile( bundleFile );
+        File temporaryManifest = new File( manifestFile.getPath() + ".tmp" );
+        try {
+            jsonHelper.getObjectMapper().writeValue( temporaryManifest, manifest );
+            Files.move( temporaryManifest.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        } catch( IOException e ) {
+            temporaryManifest.delete();
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write manifest file: %s.", manifestFile.getAbsolutePath() ), e );
+        }
+        return manifest;
+    }
+
+
+    /**
+     * Reads the manifest of the given bundle file.
+     *
+     * @param bundleFile the bundle file
+     * @return the manifest of the bundle
+     * @throws TenableIoException if the manifest could not be read
+     */
+    public static BundleManifest readManifest( File bundleFile ) throws TenableIoException {
+        File manifestFile = manifestFile( bundleFile );
+        try {
+            return jsonHelper.getObjectMapper().readValue( manifestFile, BundleManifest.class );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read manifest file: %s.", manifestFile.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Gets the manifest file of the given bundle file, named after the bundle file with MANIFEST_SUFFIX appended.
+     *
+     * @param bundleFile the bundle file
+     * @return the manifest file
+     */
+    public static File manifestFile( File bundleFile ) {
+        return new File( bundleFile.getPath() + MANIFEST_SUFFIX );
+    }
+
+
+    // scans the uncompressed chunk for the range of its records, then transfers that range as is
+    private static BundleManifest.Chunk transfer( File chunkFile, FileChannel out, boolean separate ) throws IOException, TenableIoException {
+        RecordScanner scanner = new RecordScanner( chunkFile );
+        try( InputStream in = Files.newInputStream( chunkFile.toPath() ) ) {
+            scanner.scanAll( in );
+        }
+
+        BundleManifest.Chunk chunk = new BundleManifest.Chunk();
+        chunk.setRecordCount( scanner.getRecords() );
+        if( scanner.getRecords() > 0 ) {
+            if( separate ) {
+                write( out, ',' );
+            }
+            chunk.setOffset( out.position() );
+            chunk.setLength( scanner.getEnd() - scanner.getStart() );
+            try( FileChannel in = FileChannel.open( chunkFile.toPath(), StandardOpenOption.READ ) ) {
+                long transferred = 0;
+                while( transferred < chunk.getLength() ) {
+                    long count = in.transferTo( scanner.getStart() + transferred, chunk.getLength() - transferred, out );
+                    if( count <= 0 ) {
+                        throw new IOException( String.format( "Chunk file %s was truncated while bundling.", chunkFile.getAbsolutePath() ) );
+                    }
+                    transferred += count;
+                }
+            }
+        } else {
+            chunk.setOffset( out.position() );
+        }
+        return chunk;
+    }
+
+
+    // copies the records of the chunk, decompressing it if needed, through the scanner
+    private static BundleManifest.Chunk copy( File chunkFile, FileChannel out, BundleFormat format, boolean separate ) throws IOException, TenableIoException {
+        long base = out.position();
+        RecordScanner scanner = new RecordScanner( chunkFile, format, out, separate );
+        try( InputStream in = ChunkCompression.open( chunkFile ) ) {
+            scanner.scanAll( in );
+        }
+        scanner.flush();
+
+        BundleManifest.Chunk chunk = new BundleManifest.Chunk();
+        chunk.setRecordCount( scanner.getRecords() );
+        long skipped = separate && scanner.getRecords() > 0 && format == BundleFormat.JSON_ARRAY ? 1 : 0;
+        chunk.setOffset( base + skipped );
+        chunk.setLength( out.position() - base - skipped );
+        return chunk;
+    }
+
+
+    private static void write( FileChannel out, char c ) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap( new byte[] { (byte) c } );
+        while( buffer.hasRemaining() ) {
+            out.write( buffer );
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.RandomAccessFile;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Detects gzip compressed chunk files, as downloaded by {@link ExportHelper#setCompressChunks(boolean)}, and opens them
+ * with streaming decompression. All chunk readers open chunk files through this class, so compressed and
+ * uncompressed chunks can be mixed and read alike; records are decompressed as the parser consumes them, never to a
+ * temporary file.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ChunkCompression {
+    /**
+     * The suffix of the compressed chunk files downloaded by ExportHelper.
+     */
+    public static final String SUFFIX = ".gz";
+
+    private static final int GZIP_MAGIC = 0x1F8B;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+
+    /**
+     * Checks whether the given chunk file is gzip compressed.
+     *
+     * @param chunkFile the chunk file
+     * @return true if the file starts with the gzip header
+     */
+    public static boolean isCompressed( File chunkFile ) {
+        try( DataInputStream in = new DataInputStream( new FileInputStream( chunkFile ) ) ) {
+            return in.readUnsignedShort() == GZIP_MAGIC;
+        } catch( IOException e ) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Gets the uncompressed size of the given chunk file, from the gzip trailer if it is compressed. The trailer holds
+     * the size modulo 4 GB, which is more than any export chunk.
+     *
+     * @param chunkFile the chunk file
+     * @return the uncompressed size in bytes
+     * @throws IOException if the file could not be read
+     */
+    public static long uncompressedSize( File chunkFile ) throws IOException {
+        if( !isCompressed( chunkFile ) ) {
+            return chunkFile.length();
+        }
+        try( RandomAccessFile file = new RandomAccessFile( chunkFile, "r" ) ) {
+            file.seek( file.length() - 4 );
+            return Integer.reverseBytes( file.readInt() ) & 0xFFFFFFFFL;
+        }
+    }
+
+
+    /**
+     * Opens the given chunk file, decompressing it if it is gzip compressed.
+     *
+     * @param chunkFile the chunk file
+     * @return the stream of the uncompressed chunk
+     * @throws IOException if the file could not be opened
+     */
+    public static InputStream open( File chunkFile ) throws IOException {
+        return decompress( new FileInputStream( chunkFile ) );
+    }
+
+
+    /**
+     * Wraps the given stream of a chunk file in a decompressing stream if it is gzip compressed. The first two bytes
+     * are peeked and pushed back, so the stream of an uncompressed chunk is returned unbuffered.
+     *
+     * @param in the stream of the chunk file
+     * @return the stream of the uncompressed chunk
+     * @throws IOException if the stream could not be read
+     */
+    static InputStream decompress( InputStream in ) throws IOException {
+        try {
+            PushbackInputStream pushback = new PushbackInputStream( in, 2 );
+            byte[] magic = new byte[2];
+            int read = 0;
+            while( read < 2 ) {
+                int count = pushback.read( magic, read, 2 - read );
+                if( count < 0 ) {
+                    break;
+                }
+                read += count;
+            }
+            pushback.unread( magic, 0, read );
+            if( read == 2 && ( ( magic[0] & 0xFF ) << 8 | ( magic[1] & 0xFF ) ) == GZIP_MAGIC ) {
+                return new GZIPInputStream( pushback, BUFFER_SIZE );
+            }
+            return pushback;
+        } catch( IOException | RuntimeException e ) {
+            in.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Parses downloaded export chunk files in parallel on a ForkJoinPool, one chunk per task. The records can be passed
+ * to a sink in chunk order, or as soon as they are read, or reduced per chunk and combined, which scales with the
+ * number of cores as long as the sink or accumulator does not contend. Chunk files are read with the reader created
+ * by a ReaderFactory, so any reader (full binding, dedup, lazy with filter pushdown) can be used.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the record type
+ */
+public class ChunkProcessor<T> {
+    private final ReaderFactory<T> readerFactory;
+    private final ForkJoinPool pool;
+
+
+    /**
+     * Instantiates a processor reading chunk files with the given factory, on the common ForkJoinPool.
+     *
+     * @param readerFactory the factory opening a reader for a chunk file
+     */
+    public ChunkProcessor( ReaderFactory<T> readerFactory ) {
+        this( readerFactory, ForkJoinPool.commonPool() );
+    }
+
+
+    /**
+     * Instantiates a processor reading chunk files with the given factory, on the given pool.
+     *
+     * @param readerFactory the factory opening a reader for a chunk file
+     * @param pool the pool running the chunk tasks
+     */
+    public ChunkProcessor( ReaderFactory<T> readerFactory, ForkJoinPool pool ) {
+        this.readerFactory = readerFactory;
+        this.pool = pool;
+    }
+
+
+    /**
+     * Creates a processor reading fully bound vulnerabilities, on the common ForkJoinPool.
+     *
+     * @return the processor
+     */
+    public static ChunkProcessor<Vulnerability> vulns() {
+        return new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Vulnerability.class ) );
+    }
+
+
+    /**
+     * Creates a processor reading fully bound assets, on the common ForkJoinPool.
+     *
+     * @return the processor
+     */
+    public static ChunkProcessor<Asset> assets() {
+        return new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Asset.class ) );
+    }
+
+
+    /**
+     * Reads the records of all chunk files in parallel and passes them to the sink from the calling thread, in chunk
+     * order then record order, as ExportChunkReader.readAll does. At most twice the pool parallelism chunks are read
+     * ahead of the one being passed to the sink.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param sink the record sink, called from the calling thread only
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void processOrdered( List<File> chunkFiles, Consumer<? super T> sink ) throws TenableIoException {
+        int window = Math.max( 2, pool.getParallelism() * 2 );
+        Deque<ForkJoinTask<List<T>>> pending = new ArrayDeque<>( window );
+        int next = 0;
+        try {
+            while( next < chunkFiles.size() || !pending.isEmpty() ) {
+                while( next < chunkFiles.size() && pending.size() < window ) {
+                    File chunkFile = chunkFiles.get( next++ );
+                    pending.add( pool.submit( new ChunkTask<>( readerFactory, chunkFile ) ) );
+                }
+                List<T> records = join( pending.poll() );
+                for( T record : records ) {
+                    sink.accept( record );
+                }
+            }
+        } finally {
+            for( ForkJoinTask<List<T>> task : pending ) {
+                task.cancel( false );
+            }
+        }
+    }
+
+
+    /**
+     * Reads the records of all chunk files in parallel and passes them to the sink as soon as they are read, from the
+     * pool threads. The sink must be thread safe.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param sink the thread safe record sink
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void processUnordered( List<File> chunkFiles, Consumer<? super T> sink ) throws TenableIoException {
+        if( chunkFiles.isEmpty() ) {
+            return;
+        }
+        join( pool.submit( new UnorderedTask<>( readerFactory, chunkFiles, 0, chunkFiles.size(), sink ) ) );
+    }
+
+
+    /**
+     * Reads the records of all chunk files in parallel into one accumulator per chunk, and combines the accumulators
+     * of adjacent chunks, in chunk order. Accumulators are never shared between threads, so they need no
+     * synchronization.
+     *
+     * @param <A> the accumulator type
+     * @param chunkFiles the downloaded chunk files
+     * @param supplier creates an empty accumulator
+     * @param accumulator adds a record to an accumulator
+     * @param combiner combines two accumulators, the second one holding the records of the later chunks
+     * @return the accumulator holding all records
+     * @throws TenableIoException the tenable IO exception
+     */
+    public <A> A reduce( List<File> chunkFiles, Supplier<A> supplier, BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner ) throws TenableIoException {
+        if( chunkFiles.isEmpty() ) {
+            return supplier.get();
+        }
+        return join( pool.submit( new ReduceTask<>( readerFactory, chunkFiles, 0, chunkFiles.size(), supplier, accumulator, combiner ) ) );
+    }
+
+
+    private static <V> V join( ForkJoinTask<V> task ) throws TenableIoException {
+        try {
+            return task.join();
+        } catch( RuntimeException e ) {
+            // join may rethrow a copy of the exception thrown in another thread, holding the original as cause
+            for( Throwable cause = e; cause != null; cause = cause.getCause() ) {
+                if( cause instanceof TenableIoException ) {
+                    throw (TenableIoException) cause;
+                }
+            }
+            throw new TenableIoException( TenableIoErrorCode.Generic, "Chunk processing failed.", e );
+        }
+    }
+
+
+    private static <T> void readChunk( ReaderFactory<T> readerFactory, File chunkFile, Consumer<? super T> sink ) {
+        try( ExportChunkReader<? extends T> reader = readerFactory.open( chunkFile ) ) {
+            T record;
+            while( ( record = reader.read() ) != null ) {
+                sink.accept( record );
+            }
+        } catch( TenableIoException e ) {
+            throw new ChunkException( e );
+        }
+    }
+
+
+    /**
+     * Opens a reader over a chunk file.
+     *
+     * @param <T> the record type
+     */
+    @FunctionalInterface
+    public interface ReaderFactory<T> {
+        /**
+         * Opens a reader over the given chunk file.
+         *
+         * @param chunkFile the downloaded chunk file
+         * @return the reader
+         * @throws TenableIoException the tenable IO exception
+         */
+        ExportChunkReader<? extends T> open( File chunkFile ) throws TenableIoException;
+    }
+
+
+    /**
+     * Carries a TenableIoException out of a ForkJoinTask.
+     */
+    private static class ChunkException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+
+        ChunkException( TenableIoException cause ) {
+            super( cause );
+        }
+    }
+
+
+    private static class ChunkTask<T> extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final ReaderFactory<T> readerFactory;
+        private final File chunkFile;
+
+
+        ChunkTask( ReaderFactory<T> readerFactory, File chunkFile ) {
+            this.readerFactory = readerFactory;
+            this.chunkFile = chunkFile;
+        }
+
+
+        @Override
+        protected List<T> compute() {
+            List<T> records = new ArrayList<>();
+            readChunk( readerFactory, chunkFile, records::add );
+            return records;
+        }
+    }
+
+
+    private static class UnorderedTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ReaderFactory<T> readerFactory;
+        private final List<File> chunkFiles;
+        private final int from;
+        private final int to;
+        private final Consumer<? super T> sink;
+
+
+        UnorderedTask( ReaderFactory<T> readerFactory, List<File> chunkFiles, int from, int to, Consumer<? super T> sink ) {
+            this.readerFactory = readerFactory;
+            this.chunkFiles = chunkFiles;
+            this.from = from;
+            this.to = to;
+            this.sink = sink;
+        }
+
+
+        @Override
+        protected void compute() {
+            if( to - from == 1 ) {
+                readChunk( readerFactory, chunkFiles.get( from ), sink );
+                return;
+            }
+            int middle = ( from + to ) >>> 1;
+            invokeAll( new UnorderedTask<>( readerFactory, chunkFiles, from, middle, sink ),
+                    new UnorderedTask<>( readerFactory, chunkFiles, middle, to, sink ) );
+        }
+    }
+
+
+    private static class ReduceTask<T, A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final ReaderFactory<T> readerFactory;
+        private final List<File> chunkFiles;
+        private final int from;
+        private final int to;
+        private final Supplier<A> supplier;
+        private final BiConsumer<A, ? super T> accumulator;
+        private final BinaryOperator<A> combiner;
+
+
+        ReduceTask( ReaderFactory<T> readerFactory, List<File> chunkFiles, int from, int to, Supplier<A> supplier,
+                    BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner ) {
+            this.readerFactory = readerFactory;
+            this.chunkFiles = chunkFiles;
+            this.from = from;
+            this.to = to;
+            this.supplier = supplier;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+
+        @Override
+        protected A compute() {
+            if( to - from == 1 ) {
+                A result = supplier.get();
+                readChunk( readerFactory, chunkFiles.get( from ), record -> accumulator.accept( result, record ) );
+                return result;
+            }
+            int middle = ( from + to ) >>> 1;
+            ReduceTask<T, A> left = new ReduceTask<>( readerFactory, chunkFiles, from, middle, supplier, accumulator, combiner );
+            ReduceTask<T, A> right = new ReduceTask<>( readerFactory, chunkFiles, middle, to, supplier, accumulator, combiner );
+            left.fork();
+            A rightResult = right.compute();
+            return combiner.apply( left.join(), rightResult );
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+import com.tenable.io.core.utilities.models.Projection;
+
+
+/**
+ * Streams the records of a downloaded export chunk file one at a time, without loading the whole chunk in memory.
+ * A chunk file is a JSON array of records, as written by {@link ExportsApi#vulnsDownloadChunk} or
+ * {@link ExportsApi#assetsDownloadChunk}; gzip compressed chunk files are decompressed as they are read.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the record type, e.g. Vulnerability or Asset
+ */
+public class ExportChunkReader<T> implements AutoCloseable {
+    private static final JsonHelper defaultJsonHelper = new JsonHelper( true );
+
+    private final File chunkFile;
+    private final Class<T> recordClass;
+    private final JsonHelper jsonHelper;
+    private final JsonParser parser;
+    private Projection projection;
+    private boolean started;
+
+
+    /**
+     * Opens the given chunk file for reading.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @throws TenableIoException the tenable IO exception
+     */
+    public ExportChunkReader( File chunkFile, Class<T> recordClass ) throws TenableIoException {
+        this( chunkFile, recordClass, defaultJsonHelper );
+    }
+
+
+    /**
+     * Opens the given chunk file for reading, using the given JsonHelper to bind records.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @param jsonHelper the json helper used to bind records
+     * @throws TenableIoException the tenable IO exception
+     */
+    public ExportChunkReader( File chunkFile, Class<T> recordClass, JsonHelper jsonHelper ) throws TenableIoException {
+        this.chunkFile = chunkFile;
+        this.recordClass = recordClass;
+        this.jsonHelper = jsonHelper;
+        try {
+            this.parser = jsonHelper.createParser( ChunkCompression.open( chunkFile ) );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Reads the given chunk file through an already created parser. Used by readers that need control over the
+     * underlying stream.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @param parser the parser over the chunk file
+     */
+    protected ExportChunkReader( File chunkFile, Class<T> recordClass, JsonParser parser ) {
+        this.chunkFile = chunkFile;
+        this.recordClass = recordClass;
+        this.jsonHelper = defaultJsonHelper;
+        this.parser = parser;
+    }
+
+
+    /**
+     * Opens the given chunk file for reading, binding only the properties of the given projection. The other
+     * properties of each record are skipped by the parser without being bound.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @param projection the JSON properties to bind
+     * @throws TenableIoException the tenable IO exception
+     */
+    public ExportChunkReader( File chunkFile, Class<T> recordClass, Projection projection ) throws TenableIoException {
+        this( chunkFile, recordClass, defaultJsonHelper );
+        this.projection = projection;
+    }
+
+
+    /**
+     * Reads the next record of the chunk.
+     *
+     * @return the next record, or null once the end of the chunk is reached
+     * @throws TenableIoException the tenable IO exception
+     */
+    public T read() throws TenableIoException {
+        try {
+            if( !nextRecord() ) {
+                return null;
+            }
+            return projection != null ? jsonHelper.readValue( parser, recordClass, projection ) : parser.readValueAs( recordClass );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Couldn't read record from chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Reads all remaining records of the chunk and passes them to the given consumer.
+     *
+     * @param consumer the record consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void forEach( Consumer<? super T> consumer ) throws TenableIoException {
+        T record;
+        while( ( record = read() ) != null ) {
+            consumer.accept( record );
+        }
+    }
+
+
+    /**
+     * Reads all records of the given chunk files, in order, and passes them to the given consumer.
+     *
+     * @param <T> the record type
+     * @param chunkFiles the downloaded chunk files
+     * @param recordClass the class of the records contained in the chunks
+     * @param consumer the record consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static <T> void readAll( List<File> chunkFiles, Class<T> recordClass, Consumer<? super T> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( ExportChunkReader<T> reader = new ExportChunkReader<>( chunkFile, recordClass ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    /**
+     * Reads all records of the given chunk files, in order, binding only the properties of the given projection, and
+     * passes them to the given consumer.
+     *
+     * @param <T> the record type
+     * @param chunkFiles the downloaded chunk files
+     * @param recordClass the class of the records contained in the chunks
+     * @param projection the JSON properties to bind
+     * @param consumer the record consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static <T> void readAll( List<File> chunkFiles, Class<T> recordClass, Projection projection, Consumer<? super T> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( ExportChunkReader<T> reader = new ExportChunkReader<>( chunkFile, recordClass, projection ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    /**
+     * Counts the records of the given chunk file without parsing them: the chunk is only scanned for the record
+     * boundaries, which costs a small fraction of reading the records.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @return the number of records in the chunk
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static long countRecords( File chunkFile ) throws TenableIoException {
+        return RecordScanner.countRecords( chunkFile );
+    }
+
+
+    /**
+     * Gets the chunk file being read.
+     *
+     * @return the chunk file
+     */
+    public File getChunkFile() {
+        return chunkFile;
+    }
+
+
+    /**
+     * Gets the underlying parser. Used by readers that need token level access to the records.
+     *
+     * @return the underlying parser
+     */
+    protected JsonParser getParser() {
+        return parser;
+    }
+
+
+    /**
+     * Advances the parser to the start of the next record.
+     *
+     * @return true if the parser is positioned on the start of a record, false once the end of the chunk is reached
+     * @throws IOException if the chunk could not be read
+     * @throws TenableIoException if the chunk is not a JSON array of objects
+     */
+    protected boolean nextRecord() throws IOException, TenableIoException {
+        if( !started ) {
+            started = true;
+            JsonToken first = parser.nextToken();
+            if( first == null ) {
+                return false;
+            }
+            if( first != JsonToken.START_ARRAY ) {
+                throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Chunk file %s is not a JSON array.", chunkFile.getAbsolutePath() ) );
+            }
+        }
+
+        JsonToken token = parser.nextToken();
+        if( token == null || token == JsonToken.END_ARRAY ) {
+            return false;
+        }
+        if( token != JsonToken.START_OBJECT ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Unexpected token %s in chunk file %s.", token, chunkFile.getAbsolutePath() ) );
+        }
+        return true;
+    }
+
+
+    /**
+     * Closes the chunk file.
+     *
+     * @throws TenableIoException the tenable IO exception
+     */
+    @Override
+    public void close() throws TenableIoException {
+        try {
+            parser.close();
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't close chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+}
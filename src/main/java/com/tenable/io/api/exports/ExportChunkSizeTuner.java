@@ -0,0 +1,228 @@
+package com.tenable.io.api.exports;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.tenable.io.api.exports.models.AssetsExportRequest;
+import com.tenable.io.api.exports.models.ExportMetrics;
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Chooses num_assets for vulns exports and chunk_size for assets exports from the throughput of previous exports of the
+ * same tenant. The chunk size is picked so that chunks are close to a target size in bytes, while still producing at
+ * least the target number of chunks so they can be downloaded and parsed in parallel. When a target chunk duration is
+ * set, chunks are also kept small enough to be delivered within it at the recorded bytes/s of the tenant.
+ * Until an export has been recorded for a tenant, the request defaults are used. Recorded figures are averaged with an
+ * exponentially weighted moving average, each new export weighing half.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+@Slf4j
+public class ExportChunkSizeTuner {
+    private static final int historySize = 20;
+    private static final double smoothing = 0.5;
+
+    private final long targetChunkBytes;
+    private final int targetParallelism;
+    private final Map<String, Profile> profiles = new HashMap<>();
+    private long targetChunkMillis;
+
+
+    /**
+     * Instantiates a new chunk size tuner.
+     *
+     * @param targetChunkBytes the chunk size in bytes to aim for
+     * @param targetParallelism the minimum number of chunks to aim for, 1 to only size chunks by bytes
+     */
+    public ExportChunkSizeTuner( long targetChunkBytes, int targetParallelism ) {
+        if( targetChunkBytes < 1 || targetParallelism < 1 ) {
+            throw new IllegalArgumentException( "targetChunkBytes and targetParallelism must be positive." );
+        }
+        this.targetChunkBytes = targetChunkBytes;
+        this.targetParallelism = targetParallelism;
+    }
+
+
+    /**
+     * Sets the time a chunk should take to be delivered at the recorded throughput of the tenant. Chunks are made
+     * smaller than the target size in bytes when the tenant's exports are too slow to deliver them in that time.
+     *
+     * @param targetChunkMillis the chunk duration in milliseconds to aim for, 0 to only size chunks by bytes
+     */
+    public synchronized void setTargetChunkMillis( long targetChunkMillis ) {
+        this.targetChunkMillis = Math.max( 0, targetChunkMillis );
+    }
+
+
+    /**
+     * Records the metrics of a completed export of the given tenant.
+     *
+     * @param tenant the tenant key, e.g. the container uuid or the access key owner
+     * @param metrics the export metrics
+     */
+    public synchronized void record( String tenant, ExportMetrics metrics ) {
+        if( metrics.getChunks() == 0 || metrics.getChunkSize() <= 0 ) {
+            return;
+        }
+
+        Profile profile = profiles.computeIfAbsent( key( tenant, metrics.getExportType() ), k -> new Profile() );
+        double bytesPerAsset = (double) metrics.getMaxChunkBytes() / metrics.getChunkSize();
+        double totalAssets = metrics.getBytes() / Math.max( bytesPerAsset, 1.0 );
+
+        if( profile.history.isEmpty() ) {
+            profile.bytesPerAsset = bytesPerAsset;
+            profile.totalAssets = totalAssets;
+            profile.bytesPerSecond = metrics.getBytesPerSecond();
+            profile.recordsPerSecond = metrics.getRecordsPerSecond();
+        } else {
+            profile.bytesPerAsset = average( bytesPerAsset, profile.bytesPerAsset );
+            profile.totalAssets = average( totalAssets, profile.totalAssets );
+            profile.bytesPerSecond = average( metrics.getBytesPerSecond(), profile.bytesPerSecond );
+            profile.recordsPerSecond = average( metrics.getRecordsPerSecond(), profile.recordsPerSecond );
+        }
+
+        profile.history.addLast( metrics );
+        if( profile.history.size() > historySize ) {
+            profile.history.removeFirst();
+        }
+
+        log.debug( "Recorded export metrics for tenant {}: {}", tenant, metrics );
+    }
+
+
+    /**
+     * Gets the recorded export metrics of the given tenant, oldest first.
+     *
+     * @param tenant the tenant key
+     * @param exportType the kind of export
+     * @return the recorded export metrics
+     */
+    public synchronized List<ExportMetrics> getHistory( String tenant, ExportType exportType ) {
+        Profile profile = profiles.get( key( tenant, exportType ) );
+        return profile != null ? new ArrayList<>( profile.history ) : new ArrayList<>();
+    }
+
+
+    /**
+     * Gets the average number of bytes exported per second for the given tenant.
+     *
+     * @param tenant the tenant key
+     * @param exportType the kind of export
+     * @return the average bytes/s; 0 if no export was recorded
+     */
+    public synchronized double getBytesPerSecond( String tenant, ExportType exportType ) {
+        Profile profile = profiles.get( key( tenant, exportType ) );
+        return profile != null ? profile.bytesPerSecond : 0;
+    }
+
+
+    /**
+     * Gets the average number of records exported per second for the given tenant.
+     *
+     * @param tenant the tenant key
+     * @param exportType the kind of export
+     * @return the average records/s; 0 if no export was recorded
+     */
+    public synchronized double getRecordsPerSecond( String tenant, ExportType exportType ) {
+        Profile profile = profiles.get( key( tenant, exportType ) );
+        return profile != null ? profile.recordsPerSecond : 0;
+    }
+
+
+    /**
+     * Chooses the number of assets per chunk for a vulns export of the given tenant.
+     *
+     * @param tenant the tenant key
+     * @return the number of assets per chunk, within 50-5000
+     */
+    public int tuneNumAssets( String tenant ) {
+        return tune( tenant, ExportType.VULNS, new VulnsExportRequest().getNumAssets(), VulnsExportRequest.lowerRange,
+                VulnsExportRequest.higherRange );
+    }
+
+
+    /**
+     * Chooses the number of assets per chunk for an assets export of the given tenant.
+     *
+     * @param tenant the tenant key
+     * @return the number of assets per chunk, within 100-10000
+     */
+    public int tuneChunkSize( String tenant ) {
+        return tune( tenant, ExportType.ASSETS, new AssetsExportRequest().getChunkSize(), AssetsExportRequest.lowerRange,
+                AssetsExportRequest.higherRange );
+    }
+
+
+    /**
+     * Returns a copy of the given vulns export request, with the number of assets chosen for the given tenant. The
+     * request keeps its own number of assets until an export of the tenant was recorded.
+     *
+     * @param tenant the tenant key
+     * @param exportRequest the export request
+     * @return the tuned export request
+     */
+    public VulnsExportRequest tune( String tenant, VulnsExportRequest exportRequest ) {
+        int numAssets = tune( tenant, ExportType.VULNS, exportRequest.getNumAssets(), VulnsExportRequest.lowerRange, VulnsExportRequest.higherRange );
+        return new VulnsExportRequest( numAssets, exportRequest.getExportFilters() );
+    }
+
+
+    /**
+     * Returns a copy of the given assets export request, with the chunk size chosen for the given tenant. The request
+     * keeps its own chunk size until an export of the tenant was recorded.
+     *
+     * @param tenant the tenant key
+     * @param exportRequest the export request
+     * @return the tuned export request
+     */
+    public AssetsExportRequest tune( String tenant, AssetsExportRequest exportRequest ) {
+        int chunkSize = tune( tenant, ExportType.ASSETS, exportRequest.getChunkSize(), AssetsExportRequest.lowerRange, AssetsExportRequest.higherRange );
+        return new AssetsExportRequest( chunkSize, exportRequest.getExportFilters() );
+    }
+
+
+    private synchronized int tune( String tenant, ExportType exportType, int defaultSize, int lowerRange, int higherRange ) {
+        Profile profile = profiles.get( key( tenant, exportType ) );
+        if( profile == null ) {
+            return defaultSize;
+        }
+
+        double chunkBytes = targetChunkBytes;
+        if( targetChunkMillis > 0 && profile.bytesPerSecond > 0 ) {
+            chunkBytes = Math.min( chunkBytes, profile.bytesPerSecond * targetChunkMillis / 1000 );
+        }
+        double size = chunkBytes / Math.max( profile.bytesPerAsset, 1.0 );
+        if( targetParallelism > 1 ) {
+            size = Math.min( size, Math.ceil( profile.totalAssets / targetParallelism ) );
+        }
+
+        return (int) Math.max( lowerRange, Math.min( higherRange, Math.round( size ) ) );
+    }
+
+
+    private static double average( double value, double average ) {
+        return smoothing * value + ( 1 - smoothing ) * average;
+    }
+
+
+    private static String key( String tenant, ExportType exportType ) {
+        return tenant + "/" + exportType;
+    }
+
+
+    private static class Profile {
+        private double bytesPerAsset;
+        private double totalAssets;
+        private double bytesPerSecond;
+        private double recordsPerSecond;
+        private final LinkedList<ExportMetrics> history = new LinkedList<>();
+    }
+}
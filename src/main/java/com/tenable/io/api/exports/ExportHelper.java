@@ -1,15 +1,32 @@
 package com.tenable.io.api.exports;
 
 import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import com.tenable.io.api.ApiHelperBase;
 import com.tenable.io.api.TenableIoClient;
 import com.tenable.io.api.exports.models.AssetsExportRequest;
+import com.tenable.io.api.exports.models.ExportMetrics;
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+import com.tenable.io.api.exports.models.ExportProgress;
 import com.tenable.io.api.exports.models.ExportStatus;
+import com.tenable.io.api.exports.models.FindingKey;
 import com.tenable.io.api.exports.models.Status;
 import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
 import com.tenable.io.core.exceptions.TenableIoException;
 
 import lombok.extern.slf4j.Slf4j;
@@ -18,9 +35,19 @@ import lombok.extern.slf4j.Slf4j;
  * Copyright (c) 2018 Tenable Network Security, Inc.
  */
 @Slf4j
-public class ExportHelper extends ApiHelperBase {
+public class ExportHelper extends ApiHelperBase implements AutoCloseable {
     private static final int sleepInterval = 5000;
+    private static final int minSleepInterval = 1000;
+    private static final int maxSleepInterval = 30000;
     private TenableIoClient client;
+    private final Map<String, ExportType> activeExports = new ConcurrentHashMap<>();
+    private long exportTimeout;
+    private ExportChunkSizeTuner chunkSizeTuner;
+    private String tenant;
+    private ExportResultCache resultCache;
+    private ExportProgressListener progressListener;
+    private boolean compressChunks;
+    private Clock clock = Clock.systemUTC();
 
     /**
      * Instantiates a new Export helper.
@@ -33,41 +60,257 @@ public class ExportHelper extends ApiHelperBase {
     }
 
 
+    /**
+     * Sets the tuner used to choose num_assets and chunk_size of the exports requested by this helper. The metrics of
+     * every export downloaded by this helper are recorded into the tuner under the given tenant key.
+     *
+     * @param chunkSizeTuner the chunk size tuner, or null to use the request values as is
+     * @param tenant the tenant key the exports are recorded under
+     */
+    public void setChunkSizeTuner( ExportChunkSizeTuner chunkSizeTuner, String tenant ) {
+        this.chunkSizeTuner = chunkSizeTuner;
+        this.tenant = tenant;
+    }
+
+
+    /**
+     * Sets how long to wait for an export to finish before cancelling it on the server.
+     *
+     * @param exportTimeout the timeout in milliseconds, 0 to wait forever
+     */
+    public void setExportTimeout( long exportTimeout ) {
+        this.exportTimeout = exportTimeout;
+    }
+
+
+    /**
+     * Sets the listener notified of the progress of the exports run by this helper. The records of each chunk are
+     * counted once it is downloaded, whether or not a listener is set, by scanning the chunk file for record boundaries
+     * without parsing the records; this reads the chunk again, usually from the page cache.
+     *
+     * @param progressListener the progress listener, or null
+     */
+    public void setProgressListener( ExportProgressListener progressListener ) {
+        this.progressListener = progressListener;
+    }
+
+
+    /**
+     * Sets whether chunks are gzip compressed while they are downloaded, to a file named after the chunk with the
+     * ChunkCompression.SUFFIX suffix. Compressed chunks are typically several times smaller, and are read
+     * transparently by the chunk readers, with streaming decompression.
+     *
+     * @param compressChunks true to download compressed chunks
+     */
+    public void setCompressChunks( boolean compressChunks ) {
+        this.compressChunks = compressChunks;
+    }
+
+
+    /**
+     * Sets the clock used to measure the exports, for tests.
+     *
+     * @param clock the clock
+     */
+    void setClock( Clock clock ) {
+        this.clock = clock;
+    }
+
+
+    /**
+     * Sets the cache used to coalesce identical export requests. Share the same cache between helpers to reuse
+     * exports across them.
+     *
+     * @param resultCache the export result cache, or null to always request a new export
+     */
+    public void setResultCache( ExportResultCache resultCache ) {
+        this.resultCache = resultCache;
+    }
+
+
     /**
      * Request the vulns export chunks, poll for status, and download them when it's available. The chunks will be
      * downloaded in no particular order.
      *
+     * When a result cache is set, an identical export in flight or completed within the freshness window is reused,
+     * and the returned files are the ones downloaded for that export.
+     *
      * @param downloadPath File Path to save the chunk downloads to
      * @param exportRequest The VulnsExportRequest to set filters
      * @throws TenableIoException
      * @return
      */
     public List<File> downloadVulns( String downloadPath, VulnsExportRequest exportRequest  ) throws TenableIoException {
-        String exportUuid = client.getExportsApi().vulnsRequestExport( exportRequest );
-        ExportStatus status = this.client.getExportsApi().vulnsExportStatus( exportUuid );
-        while( !status.getStatus().equals( Status.FINISHED ) ) {
-            try {
-                Thread.sleep( sleepInterval );
-            } catch( InterruptedException e ) {
-                log.error(e.getMessage());
+        if( resultCache != null ) {
+            return resultCache.get( ExportResultCache.keyOf( exportRequest ), () -> requestAndDownloadVulns( downloadPath, exportRequest ) );
+        }
+        return requestAndDownloadVulns( downloadPath, exportRequest );
+    }
+
+
+    private List<File> requestAndDownloadVulns( String downloadPath, VulnsExportRequest exportRequest ) throws TenableIoException {
+        long startTime = clock.millis();
+        VulnsExportRequest request = chunkSizeTuner != null ? chunkSizeTuner.tune( tenant, exportRequest ) : exportRequest;
+        String exportUuid = client.getExportsApi().vulnsRequestExport( request );
+        ExportMetrics metrics = new ExportMetrics().withExportType( ExportType.VULNS ).withExportUuid( exportUuid )
+                .withChunkSize( request.getNumAssets() );
+        ExportProgress progress = new ExportProgress( ExportType.VULNS, exportUuid, startTime, clock );
+        activeExports.put( exportUuid, ExportType.VULNS );
+        try {
+            ExportStatus status = waitForExport( progress );
+
+            // Download chunks
+            List<File> chunkFiles = new ArrayList<>();
+            for( int chunkId : status.getChunksAvailable() ) {
+                checkInterrupted( ExportType.VULNS, exportUuid );
+                File downloadFile = chunkFile( downloadPath, chunkId );
+                try {
+                    this.client.getExportsApi().vulnsDownloadChunk( exportUuid, chunkId, downloadFile, compressChunks );
+                    chunkDownloaded( downloadFile, metrics, progress );
+                } catch( TenableIoException e ) {
+                    // log the exception but keep processing
+                    log.error( e.getMessage() );
+                }
+                log.info( "Saved TenableIO chunk to file {}", downloadFile.getPath() );
+                chunkFiles.add( downloadFile );
             }
 
-            status = this.client.getExportsApi().vulnsExportStatus( exportUuid );
+            recordMetrics( metrics.withElapsedMillis( clock.millis() - startTime ) );
+            return chunkFiles;
+        } finally {
+            activeExports.remove( exportUuid );
         }
+    }
 
-        // Download chunks
-        return status.getChunksAvailable().stream().map(chunkId -> {
-            File downloadFile = new File( downloadPath + "_" + chunkId);
-            try {
-                this.client.getExportsApi().vulnsDownloadChunk( exportUuid, chunkId, downloadFile );
-            } catch (TenableIoException e) {
-                // log the exception but keep processing
-                log.error(e.getMessage());
+
+    /**
+     * Split the vulns export request into partitions, export the partitions concurrently and download their chunks.
+     * At most maxConcurrency exports are running at the same time. Chunks of partition i are saved to
+     * downloadPath + "_p" + i + "_" + chunkId. Use {@link #mergeVulns(List, VulnsExportPartitioner, Consumer)} to read
+     * the merged results without duplicates. If a partition fails, the exports of the other partitions are cancelled.
+     *
+     * @param downloadPath File Path to save the chunk downloads to
+     * @param exportRequest The logical VulnsExportRequest to partition
+     * @param partitioner The partitioner used to split the request
+     * @param maxConcurrency The maximum number of exports running at the same time
+     * @return the chunk files of all partitions, in partition order
+     * @throws TenableIoException the tenable IO exception
+     */
+    public List<File> downloadVulns( String downloadPath, VulnsExportRequest exportRequest, VulnsExportPartitioner partitioner,
+                                     int maxConcurrency ) throws TenableIoException {
+        if( maxConcurrency < 1 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "maxConcurrency must be at least 1." );
+        }
+
+        List<VulnsExportRequest> partitions = partitioner.partition( exportRequest );
+        if( partitions.isEmpty() ) {
+            return new ArrayList<>();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( Math.min( maxConcurrency, partitions.size() ) );
+        try {
+            List<Future<List<File>>> futures = new ArrayList<>( partitions.size() );
+            for( int i = 0; i < partitions.size(); i++ ) {
+                final String partitionPath = downloadPath + "_p" + i;
+                final VulnsExportRequest partition = partitions.get( i );
+                futures.add( executor.submit( () -> downloadVulns( partitionPath, partition ) ) );
             }
-            log.info("Saved TenableIO chunk to file {}", downloadFile.getPath());
-            return downloadFile;
-        }).collect(Collectors.toList());
 
+            List<File> result = new ArrayList<>();
+            for( Future<List<File>> future : futures ) {
+                result.addAll( future.get() );
+            }
+            return result;
+        } catch( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new TenableIoException( TenableIoErrorCode.Generic, "Interrupted while waiting for partitioned export.", e );
+        } catch( ExecutionException e ) {
+            if( e.getCause() instanceof TenableIoException ) {
+                throw (TenableIoException) e.getCause();
+            }
+            throw new TenableIoException( TenableIoErrorCode.Generic, "Partitioned export failed.", e.getCause() );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    /**
+     * Read the vulnerabilities of the given chunk files and pass them to the consumer, skipping findings already seen
+     * in a previous record. Used to merge the chunks of a partitioned export, where partitions can overlap.
+     * Findings are identified by asset UUID, plugin id, port and protocol.
+     *
+     * The key of every distinct finding is kept in memory until the merge completes, about 200 bytes per finding, so
+     * memory grows with the size of the export. Use {@link #mergeVulns(List, VulnsExportPartitioner, Consumer)} to
+     * skip the de-duplication when the partitions are disjoint, as severity partitions are.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void mergeVulns( List<File> chunkFiles, Consumer<Vulnerability> consumer ) throws TenableIoException {
+        mergeVulns( chunkFiles, null, null, consumer );
+    }
+
+
+    /**
+     * Read the vulnerabilities of the given chunk files and pass them to the consumer, skipping findings already seen
+     * in a previous record. When a plugin metadata cache is given, the vulnerabilities are read in dedup mode and share
+     * the plugin level text of their plugin, see {@link VulnerabilityChunkReader}. The keys of the findings are kept in
+     * memory, as with {@link #mergeVulns(List, Consumer)}.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param pluginMetadataCache the cache holding the shared plugin metadata, or null to read full records
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void mergeVulns( List<File> chunkFiles, PluginMetadataCache pluginMetadataCache, Consumer<Vulnerability> consumer ) throws TenableIoException {
+        mergeVulns( chunkFiles, null, pluginMetadataCache, consumer );
+    }
+
+
+    /**
+     * Read the vulnerabilities of the chunk files of an export partitioned by the given partitioner and pass them to
+     * the consumer. Findings are de-duplicated only when the partitions can overlap, i.e. CIDR range and tag
+     * partitions; the chunks of severity partitions are streamed as is, in constant memory.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param partitioner the partitioner the export was split with
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void mergeVulns( List<File> chunkFiles, VulnsExportPartitioner partitioner, Consumer<Vulnerability> consumer ) throws TenableIoException {
+        mergeVulns( chunkFiles, partitioner, null, consumer );
+    }
+
+
+    /**
+     * Read the vulnerabilities of the chunk files of an export partitioned by the given partitioner and pass them to
+     * the consumer, de-duplicating them only when the partitions can overlap. When a plugin metadata cache is given,
+     * the vulnerabilities are read in dedup mode, see {@link VulnerabilityChunkReader}.
+     *
+     * @param chunkFiles the downloaded chunk files
+     * @param partitioner the partitioner the export was split with, or null if unknown
+     * @param pluginMetadataCache the cache holding the shared plugin metadata, or null to read full records
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void mergeVulns( List<File> chunkFiles, VulnsExportPartitioner partitioner, PluginMetadataCache pluginMetadataCache,
+                            Consumer<Vulnerability> consumer ) throws TenableIoException {
+        Consumer<Vulnerability> merger = consumer;
+        if( partitioner == null || !partitioner.isDisjoint() ) {
+            final Set<FindingKey> seen = new HashSet<>();
+            merger = vulnerability -> {
+                if( seen.add( FindingKey.of( vulnerability ) ) ) {
+                    consumer.accept( vulnerability );
+                }
+            };
+        }
+        if( pluginMetadataCache != null ) {
+            VulnerabilityChunkReader.readAll( chunkFiles, pluginMetadataCache, merger );
+        } else {
+            ExportChunkReader.readAll( chunkFiles, Vulnerability.class, merger );
+        }
     }
 
 
@@ -75,29 +318,180 @@ public class ExportHelper extends ApiHelperBase {
      * Request the vulns export chunks, poll for status, and download them when it's available. The chunks will be
      * downloaded in no particular order.
      *
+     * When a result cache is set, an identical export in flight or completed within the freshness window is reused,
+     * and the returned files are the ones downloaded for that export.
+     *
      * @param downloadPath File Path to save the chunk downloads to
      * @param exportRequest The VulnsExportRequest to set filters
      * @throws TenableIoException
+     * @return the downloaded chunk files
+     */
+    public List<File> downloadAssets( String downloadPath, AssetsExportRequest exportRequest ) throws TenableIoException {
+        if( resultCache != null ) {
+            return resultCache.get( ExportResultCache.keyOf( exportRequest ), () -> requestAndDownloadAssets( downloadPath, exportRequest ) );
+        }
+        return requestAndDownloadAssets( downloadPath, exportRequest );
+    }
+
+
+    private List<File> requestAndDownloadAssets( String downloadPath, AssetsExportRequest exportRequest ) throws TenableIoException {
+        long startTime = clock.millis();
+        AssetsExportRequest request = chunkSizeTuner != null ? chunkSizeTuner.tune( tenant, exportRequest ) : exportRequest;
+        String exportUuid = client.getExportsApi().assetsRequestExport( request );
+        ExportMetrics metrics = new ExportMetrics().withExportType( ExportType.ASSETS ).withExportUuid( exportUuid )
+                .withChunkSize( request.getChunkSize() );
+        ExportProgress progress = new ExportProgress( ExportType.ASSETS, exportUuid, startTime, clock );
+        activeExports.put( exportUuid, ExportType.ASSETS );
+        try {
+            ExportStatus status = waitForExport( progress );
+
+            // Download chunks
+            List<File> chunkFiles = new ArrayList<>();
+            for ( int id : status.getChunksAvailable() ) {
+                checkInterrupted( ExportType.ASSETS, exportUuid );
+                File downloadFile = chunkFile( downloadPath, id );
+                client.getExportsApi().assetsDownloadChunk( exportUuid, id, downloadFile, compressChunks );
+                chunkDownloaded( downloadFile, metrics, progress );
+                chunkFiles.add( downloadFile );
+            }
+
+            recordMetrics( metrics.withElapsedMillis( clock.millis() - startTime ) );
+            return chunkFiles;
+        } finally {
+            activeExports.remove( exportUuid );
+        }
+    }
+
+
+    /**
+     * Cancels all exports this helper is still waiting for or downloading. Threads waiting for these exports fail
+     * with a TenableIoException once they see the cancelled status.
+     */
+    @Override
+    public void close() {
+        for( Map.Entry<String, ExportType> export : activeExports.entrySet() ) {
+            cancelExport( export.getValue(), export.getKey() );
+        }
+    }
+
+
+    /**
+     * Polls the export status until the export is finished. The polling interval follows the estimated time left, between
+     * 1 and 30 seconds. The export is cancelled on the server if it does not finish within the export timeout, or if the
+     * waiting thread is interrupted.
      */
-    public void downloadAssets( String downloadPath, AssetsExportRequest exportRequest ) throws TenableIoException {
-        String exportUuid = client.getExportsApi().assetsRequestExport( exportRequest );
-        ExportStatus status = this.client.getExportsApi().assetsExportStatus( exportUuid );
+    private ExportStatus waitForExport( ExportProgress progress ) throws TenableIoException {
+        ExportType exportType = progress.getExportType();
+        String exportUuid = progress.getExportUuid();
+        ExportStatus status = getExportStatus( exportType, exportUuid );
+        updateProgress( progress, status );
 
         while( !status.getStatus().equals( Status.FINISHED ) ) {
+            if( status.getStatus() == Status.ERROR || status.getStatus() == Status.CANCELLED ) {
+                throw new TenableIoException( TenableIoErrorCode.Generic, String.format( "TenableIO %s export %s ended with status %s.",
+                        exportType, exportUuid, status.getStatus() ) );
+            }
+            if( exportTimeout > 0 && progress.getElapsedMillis() > exportTimeout ) {
+                cancelExport( exportType, exportUuid );
+                throw new TenableIoException( TenableIoErrorCode.Timeout, String.format( "TenableIO %s export %s did not finish within %d ms.",
+                        exportType, exportUuid, exportTimeout ) );
+            }
+
             try {
-                Thread.sleep( sleepInterval );
+                Thread.sleep( nextPollInterval( progress ) );
             } catch( InterruptedException e ) {
+                Thread.currentThread().interrupt();
+                checkInterrupted( exportType, exportUuid );
             }
 
-            status = this.client.getExportsApi().assetsExportStatus( exportUuid );
+            status = getExportStatus( exportType, exportUuid );
+            updateProgress( progress, status );
         }
 
-        // Download chunks
-        for ( int id : status.getChunksAvailable() ) {
-            File downloadFile = new File( downloadPath + "_" + id );
-            client.getExportsApi().assetsDownloadChunk( exportUuid, id, downloadFile );
+        return status;
+    }
+
+
+    static long nextPollInterval( ExportProgress progress ) {
+        long remaining = progress.getEstimatedServerRemainingMillis();
+        if( remaining < 0 ) {
+            return sleepInterval;
+        }
+        return Math.max( minSleepInterval, Math.min( maxSleepInterval, remaining / 2 ) );
+    }
+
+
+    private void updateProgress( ExportProgress progress, ExportStatus status ) {
+        progress.update( status );
+        if( progressListener != null ) {
+            progressListener.onProgress( progress );
         }
+    }
+
+
+    private File chunkFile( String downloadPath, int chunkId ) {
+        return new File( downloadPath + "_" + chunkId + ( compressChunks ? ChunkCompression.SUFFIX : "" ) );
+    }
 
+
+    private void chunkDownloaded( File chunkFile, ExportMetrics metrics, ExportProgress progress ) throws TenableIoException {
+        long records = ExportChunkReader.countRecords( chunkFile );
+        long bytes;
+        try {
+            bytes = ChunkCompression.uncompressedSize( chunkFile );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+        metrics.addChunk( bytes );
+        metrics.addRecords( records );
+        progress.addDownloadedChunk( bytes, records );
+        if( progressListener != null ) {
+            progressListener.onProgress( progress );
+        }
+    }
+
+
+    private ExportStatus getExportStatus( ExportType exportType, String exportUuid ) throws TenableIoException {
+        return exportType == ExportType.VULNS ? client.getExportsApi().vulnsExportStatus( exportUuid ) :
+                client.getExportsApi().assetsExportStatus( exportUuid );
+    }
+
+
+    private void checkInterrupted( ExportType exportType, String exportUuid ) throws TenableIoException {
+        if( Thread.currentThread().isInterrupted() ) {
+            cancelExport( exportType, exportUuid );
+            throw new TenableIoException( TenableIoErrorCode.Interrupted, String.format( "Interrupted while processing TenableIO %s export %s.",
+                    exportType, exportUuid ) );
+        }
+    }
+
+
+    /**
+     * Cancels the export on the server, logging rather than throwing on failure since this is a best effort cleanup.
+     * The interrupt status of the thread is cleared during the cancel request, which would otherwise fail at once while
+     * waiting for its response, and restored afterwards.
+     */
+    private void cancelExport( ExportType exportType, String exportUuid ) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            Status status = exportType == ExportType.VULNS ? client.getExportsApi().vulnsCancelExport( exportUuid ) :
+                    client.getExportsApi().assetsCancelExport( exportUuid );
+            log.info( "Cancelled TenableIO {} export {}, status {}", exportType, exportUuid, status );
+        } catch( TenableIoException e ) {
+            log.warn( "Couldn't cancel TenableIO {} export {}: {}", exportType, exportUuid, e.getMessage() );
+        } finally {
+            if( interrupted ) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    private void recordMetrics( ExportMetrics metrics ) {
+        log.info( "Completed TenableIO {}", metrics );
+        if( chunkSizeTuner != null ) {
+            chunkSizeTuner.record( tenant, metrics );
+        }
     }
 
 }
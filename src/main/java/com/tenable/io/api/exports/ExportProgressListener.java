@@ -0,0 +1,21 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.ExportProgress;
+
+
+/**
+ * Receives the progress of the exports run by an ExportHelper: after each status poll and after each chunk download.
+ * Called on the thread running the export, so implementations should return quickly.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+@FunctionalInterface
+public interface ExportProgressListener {
+    /**
+     * Called when the progress of an export changed.
+     *
+     * @param progress the export progress, updated in place as the export progresses
+     */
+    void onProgress( ExportProgress progress );
+}
@@ -0,0 +1,249 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tenable.io.api.exports.models.AssetsExportRequest;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Coalesces identical export requests within a JVM. Requests are keyed by a canonical hash of their filters: a request
+ * identical to one in flight waits for that export instead of starting a new one, and a request identical to one that
+ * completed within the freshness window is served the chunk files already downloaded.
+ * The chunk size of the request is not part of the key since it does not change the exported data.
+ *
+ * Share one instance between ExportHelpers (see {@link ExportHelper#setResultCache(ExportResultCache)}) to coalesce
+ * their requests. Cached chunk files are the ones downloaded by the first request, so callers must not delete or move
+ * them while they are fresh.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+@Slf4j
+public class ExportResultCache {
+    private static final JsonHelper jsonHelper = new JsonHelper( true );
+
+    private final long freshnessMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+
+    /**
+     * Loads the chunk files of an export when it is not in the cache.
+     */
+    @FunctionalInterface
+    public interface ExportLoader {
+        /**
+         * Requests the export and downloads its chunks.
+         *
+         * @return the downloaded chunk files
+         * @throws TenableIoException the tenable IO exception
+         */
+        List<File> load() throws TenableIoException;
+    }
+
+
+    /**
+     * Instantiates a new export result cache.
+     *
+     * @param freshnessMillis how long, in milliseconds, the chunks of a completed export are reused
+     */
+    public ExportResultCache( long freshnessMillis ) {
+        this.freshnessMillis = freshnessMillis;
+    }
+
+
+    /**
+     * Computes the cache key of a vulns export request.
+     *
+     * @param exportRequest the export request
+     * @return the cache key
+     */
+    public static String keyOf( VulnsExportRequest exportRequest ) {
+        return hash( "vulns", jsonHelper.toJson( exportRequest ).get( "filters" ) );
+    }
+
+
+    /**
+     * Computes the cache key of an assets export request.
+     *
+     * @param exportRequest the export request
+     * @return the cache key
+     */
+    public static String keyOf( AssetsExportRequest exportRequest ) {
+        return hash( "assets", jsonHelper.toJson( exportRequest ).get( "filters" ) );
+    }
+
+
+    /**
+     * Gets the chunk files for the given key, loading them with the given loader if they are neither in flight nor fresh.
+     * If another thread is already loading the same key, waits for it and returns its result.
+     *
+     * @param key the cache key
+     * @param loader the loader used when the key is not cached
+     * @return the chunk files
+     * @throws TenableIoException the exception thrown by the loader
+     */
+    public List<File> get( String key, ExportLoader loader ) throws TenableIoException {
+        Entry entry;
+        boolean owner = false;
+
+        synchronized( entries ) {
+            entry = entries.get( key );
+            if( entry == null || !entry.isUsable( freshnessMillis ) ) {
+                entry = new Entry();
+                entries.put( key, entry );
+                owner = true;
+            }
+        }
+
+        if( owner ) {
+            try {
+                List<File> files = loader.load();
+                entry.complete( files );
+            } catch( TenableIoException | RuntimeException e ) {
+                entries.remove( key, entry );
+                entry.result.completeExceptionally( e );
+                throw e;
+            }
+        } else {
+            log.debug( "Reusing TenableIO export {}", key );
+        }
+
+        try {
+            return new ArrayList<>( entry.result.get() );
+        } catch( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new TenableIoException( TenableIoErrorCode.Generic, "Interrupted while waiting for in-flight export.", e );
+        } catch( ExecutionException e ) {
+            if( e.getCause() instanceof TenableIoException ) {
+                throw (TenableIoException) e.getCause();
+            }
+            throw new TenableIoException( TenableIoErrorCode.Generic, "In-flight export failed.", e.getCause() );
+        }
+    }
+
+
+    /**
+     * Removes the given key from the cache. Requests in flight for that key are not affected.
+     *
+     * @param key the cache key
+     */
+    public void invalidate( String key ) {
+        entries.remove( key );
+    }
+
+
+    /**
+     * Removes all completed exports that are no longer fresh.
+     */
+    public void evictStale() {
+        synchronized( entries ) {
+            for( Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if( !it.next().isUsable( freshnessMillis ) ) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+
+    private static String hash( String exportType, JsonNode filters ) {
+        StringBuilder canonical = new StringBuilder( exportType ).append( ':' );
+        appendCanonical( canonical, filters );
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance( "SHA-256" );
+            byte[] hash = digest.digest( canonical.toString().getBytes( StandardCharsets.UTF_8 ) );
+            StringBuilder sb = new StringBuilder( hash.length * 2 );
+            for( byte b : hash ) {
+                sb.append( String.format( "%02x", b ) );
+            }
+            return sb.toString();
+        } catch( NoSuchAlgorithmException e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+
+    /**
+     * Writes the JSON value with object fields sorted by name and arrays of scalars sorted by value, since the filter
+     * lists are sets: the order of severities, states or tag values does not change the export.
+     */
+    private static void appendCanonical( StringBuilder sb, JsonNode node ) {
+        if( node == null || node.isNull() ) {
+            sb.append( "null" );
+        } else if( node.isObject() ) {
+            Map<String, JsonNode> sorted = new TreeMap<>();
+            ( (ObjectNode) node ).fields().forEachRemaining( field -> sorted.put( field.getKey(), field.getValue() ) );
+            sb.append( '{' );
+            for( Map.Entry<String, JsonNode> field : sorted.entrySet() ) {
+                sb.append( jsonHelper.stringify( jsonHelper.toJson( field.getKey() ) ) ).append( ':' );
+                appendCanonical( sb, field.getValue() );
+                sb.append( ',' );
+            }
+            sb.append( '}' );
+        } else if( node.isArray() ) {
+            List<String> values = new ArrayList<>();
+            for( JsonNode element : (ArrayNode) node ) {
+                StringBuilder value = new StringBuilder();
+                appendCanonical( value, element );
+                values.add( value.toString() );
+            }
+            values.sort( null );
+            sb.append( '[' ).append( String.join( ",", values ) ).append( ']' );
+        } else {
+            sb.append( jsonHelper.stringify( node ) );
+        }
+    }
+
+
+    private static class Entry {
+        private final CompletableFuture<List<File>> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+
+        private void complete( List<File> files ) {
+            completedAt = System.currentTimeMillis();
+            result.complete( files );
+        }
+
+
+        private boolean isUsable( long freshnessMillis ) {
+            if( !result.isDone() ) {
+                return true;
+            }
+            if( result.isCompletedExceptionally() || System.currentTimeMillis() - completedAt > freshnessMillis ) {
+                return false;
+            }
+            try {
+                for( File file : result.get() ) {
+                    if( !file.exists() ) {
+                        return false;
+                    }
+                }
+            } catch( InterruptedException | ExecutionException e ) {
+                return false;
+            }
+            return true;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.tenable.io.api.ApiWrapperBase;
 import com.tenable.io.api.exports.models.AssetsExportRequest;
 import com.tenable.io.api.exports.models.ExportStatus;
+import com.tenable.io.api.exports.models.Status;
 import com.tenable.io.api.exports.models.VulnsExportRequest;
 import com.tenable.io.core.exceptions.TenableIoException;
 import com.tenable.io.core.services.AsyncHttpService;
@@ -77,12 +78,41 @@ public class ExportsApi extends ApiWrapperBase {
      * @throws TenableIoException the tenable IO exception
      */
     public void vulnsDownloadChunk( String exportUuid, int chunkId, File destinationFile ) throws TenableIoException {
+        vulnsDownloadChunk( exportUuid, chunkId, destinationFile, false );
+    }
+
+
+    /**
+     * Download vulnerability chunk by id, optionally gzip compressing it while it is written. Compressed chunks are
+     * read transparently by the chunk readers.
+     *
+     * @param exportUuid the export request uuid
+     * @param chunkId the id of the chunk to download
+     * @param destinationFile The file to download chunk to
+     * @param compress true to write the chunk gzip compressed
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void vulnsDownloadChunk( String exportUuid, int chunkId, File destinationFile, boolean compress ) throws TenableIoException {
         HttpFuture httpFuture = asyncHttpService.doGetDownload( createBaseUriBuilder( "/vulns/export/" + exportUuid +
-                "/chunks/" + chunkId ).build(), destinationFile );
+                "/chunks/" + chunkId ).build(), destinationFile, compress );
         httpFuture.get();
     }
 
 
+    /**
+     * Cancels a vulns export. Chunks already exported remain available for download but no new chunks are built,
+     * which frees the export slot for the next export request.
+     *
+     * @param exportUuid the export request uuid
+     * @return the status of the export after the cancellation
+     * @throws TenableIoException the tenable IO exception
+     */
+    public Status vulnsCancelExport( String exportUuid ) throws TenableIoException {
+        HttpFuture httpFuture = asyncHttpService.doPost( createBaseUriBuilder( "/vulns/export/" + exportUuid + "/cancel" ).build() );
+        return httpFuture.getAsType( Status.class, "status" );
+    }
+
+
     /**
      * Export all assets in the user's container
      *
@@ -131,8 +161,37 @@ public class ExportsApi extends ApiWrapperBase {
      * @throws TenableIoException the tenable IO exception
      */
     public void assetsDownloadChunk( String exportUuid, int chunkId, File destinationFile ) throws TenableIoException {
+        assetsDownloadChunk( exportUuid, chunkId, destinationFile, false );
+    }
+
+
+    /**
+     * Download assets chunk by id, optionally gzip compressing it while it is written. Compressed chunks are read
+     * transparently by the chunk readers.
+     *
+     * @param exportUuid the export request uuid returned by the export request
+     * @param chunkId the id of the chunk to download
+     * @param destinationFile The file to download chunk to
+     * @param compress true to write the chunk gzip compressed
+     * @throws TenableIoException the tenable IO exception
+     */
+    public void assetsDownloadChunk( String exportUuid, int chunkId, File destinationFile, boolean compress ) throws TenableIoException {
         HttpFuture httpFuture = asyncHttpService.doGetDownload( createBaseUriBuilder( "/assets/export/" + exportUuid +
-                "/chunks/" + chunkId ).build(), destinationFile );
+                "/chunks/" + chunkId ).build(), destinationFile, compress );
         httpFuture.get();
     }
+
+
+    /**
+     * Cancels an assets export. Chunks already exported remain available for download but no new chunks are built,
+     * which frees the export slot for the next export request.
+     *
+     * @param exportUuid the export request uuid
+     * @return the status of the export after the cancellation
+     * @throws TenableIoException the tenable IO exception
+     */
+    public Status assetsCancelExport( String exportUuid ) throws TenableIoException {
+        HttpFuture httpFuture = asyncHttpService.doPost( createBaseUriBuilder( "/assets/export/" + exportUuid + "/cancel" ).build() );
+        return httpFuture.getAsType( Status.class, "status" );
+    }
 }
@@ -0,0 +1,295 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tenable.io.api.exports.models.LazyAsset;
+import com.tenable.io.api.exports.models.LazyVulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Streams the records of a downloaded export chunk file as lazy models: each record only has its raw bytes copied and
+ * the offsets of its fields indexed, and a field is bound the first time its getter is called. Values are tokenized
+ * but never bound for fields that are not read, so filtering and projection over a few fields is much cheaper than
+ * reading full models. A filter, such as a VulnerabilityFilter, can be pushed down to the reader: it is evaluated on
+ * each record as soon as the record is tokenized, and records that do not match are dropped without binding any field
+ * the filter does not read. When the fields read by the filter are known, the filter is evaluated on a record holding
+ * the raw values of these fields only, and the raw bytes of the whole record are copied only if it matches.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the lazy model type, e.g. LazyVulnerability
+ */
+public class LazyChunkReader<T> extends ExportChunkReader<T> {
+    private final LazyRecordBinding<T> binding;
+    private final RecordingInputStream recording;
+    private final Predicate<? super T> filter;
+    private final int[] filterIndexes;
+    private long skippedCount;
+
+
+    /**
+     * Opens the given chunk file for reading.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the lazy model class
+     * @param binding the binding of the lazy model class
+     * @throws TenableIoException the tenable IO exception
+     */
+    public LazyChunkReader( File chunkFile, Class<T> recordClass, LazyRecordBinding<T> binding ) throws TenableIoException {
+        this( chunkFile, recordClass, binding, null );
+    }
+
+
+    /**
+     * Opens the given chunk file for reading only the records matching the given filter.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the lazy model class
+     * @param binding the binding of the lazy model class
+     * @param filter the filter records must match; null to read all records
+     * @throws TenableIoException the tenable IO exception
+     */
+    public LazyChunkReader( File chunkFile, Class<T> recordClass, LazyRecordBinding<T> binding, Predicate<? super T> filter ) throws TenableIoException {
+        this( chunkFile, recordClass, binding, filter, null, open( chunkFile ) );
+    }
+
+
+    private LazyChunkReader( File chunkFile, Class<T> recordClass, LazyRecordBinding<T> binding, Predicate<? super T> filter,
+                             Set<String> filterFields, RecordingInputStream recording ) throws TenableIoException {
+        super( chunkFile, recordClass, createParser( chunkFile, binding, recording ) );
+        this.binding = binding;
+        this.recording = recording;
+        this.filter = filter;
+        this.filterIndexes = filterFields != null ? indexesOf( binding, filterFields ) : null;
+    }
+
+
+    /**
+     * Opens the given vulns export chunk file for reading lazy vulnerabilities.
+     *
+     * @param chunkFile the downloaded vulns export chunk file
+     * @return the reader
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static LazyChunkReader<LazyVulnerability> vulns( File chunkFile ) throws TenableIoException {
+        return new LazyChunkReader<>( chunkFile, LazyVulnerability.class, LazyVulnerability.binding );
+    }
+
+
+    /**
+     * Opens the given vulns export chunk file for reading the lazy vulnerabilities matching the given filter.
+     *
+     * @param chunkFile the downloaded vulns export chunk file
+     * @param filter the filter vulnerabilities must match
+     * @return the reader
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static LazyChunkReader<LazyVulnerability> vulns( File chunkFile, VulnerabilityFilter filter ) throws TenableIoException {
+        return new LazyChunkReader<>( chunkFile, LazyVulnerability.class, LazyVulnerability.binding, filter, filter.getFields(), open( chunkFile ) );
+    }
+
+
+    /**
+     * Opens the given assets export chunk file for reading lazy assets.
+     *
+     * @param chunkFile the downloaded assets export chunk file
+     * @return the reader
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static LazyChunkReader<LazyAsset> assets( File chunkFile ) throws TenableIoException {
+        return new LazyChunkReader<>( chunkFile, LazyAsset.class, LazyAsset.binding );
+    }
+
+
+    /**
+     * Reads all vulnerabilities of the given chunk files as lazy vulnerabilities, in order, and passes them to the
+     * given consumer.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static void readAllVulns( List<File> chunkFiles, Consumer<? super LazyVulnerability> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyVulnerability> reader = vulns( chunkFile ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    /**
+     * Reads all vulnerabilities of the given chunk files matching the given filter as lazy vulnerabilities, in order,
+     * and passes them to the given consumer.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param filter the filter vulnerabilities must match
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static void readAllVulns( List<File> chunkFiles, VulnerabilityFilter filter, Consumer<? super LazyVulnerability> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyVulnerability> reader = vulns( chunkFile, filter ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    /**
+     * Reads the next record of the chunk matching the filter, leaving its fields undecoded. The fields read by a filter
+     * whose fields are not known, such as a plain Predicate, are decoded.
+     *
+     * @return the next lazy record, or null once the end of the chunk is reached
+     * @throws TenableIoException the tenable IO exception
+     */
+    @Override
+    public T read() throws TenableIoException {
+        try {
+            while( nextRecord() ) {
+                T record = readRecord();
+                if( record != null ) {
+                    return record;
+                }
+                skippedCount++;
+            }
+            return null;
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Couldn't read record from chunk file: %s.", getChunkFile().getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Gets the number of records read so far that did not match the filter.
+     *
+     * @return the number of skipped records
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+
+    /**
+     * Tokenizes the record the parser is on, and creates its lazy model if it matches the filter.
+     *
+     * @return the lazy model, or null if the record does not match
+     */
+    private T readRecord() throws IOException, TenableIoException {
+        JsonParser parser = getParser();
+        long start = parser.getTokenLocation().getByteOffset();
+        recording.discardBefore( start );
+
+        int[] offsets = new int[binding.size()];
+        int[] ends = new int[binding.size()];
+        Arrays.fill( offsets, -1 );
+        int previous = -1;
+        JsonToken token;
+        while( true ) {
+            token = parser.nextToken();
+            if( previous >= 0 ) {
+                ends[previous] = (int) ( valueEnd( parser.getTokenLocation().getByteOffset(), token == JsonToken.FIELD_NAME ) - start );
+                previous = -1;
+            }
+            if( token != JsonToken.FIELD_NAME ) {
+                break;
+            }
+            int index = binding.indexOf( parser.getCurrentName() );
+            parser.nextToken();
+            if( index >= 0 ) {
+                offsets[index] = (int) ( parser.getTokenLocation().getByteOffset() - start );
+                previous = index;
+            }
+            parser.skipChildren();
+        }
+        if( token != JsonToken.END_OBJECT ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Unexpected token %s in chunk file %s.", token, getChunkFile().getAbsolutePath() ) );
+        }
+
+        if( filterIndexes != null && !filter.test( binding.create( filterRecord( start, offsets, ends ) ) ) ) {
+            return null;
+        }
+        byte[] raw = recording.copy( start, parser.getCurrentLocation().getByteOffset() );
+        T record = binding.create( new LazyRecord( binding, raw, offsets, ends ) );
+        return filterIndexes != null || filter == null || filter.test( record ) ? record : null;
+    }
+
+
+    /**
+     * Creates a record holding only the raw values of the fields read by the filter, from the recorded bytes of the
+     * record at the given position.
+     */
+    private LazyRecord filterRecord( long start, int[] offsets, int[] ends ) {
+        int length = 0;
+        for( int index : filterIndexes ) {
+            if( offsets[index] >= 0 ) {
+                length += ends[index] - offsets[index];
+            }
+        }
+        byte[] raw = new byte[length];
+        int[] filterOffsets = new int[offsets.length];
+        int[] filterEnds = new int[ends.length];
+        Arrays.fill( filterOffsets, -1 );
+        int position = 0;
+        for( int index : filterIndexes ) {
+            if( offsets[index] >= 0 ) {
+                int size = ends[index] - offsets[index];
+                recording.copy( start + offsets[index], raw, position, size );
+                filterOffsets[index] = position;
+                filterEnds[index] = position + size;
+                position += size;
+            }
+        }
+        return new LazyRecord( binding, raw, filterOffsets, filterEnds );
+    }
+
+
+    /**
+     * Finds the end of a field value from the position of the token following it: the closing brace of the record,
+     * or the name of the next field, in which case the comma separating them is excluded.
+     */
+    private long valueEnd( long nextToken, boolean nextIsField ) {
+        long end = nextToken;
+        if( nextIsField ) {
+            do {
+                end--;
+            } while( recording.byteAt( end ) != ',' );
+        }
+        return end;
+    }
+
+
+    private static int[] indexesOf( LazyRecordBinding<?> binding, Set<String> fields ) {
+        return fields.stream().mapToInt( binding::indexOf ).filter( index -> index >= 0 ).toArray();
+    }
+
+
+    private static RecordingInputStream open( File chunkFile ) throws TenableIoException {
+        try {
+            return new RecordingInputStream( ChunkCompression.open( chunkFile ) );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+
+
+    private static JsonParser createParser( File chunkFile, LazyRecordBinding<?> binding, InputStream src ) throws TenableIoException {
+        try {
+            return binding.createParser( src );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.IOException;
+import java.util.Arrays;
+
+
+/**
+ * The raw UTF-8 bytes of one export record and the position of each field value within them. Lazy models such as
+ * LazyVulnerability decode a field from these bytes the first time its getter is called, so consumers reading a few
+ * fields of each record do not pay for binding the others. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class LazyRecord {
+    private static final int NONE = -1;
+
+    private final LazyRecordBinding<?> binding;
+    private byte[] raw;
+    private final int[] offsets;
+    private final int[] ends;
+    private int pending;
+
+
+    LazyRecord( LazyRecordBinding<?> binding, byte[] raw, int[] offsets, int[] ends ) {
+        this.binding = binding;
+        this.raw = raw;
+        this.offsets = offsets;
+        this.ends = ends;
+        for( int offset : offsets ) {
+            if( offset != NONE ) {
+                pending++;
+            }
+        }
+        if( pending == 0 ) {
+            this.raw = null;
+        }
+    }
+
+
+    /**
+     * Instantiates a record with all fields already decoded, for lazy models created by application code.
+     *
+     * @param binding the binding of the model class
+     */
+    public LazyRecord( LazyRecordBinding<?> binding ) {
+        this.binding = binding;
+        this.offsets = new int[binding.size()];
+        this.ends = new int[binding.size()];
+        Arrays.fill( offsets, NONE );
+    }
+
+
+    /**
+     * Decodes the given field into the target model if it was not decoded yet.
+     *
+     * @param target the lazy model owning this record
+     * @param field the JSON property name
+     */
+    public void decode( Object target, String field ) {
+        int index = binding.indexOf( field );
+        if( index < 0 || offsets[index] == NONE ) {
+            return;
+        }
+
+        int offset = offsets[index];
+        markDecoded( index );
+        try {
+            binding.decode( target, index, raw, offset, ends[index] - offset );
+        } catch( IOException e ) {
+            throw new RuntimeException( String.format( "Couldn't decode field %s.", field ), e );
+        } finally {
+            if( pending == 0 ) {
+                raw = null;
+            }
+        }
+    }
+
+
+    /**
+     * Decodes all remaining fields into the target model.
+     *
+     * @param target the lazy model owning this record
+     */
+    public void decodeAll( Object target ) {
+        for( int i = 0; i < offsets.length && pending > 0; i++ ) {
+            if( offsets[i] != NONE ) {
+                decode( target, binding.getName( i ) );
+            }
+        }
+    }
+
+
+    /**
+     * Marks the given field as decoded, so its raw value is never decoded. Called by the setters of lazy models.
+     *
+     * @param field the JSON property name
+     */
+    public void markDecoded( String field ) {
+        int index = binding.indexOf( field );
+        if( index >= 0 && offsets[index] != NONE ) {
+            markDecoded( index );
+            if( pending == 0 ) {
+                raw = null;
+            }
+        }
+    }
+
+
+    private void markDecoded( int index ) {
+        offsets[index] = NONE;
+        pending--;
+    }
+
+
+    /**
+     * Returns true if the given field still has to be decoded from the raw bytes.
+     *
+     * @param field the JSON property name
+     * @return true if the field is pending
+     */
+    public boolean isPending( String field ) {
+        int index = binding.indexOf( field );
+        return index >= 0 && offsets[index] != NONE;
+    }
+
+
+    /**
+     * Gets the number of fields still to be decoded.
+     *
+     * @return the number of pending fields
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+
+    /**
+     * Gets the raw bytes of the record. Released once all fields are decoded.
+     *
+     * @return the raw UTF-8 bytes of the record, or null once all fields are decoded
+     */
+    public byte[] getRaw() {
+        return raw;
+    }
+}
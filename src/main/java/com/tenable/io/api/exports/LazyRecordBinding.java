@@ -0,0 +1,151 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Describes how the fields of a model class are decoded from the raw bytes of a LazyRecord: the JSON property names
+ * of the model, their Java types and setters, as found by Jackson bean introspection, and the factory creating the
+ * lazy model instance for a record. Built once per model class and shared by all its records.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the lazy model type, e.g. LazyVulnerability
+ */
+public class LazyRecordBinding<T> {
+    private final ObjectMapper objectMapper;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<JavaType> types = new ArrayList<>();
+    private final List<Method> setters = new ArrayList<>();
+    private final Function<LazyRecord, T> factory;
+
+
+    /**
+     * Instantiates the binding of the given model class.
+     *
+     * @param modelClass the model class whose settable properties can be decoded lazily
+     * @param factory creates the lazy model instance reading its fields from the given record
+     */
+    public LazyRecordBinding( Class<? super T> modelClass, Function<LazyRecord, T> factory ) {
+        this( modelClass, factory, new JsonHelper( true ) );
+    }
+
+
+    /**
+     * Instantiates the binding of the given model class, using the given JsonHelper to decode fields.
+     *
+     * @param modelClass the model class whose settable properties can be decoded lazily
+     * @param factory creates the lazy model instance reading its fields from the given record
+     * @param jsonHelper the json helper used to decode fields
+     */
+    public LazyRecordBinding( Class<? super T> modelClass, Function<LazyRecord, T> factory, JsonHelper jsonHelper ) {
+        this.objectMapper = jsonHelper.getObjectMapper();
+        this.factory = factory;
+
+        BeanDescription description = objectMapper.getDeserializationConfig().introspect( objectMapper.constructType( modelClass ) );
+        for( BeanPropertyDefinition property : description.findProperties() ) {
+            if( !property.hasSetter() ) {
+                continue;
+            }
+            indexes.put( property.getName(), names.size() );
+            names.add( property.getName() );
+            types.add( property.getSetter().getParameterType( 0 ) );
+            setters.add( property.getSetter().getAnnotated() );
+        }
+    }
+
+
+    /**
+     * Gets the index of the given JSON property.
+     *
+     * @param name the JSON property name
+     * @return the index of the property, -1 if the model has no such settable property
+     */
+    public int indexOf( String name ) {
+        Integer index = indexes.get( name );
+        return index != null ? index : -1;
+    }
+
+
+    /**
+     * Gets the number of properties.
+     *
+     * @return the number of properties
+     */
+    public int size() {
+        return names.size();
+    }
+
+
+    /**
+     * Gets the JSON property name of the given index.
+     *
+     * @param index the property index
+     * @return the JSON property name
+     */
+    public String getName( int index ) {
+        return names.get( index );
+    }
+
+
+    /**
+     * Creates a parser over the given raw record bytes, bound to the object mapper used to decode fields.
+     *
+     * @param raw the raw record bytes
+     * @param offset the offset of the first byte to parse
+     * @param length the number of bytes to parse
+     * @return the parser
+     * @throws IOException if the parser could not be created
+     */
+    public JsonParser createParser( byte[] raw, int offset, int length ) throws IOException {
+        return objectMapper.getFactory().createParser( raw, offset, length );
+    }
+
+
+    /**
+     * Creates a parser over the given stream, bound to the object mapper used to decode fields.
+     *
+     * @param src the src
+     * @return the parser
+     * @throws IOException if the parser could not be created
+     */
+    public JsonParser createParser( InputStream src ) throws IOException {
+        return objectMapper.getFactory().createParser( src );
+    }
+
+
+    T create( LazyRecord record ) {
+        return factory.apply( record );
+    }
+
+
+    void decode( Object target, int index, byte[] raw, int offset, int length ) throws IOException {
+        Object value;
+        try( JsonParser parser = createParser( raw, offset, length ) ) {
+            parser.nextToken();
+            value = objectMapper.readValue( parser, types.get( index ) );
+        }
+        try {
+            setters.get( index ).invoke( target, value );
+        } catch( IllegalAccessException | InvocationTargetException e ) {
+            throw new IOException( String.format( "Couldn't set property %s.", names.get( index ) ), e );
+        }
+    }
+}
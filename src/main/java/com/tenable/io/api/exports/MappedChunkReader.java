@@ -0,0 +1,88 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Streams the records of a downloaded export chunk file through memory mappings of the file rather than buffered
+ * reads, so the parser copies straight from the page cache without read system calls. Chunk files larger than 2 GB
+ * are mapped in segments. Best suited to jobs reading the same chunk files several times, while they stay in the page
+ * cache. Gzip compressed chunk files are decompressed from the mappings.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the record type, e.g. Vulnerability or Asset
+ */
+public class MappedChunkReader<T> extends ExportChunkReader<T> {
+    private static final JsonHelper jsonHelper = new JsonHelper( true );
+
+
+    /**
+     * Opens the given chunk file for reading.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @throws TenableIoException the tenable IO exception
+     */
+    public MappedChunkReader( File chunkFile, Class<T> recordClass ) throws TenableIoException {
+        this( chunkFile, recordClass, MappedInputStream.DEFAULT_SEGMENT_SIZE );
+    }
+
+
+    /**
+     * Opens the given chunk file for reading, mapping it in segments of the given size.
+     *
+     * @param chunkFile the downloaded chunk file
+     * @param recordClass the class of the records contained in the chunk
+     * @param segmentSize the size of a mapped segment, at most Integer.MAX_VALUE bytes
+     * @throws TenableIoException the tenable IO exception
+     */
+    MappedChunkReader( File chunkFile, Class<T> recordClass, long segmentSize ) throws TenableIoException {
+        super( chunkFile, recordClass, createParser( chunkFile, segmentSize ) );
+    }
+
+
+    /**
+     * Reads all records of the given chunk files, in order, and passes them to the given consumer.
+     *
+     * @param <T> the record type
+     * @param chunkFiles the downloaded chunk files
+     * @param recordClass the class of the records contained in the chunks
+     * @param consumer the record consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static <T> void readAll( List<File> chunkFiles, Class<T> recordClass, Consumer<? super T> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( MappedChunkReader<T> reader = new MappedChunkReader<>( chunkFile, recordClass ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    private static JsonParser createParser( File chunkFile, long segmentSize ) throws TenableIoException {
+        MappedInputStream in = null;
+        try {
+            in = new MappedInputStream( chunkFile, segmentSize );
+            return jsonHelper.createParser( ChunkCompression.decompress( in ) );
+        } catch( IOException e ) {
+            if( in != null ) {
+                try {
+                    in.close();
+                } catch( IOException ignored ) {
+                    // the open error is reported
+                }
+            }
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * Reads a file through read only memory mappings instead of read system calls. A MappedByteBuffer is limited to 2 GB,
+ * so the file is mapped one segment at a time as reading progresses; a segment is unmapped once it is no longer
+ * referenced.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class MappedInputStream extends InputStream {
+    /**
+     * The default size of a mapped segment, 1 GB.
+     */
+    static final long DEFAULT_SEGMENT_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long segmentSize;
+    private MappedByteBuffer segment;
+    private long position;
+
+
+    MappedInputStream( File file, long segmentSize ) throws IOException {
+        if( segmentSize < 1 || segmentSize > Integer.MAX_VALUE ) {
+            throw new IllegalArgumentException( String.format( "segmentSize %d is invalid.", segmentSize ) );
+        }
+        this.channel = new RandomAccessFile( file, "r" ).getChannel();
+        this.size = channel.size();
+        this.segmentSize = segmentSize;
+    }
+
+
+    @Override
+    public int read() throws IOException {
+        if( !nextSegment() ) {
+            return -1;
+        }
+        position++;
+        return segment.get() & 0xff;
+    }
+
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+        if( len == 0 ) {
+            return 0;
+        }
+        if( !nextSegment() ) {
+            return -1;
+        }
+        int count = Math.min( len, segment.remaining() );
+        segment.get( b, off, count );
+        position += count;
+        return count;
+    }
+
+
+    @Override
+    public long skip( long n ) throws IOException {
+        long skipped = Math.max( 0, Math.min( n, size - position ) );
+        if( segment != null && skipped <= segment.remaining() ) {
+            segment.position( segment.position() + (int) skipped );
+        } else {
+            segment = null;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+
+    @Override
+    public int available() {
+        return (int) Math.min( Integer.MAX_VALUE, size - position );
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        segment = null;
+        channel.close();
+    }
+
+
+    /**
+     * Maps the segment starting at the current position if the current one is exhausted.
+     *
+     * @return false at the end of the file
+     */
+    private boolean nextSegment() throws IOException {
+        if( position >= size ) {
+            return false;
+        }
+        if( segment == null || !segment.hasRemaining() ) {
+            segment = channel.map( FileChannel.MapMode.READ_ONLY, position, Math.min( segmentSize, size - position ) );
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tenable.io.api.exports;
+
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.tenable.io.api.exports.models.DedupedVulnerability;
+import com.tenable.io.api.exports.models.PluginMetadata;
+
+
+/**
+ * Holds one PluginMetadata per plugin id, shared by the DedupedVulnerability records read from an export. The first
+ * finding of a plugin defines its metadata; the plugin level fields of later findings are checked against it and
+ * dropped when equal. A finding whose plugin level text differs (e.g. the plugin was updated while the export ran)
+ * keeps its own copy. Thread safe, so the readers of concurrent partitions can share one cache.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class PluginMetadataCache {
+    private final ConcurrentMap<Long, PluginMetadata> plugins = new ConcurrentHashMap<>();
+
+
+    /**
+     * Makes the given vulnerability share the metadata of its plugin, registering it if this is the first finding of
+     * the plugin.
+     *
+     * @param vulnerability the vulnerability, with its plugin level fields set
+     * @return the given vulnerability
+     */
+    public DedupedVulnerability dedup( DedupedVulnerability vulnerability ) {
+        if( vulnerability.getPluginMetadata() != null ) {
+            return vulnerability;
+        }
+
+        PluginMetadata metadata = plugins.get( vulnerability.getPluginID() );
+        if( metadata == null ) {
+            PluginMetadata created = PluginMetadata.of( vulnerability );
+            metadata = plugins.putIfAbsent( vulnerability.getPluginID(), created );
+            if( metadata == null ) {
+                metadata = created;
+            }
+        }
+        if( metadata.matches( vulnerability ) ) {
+            vulnerability.attach( metadata );
+        }
+        return vulnerability;
+    }
+
+
+    /**
+     * Gets the metadata of the given plugin.
+     *
+     * @param pluginId the plugin id
+     * @return the plugin metadata, or null if no finding of the plugin was read yet
+     */
+    public PluginMetadata get( long pluginId ) {
+        return plugins.get( pluginId );
+    }
+
+
+    /**
+     * Gets the number of plugins held.
+     *
+     * @return the number of plugins
+     */
+    public int size() {
+        return plugins.size();
+    }
+
+
+    /**
+     * Removes all plugins. Records already deduplicated keep their metadata.
+     */
+    public void clear() {
+        plugins.clear();
+    }
+}
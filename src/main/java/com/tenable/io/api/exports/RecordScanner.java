@@ -0,0 +1,220 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.tenable.io.api.exports.models.BundleFormat;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Finds the record boundaries of a chunk without parsing the records: only the nesting depth and the strings are
+ * tracked, which is several times faster than tokenizing the chunk. Optionally copies the records to a bundle, each on
+ * its own line in NDJSON, or comma separated in a JSON array. Raw line breaks can only be whitespace between tokens in
+ * valid JSON, so they are replaced by spaces to keep each NDJSON record on one line.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class RecordScanner {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int AFTER_START = 0;
+    private static final int AFTER_RECORD = 1;
+    private static final int AFTER_COMMA = 2;
+
+    private final File chunkFile;
+    private final BundleFormat format;
+    private final FileChannel out;
+    private final byte[] output;
+    private final boolean separate;
+    private int outputLength;
+    private boolean opened;
+    private boolean closed;
+    private int depth;
+    private int state = AFTER_START;
+    private boolean inString;
+    private boolean escape;
+    private long position;
+    private long records;
+    private long start = -1;
+    private long end = -1;
+
+
+    /**
+     * Instantiates a scanner that only finds the records of the given chunk.
+     *
+     * @param chunkFile the chunk file, for error messages
+     */
+    RecordScanner( File chunkFile ) {
+        this( chunkFile, null, null, false );
+    }
+
+
+    /**
+     * Instantiates a scanner that copies the records of the given chunk to the given bundle.
+     *
+     * @param chunkFile the chunk file, for error messages
+     * @param format the bundle format
+     * @param out the bundle file
+     * @param separate true to write a separator before the first record, in a JSON array bundle
+     */
+    RecordScanner( File chunkFile, BundleFormat format, FileChannel out, boolean separate ) {
+        this.chunkFile = chunkFile;
+        this.format = format;
+        this.out = out;
+        this.output = out != null ? new byte[BUFFER_SIZE] : null;
+        this.separate = separate;
+    }
+
+
+    /**
+     * Counts the records of the given chunk file, decompressing it if needed.
+     *
+     * @param chunkFile the chunk file
+     * @return the number of records
+     * @throws TenableIoException if the chunk could not be read or is not a JSON array of objects
+     */
+    static long countRecords( File chunkFile ) throws TenableIoException {
+        RecordScanner scanner = new RecordScanner( chunkFile );
+        try( InputStream in = ChunkCompression.open( chunkFile ) ) {
+            scanner.scanAll( in );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+        }
+        return scanner.records;
+    }
+
+
+    /**
+     * Gets the number of records scanned.
+     *
+     * @return the number of records
+     */
+    long getRecords() {
+        return records;
+    }
+
+
+    /**
+     * Gets the offset of the first record in the chunk.
+     *
+     * @return the offset of the first record, -1 if there is none
+     */
+    long getStart() {
+        return start;
+    }
+
+
+    /**
+     * Gets the offset right after the last record in the chunk.
+     *
+     * @return the offset after the last record, -1 if there is none
+     */
+    long getEnd() {
+        return end;
+    }
+
+
+    /**
+     * Scans the whole chunk.
+     *
+     * @param in the stream of the uncompressed chunk
+     * @throws IOException if the chunk could not be read or the bundle written
+     * @throws TenableIoException if the chunk is not a JSON array of objects
+     */
+    void scanAll( InputStream in ) throws IOException, TenableIoException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while( ( length = in.read( buffer ) ) >= 0 ) {
+            scan( buffer, length );
+        }
+        if( opened && !closed ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Chunk file %s is truncated.", chunkFile.getAbsolutePath() ) );
+        }
+    }
+
+
+    /**
+     * Writes the records copied so far to the bundle.
+     *
+     * @throws IOException if the bundle could not be written
+     */
+    void flush() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap( output, 0, outputLength );
+        while( buffer.hasRemaining() ) {
+            out.write( buffer );
+        }
+        outputLength = 0;
+    }
+
+
+    private void scan( byte[] bytes, int length ) throws IOException, TenableIoException {
+        for( int i = 0; i < length; i++, position++ ) {
+            byte b = bytes[i];
+            if( depth > 1 ) {
+                if( inString ) {
+                    if( escape ) {
+                        escape = false;
+                    } else if( b == '\\' ) {
+                        escape = true;
+                    } else if( b == '"' ) {
+                        inString = false;
+                    }
+                } else if( b == '"' ) {
+                    inString = true;
+                } else if( b == '{' || b == '[' ) {
+                    depth++;
+                } else if( b == '}' || b == ']' ) {
+                    depth--;
+                } else if( ( b == '\n' || b == '\r' ) && format == BundleFormat.NDJSON ) {
+                    b = ' ';
+                }
+                emit( b );
+                if( depth == 1 ) {
+                    records++;
+                    end = position + 1;
+                    state = AFTER_RECORD;
+                    if( format == BundleFormat.NDJSON ) {
+                        emit( (byte) '\n' );
+                    }
+                }
+            } else if( b != ' ' && b != '\n' && b != '\r' && b != '\t' ) {
+                if( !opened && b == '[' ) {
+                    opened = true;
+                    depth = 1;
+                } else if( depth == 1 && b == '{' && state != AFTER_RECORD ) {
+                    if( start < 0 ) {
+                        start = position;
+                    }
+                    if( format == BundleFormat.JSON_ARRAY && ( records > 0 || separate ) ) {
+                        emit( (byte) ',' );
+                    }
+                    depth = 2;
+                    emit( b );
+                } else if( depth == 1 && b == ',' && state == AFTER_RECORD ) {
+                    state = AFTER_COMMA;
+                } else if( depth == 1 && b == ']' && state != AFTER_COMMA ) {
+                    depth = 0;
+                    closed = true;
+                } else {
+                    throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Chunk file %s is not a JSON array of objects.", chunkFile.getAbsolutePath() ) );
+                }
+            }
+        }
+    }
+
+
+    private void emit( byte b ) throws IOException {
+        if( output == null ) {
+            return;
+        }
+        if( outputLength == output.length ) {
+            flush();
+        }
+        output[outputLength++] = b;
+    }
+}
@@ -0,0 +1,133 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+
+/**
+ * Keeps a copy of the bytes read from the underlying stream since a given position, so the raw bytes of a record can
+ * be copied once the parser reading ahead of it has found its end.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class RecordingInputStream extends FilterInputStream {
+    private byte[] buffer = new byte[64 * 1024];
+    private long bufferStart;
+    private int length;
+
+
+    RecordingInputStream( InputStream in ) {
+        super( in );
+    }
+
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if( b >= 0 ) {
+            ensureCapacity( 1 );
+            buffer[length++] = (byte) b;
+        }
+        return b;
+    }
+
+
+    @Override
+    public int read( byte[] b, int off, int len ) throws IOException {
+        int count = in.read( b, off, len );
+        if( count > 0 ) {
+            ensureCapacity( count );
+            System.arraycopy( b, off, buffer, length, count );
+            length += count;
+        }
+        return count;
+    }
+
+
+    @Override
+    public long skip( long n ) throws IOException {
+        byte[] skipped = new byte[(int) Math.min( n, 8192 )];
+        int count = read( skipped, 0, skipped.length );
+        return Math.max( count, 0 );
+    }
+
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+
+    /**
+     * Drops the bytes before the given absolute position.
+     *
+     * @param position the absolute position in the stream
+     */
+    void discardBefore( long position ) {
+        int drop = (int) Math.min( Math.max( position - bufferStart, 0 ), length );
+        if( drop > 0 ) {
+            System.arraycopy( buffer, drop, buffer, 0, length - drop );
+            length -= drop;
+            bufferStart += drop;
+        }
+    }
+
+
+    /**
+     * Gets the byte at the given absolute position.
+     *
+     * @param position the absolute position in the stream
+     * @return the byte
+     */
+    byte byteAt( long position ) {
+        int index = (int) ( position - bufferStart );
+        if( index < 0 || index >= length ) {
+            throw new IllegalStateException( String.format( "Byte %d is not recorded.", position ) );
+        }
+        return buffer[index];
+    }
+
+
+    /**
+     * Copies the bytes between the given absolute positions.
+     *
+     * @param start the absolute start position, inclusive
+     * @param end the absolute end position, exclusive
+     * @return the bytes
+     */
+    byte[] copy( long start, long end ) {
+        int from = (int) ( start - bufferStart );
+        int to = (int) ( end - bufferStart );
+        if( from < 0 || to > length || from > to ) {
+            throw new IllegalStateException( String.format( "Bytes %d to %d are not recorded.", start, end ) );
+        }
+        return Arrays.copyOfRange( buffer, from, to );
+    }
+
+
+    /**
+     * Copies the given number of bytes from the given absolute position into the target array.
+     *
+     * @param start the absolute start position
+     * @param target the target array
+     * @param offset the offset in the target array
+     * @param length the number of bytes to copy
+     */
+    void copy( long start, byte[] target, int offset, int length ) {
+        int from = (int) ( start - bufferStart );
+        if( from < 0 || from + length > this.length || length < 0 ) {
+            throw new IllegalStateException( String.format( "Bytes %d to %d are not recorded.", start, start + length ) );
+        }
+        System.arraycopy( buffer, from, target, offset, length );
+    }
+
+
+    private void ensureCapacity( int extra ) {
+        if( length + extra > buffer.length ) {
+            buffer = Arrays.copyOf( buffer, Math.max( buffer.length * 2, length + extra ) );
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.tenable.io.api.exports;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tenable.io.api.codecs.VulnerabilityCodec;
+import com.tenable.io.api.exports.models.DedupedVulnerability;
+import com.tenable.io.api.exports.models.PluginMetadata;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Streams the vulnerabilities of a downloaded vulns export chunk file in dedup mode: every record is a
+ * DedupedVulnerability sharing the plugin level text of its plugin through a PluginMetadataCache.
+ *
+ * Records are read at the token level: once the plugin id of a record is read and its plugin is cached, the plugin
+ * level values that follow are compared with the cached text right in the parser buffer and never become strings.
+ * They are only bound when the plugin is not cached yet, when the text differs from the cached one, or when the value
+ * precedes the plugin id in the record.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnerabilityChunkReader extends ExportChunkReader<Vulnerability> {
+    private final PluginMetadataCache pluginMetadataCache;
+    private final DedupCodec codec = new DedupCodec();
+    private final MatchingWriter matcher = new MatchingWriter();
+    private PluginMetadata metadata;
+
+
+    /**
+     * Opens the given chunk file for reading.
+     *
+     * @param chunkFile the downloaded vulns export chunk file
+     * @param pluginMetadataCache the cache holding the shared plugin metadata
+     * @throws TenableIoException the tenable IO exception
+     */
+    public VulnerabilityChunkReader( File chunkFile, PluginMetadataCache pluginMetadataCache ) throws TenableIoException {
+        super( chunkFile, Vulnerability.class );
+        this.pluginMetadataCache = pluginMetadataCache;
+    }
+
+
+    /**
+     * Reads the next vulnerability of the chunk.
+     *
+     * @return the next vulnerability, a DedupedVulnerability, or null once the end of the chunk is reached
+     * @throws TenableIoException the tenable IO exception
+     */
+    @Override
+    public Vulnerability read() throws TenableIoException {
+        try {
+            if( !nextRecord() ) {
+                return null;
+            }
+            metadata = null;
+            DedupedVulnerability vulnerability = (DedupedVulnerability) codec.read( getParser() );
+            pluginMetadataCache.dedup( vulnerability );
+            if( vulnerability.getPluginMetadata() == null && metadata != null ) {
+                unshareLists( vulnerability );
+            }
+            return vulnerability;
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Couldn't read record from chunk file: %s.", getChunkFile().getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Reads all vulnerabilities of the given chunk files in dedup mode, in order, and passes them to the given consumer.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param pluginMetadataCache the cache holding the shared plugin metadata
+     * @param consumer the vulnerability consumer
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static void readAll( List<File> chunkFiles, PluginMetadataCache pluginMetadataCache, Consumer<? super Vulnerability> consumer ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( VulnerabilityChunkReader reader = new VulnerabilityChunkReader( chunkFile, pluginMetadataCache ) ) {
+                reader.forEach( consumer );
+            }
+        }
+    }
+
+
+    /**
+     * Gives a record that was not attached its own copy of the lists it took from the cached metadata, as these are
+     * unmodifiable.
+     */
+    private void unshareLists( DedupedVulnerability vulnerability ) {
+        if( vulnerability.getSeeAlsos() != null && vulnerability.getSeeAlsos() == metadata.getSeeAlsos() ) {
+            vulnerability.setSeeAlsos( new ArrayList<>( metadata.getSeeAlsos() ) );
+        }
+        if( vulnerability.getCves() != null && vulnerability.getCves() == metadata.getCves() ) {
+            vulnerability.setCves( new ArrayList<>( metadata.getCves() ) );
+        }
+        if( vulnerability.getXrefs() != null && vulnerability.getXrefs() == metadata.getXrefs() ) {
+            vulnerability.setXrefs( new ArrayList<>( metadata.getXrefs() ) );
+        }
+        if( vulnerability.getBids() != null && vulnerability.getBids() == metadata.getBids() ) {
+            vulnerability.setBids( new ArrayList<>( metadata.getBids() ) );
+        }
+    }
+
+
+    /**
+     * Tells if the current string token of the parser equals the given text, without creating a string of it.
+     */
+    private boolean matches( JsonParser parser, String expected ) throws IOException {
+        if( expected == null || parser.getCurrentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != expected.length() ) {
+            return false;
+        }
+        matcher.reset( expected );
+        parser.getText( matcher );
+        return matcher.matches();
+    }
+
+
+    /**
+     * Vulnerability codec creating DedupedVulnerability records, which looks up the plugin of the record as soon as its
+     * id is read and takes the plugin level values matching the cached metadata from it.
+     */
+    private class DedupCodec extends VulnerabilityCodec {
+        @Override
+        protected Vulnerability newInstance() {
+            return new DedupedVulnerability();
+        }
+
+
+        @Override
+        protected boolean readField( JsonParser parser, String name, Vulnerability value ) throws IOException {
+            if( metadata != null ) {
+                switch( name ) {
+                    case "pluginName":
+                        value.setPluginName( readString( parser, metadata.getPluginName() ) );
+                        return true;
+                    case "pluginFamily":
+                        value.setPluginFamily( readString( parser, metadata.getPluginFamily() ) );
+                        return true;
+                    case "description":
+                        value.setDescription( readString( parser, metadata.getDescription() ) );
+                        return true;
+                    case "solution":
+                        value.setSolution( readString( parser, metadata.getSolution() ) );
+                        return true;
+                    case "synopsis":
+                        value.setSynopsis( readString( parser, metadata.getSynopsis() ) );
+                        return true;
+                    case "seeAlsos":
+                        value.setSeeAlsos( readStringList( parser, metadata.getSeeAlsos() ) );
+                        return true;
+                    case "cves":
+                        value.setCves( readStringList( parser, metadata.getCves() ) );
+                        return true;
+                    case "xrefs":
+                        value.setXrefs( readStringList( parser, metadata.getXrefs() ) );
+                        return true;
+                    case "bids":
+                        value.setBids( readStringList( parser, metadata.getBids() ) );
+                        return true;
+                    default:
+                        break;
+                }
+            }
+            boolean read = super.readField( parser, name, value );
+            if( name.equals( "pluginID" ) ) {
+                metadata = pluginMetadataCache.get( value.getPluginID() );
+            }
+            return read;
+        }
+
+
+        /**
+         * Reads a string value, returning the cached one if it is equal.
+         */
+        private String readString( JsonParser parser, String cached ) throws IOException {
+            return matches( parser, cached ) ? cached : readString( parser );
+        }
+
+
+        /**
+         * Reads a list of strings, returning the cached one if it is equal. Only the elements from the first difference
+         * on are bound.
+         */
+        private List<String> readStringList( JsonParser parser, List<String> cached ) throws IOException {
+            if( cached == null || parser.getCurrentToken() != JsonToken.START_ARRAY ) {
+                return readStringList( parser );
+            }
+            List<String> list = null;
+            int matched = 0;
+            while( parser.nextToken() != JsonToken.END_ARRAY ) {
+                if( list == null && matched < cached.size() && matches( parser, cached.get( matched ) ) ) {
+                    matched++;
+                    continue;
+                }
+                if( list == null ) {
+                    list = new ArrayList<>( cached.subList( 0, matched ) );
+                }
+                list.add( readString( parser ) );
+            }
+            if( list != null ) {
+                return list;
+            }
+            return matched == cached.size() ? cached : new ArrayList<>( cached.subList( 0, matched ) );
+        }
+    }
+
+
+    /**
+     * Writer comparing the text written to it with an expected string.
+     */
+    private static class MatchingWriter extends Writer {
+        private String expected;
+        private int position;
+        private boolean matching;
+
+
+        void reset( String expected ) {
+            this.expected = expected;
+            this.position = 0;
+            this.matching = true;
+        }
+
+
+        boolean matches() {
+            return matching && position == expected.length();
+        }
+
+
+        @Override
+        public void write( char[] buffer, int offset, int length ) {
+            if( !matching || position + length > expected.length() ) {
+                matching = false;
+                return;
+            }
+            for( int i = 0; i < length; i++ ) {
+                if( buffer[offset + i] != expected.charAt( position + i ) ) {
+                    matching = false;
+                    return;
+                }
+            }
+            position += length;
+        }
+
+
+        @Override
+        public void write( String text, int offset, int length ) {
+            matching = matching && expected.regionMatches( position, text, offset, length );
+            position += length;
+        }
+
+
+        @Override
+        public void write( int c ) {
+            write( new char[] { (char) c }, 0, 1 );
+        }
+
+
+        @Override
+        public void flush() {
+        }
+
+
+        @Override
+        public void close() {
+        }
+    }
+}
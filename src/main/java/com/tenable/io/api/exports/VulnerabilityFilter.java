@@ -0,0 +1,243 @@
+package com.tenable.io.api.exports;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.utilities.TimestampHelper;
+
+
+/**
+ * A client side filter over exported vulnerabilities, built from conditions on a few key fields, e.g.
+ * {@code VulnerabilityFilter.severityAtLeast( SeverityLevel.CRITICAL ).and( VulnerabilityFilter.exploitAvailable() )}.
+ * A filter knows the JSON properties it reads (see {@link #getFields()}), so {@link LazyChunkReader#vulns(java.io.File,
+ * VulnerabilityFilter)} evaluates it on the raw values of these fields only while streaming a chunk file, and skips the
+ * records that do not match without copying or binding any of their other fields.
+ * Conditions are evaluated left to right and short circuit, so the most selective condition should come first.
+ * Immutable.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class VulnerabilityFilter implements Predicate<Vulnerability> {
+    private static final VulnerabilityFilter all = new VulnerabilityFilter( Collections.<String>emptySet(), vulnerability -> true );
+
+    private final Set<String> fields;
+    private final Predicate<Vulnerability> condition;
+
+
+    private VulnerabilityFilter( Set<String> fields, Predicate<Vulnerability> condition ) {
+        this.fields = Collections.unmodifiableSet( fields );
+        this.condition = condition;
+    }
+
+
+    /**
+     * Creates a filter matching every vulnerability.
+     *
+     * @return the filter
+     */
+    public static VulnerabilityFilter all() {
+        return all;
+    }
+
+
+    /**
+     * Creates a filter on one field with a custom condition.
+     *
+     * @param field the JSON property read by the condition, e.g. "pluginName"
+     * @param condition the condition; must only read the given field
+     * @return the filter
+     */
+    public static VulnerabilityFilter field( String field, Predicate<Vulnerability> condition ) {
+        return new VulnerabilityFilter( Collections.singleton( field ), condition );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities of the given severities.
+     *
+     * @param severities the severities
+     * @return the filter
+     */
+    public static VulnerabilityFilter severityIn( SeverityLevel... severities ) {
+        Set<SeverityLevel> values = severities.length > 0 ? EnumSet.copyOf( Arrays.asList( severities ) ) : EnumSet.noneOf( SeverityLevel.class );
+        return field( "severity", vulnerability -> values.contains( vulnerability.getSeverity() ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities of the given severity or higher.
+     *
+     * @param severity the lowest severity
+     * @return the filter
+     */
+    public static VulnerabilityFilter severityAtLeast( SeverityLevel severity ) {
+        return field( "severity", vulnerability -> vulnerability.getSeverity() != null && vulnerability.getSeverity().getIntValue() >= severity.getIntValue() );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities with a known exploit.
+     *
+     * @return the filter
+     */
+    public static VulnerabilityFilter exploitAvailable() {
+        return field( "exploitAvailable", vulnerability -> Boolean.TRUE.equals( vulnerability.getExploitAvailable() ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities found by a plugin of the given families.
+     *
+     * @param pluginFamilies the plugin families
+     * @return the filter
+     */
+    public static VulnerabilityFilter pluginFamilyIn( String... pluginFamilies ) {
+        Set<String> values = new HashSet<>( Arrays.asList( pluginFamilies ) );
+        return field( "pluginFamily", vulnerability -> values.contains( vulnerability.getPluginFamily() ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities found by the given plugins.
+     *
+     * @param pluginIds the plugin ids
+     * @return the filter
+     */
+    public static VulnerabilityFilter pluginIdIn( long... pluginIds ) {
+        long[] values = Arrays.copyOf( pluginIds, pluginIds.length );
+        Arrays.sort( values );
+        return field( "pluginID", vulnerability -> Arrays.binarySearch( values, vulnerability.getPluginID() ) >= 0 );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities found on the given ports.
+     *
+     * @param ports the ports
+     * @return the filter
+     */
+    public static VulnerabilityFilter portIn( int... ports ) {
+        int[] values = Arrays.copyOf( ports, ports.length );
+        Arrays.sort( values );
+        return field( "port", vulnerability -> Arrays.binarySearch( values, vulnerability.getPort() ) >= 0 );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities in the given states.
+     *
+     * @param states the vulnerability states
+     * @return the filter
+     */
+    public static VulnerabilityFilter stateIn( VulnerabilityState... states ) {
+        Set<VulnerabilityState> values = states.length > 0 ? EnumSet.copyOf( Arrays.asList( states ) ) : EnumSet.noneOf( VulnerabilityState.class );
+        return field( "vulnerabilityState", vulnerability -> values.contains( vulnerability.getVulnerabilityState() ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities found on the given assets.
+     *
+     * @param assetUuids the asset UUIDs
+     * @return the filter
+     */
+    public static VulnerabilityFilter assetUuidIn( UUID... assetUuids ) {
+        Set<UUID> values = new HashSet<>( Arrays.asList( assetUuids ) );
+        return field( "assetUuid", vulnerability -> values.contains( vulnerability.getAssetUuid() ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities with a CVSSv3 base score of at least the given score.
+     *
+     * @param score the lowest score
+     * @return the filter
+     */
+    public static VulnerabilityFilter cvss3BaseScoreAtLeast( float score ) {
+        return field( "cvss3BaseScore", vulnerability -> vulnerability.getCvss3BaseScore() != null && vulnerability.getCvss3BaseScore() >= score );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities last found at or after the given date.
+     *
+     * @param date the date
+     * @return the filter
+     */
+    public static VulnerabilityFilter lastFoundSince( Date date ) {
+        long millis = date.getTime();
+        return field( "lastFound", vulnerability -> vulnerability.getLastFoundMillis() != TimestampHelper.NO_TIMESTAMP && vulnerability.getLastFoundMillis() >= millis );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities matched by both this filter and the given one.
+     *
+     * @param other the other filter, evaluated only if this one matches
+     * @return the filter
+     */
+    public VulnerabilityFilter and( VulnerabilityFilter other ) {
+        return new VulnerabilityFilter( union( fields, other.fields ), vulnerability -> condition.test( vulnerability ) && other.condition.test( vulnerability ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities matched by this filter or the given one.
+     *
+     * @param other the other filter, evaluated only if this one does not match
+     * @return the filter
+     */
+    public VulnerabilityFilter or( VulnerabilityFilter other ) {
+        return new VulnerabilityFilter( union( fields, other.fields ), vulnerability -> condition.test( vulnerability ) || other.condition.test( vulnerability ) );
+    }
+
+
+    /**
+     * Creates a filter matching the vulnerabilities not matched by this filter.
+     *
+     * @return the filter
+     */
+    public VulnerabilityFilter not() {
+        return new VulnerabilityFilter( fields, condition.negate() );
+    }
+
+
+    /**
+     * Gets the JSON properties read by this filter.
+     *
+     * @return the JSON property names
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+
+    /**
+     * Returns true if the given vulnerability matches this filter.
+     *
+     * @param vulnerability the vulnerability
+     * @return true if the vulnerability matches
+     */
+    @Override
+    public boolean test( Vulnerability vulnerability ) {
+        return condition.test( vulnerability );
+    }
+
+
+    private static Set<String> union( Set<String> left, Set<String> right ) {
+        Set<String> result = new LinkedHashSet<>( left );
+        result.addAll( right );
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package com.tenable.io.api.exports;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tenable.io.api.exports.models.VulnsExportFilters;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.IpAddressHelper;
+
+
+/**
+ * Splits one logical vulns export request into several export requests over slices of the cidr_range, severity or
+ * tag filters. Each slice is exported concurrently by {@link ExportHelper#downloadVulns(String,
+ * VulnsExportRequest, VulnsExportPartitioner, int)}.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnsExportPartitioner {
+    /**
+     * The filter a partitioner splits the export on.
+     */
+    public enum PartitionType {
+        CIDR_RANGE,
+        SEVERITY,
+        TAGS
+    }
+
+    private final PartitionType partitionType;
+    private final List<String> values;
+    private final String tagCategory;
+
+
+    private VulnsExportPartitioner( PartitionType partitionType, List<String> values, String tagCategory ) {
+        this.partitionType = partitionType;
+        this.values = values;
+        this.tagCategory = tagCategory;
+    }
+
+
+    /**
+     * Creates a partitioner that exports each severity level separately.
+     * If the request already filters on severity, only the requested severities are exported.
+     *
+     * @return the partitioner
+     */
+    public static VulnsExportPartitioner bySeverity() {
+        return new VulnsExportPartitioner( PartitionType.SEVERITY, Collections.<String>emptyList(), null );
+    }
+
+
+    /**
+     * Creates a partitioner that exports each of the given CIDR ranges separately.
+     * The assets of several ranges are exported once per range, and so are the findings of an asset with addresses in
+     * more than one range, so the merged result needs de-duplication even when the ranges do not overlap.
+     *
+     * @param cidrRanges the CIDR ranges, e.g. "10.0.0.0/9", "10.128.0.0/9"
+     * @return the partitioner
+     */
+    public static VulnsExportPartitioner byCidrRanges( List<String> cidrRanges ) {
+        return new VulnsExportPartitioner( PartitionType.CIDR_RANGE, new ArrayList<>( cidrRanges ), null );
+    }
+
+
+    /**
+     * Creates a partitioner that splits the given CIDR range into the given number of equally sized sub-ranges.
+     * The number of partitions is rounded up to the next power of two.
+     *
+     * @param cidrRange the CIDR range to split, e.g. "10.0.0.0/8"
+     * @param partitions the number of partitions
+     * @return the partitioner
+     * @throws TenableIoException if the CIDR range is invalid or too small to be split
+     */
+    public static VulnsExportPartitioner byCidrSplit( String cidrRange, int partitions ) throws TenableIoException {
+        return byCidrRanges( splitCidr( cidrRange, partitions ) );
+    }
+
+
+    /**
+     * Creates a partitioner that exports the assets of each of the given tag values separately.
+     * Assets can have several tag values, so the same finding can be returned by more than one partition.
+     *
+     * @param category the tag category
+     * @param tagValues the tag values of the category
+     * @return the partitioner
+     */
+    public static VulnsExportPartitioner byTags( String category, List<String> tagValues ) {
+        return new VulnsExportPartitioner( PartitionType.TAGS, new ArrayList<>( tagValues ), category );
+    }
+
+
+    /**
+     * Gets the filter the export is split on.
+     *
+     * @return the partition type
+     */
+    public PartitionType getPartitionType() {
+        return partitionType;
+    }
+
+
+    /**
+     * Checks whether the partitions are disjoint, so that no finding can be exported by more than one partition and
+     * the merged result needs no de-duplication. Only severity partitions are: a finding has one severity, but a
+     * multi-homed asset can fall in several CIDR ranges, even non overlapping ones, and an asset can have several
+     * tag values.
+     *
+     * @return true if the partitions are disjoint
+     */
+    public boolean isDisjoint() {
+        return partitionType == PartitionType.SEVERITY;
+    }
+
+
+    /**
+     * Splits the given request into one request per partition. The partition requests keep all other filters and the
+     * number of assets of the original request.
+     *
+     * @param exportRequest the logical export request
+     * @return the export requests, one per partition
+     * @throws TenableIoException the tenable IO exception
+     */
+    public List<VulnsExportRequest> partition( VulnsExportRequest exportRequest ) throws TenableIoException {
+        VulnsExportFilters baseFilters = exportRequest.getExportFilters() != null ? exportRequest.getExportFilters() : new VulnsExportFilters();
+        List<VulnsExportRequest> result = new ArrayList<>();
+
+        switch( partitionType ) {
+            case SEVERITY:
+                List<SeverityLevel> severities = baseFilters.getSeverity() != null && !baseFilters.getSeverity().isEmpty() ?
+                        baseFilters.getSeverity() : Arrays.asList( SeverityLevel.values() );
+                for( SeverityLevel severity : severities ) {
+                    VulnsExportFilters filters = new VulnsExportFilters( baseFilters );
+                    filters.setSeverity( Collections.singletonList( severity ) );
+                    result.add( new VulnsExportRequest( exportRequest.getNumAssets(), filters ) );
+                }
+                break;
+
+            case CIDR_RANGE:
+                if( baseFilters.getCidrRange() != null ) {
+                    throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "The export request already filters on cidr_range. Use byCidrSplit on that range instead." );
+                }
+                for( String cidrRange : values ) {
+                    VulnsExportFilters filters = new VulnsExportFilters( baseFilters );
+                    filters.setCidrRange( cidrRange );
+                    result.add( new VulnsExportRequest( exportRequest.getNumAssets(), filters ) );
+                }
+                break;
+
+            case TAGS:
+                for( String tagValue : values ) {
+                    VulnsExportFilters filters = new VulnsExportFilters( baseFilters );
+                    Map<String, String[]> tags = filters.getTags() != null ? filters.getTags() : new HashMap<>();
+                    tags.put( tagCategory, new String[]{ tagValue } );
+                    filters.setTags( tags );
+                    result.add( new VulnsExportRequest( exportRequest.getNumAssets(), filters ) );
+                }
+                break;
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Splits a CIDR range into equally sized sub-ranges.
+     *
+     * @param cidrRange the CIDR range to split
+     * @param partitions the number of partitions, rounded up to the next power of two
+     * @return the sub-ranges
+     * @throws TenableIoException if the CIDR range is invalid or too small to be split
+     */
+    static List<String> splitCidr( String cidrRange, int partitions ) throws TenableIoException {
+        if( cidrRange == null || partitions < 1 )
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "A CIDR range and a positive number of partitions are required." );
+
+        long[] range = parseCidr( cidrRange );
+        long network = range[0];
+        int prefix = 32 - Long.numberOfTrailingZeros( range[1] - range[0] + 1 );
+
+        int bits = 32 - Integer.numberOfLeadingZeros( partitions - 1 );
+        if( prefix + bits > 32 )
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "CIDR range %s is too small to be split in %d partitions.", cidrRange, partitions ) );
+
+        int subPrefix = prefix + bits;
+        long subSize = 1L << ( 32 - subPrefix );
+        List<String> result = new ArrayList<>( 1 << bits );
+        for( int i = 0; i < ( 1 << bits ); i++ ) {
+            result.add( IpAddressHelper.intToIp( (int) ( network + i * subSize ) ) + "/" + subPrefix );
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Parses a CIDR range.
+     *
+     * @param cidrRange the CIDR range, e.g. "10.0.0.0/8"
+     * @return the first and the last address of the range, as unsigned ints
+     * @throws TenableIoException if the CIDR range is invalid
+     */
+    private static long[] parseCidr( String cidrRange ) throws TenableIoException {
+        String[] parts = cidrRange.trim().split( "/" );
+        int prefix;
+        try {
+            prefix = parts.length == 2 ? Integer.parseInt( parts[1] ) : 32;
+        } catch( NumberFormatException e ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "CIDR range %s is invalid.", cidrRange ), e );
+        }
+        if( prefix < 0 || prefix > 32 )
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "CIDR range %s is invalid.", cidrRange ) );
+
+        long mask = prefix == 0 ? 0 : ( 0xffffffffL << ( 32 - prefix ) ) & 0xffffffffL;
+        long network = IpAddressHelper.ipToInt( parts[0] ) & mask;
+        return new long[]{ network, network + ( 1L << ( 32 - prefix ) ) - 1 };
+    }
+}
@@ -0,0 +1,220 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.tenable.io.api.exports.analytics.ExportAggregations.Dimension;
+import com.tenable.io.api.exports.analytics.ExportAggregations.Metric;
+
+
+/**
+ * The groups computed by an ExportAggregations, in the order they were first seen.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class AggregationResult {
+    private final ExportAggregations aggregations;
+    private final List<Group> groups;
+
+
+    AggregationResult( ExportAggregations aggregations, List<Group> groups ) {
+        this.aggregations = aggregations;
+        this.groups = Collections.unmodifiableList( groups );
+    }
+
+
+    /**
+     * Gets the groups.
+     *
+     * @return the groups
+     */
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+
+    /**
+     * Gets the group with the given dimension values.
+     *
+     * @param keys the values of the grouping dimensions, in order; Long for numeric dimensions
+     * @return the group, or null if no vulnerability has these values
+     */
+    public Group get( Object... keys ) {
+        List<Object> values = Arrays.asList( keys );
+        for( Group group : groups ) {
+            if( group.getKeys().equals( values ) ) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Gets the number of groups.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return groups.size();
+    }
+
+
+    /**
+     * Gets the number of vulnerabilities aggregated.
+     *
+     * @return the number of vulnerabilities
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for( Group group : groups ) {
+            total += group.getCount();
+        }
+        return total;
+    }
+
+
+    /**
+     * Gets the aggregation computing this result.
+     *
+     * @return the aggregation
+     */
+    public ExportAggregations getAggregations() {
+        return aggregations;
+    }
+
+
+    /**
+     * The aggregated values of one group.
+     */
+    public static class Group {
+        private final ExportAggregations aggregations;
+        private final List<Object> keys;
+        private final long count;
+        private final long[] valueCounts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+
+        Group( ExportAggregations aggregations, List<Object> keys, long count, long[] valueCounts, double[] sums, double[] mins, double[] maxs ) {
+            this.aggregations = aggregations;
+            this.keys = Collections.unmodifiableList( keys );
+            this.count = count;
+            this.valueCounts = valueCounts;
+            this.sums = sums;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+
+        /**
+         * Gets the values of the grouping dimensions, in order; Long for numeric dimensions.
+         *
+         * @return the dimension values
+         */
+        public List<Object> getKeys() {
+            return keys;
+        }
+
+
+        /**
+         * Gets the value of the given grouping dimension.
+         *
+         * @param dimension the dimension
+         * @return the dimension value; Long for numeric dimensions
+         */
+        public Object getKey( Dimension dimension ) {
+            int index = aggregations.getDimensions().indexOf( dimension );
+            if( index < 0 ) {
+                throw new IllegalArgumentException( String.format( "Dimension %s is not grouped.", dimension ) );
+            }
+            return keys.get( index );
+        }
+
+
+        /**
+         * Gets the number of vulnerabilities in the group.
+         *
+         * @return the number of vulnerabilities
+         */
+        public long getCount() {
+            return count;
+        }
+
+
+        /**
+         * Gets the number of vulnerabilities in the group with a value for the given metric.
+         *
+         * @param metric the metric
+         * @return the number of values
+         */
+        public long getValueCount( Metric metric ) {
+            return valueCounts[index( metric )];
+        }
+
+
+        /**
+         * Gets the minimum of the given metric.
+         *
+         * @param metric the metric
+         * @return the minimum, NaN if no vulnerability of the group has a value
+         */
+        public double getMin( Metric metric ) {
+            int index = index( metric );
+            return valueCounts[index] > 0 ? mins[index] : Double.NaN;
+        }
+
+
+        /**
+         * Gets the maximum of the given metric.
+         *
+         * @param metric the metric
+         * @return the maximum, NaN if no vulnerability of the group has a value
+         */
+        public double getMax( Metric metric ) {
+            int index = index( metric );
+            return valueCounts[index] > 0 ? maxs[index] : Double.NaN;
+        }
+
+
+        /**
+         * Gets the sum of the given metric.
+         *
+         * @param metric the metric
+         * @return the sum, 0 if no vulnerability of the group has a value
+         */
+        public double getSum( Metric metric ) {
+            return sums[index( metric )];
+        }
+
+
+        /**
+         * Gets the average of the given metric.
+         *
+         * @param metric the metric
+         * @return the average, NaN if no vulnerability of the group has a value
+         */
+        public double getAverage( Metric metric ) {
+            int index = index( metric );
+            return valueCounts[index] > 0 ? sums[index] / valueCounts[index] : Double.NaN;
+        }
+
+
+        private int index( Metric metric ) {
+            int index = aggregations.getMetrics().indexOf( metric );
+            if( index < 0 ) {
+                throw new IllegalArgumentException( String.format( "Metric %s is not aggregated.", metric ) );
+            }
+            return index;
+        }
+
+
+        @Override
+        public String toString() {
+            return keys + "=" + count;
+        }
+    }
+}
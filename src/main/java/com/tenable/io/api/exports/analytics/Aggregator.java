@@ -0,0 +1,216 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.tenable.io.api.exports.analytics.ExportAggregations.Dimension;
+import com.tenable.io.api.exports.analytics.ExportAggregations.Metric;
+import com.tenable.io.api.models.Vulnerability;
+
+
+/**
+ * Accumulates the groups of an ExportAggregations as vulnerabilities are passed to it. Each group key is a row of
+ * longs, the primitive value of numeric dimensions or the dictionary id of other dimension values, found through an
+ * open addressing hash table; counts and metrics are held in primitive arrays indexed by group. Not thread safe: use
+ * one aggregator per thread and merge them.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class Aggregator implements Consumer<Vulnerability> {
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ExportAggregations aggregations;
+    private final Dimension[] dimensions;
+    private final Metric[] metrics;
+    private final List<ValueDictionary<Object>> dictionaries = new ArrayList<>();
+    private final long[] key;
+
+    private int[] table = new int[INITIAL_CAPACITY * 2];
+    private long[] keys;
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private long[] valueCounts;
+    private double[] sums;
+    private double[] mins;
+    private double[] maxs;
+    private int size;
+
+
+    Aggregator( ExportAggregations aggregations ) {
+        this.aggregations = aggregations;
+        this.dimensions = aggregations.getDimensions().toArray( new Dimension[0] );
+        this.metrics = aggregations.getMetrics().toArray( new Metric[0] );
+        for( Dimension dimension : dimensions ) {
+            dictionaries.add( dimension.isNumeric() ? null : new ValueDictionary<>() );
+        }
+        this.key = new long[dimensions.length];
+        this.keys = new long[INITIAL_CAPACITY * dimensions.length];
+        this.valueCounts = new long[INITIAL_CAPACITY * metrics.length];
+        this.sums = new double[INITIAL_CAPACITY * metrics.length];
+        this.mins = new double[INITIAL_CAPACITY * metrics.length];
+        this.maxs = new double[INITIAL_CAPACITY * metrics.length];
+        Arrays.fill( table, EMPTY );
+    }
+
+
+    /**
+     * Adds the given vulnerability to its group.
+     *
+     * @param vulnerability the vulnerability
+     */
+    @Override
+    public void accept( Vulnerability vulnerability ) {
+        for( int i = 0; i < dimensions.length; i++ ) {
+            key[i] = dimensions[i].isNumeric() ? dimensions[i].getLongValue( vulnerability ) : dictionaries.get( i ).encode( dimensions[i].getValue( vulnerability ) );
+        }
+        int group = findOrAdd( key );
+        counts[group]++;
+        for( int i = 0; i < metrics.length; i++ ) {
+            double value = metrics[i].getValue( vulnerability );
+            if( !Double.isNaN( value ) ) {
+                add( group * metrics.length + i, 1, value, value, value );
+            }
+        }
+    }
+
+
+    /**
+     * Adds the groups of the given aggregator, of the same aggregation, to this one.
+     *
+     * @param other the other aggregator
+     * @return this aggregator
+     */
+    public Aggregator merge( Aggregator other ) {
+        if( other.aggregations != aggregations ) {
+            throw new IllegalArgumentException( "Aggregators of different aggregations can't be merged." );
+        }
+        for( int group = 0; group < other.size; group++ ) {
+            for( int i = 0; i < dimensions.length; i++ ) {
+                long value = other.keys[group * dimensions.length + i];
+                key[i] = dimensions[i].isNumeric() ? value : dictionaries.get( i ).encode( other.dictionaries.get( i ).decode( (int) value ) );
+            }
+            int target = findOrAdd( key );
+            counts[target] += other.counts[group];
+            for( int i = 0; i < metrics.length; i++ ) {
+                int from = group * metrics.length + i;
+                if( other.valueCounts[from] > 0 ) {
+                    add( target * metrics.length + i, other.valueCounts[from], other.sums[from], other.mins[from], other.maxs[from] );
+                }
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * Gets the number of groups.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Gets the aggregated groups.
+     *
+     * @return the aggregation result
+     */
+    public AggregationResult getResult() {
+        List<AggregationResult.Group> groups = new ArrayList<>( size );
+        for( int group = 0; group < size; group++ ) {
+            List<Object> values = new ArrayList<>( dimensions.length );
+            for( int i = 0; i < dimensions.length; i++ ) {
+                long value = keys[group * dimensions.length + i];
+                values.add( dimensions[i].isNumeric() ? (Object) value : dictionaries.get( i ).decode( (int) value ) );
+            }
+            int from = group * metrics.length;
+            groups.add( new AggregationResult.Group( aggregations, values, counts[group],
+                    Arrays.copyOfRange( valueCounts, from, from + metrics.length ), Arrays.copyOfRange( sums, from, from + metrics.length ),
+                    Arrays.copyOfRange( mins, from, from + metrics.length ), Arrays.copyOfRange( maxs, from, from + metrics.length ) ) );
+        }
+        return new AggregationResult( aggregations, groups );
+    }
+
+
+    private void add( int index, long count, double sum, double min, double max ) {
+        if( valueCounts[index] == 0 ) {
+            mins[index] = min;
+            maxs[index] = max;
+        } else {
+            mins[index] = Math.min( mins[index], min );
+            maxs[index] = Math.max( maxs[index], max );
+        }
+        valueCounts[index] += count;
+        sums[index] += sum;
+    }
+
+
+    private int findOrAdd( long[] key ) {
+        int mask = table.length - 1;
+        int slot = hash( key, 0, key.length ) & mask;
+        while( table[slot] != EMPTY ) {
+            int group = table[slot];
+            if( keyEquals( group, key ) ) {
+                return group;
+            }
+            slot = ( slot + 1 ) & mask;
+        }
+
+        if( size == counts.length ) {
+            grow();
+            return findOrAdd( key );
+        }
+        int group = size++;
+        System.arraycopy( key, 0, keys, group * key.length, key.length );
+        table[slot] = group;
+        return group;
+    }
+
+
+    private boolean keyEquals( int group, long[] key ) {
+        int offset = group * key.length;
+        for( int i = 0; i < key.length; i++ ) {
+            if( keys[offset + i] != key[i] ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static int hash( long[] values, int offset, int length ) {
+        long hash = 1;
+        for( int i = 0; i < length; i++ ) {
+            hash = hash * 31 + values[offset + i];
+        }
+        hash *= 0x9E3779B97F4A7C15L;
+        return (int) ( hash ^ ( hash >>> 32 ) );
+    }
+
+
+    private void grow() {
+        int capacity = counts.length * 2;
+        keys = Arrays.copyOf( keys, capacity * dimensions.length );
+        counts = Arrays.copyOf( counts, capacity );
+        valueCounts = Arrays.copyOf( valueCounts, capacity * metrics.length );
+        sums = Arrays.copyOf( sums, capacity * metrics.length );
+        mins = Arrays.copyOf( mins, capacity * metrics.length );
+        maxs = Arrays.copyOf( maxs, capacity * metrics.length );
+
+        table = new int[capacity * 2];
+        Arrays.fill( table, EMPTY );
+        int mask = table.length - 1;
+        for( int group = 0; group < size; group++ ) {
+            int slot = hash( keys, group * dimensions.length, dimensions.length ) & mask;
+            while( table[slot] != EMPTY ) {
+                slot = ( slot + 1 ) & mask;
+            }
+            table[slot] = group;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.HashHelper;
+
+
+/**
+ * Count-Min sketch estimating the frequency of values in a stream. Estimates never undercount; with probability
+ * confidence, they overcount by at most epsilon times the total count. Uses depth rows of width counters, where
+ * width = e / epsilon and depth = ln( 1 / ( 1 - confidence ) ). Sketches of the same dimensions can be merged. Not
+ * thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class CountMinSketch {
+    // the largest array the JVMs allocate
+    private static final int MAX_COUNTERS = Integer.MAX_VALUE - 8;
+
+    private final int width;
+    private final int depth;
+    private final long[] counts;
+    private long totalCount;
+
+
+    /**
+     * Instantiates a new sketch with the given error bounds.
+     *
+     * @param epsilon the overcount bound, relative to the total count, e.g. 0.0001
+     * @param confidence the probability an estimate is within the bound, e.g. 0.99
+     * @throws TenableIoException if a bound is out of range, or so small the sketch can't be allocated
+     */
+    public CountMinSketch( double epsilon, double confidence ) throws TenableIoException {
+        if( !( epsilon > 0 && epsilon < 1 ) ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "epsilon %s is invalid.", epsilon ) );
+        }
+        if( !( confidence > 0 && confidence < 1 ) ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "confidence %s is invalid.", confidence ) );
+        }
+        double width = Math.ceil( Math.E / epsilon );
+        double depth = Math.max( 1, Math.ceil( Math.log( 1 / ( 1 - confidence ) ) ) );
+        if( width * depth > MAX_COUNTERS ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "epsilon %s and confidence %s need more than %d counters.", epsilon, confidence, MAX_COUNTERS ) );
+        }
+        this.width = (int) width;
+        this.depth = (int) depth;
+        this.counts = new long[Math.multiplyExact( this.width, this.depth )];
+    }
+
+
+    private CountMinSketch( CountMinSketch template ) {
+        this.width = template.width;
+        this.depth = template.depth;
+        this.counts = new long[width * depth];
+    }
+
+
+    /**
+     * Adds one occurrence of the given value.
+     *
+     * @param value the value
+     */
+    public void add( String value ) {
+        addHash( HashHelper.hash64( value ), 1 );
+    }
+
+
+    /**
+     * Adds occurrences of a value, given by its 64 bit hash, e.g. from HashHelper.
+     *
+     * @param hash the 64 bit hash of the value
+     * @param count the number of occurrences
+     */
+    public void addHash( long hash, long count ) {
+        int h1 = (int) hash;
+        int h2 = (int) ( hash >>> 32 );
+        for( int row = 0; row < depth; row++ ) {
+            counts[row * width + index( h1, h2, row )] += count;
+        }
+        totalCount += count;
+    }
+
+
+    /**
+     * Estimates the number of occurrences of the given value.
+     *
+     * @param value the value
+     * @return the estimated count, never lower than the actual count
+     */
+    public long estimate( String value ) {
+        return estimateHash( HashHelper.hash64( value ) );
+    }
+
+
+    /**
+     * Estimates the number of occurrences of a value, given by its 64 bit hash.
+     *
+     * @param hash the 64 bit hash of the value
+     * @return the estimated count, never lower than the actual count
+     */
+    public long estimateHash( long hash ) {
+        int h1 = (int) hash;
+        int h2 = (int) ( hash >>> 32 );
+        long result = Long.MAX_VALUE;
+        for( int row = 0; row < depth; row++ ) {
+            result = Math.min( result, counts[row * width + index( h1, h2, row )] );
+        }
+        return result;
+    }
+
+
+    /**
+     * Adds the counts of the given sketch to this one.
+     *
+     * @param other the sketch to merge, created with the same bounds
+     * @return this sketch
+     */
+    public CountMinSketch merge( CountMinSketch other ) {
+        if( other.width != width || other.depth != depth ) {
+            throw new IllegalArgumentException( "Can't merge sketches of different dimensions." );
+        }
+        for( int i = 0; i < counts.length; i++ ) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        return this;
+    }
+
+
+    /**
+     * Creates an empty sketch with the same dimensions.
+     *
+     * @return the empty sketch
+     */
+    public CountMinSketch emptyCopy() {
+        return new CountMinSketch( this );
+    }
+
+
+    /**
+     * Gets the total number of occurrences added.
+     *
+     * @return the total count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+
+    /**
+     * Gets the memory used by the counters.
+     *
+     * @return the size of the counters in bytes
+     */
+    public long getSizeInBytes() {
+        return counts.length * 8L;
+    }
+
+
+    private int index( int h1, int h2, int row ) {
+        // Kirsch-Mitzenmacher double hashing
+        int combined = h1 + row * h2;
+        return ( combined & Integer.MAX_VALUE ) % width;
+    }
+}
@@ -0,0 +1,295 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Streaming aggregations over exported vulnerabilities: counts, and min, max, sum and average of numeric fields, per
+ * group of dimension values, e.g.
+ * {@code ExportAggregations.groupBy( Dimension.SEVERITY, Dimension.PLUGIN_FAMILY ).aggregate( Metric.CVSS3_BASE_SCORE )}.
+ * Vulnerabilities are aggregated in a single pass as they are read, into an Aggregator holding primitive arrays per
+ * group, so memory is proportional to the number of groups rather than the number of findings. Aggregations run in
+ * parallel with a ChunkProcessor, each chunk into its own Aggregator, merged at the end. Immutable.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class ExportAggregations {
+    private final List<Dimension> dimensions;
+    private final List<Metric> metrics;
+
+
+    private ExportAggregations( List<Dimension> dimensions, List<Metric> metrics ) {
+        this.dimensions = Collections.unmodifiableList( dimensions );
+        this.metrics = Collections.unmodifiableList( metrics );
+    }
+
+
+    /**
+     * Creates an aggregation grouping vulnerabilities by the given dimensions; with no dimension, all vulnerabilities
+     * are in a single group.
+     *
+     * @param dimensions the dimensions
+     * @return the aggregation, counting the vulnerabilities of each group
+     */
+    public static ExportAggregations groupBy( Dimension... dimensions ) {
+        return new ExportAggregations( Arrays.asList( dimensions.clone() ), new ArrayList<>() );
+    }
+
+
+    /**
+     * Aggregates the given metrics. The min, max, sum and average of each metric are all computed, as well as the
+     * count of each group.
+     *
+     * @param metrics the metrics
+     * @return the aggregation including the metrics
+     */
+    public ExportAggregations aggregate( Metric... metrics ) {
+        List<Metric> result = new ArrayList<>( this.metrics );
+        for( Metric metric : metrics ) {
+            if( !result.contains( metric ) ) {
+                result.add( metric );
+            }
+        }
+        return new ExportAggregations( dimensions, result );
+    }
+
+
+    /**
+     * Gets the grouping dimensions.
+     *
+     * @return the dimensions
+     */
+    public List<Dimension> getDimensions() {
+        return dimensions;
+    }
+
+
+    /**
+     * Gets the aggregated metrics.
+     *
+     * @return the metrics
+     */
+    public List<Metric> getMetrics() {
+        return metrics;
+    }
+
+
+    /**
+     * Creates an empty aggregator, to feed vulnerabilities from a custom source. Not thread safe; use one aggregator
+     * per thread and merge them.
+     *
+     * @return the aggregator
+     */
+    public Aggregator newAggregator() {
+        return new Aggregator( this );
+    }
+
+
+    /**
+     * Aggregates the vulnerabilities of the given chunk files, read one after another.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @return the aggregation result
+     * @throws TenableIoException the tenable IO exception
+     */
+    public AggregationResult aggregate( List<File> chunkFiles ) throws TenableIoException {
+        Aggregator aggregator = newAggregator();
+        ExportChunkReader.readAll( chunkFiles, Vulnerability.class, aggregator );
+        return aggregator.getResult();
+    }
+
+
+    /**
+     * Aggregates the vulnerabilities of the given chunk files, read in parallel by the given processor.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param processor the processor reading the chunk files
+     * @return the aggregation result
+     * @throws TenableIoException the tenable IO exception
+     */
+    public AggregationResult aggregate( List<File> chunkFiles, ChunkProcessor<? extends Vulnerability> processor ) throws TenableIoException {
+        return processor.reduce( chunkFiles, this::newAggregator, Aggregator::accept, Aggregator::merge ).getResult();
+    }
+
+
+    /**
+     * A value vulnerabilities are grouped by. Numeric dimensions are grouped on the primitive value; other dimensions
+     * on the value's equals method, through a dictionary of the distinct values.
+     */
+    public static final class Dimension {
+        /**
+         * Groups by severity.
+         */
+        public static final Dimension SEVERITY = of( "severity", Vulnerability::getSeverity );
+        /**
+         * Groups by plugin family.
+         */
+        public static final Dimension PLUGIN_FAMILY = of( "pluginFamily", Vulnerability::getPluginFamily );
+        /**
+         * Groups by plugin id.
+         */
+        public static final Dimension PLUGIN_ID = ofLong( "pluginID", Vulnerability::getPluginID );
+        /**
+         * Groups by asset UUID.
+         */
+        public static final Dimension ASSET = of( "assetUuid", Vulnerability::getAssetUuid );
+        /**
+         * Groups by vulnerability state.
+         */
+        public static final Dimension STATE = of( "vulnerabilityState", Vulnerability::getVulnerabilityState );
+        /**
+         * Groups by port.
+         */
+        public static final Dimension PORT = ofLong( "port", Vulnerability::getPort );
+
+        private final String name;
+        private final Function<Vulnerability, ?> values;
+        private final ToLongFunction<Vulnerability> longValues;
+
+
+        private Dimension( String name, Function<Vulnerability, ?> values, ToLongFunction<Vulnerability> longValues ) {
+            this.name = name;
+            this.values = values;
+            this.longValues = longValues;
+        }
+
+
+        /**
+         * Creates a dimension grouping on the given value.
+         *
+         * @param name the dimension name
+         * @param values extracts the value of a vulnerability; can return null
+         * @return the dimension
+         */
+        public static Dimension of( String name, Function<Vulnerability, ?> values ) {
+            return new Dimension( name, values, null );
+        }
+
+
+        /**
+         * Creates a dimension grouping on the given primitive value, without boxing.
+         *
+         * @param name the dimension name
+         * @param values extracts the value of a vulnerability
+         * @return the dimension
+         */
+        public static Dimension ofLong( String name, ToLongFunction<Vulnerability> values ) {
+            return new Dimension( name, null, values );
+        }
+
+
+        /**
+         * Gets the dimension name.
+         *
+         * @return the dimension name
+         */
+        public String getName() {
+            return name;
+        }
+
+
+        boolean isNumeric() {
+            return longValues != null;
+        }
+
+
+        Object getValue( Vulnerability vulnerability ) {
+            return values.apply( vulnerability );
+        }
+
+
+        long getLongValue( Vulnerability vulnerability ) {
+            return longValues.applyAsLong( vulnerability );
+        }
+
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+
+    /**
+     * A numeric value aggregated per group. Vulnerabilities without a value, such as a null score, are not aggregated
+     * for the metric.
+     */
+    public static final class Metric {
+        /**
+         * The CVSSv3 base score.
+         */
+        public static final Metric CVSS3_BASE_SCORE = of( "cvss3BaseScore", vulnerability -> value( vulnerability.getCvss3BaseScore() ) );
+        /**
+         * The CVSSv2 base score.
+         */
+        public static final Metric CVSS_BASE_SCORE = of( "cvssBaseScore", vulnerability -> value( vulnerability.getCvssBaseScore() ) );
+        /**
+         * The CVSSv3 temporal score.
+         */
+        public static final Metric CVSS3_TEMPORAL_SCORE = of( "cvss3TemporalScore", vulnerability -> value( vulnerability.getCvss3TemporalScore() ) );
+        /**
+         * The severity, as its int value.
+         */
+        public static final Metric SEVERITY = of( "severity", vulnerability -> vulnerability.getSeverity() != null ? vulnerability.getSeverity().getIntValue() : Double.NaN );
+
+        private final String name;
+        private final ToDoubleFunction<Vulnerability> values;
+
+
+        private Metric( String name, ToDoubleFunction<Vulnerability> values ) {
+            this.name = name;
+            this.values = values;
+        }
+
+
+        /**
+         * Creates a metric.
+         *
+         * @param name the metric name
+         * @param values extracts the value of a vulnerability, or NaN if it has none
+         * @return the metric
+         */
+        public static Metric of( String name, ToDoubleFunction<Vulnerability> values ) {
+            return new Metric( name, values );
+        }
+
+
+        /**
+         * Gets the metric name.
+         *
+         * @return the metric name
+         */
+        public String getName() {
+            return name;
+        }
+
+
+        double getValue( Vulnerability vulnerability ) {
+            return values.applyAsDouble( vulnerability );
+        }
+
+
+        private static double value( Float value ) {
+            return value != null ? value : Double.NaN;
+        }
+
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
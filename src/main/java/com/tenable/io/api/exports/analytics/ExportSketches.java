@@ -0,0 +1,214 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.HashHelper;
+
+
+/**
+ * Approximate analytics over exported vulnerabilities, in memory independent of the number of findings: distinct
+ * assets overall and per plugin with HyperLogLog, CVE frequencies with a Count-Min sketch, and the most frequent CVEs
+ * with a Space-Saving top-K. Sketches built over different chunks or partitions can be merged. Accuracy is set by the
+ * HyperLogLog precisions, the Count-Min error bounds and the top-K capacity. Not thread safe: use one instance per
+ * thread and merge them, e.g. with {@link #aggregate(List, ChunkProcessor)}.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportSketches implements Consumer<Vulnerability> {
+    /**
+     * The default precision of the per plugin distinct asset sketches, for a 3% standard error with at most 1 KB per
+     * plugin. The sketches start sparse, so a plugin seen on fewer than 128 assets is counted exactly in 8 bytes per asset,
+     * rounded up to a power of two.
+     */
+    public static final int DEFAULT_PLUGIN_PRECISION = 10;
+
+    private final HyperLogLog distinctAssets;
+    private final HyperLogLog pluginTemplate;
+    private final Map<Long, HyperLogLog> distinctAssetsPerPlugin = new HashMap<>();
+    private final CountMinSketch cveFrequencies;
+    private final TopKSketch<String> topCves;
+    private long count;
+
+
+    /**
+     * Instantiates sketches with the default accuracy: 0.8% error on distinct assets, 3% per plugin, CVE counts within
+     * 0.01% of the total CVE count with 99% confidence, and the 100 most frequent CVEs.
+     *
+     * @throws TenableIoException the tenable IO exception
+     */
+    public ExportSketches() throws TenableIoException {
+        this( HyperLogLog.DEFAULT_PRECISION, DEFAULT_PLUGIN_PRECISION, 0.0001, 0.99, 100 );
+    }
+
+
+    /**
+     * Instantiates sketches with the given accuracy.
+     *
+     * @param assetPrecision the precision of the distinct asset sketch, see HyperLogLog
+     * @param pluginPrecision the precision of the per plugin distinct asset sketches, see HyperLogLog
+     * @param cveEpsilon the overcount bound of CVE frequencies, relative to the total CVE count
+     * @param cveConfidence the probability a CVE frequency is within the bound
+     * @param topCveCount the number of most frequent CVEs tracked
+     * @throws TenableIoException if a parameter is out of range
+     */
+    public ExportSketches( int assetPrecision, int pluginPrecision, double cveEpsilon, double cveConfidence, int topCveCount ) throws TenableIoException {
+        this.distinctAssets = new HyperLogLog( assetPrecision );
+        this.pluginTemplate = new HyperLogLog( pluginPrecision );
+        this.cveFrequencies = new CountMinSketch( cveEpsilon, cveConfidence );
+        this.topCves = new TopKSketch<>( topCveCount );
+    }
+
+
+    private ExportSketches( ExportSketches template ) {
+        this.distinctAssets = template.distinctAssets.emptyCopy();
+        this.pluginTemplate = template.pluginTemplate;
+        this.cveFrequencies = template.cveFrequencies.emptyCopy();
+        this.topCves = template.topCves.emptyCopy();
+    }
+
+
+    /**
+     * Adds the given vulnerability to the sketches.
+     *
+     * @param vulnerability the vulnerability
+     */
+    @Override
+    public void accept( Vulnerability vulnerability ) {
+        count++;
+        if( vulnerability.getAssetUuid() != null ) {
+            long assetHash = HashHelper.hash64( vulnerability.getAssetUuid() );
+            distinctAssets.addHash( assetHash );
+            distinctAssetsPerPlugin.computeIfAbsent( vulnerability.getPluginID(), pluginId -> pluginTemplate.emptyCopy() ).addHash( assetHash );
+        }
+        if( vulnerability.getCves() != null ) {
+            for( String cve : vulnerability.getCves() ) {
+                cveFrequencies.add( cve );
+                topCves.add( cve );
+            }
+        }
+    }
+
+
+    /**
+     * Adds the given sketches, created with the same accuracy, to these ones.
+     *
+     * @param other the sketches to merge
+     * @return these sketches
+     */
+    public ExportSketches merge( ExportSketches other ) {
+        count += other.count;
+        distinctAssets.merge( other.distinctAssets );
+        for( Map.Entry<Long, HyperLogLog> entry : other.distinctAssetsPerPlugin.entrySet() ) {
+            HyperLogLog sketch = distinctAssetsPerPlugin.get( entry.getKey() );
+            if( sketch == null ) {
+                distinctAssetsPerPlugin.put( entry.getKey(), entry.getValue().emptyCopy().merge( entry.getValue() ) );
+            } else {
+                sketch.merge( entry.getValue() );
+            }
+        }
+        cveFrequencies.merge( other.cveFrequencies );
+        topCves.merge( other.topCves );
+        return this;
+    }
+
+
+    /**
+     * Creates empty sketches with the same accuracy.
+     *
+     * @return the empty sketches
+     */
+    public ExportSketches emptyCopy() {
+        return new ExportSketches( this );
+    }
+
+
+    /**
+     * Adds the vulnerabilities of the given chunk files, read in parallel by the given processor, to these sketches.
+     * The processor keeps one set of sketches per chunk being read or combined, so memory peaks at a few times
+     * getSizeInBytes() per pool thread.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param processor the processor reading the chunk files
+     * @return these sketches
+     * @throws TenableIoException the tenable IO exception
+     */
+    public ExportSketches aggregate( List<File> chunkFiles, ChunkProcessor<? extends Vulnerability> processor ) throws TenableIoException {
+        return merge( processor.reduce( chunkFiles, this::emptyCopy, ExportSketches::accept, ExportSketches::merge ) );
+    }
+
+
+    /**
+     * Gets the number of vulnerabilities added.
+     *
+     * @return the number of vulnerabilities
+     */
+    public long getCount() {
+        return count;
+    }
+
+
+    /**
+     * Estimates the number of distinct assets.
+     *
+     * @return the estimated number of distinct assets
+     */
+    public long estimateDistinctAssets() {
+        return distinctAssets.estimate();
+    }
+
+
+    /**
+     * Estimates the number of distinct assets affected by the given plugin.
+     *
+     * @param pluginId the plugin id
+     * @return the estimated number of distinct assets, 0 if the plugin was not seen
+     */
+    public long estimateDistinctAssets( long pluginId ) {
+        HyperLogLog sketch = distinctAssetsPerPlugin.get( pluginId );
+        return sketch != null ? sketch.estimate() : 0;
+    }
+
+
+    /**
+     * Estimates the number of findings referencing the given CVE.
+     *
+     * @param cve the CVE id
+     * @return the estimated count, never lower than the actual count
+     */
+    public long estimateCveCount( String cve ) {
+        return cveFrequencies.estimate( cve );
+    }
+
+
+    /**
+     * Gets the most frequent CVEs.
+     *
+     * @param k the number of CVEs, at most the top CVE count the sketches were created with
+     * @return the k most frequent CVEs with their estimated counts, most frequent first
+     */
+    public List<TopKSketch.Entry<String>> getTopCves( int k ) {
+        return topCves.getTop( k );
+    }
+
+
+    /**
+     * Gets the approximate memory used by the sketches.
+     *
+     * @return the size of the sketches in bytes
+     */
+    public long getSizeInBytes() {
+        long size = distinctAssets.getSizeInBytes() + cveFrequencies.getSizeInBytes() + topCves.getCapacity() * 64L;
+        for( HyperLogLog sketch : distinctAssetsPerPlugin.values() ) {
+            size += sketch.getSizeInBytes();
+        }
+        return size;
+    }
+}
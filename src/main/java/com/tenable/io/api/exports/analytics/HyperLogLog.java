@@ -0,0 +1,236 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.Arrays;
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * HyperLogLog distinct count estimator. Uses 2^precision one byte registers; the relative standard error of the
+ * estimate is about 1.04 / sqrt( 2^precision ), e.g. 0.8% with 16 KB at precision 14. Sketches of the same precision
+ * can be merged, giving the estimate of the union of their values. Not thread safe.
+ *
+ * A sketch starts sparse, holding the distinct hashes themselves in a sorted array of 8 bytes per value, and switches
+ * to the registers once that would take more memory than them, i.e. past 2^precision / 8 values. Small sets, like the
+ * assets of most plugins, are then counted exactly in a fraction of the register memory.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class HyperLogLog {
+    /**
+     * The default precision, for a 0.8% standard error with 16 KB.
+     */
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final int INITIAL_SPARSE_CAPACITY = 4;
+
+    private final int precision;
+    private byte[] registers;
+    private long[] sparse;
+    private int sparseSize;
+
+
+    /**
+     * Instantiates a new sketch with the default precision.
+     */
+    public HyperLogLog() {
+        this.precision = DEFAULT_PRECISION;
+        clear();
+    }
+
+
+    /**
+     * Instantiates a new sketch.
+     *
+     * @param precision the number of bits indexing registers, 4 to 18
+     * @throws TenableIoException if the precision is out of range
+     */
+    public HyperLogLog( int precision ) throws TenableIoException {
+        if( precision < 4 || precision > 18 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "precision %d is invalid.", precision ) );
+        }
+        this.precision = precision;
+        clear();
+    }
+
+
+    private HyperLogLog( HyperLogLog template ) {
+        this.precision = template.precision;
+        clear();
+    }
+
+
+    /**
+     * Adds a value, given by its 64 bit hash, e.g. from HashHelper.
+     *
+     * @param hash the 64 bit hash of the value
+     */
+    public void addHash( long hash ) {
+        if( registers == null ) {
+            addSparse( hash );
+            return;
+        }
+        int index = (int) ( hash >>> ( 64 - precision ) );
+        int rank = Long.numberOfLeadingZeros( ( hash << precision ) | ( 1L << ( precision - 1 ) ) ) + 1;
+        if( rank > registers[index] ) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+
+    /**
+     * Estimates the number of distinct values added.
+     *
+     * @return the estimated number of distinct values
+     */
+    public long estimate() {
+        if( registers == null ) {
+            return sparseSize;
+        }
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for( byte register : registers ) {
+            sum += 1.0 / ( 1L << register );
+            if( register == 0 ) {
+                zeros++;
+            }
+        }
+        double estimate = alpha( m ) * m * m / sum;
+        if( estimate <= 2.5 * m && zeros > 0 ) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log( (double) m / zeros );
+        }
+        return Math.round( estimate );
+    }
+
+
+    /**
+     * Adds the values of the given sketch to this one.
+     *
+     * @param other the sketch to merge, of the same precision
+     * @return this sketch
+     */
+    public HyperLogLog merge( HyperLogLog other ) {
+        if( other.precision != precision ) {
+            throw new IllegalArgumentException( String.format( "Can't merge sketches of precision %d and %d.", precision, other.precision ) );
+        }
+        if( other.registers == null ) {
+            for( int i = 0; i < other.sparseSize; i++ ) {
+                addHash( other.sparse[i] );
+            }
+            return this;
+        }
+        if( registers == null ) {
+            densify();
+        }
+        for( int i = 0; i < registers.length; i++ ) {
+            if( other.registers[i] > registers[i] ) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * Creates an empty sketch with the same precision.
+     *
+     * @return the empty sketch
+     */
+    public HyperLogLog emptyCopy() {
+        return new HyperLogLog( this );
+    }
+
+
+    /**
+     * Gets the precision.
+     *
+     * @return the number of bits indexing registers
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+
+    /**
+     * Returns true if the sketch still holds the distinct hashes rather than the registers.
+     *
+     * @return true if the sketch is sparse
+     */
+    public boolean isSparse() {
+        return registers == null;
+    }
+
+
+    /**
+     * Gets the memory used by the sparse hashes or the registers.
+     *
+     * @return the size of the sketch in bytes
+     */
+    public int getSizeInBytes() {
+        return registers != null ? registers.length : sparse.length * 8;
+    }
+
+
+    /**
+     * Removes all values, making the sketch sparse again.
+     */
+    public void clear() {
+        registers = null;
+        sparse = new long[Math.min( INITIAL_SPARSE_CAPACITY, sparseLimit() )];
+        sparseSize = 0;
+    }
+
+
+    private void addSparse( long hash ) {
+        int position = Arrays.binarySearch( sparse, 0, sparseSize, hash );
+        if( position >= 0 ) {
+            return;
+        }
+        if( sparseSize == sparseLimit() ) {
+            densify();
+            addHash( hash );
+            return;
+        }
+        if( sparseSize == sparse.length ) {
+            sparse = Arrays.copyOf( sparse, Math.min( sparse.length * 2, sparseLimit() ) );
+        }
+        int insertion = -position - 1;
+        System.arraycopy( sparse, insertion, sparse, insertion + 1, sparseSize - insertion );
+        sparse[insertion] = hash;
+        sparseSize++;
+    }
+
+
+    // the number of hashes taking as much memory as the registers
+    private int sparseLimit() {
+        return ( 1 << precision ) / 8;
+    }
+
+
+    private void densify() {
+        registers = new byte[1 << precision];
+        for( int i = 0; i < sparseSize; i++ ) {
+            addHash( sparse[i] );
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+
+    private static double alpha( int m ) {
+        switch( m ) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / ( 1 + 1.079 / m );
+        }
+    }
+}
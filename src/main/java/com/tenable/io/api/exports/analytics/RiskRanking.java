@@ -0,0 +1,199 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.io.File;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Ranks the riskiest findings and assets of a vulnerability stream, by a RiskScore. The top findings are kept in a
+ * bounded TopKHeap, so finding ranking is O(n log k) in time and O(k) in memory. The risk of an asset is the highest
+ * risk score of its findings; it is tracked in an open addressing table of primitive arrays, 24 bytes per asset, and
+ * the top assets are selected through a TopKHeap when requested. Rankings built over different chunks can be merged,
+ * e.g. with {@link #rank(List, ChunkProcessor)}. Findings of equal score may be kept in any order. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class RiskRanking implements Consumer<Vulnerability> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final RiskScore riskScore;
+    private final TopKHeap<Vulnerability> topFindings;
+    private final TopKHeap<UUID> topAssetsTemplate;
+
+    private long[] assetKeys = new long[INITIAL_CAPACITY * 4];
+    private double[] assetScores = new double[INITIAL_CAPACITY * 2];
+    private boolean[] used = new boolean[INITIAL_CAPACITY * 2];
+    private int assetSize;
+
+
+    /**
+     * Instantiates a new ranking.
+     *
+     * @param riskScore the risk score
+     * @param findingCount the number of top findings kept
+     * @param assetCount the number of top assets returned
+     * @throws TenableIoException if a count is not positive
+     */
+    public RiskRanking( RiskScore riskScore, int findingCount, int assetCount ) throws TenableIoException {
+        this.riskScore = riskScore;
+        this.topFindings = new TopKHeap<>( findingCount );
+        this.topAssetsTemplate = new TopKHeap<>( assetCount );
+    }
+
+
+    private RiskRanking( RiskRanking template ) {
+        this.riskScore = template.riskScore;
+        this.topFindings = template.topFindings.emptyCopy();
+        this.topAssetsTemplate = template.topAssetsTemplate;
+    }
+
+
+    /**
+     * Scores the given vulnerability and ranks it and its asset.
+     *
+     * @param vulnerability the vulnerability
+     */
+    @Override
+    public void accept( Vulnerability vulnerability ) {
+        double score = riskScore.applyAsDouble( vulnerability );
+        topFindings.offer( score, vulnerability );
+        UUID assetUuid = vulnerability.getAssetUuid();
+        if( assetUuid != null ) {
+            addAsset( assetUuid.getMostSignificantBits(), assetUuid.getLeastSignificantBits(), score );
+        }
+    }
+
+
+    /**
+     * Adds the findings and assets of the given ranking, with the same risk score and counts, to this one.
+     *
+     * @param other the ranking to merge
+     * @return this ranking
+     */
+    public RiskRanking merge( RiskRanking other ) {
+        topFindings.merge( other.topFindings );
+        for( int slot = 0; slot < other.used.length; slot++ ) {
+            if( other.used[slot] ) {
+                addAsset( other.assetKeys[slot * 2], other.assetKeys[slot * 2 + 1], other.assetScores[slot] );
+            }
+        }
+        return this;
+    }
+
+
+    /**
+     * Creates an empty ranking with the same risk score and counts.
+     *
+     * @return the empty ranking
+     */
+    public RiskRanking emptyCopy() {
+        return new RiskRanking( this );
+    }
+
+
+    /**
+     * Ranks the vulnerabilities of the given chunk files, read in parallel by the given processor, with this ranking.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @param processor the processor reading the chunk files
+     * @return this ranking
+     * @throws TenableIoException the tenable IO exception
+     */
+    public RiskRanking rank( List<File> chunkFiles, ChunkProcessor<? extends Vulnerability> processor ) throws TenableIoException {
+        return merge( processor.reduce( chunkFiles, this::emptyCopy, RiskRanking::accept, RiskRanking::merge ) );
+    }
+
+
+    /**
+     * Gets the riskiest findings.
+     *
+     * @return the findings with their risk scores, riskiest first
+     */
+    public List<TopKHeap.Entry<Vulnerability>> getTopFindings() {
+        return topFindings.getTop();
+    }
+
+
+    /**
+     * Gets the riskiest assets.
+     *
+     * @return the asset UUIDs with the highest risk score of their findings, riskiest first
+     */
+    public List<TopKHeap.Entry<UUID>> getTopAssets() {
+        TopKHeap<UUID> topAssets = topAssetsTemplate.emptyCopy();
+        for( int slot = 0; slot < used.length; slot++ ) {
+            if( used[slot] && topAssets.accepts( assetScores[slot] ) ) {
+                topAssets.offer( assetScores[slot], new UUID( assetKeys[slot * 2], assetKeys[slot * 2 + 1] ) );
+            }
+        }
+        return topAssets.getTop();
+    }
+
+
+    /**
+     * Gets the number of distinct assets ranked.
+     *
+     * @return the number of assets
+     */
+    public int getAssetCount() {
+        return assetSize;
+    }
+
+
+    private void addAsset( long high, long low, double score ) {
+        int mask = used.length - 1;
+        int slot = hash( high, low ) & mask;
+        while( used[slot] ) {
+            if( assetKeys[slot * 2] == high && assetKeys[slot * 2 + 1] == low ) {
+                if( score > assetScores[slot] ) {
+                    assetScores[slot] = score;
+                }
+                return;
+            }
+            slot = ( slot + 1 ) & mask;
+        }
+        used[slot] = true;
+        assetKeys[slot * 2] = high;
+        assetKeys[slot * 2 + 1] = low;
+        assetScores[slot] = score;
+        if( ++assetSize * 2 > used.length ) {
+            grow();
+        }
+    }
+
+
+    private void grow() {
+        long[] oldKeys = assetKeys;
+        double[] oldScores = assetScores;
+        boolean[] oldUsed = used;
+        assetKeys = new long[oldKeys.length * 2];
+        assetScores = new double[oldScores.length * 2];
+        used = new boolean[oldUsed.length * 2];
+        int mask = used.length - 1;
+        for( int from = 0; from < oldUsed.length; from++ ) {
+            if( oldUsed[from] ) {
+                int slot = hash( oldKeys[from * 2], oldKeys[from * 2 + 1] ) & mask;
+                while( used[slot] ) {
+                    slot = ( slot + 1 ) & mask;
+                }
+                used[slot] = true;
+                assetKeys[slot * 2] = oldKeys[from * 2];
+                assetKeys[slot * 2 + 1] = oldKeys[from * 2 + 1];
+                assetScores[slot] = oldScores[from];
+            }
+        }
+    }
+
+
+    private static int hash( long high, long low ) {
+        long hash = ( high * 31 + low ) * 0x9E3779B97F4A7C15L;
+        return (int) ( hash ^ ( hash >>> 32 ) );
+    }
+}
@@ -0,0 +1,128 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.function.ToDoubleFunction;
+
+import com.tenable.io.api.models.Vulnerability;
+
+
+/**
+ * Configurable risk score of a vulnerability: its base score, the CVSSv3 base score, else the CVSSv2 base score, else
+ * 2.5 times the severity level, times the base weight, plus the weight of each of exploitAvailable,
+ * exploitedByMalware, inTheNews and hasPatch that is true. By default, an available exploit adds 2, exploitation by
+ * malware 3, being in the news 1, and an available patch subtracts 1. Immutable: the with methods return a copy.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class RiskScore implements ToDoubleFunction<Vulnerability> {
+    /**
+     * The default risk score.
+     */
+    public static final RiskScore DEFAULT = new RiskScore( 1, 2, 3, 1, -1 );
+
+    private final double baseWeight;
+    private final double exploitAvailableWeight;
+    private final double exploitedByMalwareWeight;
+    private final double inTheNewsWeight;
+    private final double hasPatchWeight;
+
+
+    private RiskScore( double baseWeight, double exploitAvailableWeight, double exploitedByMalwareWeight, double inTheNewsWeight, double hasPatchWeight ) {
+        this.baseWeight = baseWeight;
+        this.exploitAvailableWeight = exploitAvailableWeight;
+        this.exploitedByMalwareWeight = exploitedByMalwareWeight;
+        this.inTheNewsWeight = inTheNewsWeight;
+        this.hasPatchWeight = hasPatchWeight;
+    }
+
+
+    /**
+     * Computes the risk score of the given vulnerability.
+     *
+     * @param vulnerability the vulnerability
+     * @return the risk score
+     */
+    @Override
+    public double applyAsDouble( Vulnerability vulnerability ) {
+        double score = baseWeight * baseScore( vulnerability );
+        if( Boolean.TRUE.equals( vulnerability.getExploitAvailable() ) ) {
+            score += exploitAvailableWeight;
+        }
+        if( Boolean.TRUE.equals( vulnerability.getExploitedByMalware() ) ) {
+            score += exploitedByMalwareWeight;
+        }
+        if( Boolean.TRUE.equals( vulnerability.getInTheNews() ) ) {
+            score += inTheNewsWeight;
+        }
+        if( Boolean.TRUE.equals( vulnerability.getHasPatch() ) ) {
+            score += hasPatchWeight;
+        }
+        return score;
+    }
+
+
+    /**
+     * Copies this risk score with the given base score weight.
+     *
+     * @param baseWeight the factor of the CVSS base score
+     * @return the risk score
+     */
+    public RiskScore withBaseWeight( double baseWeight ) {
+        return new RiskScore( baseWeight, exploitAvailableWeight, exploitedByMalwareWeight, inTheNewsWeight, hasPatchWeight );
+    }
+
+
+    /**
+     * Copies this risk score with the given exploitAvailable weight.
+     *
+     * @param exploitAvailableWeight the score added when an exploit is available
+     * @return the risk score
+     */
+    public RiskScore withExploitAvailableWeight( double exploitAvailableWeight ) {
+        return new RiskScore( baseWeight, exploitAvailableWeight, exploitedByMalwareWeight, inTheNewsWeight, hasPatchWeight );
+    }
+
+
+    /**
+     * Copies this risk score with the given exploitedByMalware weight.
+     *
+     * @param exploitedByMalwareWeight the score added when the vulnerability is exploited by malware
+     * @return the risk score
+     */
+    public RiskScore withExploitedByMalwareWeight( double exploitedByMalwareWeight ) {
+        return new RiskScore( baseWeight, exploitAvailableWeight, exploitedByMalwareWeight, inTheNewsWeight, hasPatchWeight );
+    }
+
+
+    /**
+     * Copies this risk score with the given inTheNews weight.
+     *
+     * @param inTheNewsWeight the score added when the vulnerability is in the news
+     * @return the risk score
+     */
+    public RiskScore withInTheNewsWeight( double inTheNewsWeight ) {
+        return new RiskScore( baseWeight, exploitAvailableWeight, exploitedByMalwareWeight, inTheNewsWeight, hasPatchWeight );
+    }
+
+
+    /**
+     * Copies this risk score with the given hasPatch weight.
+     *
+     * @param hasPatchWeight the score added when a patch is available, usually negative
+     * @return the risk score
+     */
+    public RiskScore withHasPatchWeight( double hasPatchWeight ) {
+        return new RiskScore( baseWeight, exploitAvailableWeight, exploitedByMalwareWeight, inTheNewsWeight, hasPatchWeight );
+    }
+
+
+    private static double baseScore( Vulnerability vulnerability ) {
+        if( vulnerability.getCvss3BaseScore() != null ) {
+            return vulnerability.getCvss3BaseScore();
+        }
+        if( vulnerability.getCvssBaseScore() != null ) {
+            return vulnerability.getCvssBaseScore();
+        }
+        return vulnerability.getSeverity() != null ? vulnerability.getSeverity().getIntValue() * 2.5 : 0;
+    }
+}
@@ -0,0 +1,217 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Keeps the k highest scored values of a stream, in a bounded min-heap of primitive scores: offering a value is
+ * O(log k), and a value not scoring above the lowest kept score is rejected in O(1) without being retained. Heaps of
+ * the same capacity can be merged. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the value type
+ */
+public class TopKHeap<T> {
+    private final double[] scores;
+    private final Object[] values;
+    private int size;
+
+
+    /**
+     * Instantiates a new heap.
+     *
+     * @param capacity the number of values kept
+     * @throws TenableIoException if the capacity is not positive
+     */
+    public TopKHeap( int capacity ) throws TenableIoException {
+        if( capacity < 1 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "capacity %d is invalid.", capacity ) );
+        }
+        this.scores = new double[capacity];
+        this.values = new Object[capacity];
+    }
+
+
+    private TopKHeap( TopKHeap<T> template ) {
+        this.scores = new double[template.scores.length];
+        this.values = new Object[template.values.length];
+    }
+
+
+    /**
+     * Checks whether a value of the given score would be kept, so the value needs not be built otherwise.
+     *
+     * @param score the score
+     * @return true if a value of this score would be kept
+     */
+    public boolean accepts( double score ) {
+        return size < scores.length || score > scores[0];
+    }
+
+
+    /**
+     * Offers a value.
+     *
+     * @param score the score of the value
+     * @param value the value
+     * @return true if the value is kept
+     */
+    public boolean offer( double score, T value ) {
+        if( Double.isNaN( score ) || !accepts( score ) ) {
+            return false;
+        }
+        if( size < scores.length ) {
+            siftUp( size++, score, value );
+        } else {
+            siftDown( 0, score, value );
+        }
+        return true;
+    }
+
+
+    /**
+     * Offers the values of the given heap to this one.
+     *
+     * @param other the heap to merge
+     * @return this heap
+     */
+    @SuppressWarnings( "unchecked" )
+    public TopKHeap<T> merge( TopKHeap<T> other ) {
+        for( int i = 0; i < other.size; i++ ) {
+            offer( other.scores[i], (T) other.values[i] );
+        }
+        return this;
+    }
+
+
+    /**
+     * Creates an empty heap with the same capacity.
+     *
+     * @return the empty heap
+     */
+    public TopKHeap<T> emptyCopy() {
+        return new TopKHeap<>( this );
+    }
+
+
+    /**
+     * Gets the number of values kept.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Gets the number of values the heap can keep.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return scores.length;
+    }
+
+
+    /**
+     * Gets the kept values.
+     *
+     * @return the values with their scores, highest score first
+     */
+    @SuppressWarnings( "unchecked" )
+    public List<Entry<T>> getTop() {
+        List<Entry<T>> result = new ArrayList<>( size );
+        for( int i = 0; i < size; i++ ) {
+            result.add( new Entry<>( (T) values[i], scores[i] ) );
+        }
+        result.sort( Comparator.comparingDouble( ( Entry<T> entry ) -> entry.score ).reversed() );
+        return result;
+    }
+
+
+    private void siftUp( int index, double score, Object value ) {
+        while( index > 0 ) {
+            int parent = ( index - 1 ) >>> 1;
+            if( scores[parent] <= score ) {
+                break;
+            }
+            scores[index] = scores[parent];
+            values[index] = values[parent];
+            index = parent;
+        }
+        scores[index] = score;
+        values[index] = value;
+    }
+
+
+    private void siftDown( int index, double score, Object value ) {
+        while( true ) {
+            int child = index * 2 + 1;
+            if( child >= size ) {
+                break;
+            }
+            if( child + 1 < size && scores[child + 1] < scores[child] ) {
+                child++;
+            }
+            if( scores[child] >= score ) {
+                break;
+            }
+            scores[index] = scores[child];
+            values[index] = values[child];
+            index = child;
+        }
+        scores[index] = score;
+        values[index] = value;
+    }
+
+
+    /**
+     * A kept value with its score.
+     *
+     * @param <T> the value type
+     */
+    public static class Entry<T> {
+        private final T value;
+        private final double score;
+
+
+        Entry( T value, double score ) {
+            this.value = value;
+            this.score = score;
+        }
+
+
+        /**
+         * Gets the value.
+         *
+         * @return the value
+         */
+        public T getValue() {
+            return value;
+        }
+
+
+        /**
+         * Gets the score.
+         *
+         * @return the score
+         */
+        public double getScore() {
+            return score;
+        }
+
+
+        @Override
+        public String toString() {
+            return value + "=" + score;
+        }
+    }
+}
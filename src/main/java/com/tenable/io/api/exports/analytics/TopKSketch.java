@@ -0,0 +1,314 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Space-Saving heavy hitters sketch: tracks the most frequent values of a stream with a fixed number of counters.
+ * When all counters are used, a new value takes over the counter of the least frequent one and inherits its count
+ * as error, so counts are overestimated by at most the smallest tracked count, about total / capacity. Any value
+ * occurring more than total / capacity times is tracked. Sketches can be merged. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the value type
+ */
+public class TopKSketch<T> {
+    private final int capacity;
+    private final Map<T, Counter<T>> counters;
+    private final List<Counter<T>> heap;
+
+
+    /**
+     * Instantiates a new sketch.
+     *
+     * @param capacity the number of counters; more counters give more accurate counts
+     * @throws TenableIoException if the capacity is not positive
+     */
+    public TopKSketch( int capacity ) throws TenableIoException {
+        if( capacity < 1 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "capacity %d is invalid.", capacity ) );
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>( capacity * 2 );
+        this.heap = new ArrayList<>( capacity );
+    }
+
+
+    private TopKSketch( TopKSketch<T> template ) {
+        this.capacity = template.capacity;
+        this.counters = new HashMap<>( capacity * 2 );
+        this.heap = new ArrayList<>( capacity );
+    }
+
+
+    /**
+     * Adds one occurrence of the given value.
+     *
+     * @param value the value
+     */
+    public void add( T value ) {
+        add( value, 1 );
+    }
+
+
+    /**
+     * Adds occurrences of the given value.
+     *
+     * @param value the value
+     * @param count the number of occurrences
+     */
+    public void add( T value, long count ) {
+        Counter<T> counter = counters.get( value );
+        if( counter != null ) {
+            counter.count += count;
+            siftDown( counter.index );
+        } else if( heap.size() < capacity ) {
+            counter = new Counter<>( value, count, 0 );
+            counters.put( value, counter );
+            counter.index = heap.size();
+            heap.add( counter );
+            siftUp( counter.index );
+        } else {
+            counter = heap.get( 0 );
+            counters.remove( counter.value );
+            counter.value = value;
+            counter.error = counter.count;
+            counter.count += count;
+            counters.put( value, counter );
+            siftDown( 0 );
+        }
+    }
+
+
+    /**
+     * Estimates the number of occurrences of the given value.
+     *
+     * @param value the value
+     * @return the estimated count, never lower than the actual count
+     */
+    public long estimate( T value ) {
+        Counter<T> counter = counters.get( value );
+        if( counter != null ) {
+            return counter.count;
+        }
+        return minCount();
+    }
+
+
+    /**
+     * Gets the tracked values, most frequent first.
+     *
+     * @return the tracked values with their estimated counts
+     */
+    public List<Entry<T>> getTop() {
+        return getTop( capacity );
+    }
+
+
+    /**
+     * Gets the given number of most frequent values.
+     *
+     * @param k the number of values
+     * @return the k most frequent tracked values with their estimated counts, most frequent first
+     */
+    public List<Entry<T>> getTop( int k ) {
+        List<Entry<T>> entries = new ArrayList<>( heap.size() );
+        for( Counter<T> counter : heap ) {
+            entries.add( new Entry<>( counter.value, counter.count, counter.error ) );
+        }
+        entries.sort( Comparator.comparingLong( ( Entry<T> entry ) -> entry.count ).reversed() );
+        return entries.size() > k ? new ArrayList<>( entries.subList( 0, k ) ) : entries;
+    }
+
+
+    /**
+     * Adds the counts of the given sketch to this one. A value not tracked by one of the sketches is counted as the
+     * smallest count of that sketch, as it may have occurred that many times.
+     *
+     * @param other the sketch to merge
+     * @return this sketch
+     */
+    public TopKSketch<T> merge( TopKSketch<T> other ) {
+        long thisMin = minCount();
+        long otherMin = other.minCount();
+        Set<T> values = new LinkedHashSet<>( counters.keySet() );
+        values.addAll( other.counters.keySet() );
+
+        List<Counter<T>> merged = new ArrayList<>( values.size() );
+        for( T value : values ) {
+            Counter<T> left = counters.get( value );
+            Counter<T> right = other.counters.get( value );
+            long count = ( left != null ? left.count : thisMin ) + ( right != null ? right.count : otherMin );
+            long error = ( left != null ? left.error : thisMin ) + ( right != null ? right.error : otherMin );
+            merged.add( new Counter<>( value, count, error ) );
+        }
+        merged.sort( Comparator.comparingLong( ( Counter<T> counter ) -> counter.count ).reversed() );
+
+        counters.clear();
+        heap.clear();
+        for( Counter<T> counter : merged.subList( 0, Math.min( capacity, merged.size() ) ) ) {
+            counters.put( counter.value, counter );
+            counter.index = heap.size();
+            heap.add( counter );
+            siftUp( counter.index );
+        }
+        return this;
+    }
+
+
+    /**
+     * Creates an empty sketch with the same capacity.
+     *
+     * @return the empty sketch
+     */
+    public TopKSketch<T> emptyCopy() {
+        return new TopKSketch<>( this );
+    }
+
+
+    /**
+     * Gets the number of counters.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+
+    private long minCount() {
+        return heap.size() < capacity ? 0 : heap.get( 0 ).count;
+    }
+
+
+    private void siftUp( int index ) {
+        Counter<T> counter = heap.get( index );
+        while( index > 0 ) {
+            int parent = ( index - 1 ) >>> 1;
+            if( heap.get( parent ).count <= counter.count ) {
+                break;
+            }
+            place( heap.get( parent ), index );
+            index = parent;
+        }
+        place( counter, index );
+    }
+
+
+    private void siftDown( int index ) {
+        Counter<T> counter = heap.get( index );
+        int size = heap.size();
+        while( true ) {
+            int child = index * 2 + 1;
+            if( child >= size ) {
+                break;
+            }
+            if( child + 1 < size && heap.get( child + 1 ).count < heap.get( child ).count ) {
+                child++;
+            }
+            if( heap.get( child ).count >= counter.count ) {
+                break;
+            }
+            place( heap.get( child ), index );
+            index = child;
+        }
+        place( counter, index );
+    }
+
+
+    private void place( Counter<T> counter, int index ) {
+        heap.set( index, counter );
+        counter.index = index;
+    }
+
+
+    /**
+     * A tracked value with its estimated count.
+     *
+     * @param <T> the value type
+     */
+    public static class Entry<T> {
+        private final T value;
+        private final long count;
+        private final long error;
+
+
+        Entry( T value, long count, long error ) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+
+
+        /**
+         * Gets the value.
+         *
+         * @return the value
+         */
+        public T getValue() {
+            return value;
+        }
+
+
+        /**
+         * Gets the estimated count, never lower than the actual count.
+         *
+         * @return the estimated count
+         */
+        public long getCount() {
+            return count;
+        }
+
+
+        /**
+         * Gets the maximum overestimation of the count.
+         *
+         * @return the maximum error of the count
+         */
+        public long getError() {
+            return error;
+        }
+
+
+        /**
+         * Gets the count the value is guaranteed to have reached.
+         *
+         * @return the count minus the error
+         */
+        public long getGuaranteedCount() {
+            return count - error;
+        }
+
+
+        @Override
+        public String toString() {
+            return value + "=" + count;
+        }
+    }
+
+
+    private static class Counter<T> {
+        private T value;
+        private long count;
+        private long error;
+        private int index;
+
+
+        Counter( T value, long count, long error ) {
+            this.value = value;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Assigns a dense int id to each distinct value, so columns can store repeated values as ids. Id -1 stands for null.
+ * Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the value type
+ */
+public class ValueDictionary<T> {
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final List<T> values = new ArrayList<>();
+
+
+    /**
+     * Gets the id of the given value, adding it to the dictionary if needed.
+     *
+     * @param value the value; can be null
+     * @return the id of the value, -1 for null
+     */
+    public int encode( T value ) {
+        if( value == null ) {
+            return -1;
+        }
+
+        Integer id = ids.get( value );
+        if( id == null ) {
+            id = values.size();
+            ids.put( value, id );
+            values.add( value );
+        }
+        return id;
+    }
+
+
+    /**
+     * Gets the id of the given value without adding it.
+     *
+     * @param value the value; can be null
+     * @return the id of the value, -1 for null or values not in the dictionary
+     */
+    public int lookup( T value ) {
+        if( value == null ) {
+            return -1;
+        }
+        Integer id = ids.get( value );
+        return id != null ? id : -1;
+    }
+
+
+    /**
+     * Gets the value of the given id.
+     *
+     * @param id the id
+     * @return the value, null for id -1
+     */
+    public T decode( int id ) {
+        return id < 0 ? null : values.get( id );
+    }
+
+
+    /**
+     * Gets the number of distinct values.
+     *
+     * @return the number of distinct values
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,993 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.models.RiskFactor;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.TimestampHelper;
+
+
+/**
+ * Holds exported vulnerabilities in columns of primitives instead of one Vulnerability object per finding: CVSS scores
+ * in float arrays, dates as epoch milliseconds in long arrays, boolean flags in bitsets, and strings, string lists and
+ * asset UUIDs as int ids into shared dictionaries. Repeated values such as descriptions and solutions are stored once.
+ * The plugin output is specific to each finding, so it is kept as is in its own column rather than in the dictionary.
+ *
+ * Rows are read through a flyweight Vulnerability view, see {@link #get(int)} and {@link #forEach(Consumer)}.
+ * The view is read only: its setters throw UnsupportedOperationException. Not thread safe while adding rows.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnerabilityColumnStore {
+    private static final SeverityLevel[] severityLevels = SeverityLevel.values();
+    private static final RiskFactor[] riskFactors = RiskFactor.values();
+    private static final VulnerabilityState[] vulnerabilityStates = VulnerabilityState.values();
+
+    // string columns
+    private static final int PROTOCOL = 0;
+    private static final int PLUGIN_FAMILY = 1;
+    private static final int PLUGIN_NAME = 2;
+    private static final int CANVAS_PACKAGE = 3;
+    private static final int CVSS_TEMPORAL_VECTOR = 4;
+    private static final int CVSS_VECTOR = 5;
+    private static final int CVSS3_TEMPORAL_VECTOR = 6;
+    private static final int CVSS3_VECTOR = 7;
+    private static final int D2_ELLIOT_NAME = 8;
+    private static final int DESCRIPTION = 9;
+    private static final int METASPLOIT_NAME = 10;
+    private static final int PLUGIN_TYPE = 11;
+    private static final int PLUGIN_VERSION = 12;
+    private static final int SOLUTION = 13;
+    private static final int SYNOPSIS = 14;
+    private static final int STRING_COLUMNS = 15;
+
+    // string list columns
+    private static final int BIDS = 0;
+    private static final int CVES = 1;
+    private static final int XREFS = 2;
+    private static final int SEE_ALSOS = 3;
+    private static final int LIST_COLUMNS = 4;
+
+    // score columns
+    private static final int CVSS_BASE_SCORE = 0;
+    private static final int CVSS_TEMPORAL_SCORE = 1;
+    private static final int CVSS3_BASE_SCORE = 2;
+    private static final int CVSS3_TEMPORAL_SCORE = 3;
+    private static final int SCORE_COLUMNS = 4;
+
+    // time columns
+    private static final int FIRST_FOUND = 0;
+    private static final int LAST_FOUND = 1;
+    private static final int LAST_FIXED = 2;
+    private static final int PATCH_PUBLICATION_DATE = 3;
+    private static final int PLUGIN_MODIFICATION_DATE = 4;
+    private static final int PLUGIN_PUBLICATION_DATE = 5;
+    private static final int VULN_PUBLICATION_DATE = 6;
+    private static final int TIME_COLUMNS = 7;
+
+    // flag columns
+    private static final int EXPLOIT_AVAILABLE = 0;
+    private static final int EXPLOITED_BY_NESSUS = 1;
+    private static final int EXPLOIT_FRAMEWORK_CANVAS = 2;
+    private static final int EXPLOIT_FRAMEWORK_CORE = 3;
+    private static final int EXPLOIT_FRAMEWORK_EXPLOITHUB = 4;
+    private static final int EXPLOIT_FRAMEWORK_METASPLOIT = 5;
+    private static final int EXPLOIT_FRAMEWORK_D2_ELLIOT = 6;
+    private static final int EXPLOITED_BY_MALWARE = 7;
+    private static final int HAS_PATCH = 8;
+    private static final int IN_THE_NEWS = 9;
+    private static final int MALWARE = 10;
+    private static final int UNSUPPORTED_BY_VENDOR = 11;
+    private static final int FLAG_COLUMNS = 12;
+
+    private final ValueDictionary<String> strings = new ValueDictionary<>();
+    private final ValueDictionary<List<String>> stringLists = new ValueDictionary<>();
+    private final ValueDictionary<UUID> assetUuids = new ValueDictionary<>();
+
+    private int size;
+    private int capacity;
+    private int[] assetIds;
+    private long[] pluginIds;
+    private int[] ports;
+    private byte[] severities;
+    private byte[] riskFactorIds;
+    private byte[] stateIds;
+    private final int[][] stringIds = new int[STRING_COLUMNS][];
+    private String[] pluginOutputs;
+    private final int[][] listIds = new int[LIST_COLUMNS][];
+    private final float[][] scores = new float[SCORE_COLUMNS][];
+    private final long[][] times = new long[TIME_COLUMNS][];
+    private final BitSet[] flagSet = new BitSet[FLAG_COLUMNS];
+    private final BitSet[] flagValue = new BitSet[FLAG_COLUMNS];
+
+
+    /**
+     * Instantiates an empty column store.
+     */
+    public VulnerabilityColumnStore() {
+        this( 1024 );
+    }
+
+
+    /**
+     * Instantiates an empty column store sized for the given number of rows. The store grows as needed.
+     *
+     * @param initialCapacity the initial number of rows
+     */
+    public VulnerabilityColumnStore( int initialCapacity ) {
+        capacity = Math.max( 16, initialCapacity );
+        assetIds = new int[capacity];
+        pluginIds = new long[capacity];
+        ports = new int[capacity];
+        severities = new byte[capacity];
+        riskFactorIds = new byte[capacity];
+        stateIds = new byte[capacity];
+        for( int i = 0; i < STRING_COLUMNS; i++ )
+            stringIds[i] = new int[capacity];
+        pluginOutputs = new String[capacity];
+        for( int i = 0; i < LIST_COLUMNS; i++ )
+            listIds[i] = new int[capacity];
+        for( int i = 0; i < SCORE_COLUMNS; i++ )
+            scores[i] = new float[capacity];
+        for( int i = 0; i < TIME_COLUMNS; i++ )
+            times[i] = new long[capacity];
+        for( int i = 0; i < FLAG_COLUMNS; i++ ) {
+            flagSet[i] = new BitSet();
+            flagValue[i] = new BitSet();
+        }
+    }
+
+
+    /**
+     * Creates a column store holding all vulnerabilities of the given chunk files.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @return the column store
+     * @throws TenableIoException the tenable IO exception
+     */
+    public static VulnerabilityColumnStore load( List<File> chunkFiles ) throws TenableIoException {
+        VulnerabilityColumnStore store = new VulnerabilityColumnStore();
+        ExportChunkReader.readAll( chunkFiles, Vulnerability.class, store::add );
+        return store;
+    }
+
+
+    /**
+     * Adds a vulnerability as a new row.
+     *
+     * @param vulnerability the vulnerability
+     * @return the row index
+     */
+    public int add( Vulnerability vulnerability ) {
+        if( size == capacity ) {
+            grow();
+        }
+
+        int row = size++;
+        assetIds[row] = assetUuids.encode( vulnerability.getAssetUuid() );
+        pluginIds[row] = vulnerability.getPluginID();
+        ports[row] = vulnerability.getPort();
+        severities[row] = ordinal( vulnerability.getSeverity() );
+        riskFactorIds[row] = ordinal( vulnerability.getRiskFactor() );
+        stateIds[row] = ordinal( vulnerability.getVulnerabilityState() );
+
+        stringIds[PROTOCOL][row] = strings.encode( vulnerability.getProtocol() );
+        stringIds[PLUGIN_FAMILY][row] = strings.encode( vulnerability.getPluginFamily() );
+        stringIds[PLUGIN_NAME][row] = strings.encode( vulnerability.getPluginName() );
+        stringIds[CANVAS_PACKAGE][row] = strings.encode( vulnerability.getCanvasPackage() );
+        stringIds[CVSS_TEMPORAL_VECTOR][row] = strings.encode( vulnerability.getCvssTemporalVector() );
+        stringIds[CVSS_VECTOR][row] = strings.encode( vulnerability.getCvssVector() );
+        stringIds[CVSS3_TEMPORAL_VECTOR][row] = strings.encode( vulnerability.getCvss3TemporalVector() );
+        stringIds[CVSS3_VECTOR][row] = strings.encode( vulnerability.getCvss3Vector() );
+        stringIds[D2_ELLIOT_NAME][row] = strings.encode( vulnerability.getD2ElliotName() );
+        stringIds[DESCRIPTION][row] = strings.encode( vulnerability.getDescription() );
+        stringIds[METASPLOIT_NAME][row] = strings.encode( vulnerability.getMetasploitName() );
+        stringIds[PLUGIN_TYPE][row] = strings.encode( vulnerability.getPluginType() );
+        stringIds[PLUGIN_VERSION][row] = strings.encode( vulnerability.getPluginVersion() );
+        stringIds[SOLUTION][row] = strings.encode( vulnerability.getSolution() );
+        stringIds[SYNOPSIS][row] = strings.encode( vulnerability.getSynopsis() );
+        pluginOutputs[row] = vulnerability.getPluginOutput();
+
+        listIds[BIDS][row] = encodeList( vulnerability.getBids() );
+        listIds[CVES][row] = encodeList( vulnerability.getCves() );
+        listIds[XREFS][row] = encodeList( vulnerability.getXrefs() );
+        listIds[SEE_ALSOS][row] = encodeList( vulnerability.getSeeAlsos() );
+
+        scores[CVSS_BASE_SCORE][row] = score( vulnerability.getCvssBaseScore() );
+        scores[CVSS_TEMPORAL_SCORE][row] = score( vulnerability.getCvssTemporalScore() );
+        scores[CVSS3_BASE_SCORE][row] = score( vulnerability.getCvss3BaseScore() );
+        scores[CVSS3_TEMPORAL_SCORE][row] = score( vulnerability.getCvss3TemporalScore() );
+
+        times[FIRST_FOUND][row] = vulnerability.getFirstFoundMillis();
+        times[LAST_FOUND][row] = vulnerability.getLastFoundMillis();
+        times[LAST_FIXED][row] = vulnerability.getLastFixedMillis();
+        times[PATCH_PUBLICATION_DATE][row] = vulnerability.getPatchPublicationDateMillis();
+        times[PLUGIN_MODIFICATION_DATE][row] = vulnerability.getPluginModificationDateMillis();
+        times[PLUGIN_PUBLICATION_DATE][row] = vulnerability.getPluginPublicationDateMillis();
+        times[VULN_PUBLICATION_DATE][row] = vulnerability.getVulnPublicationDateMillis();
+
+        setFlag( EXPLOIT_AVAILABLE, row, vulnerability.getExploitAvailable() );
+        setFlag( EXPLOITED_BY_NESSUS, row, vulnerability.getExploitedByNessus() );
+        setFlag( EXPLOIT_FRAMEWORK_CANVAS, row, vulnerability.getExploitFrameworkCanvas() );
+        setFlag( EXPLOIT_FRAMEWORK_CORE, row, vulnerability.getExploitFrameworkCore() );
+        setFlag( EXPLOIT_FRAMEWORK_EXPLOITHUB, row, vulnerability.getExploitFrameworkExploithub() );
+        setFlag( EXPLOIT_FRAMEWORK_METASPLOIT, row, vulnerability.getExploitFrameworkMetasploit() );
+        setFlag( EXPLOIT_FRAMEWORK_D2_ELLIOT, row, vulnerability.getExploitFrameworkD2Elliot() );
+        setFlag( EXPLOITED_BY_MALWARE, row, vulnerability.getExploitedByMalware() );
+        setFlag( HAS_PATCH, row, vulnerability.getHasPatch() );
+        setFlag( IN_THE_NEWS, row, vulnerability.getInTheNews() );
+        setFlag( MALWARE, row, vulnerability.getMalware() );
+        setFlag( UNSUPPORTED_BY_VENDOR, row, vulnerability.getUnsupportedByVendor() );
+
+        return row;
+    }
+
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Gets a read only view of the given row.
+     *
+     * @param row the row index
+     * @return the row view
+     */
+    public Vulnerability get( int row ) {
+        checkRow( row );
+        return new RowView( row );
+    }
+
+
+    /**
+     * Passes every row to the given consumer. The same flyweight view is moved from row to row, so the consumer must
+     * not keep a reference to it.
+     *
+     * @param consumer the row consumer
+     */
+    public void forEach( Consumer<? super Vulnerability> consumer ) {
+        RowView view = new RowView( 0 );
+        for( int row = 0; row < size; row++ ) {
+            view.row = row;
+            consumer.accept( view );
+        }
+    }
+
+
+    /**
+     * Gets the asset UUID of the given row.
+     *
+     * @param row the row index
+     * @return the asset UUID; can be null
+     */
+    public UUID getAssetUuid( int row ) {
+        checkRow( row );
+        return assetUuids.decode( assetIds[row] );
+    }
+
+
+    /**
+     * Gets the dictionary id of the asset UUID of the given row. Rows with the same id are on the same asset.
+     *
+     * @param row the row index
+     * @return the asset id, -1 if the row has no asset UUID
+     */
+    public int getAssetId( int row ) {
+        checkRow( row );
+        return assetIds[row];
+    }
+
+
+    /**
+     * Gets the plugin id of the given row.
+     *
+     * @param row the row index
+     * @return the plugin id
+     */
+    public long getPluginId( int row ) {
+        checkRow( row );
+        return pluginIds[row];
+    }
+
+
+    /**
+     * Gets the port of the given row.
+     *
+     * @param row the row index
+     * @return the port
+     */
+    public int getPort( int row ) {
+        checkRow( row );
+        return ports[row];
+    }
+
+
+    /**
+     * Gets the severity of the given row as an int value, see {@link SeverityLevel#getIntValue()}.
+     *
+     * @param row the row index
+     * @return the severity int value, -1 if the row has no severity
+     */
+    public int getSeverityIntValue( int row ) {
+        checkRow( row );
+        return severities[row] < 0 ? -1 : severityLevels[severities[row]].getIntValue();
+    }
+
+
+    /**
+     * Gets the CVSS v3 base score of the given row.
+     *
+     * @param row the row index
+     * @return the CVSS v3 base score, NaN if not set
+     */
+    public float getCvss3BaseScore( int row ) {
+        checkRow( row );
+        return scores[CVSS3_BASE_SCORE][row];
+    }
+
+
+    /**
+     * Gets the CVSS v2 base score of the given row.
+     *
+     * @param row the row index
+     * @return the CVSS v2 base score, NaN if not set
+     */
+    public float getCvssBaseScore( int row ) {
+        checkRow( row );
+        return scores[CVSS_BASE_SCORE][row];
+    }
+
+
+    /**
+     * Gets the first found time of the given row.
+     *
+     * @param row the row index
+     * @return the first found time in milliseconds since epoch, TimestampHelper.NO_TIMESTAMP if not set
+     */
+    public long getFirstFoundMillis( int row ) {
+        checkRow( row );
+        return times[FIRST_FOUND][row];
+    }
+
+
+    /**
+     * Gets the last found time of the given row.
+     *
+     * @param row the row index
+     * @return the last found time in milliseconds since epoch, TimestampHelper.NO_TIMESTAMP if not set
+     */
+    public long getLastFoundMillis( int row ) {
+        checkRow( row );
+        return times[LAST_FOUND][row];
+    }
+
+
+    /**
+     * Returns true if an exploit is available for the vulnerability of the given row.
+     *
+     * @param row the row index
+     * @return true if an exploit is available, false if not or not set
+     */
+    public boolean isExploitAvailable( int row ) {
+        checkRow( row );
+        return flagValue[EXPLOIT_AVAILABLE].get( row );
+    }
+
+
+    /**
+     * Gets the number of distinct strings held by the store, across all dictionary encoded string columns.
+     *
+     * @return the number of distinct strings
+     */
+    public int getDistinctStrings() {
+        return strings.size();
+    }
+
+
+    private void checkRow( int row ) {
+        if( row < 0 || row >= size ) {
+            throw new IndexOutOfBoundsException( "Row " + row + " out of " + size );
+        }
+    }
+
+
+    private void grow() {
+        capacity = capacity * 2;
+        assetIds = Arrays.copyOf( assetIds, capacity );
+        pluginIds = Arrays.copyOf( pluginIds, capacity );
+        ports = Arrays.copyOf( ports, capacity );
+        severities = Arrays.copyOf( severities, capacity );
+        riskFactorIds = Arrays.copyOf( riskFactorIds, capacity );
+        stateIds = Arrays.copyOf( stateIds, capacity );
+        for( int i = 0; i < STRING_COLUMNS; i++ )
+            stringIds[i] = Arrays.copyOf( stringIds[i], capacity );
+        pluginOutputs = Arrays.copyOf( pluginOutputs, capacity );
+        for( int i = 0; i < LIST_COLUMNS; i++ )
+            listIds[i] = Arrays.copyOf( listIds[i], capacity );
+        for( int i = 0; i < SCORE_COLUMNS; i++ )
+            scores[i] = Arrays.copyOf( scores[i], capacity );
+        for( int i = 0; i < TIME_COLUMNS; i++ )
+            times[i] = Arrays.copyOf( times[i], capacity );
+    }
+
+
+    private int encodeList( List<String> list ) {
+        return stringLists.encode( list != null ? Collections.unmodifiableList( list ) : null );
+    }
+
+
+    private List<String> list( int column, int row ) {
+        return stringLists.decode( listIds[column][row] );
+    }
+
+
+    private static byte ordinal( Enum<?> value ) {
+        return (byte) ( value != null ? value.ordinal() : -1 );
+    }
+
+
+    private static float score( Float value ) {
+        return value != null ? value : Float.NaN;
+    }
+
+
+    private static Float score( float value ) {
+        return Float.isNaN( value ) ? null : value;
+    }
+
+
+    private static Date time( long value ) {
+        return TimestampHelper.toDate( value );
+    }
+
+
+    private void setFlag( int column, int row, Boolean value ) {
+        if( value != null ) {
+            flagSet[column].set( row );
+            flagValue[column].set( row, value );
+        }
+    }
+
+
+    private Boolean flag( int column, int row ) {
+        return flagSet[column].get( row ) ? flagValue[column].get( row ) : null;
+    }
+
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException( "The vulnerabilities of a column store are read only." );
+    }
+
+
+    /**
+     * Flyweight Vulnerability reading its values from the columns of one row. Every setter throws, since the values
+     * live in the store and would otherwise be silently ignored.
+     */
+    private class RowView extends Vulnerability {
+        private int row;
+
+
+        private RowView( int row ) {
+            this.row = row;
+        }
+
+
+        private String string( int column ) {
+            return strings.decode( stringIds[column][row] );
+        }
+
+
+        @Override
+        public UUID getAssetUuid() { return assetUuids.decode( assetIds[row] ); }
+
+        @Override
+        public SeverityLevel getSeverity() { return severities[row] < 0 ? null : severityLevels[severities[row]]; }
+
+        @Override
+        public String getProtocol() { return string( PROTOCOL ); }
+
+        @Override
+        public String getPluginFamily() { return string( PLUGIN_FAMILY ); }
+
+        @Override
+        public int getPort() { return ports[row]; }
+
+        @Override
+        public long getPluginID() { return pluginIds[row]; }
+
+        @Override
+        public String getPluginName() { return string( PLUGIN_NAME ); }
+
+        @Override
+        public List<String> getBids() { return list( BIDS, row ); }
+
+        @Override
+        public String getCanvasPackage() { return string( CANVAS_PACKAGE ); }
+
+        @Override
+        public List<String> getCves() { return list( CVES, row ); }
+
+        @Override
+        public Float getCvssBaseScore() { return score( scores[CVSS_BASE_SCORE][row] ); }
+
+        @Override
+        public Float getCvssTemporalScore() { return score( scores[CVSS_TEMPORAL_SCORE][row] ); }
+
+        @Override
+        public String getCvssTemporalVector() { return string( CVSS_TEMPORAL_VECTOR ); }
+
+        @Override
+        public String getCvssVector() { return string( CVSS_VECTOR ); }
+
+        @Override
+        public Float getCvss3BaseScore() { return score( scores[CVSS3_BASE_SCORE][row] ); }
+
+        @Override
+        public Float getCvss3TemporalScore() { return score( scores[CVSS3_TEMPORAL_SCORE][row] ); }
+
+        @Override
+        public String getCvss3TemporalVector() { return string( CVSS3_TEMPORAL_VECTOR ); }
+
+        @Override
+        public String getCvss3Vector() { return string( CVSS3_VECTOR ); }
+
+        @Override
+        public String getD2ElliotName() { return string( D2_ELLIOT_NAME ); }
+
+        @Override
+        public String getDescription() { return string( DESCRIPTION ); }
+
+        @Override
+        public Boolean getExploitAvailable() { return flag( EXPLOIT_AVAILABLE, row ); }
+
+        @Override
+        public Boolean getExploitedByNessus() { return flag( EXPLOITED_BY_NESSUS, row ); }
+
+        @Override
+        public Boolean getExploitFrameworkCanvas() { return flag( EXPLOIT_FRAMEWORK_CANVAS, row ); }
+
+        @Override
+        public Boolean getExploitFrameworkCore() { return flag( EXPLOIT_FRAMEWORK_CORE, row ); }
+
+        @Override
+        public Boolean getExploitFrameworkExploithub() { return flag( EXPLOIT_FRAMEWORK_EXPLOITHUB, row ); }
+
+        @Override
+        public Boolean getExploitFrameworkMetasploit() { return flag( EXPLOIT_FRAMEWORK_METASPLOIT, row ); }
+
+        @Override
+        public Boolean getExploitFrameworkD2Elliot() { return flag( EXPLOIT_FRAMEWORK_D2_ELLIOT, row ); }
+
+        @Override
+        public Boolean getExploitedByMalware() { return flag( EXPLOITED_BY_MALWARE, row ); }
+
+        @Override
+        public Date getFirstFound() { return time( times[FIRST_FOUND][row] ); }
+
+        @Override
+        public long getFirstFoundMillis() { return times[FIRST_FOUND][row]; }
+
+        @Override
+        public Boolean getHasPatch() { return flag( HAS_PATCH, row ); }
+
+        @Override
+        public Boolean getInTheNews() { return flag( IN_THE_NEWS, row ); }
+
+        @Override
+        public Date getLastFound() { return time( times[LAST_FOUND][row] ); }
+
+        @Override
+        public long getLastFoundMillis() { return times[LAST_FOUND][row]; }
+
+        @Override
+        public Date getLastFixed() { return time( times[LAST_FIXED][row] ); }
+
+        @Override
+        public long getLastFixedMillis() { return times[LAST_FIXED][row]; }
+
+        @Override
+        public Boolean getMalware() { return flag( MALWARE, row ); }
+
+        @Override
+        public String getMetasploitName() { return string( METASPLOIT_NAME ); }
+
+        @Override
+        public Date getPatchPublicationDate() { return time( times[PATCH_PUBLICATION_DATE][row] ); }
+
+        @Override
+        public long getPatchPublicationDateMillis() { return times[PATCH_PUBLICATION_DATE][row]; }
+
+        @Override
+        public Date getPluginModificationDate() { return time( times[PLUGIN_MODIFICATION_DATE][row] ); }
+
+        @Override
+        public long getPluginModificationDateMillis() { return times[PLUGIN_MODIFICATION_DATE][row]; }
+
+        @Override
+        public Date getPluginPublicationDate() { return time( times[PLUGIN_PUBLICATION_DATE][row] ); }
+
+        @Override
+        public long getPluginPublicationDateMillis() { return times[PLUGIN_PUBLICATION_DATE][row]; }
+
+        @Override
+        public String getPluginOutput() { return pluginOutputs[row]; }
+
+        @Override
+        public String getPluginType() { return string( PLUGIN_TYPE ); }
+
+        @Override
+        public String getPluginVersion() { return string( PLUGIN_VERSION ); }
+
+        @Override
+        public String getSolution() { return string( SOLUTION ); }
+
+        @Override
+        public RiskFactor getRiskFactor() { return riskFactorIds[row] < 0 ? null : riskFactors[riskFactorIds[row]]; }
+
+        @Override
+        public String getSynopsis() { return string( SYNOPSIS ); }
+
+        @Override
+        public Boolean getUnsupportedByVendor() { return flag( UNSUPPORTED_BY_VENDOR, row ); }
+
+        @Override
+        public VulnerabilityState getVulnerabilityState() { return stateIds[row] < 0 ? null : vulnerabilityStates[stateIds[row]]; }
+
+        @Override
+        public Date getVulnPublicationDate() { return time( times[VULN_PUBLICATION_DATE][row] ); }
+
+        @Override
+        public long getVulnPublicationDateMillis() { return times[VULN_PUBLICATION_DATE][row]; }
+
+        @Override
+        public List<String> getXrefs() { return list( XREFS, row ); }
+
+        @Override
+        public List<String> getSeeAlsos() { return list( SEE_ALSOS, row ); }
+
+        @Override
+        public void setAssetUuid( UUID assetUuid ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withAssetUuid( UUID assetUuid ) { throw readOnly(); }
+
+        @Override
+        public void setSeverity( SeverityLevel severity ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withSeverity( SeverityLevel severity ) { throw readOnly(); }
+
+        @Override
+        public void setProtocol( String protocol ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withProtocol( String protocol ) { throw readOnly(); }
+
+        @Override
+        public void setPluginFamily( String pluginFamily ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginFamily( String pluginFamily ) { throw readOnly(); }
+
+        @Override
+        public void setPort( int port ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPort( int port ) { throw readOnly(); }
+
+        @Override
+        public void setPluginID( long pluginID ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginID( long pluginID ) { throw readOnly(); }
+
+        @Override
+        public void setPluginName( String pluginName ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginName( String pluginName ) { throw readOnly(); }
+
+        @Override
+        public void setBids( List<String> bids ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withBids( List<String> bids ) { throw readOnly(); }
+
+        @Override
+        public void addBid( String bid ) { throw readOnly(); }
+
+        @Override
+        public void setCanvasPackage( String canvasPackage ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCanvasPackage( String canvasPackage ) { throw readOnly(); }
+
+        @Override
+        public void setCves( List<String> cves ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCves( List<String> cves ) { throw readOnly(); }
+
+        @Override
+        public void addCve( String cve ) { throw readOnly(); }
+
+        @Override
+        public void setCvssBaseScore( Float cvssBaseScore ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvssBaseScore( Float cvssBaseScore ) { throw readOnly(); }
+
+        @Override
+        public void setCvssTemporalScore( Float cvssTemporalScore ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvssTemporalScore( Float cvssTemporalScore ) { throw readOnly(); }
+
+        @Override
+        public void setCvssTemporalVector( String cvssTemporalVector ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvssTemporalVector( String cvssTemporalVector ) { throw readOnly(); }
+
+        @Override
+        public void setCvssVector( String cvssVector ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvssVector( String cvssVector ) { throw readOnly(); }
+
+        @Override
+        public void setCvss3BaseScore( Float cvss3BaseScore ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvss3BaseScore( Float cvss3BaseScore ) { throw readOnly(); }
+
+        @Override
+        public void setCvss3TemporalScore( Float cvss3TemporalScore ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvss3TemporalScore( Float cvss3TemporalScore ) { throw readOnly(); }
+
+        @Override
+        public void setCvss3TemporalVector( String cvss3TemporalVector ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvss3TemporalVector( String cvss3TemporalVector ) { throw readOnly(); }
+
+        @Override
+        public void setCvss3Vector( String cvss3Vector ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withCvss3Vector( String cvss3Vector ) { throw readOnly(); }
+
+        @Override
+        public void setD2ElliotName( String d2ElliotName ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withD2ElliotName( String d2ElliotName ) { throw readOnly(); }
+
+        @Override
+        public void setDescription( String description ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withDescription( String description ) { throw readOnly(); }
+
+        @Override
+        public void setExploitAvailable( Boolean exploitAvailable ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitAvailable( Boolean exploitAvailable ) { throw readOnly(); }
+
+        @Override
+        public void setExploitedByNessus( Boolean exploitedByNessus ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitedByNessus( Boolean exploitedByNessus ) { throw readOnly(); }
+
+        @Override
+        public void setExploitFrameworkCanvas( Boolean exploitFrameworkCanvas ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitFrameworkCanvas( Boolean exploitFrameworkCanvas ) { throw readOnly(); }
+
+        @Override
+        public void setExploitFrameworkCore( Boolean exploitFrameworkCore ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitFrameworkCore( Boolean exploitFrameworkCore ) { throw readOnly(); }
+
+        @Override
+        public void setExploitFrameworkExploithub( Boolean exploitFrameworkExploithub ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitFrameworkExploithub( Boolean exploitFrameworkExploithub ) { throw readOnly(); }
+
+        @Override
+        public void setExploitFrameworkMetasploit( Boolean exploitFrameworkMetasploit ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitFrameworkMetasploit( Boolean exploitFrameworkMetasploit ) { throw readOnly(); }
+
+        @Override
+        public void setExploitFrameworkD2Elliot( Boolean exploitFrameworkD2Elliot ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitFrameworkD2Elliot( Boolean exploitFrameworkD2Elliot ) { throw readOnly(); }
+
+        @Override
+        public void setExploitedByMalware( Boolean exploitedByMalware ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withExploitedByMalware( Boolean exploitedByMalware ) { throw readOnly(); }
+
+        @Override
+        public void setFirstFound( Date firstFound ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withFirstFound( Date firstFound ) { throw readOnly(); }
+
+        @Override
+        public void setFirstFoundMillis( long firstFound ) { throw readOnly(); }
+
+        @Override
+        public void setHasPatch( Boolean hasPatch ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withHasPatch( Boolean hasPatch ) { throw readOnly(); }
+
+        @Override
+        public void setInTheNews( Boolean inTheNews ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withInTheNews( Boolean inTheNews ) { throw readOnly(); }
+
+        @Override
+        public void setLastFound( Date lastFound ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withLastFound( Date lastFound ) { throw readOnly(); }
+
+        @Override
+        public void setLastFoundMillis( long lastFound ) { throw readOnly(); }
+
+        @Override
+        public void setLastFixed( Date lastFixed ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withLastFixed( Date lastFixed ) { throw readOnly(); }
+
+        @Override
+        public void setLastFixedMillis( long lastFixed ) { throw readOnly(); }
+
+        @Override
+        public void setMalware( Boolean malware ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withMalware( Boolean malware ) { throw readOnly(); }
+
+        @Override
+        public void setMetasploitName( String metasploitName ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withMetasploitName( String metasploitName ) { throw readOnly(); }
+
+        @Override
+        public void setPatchPublicationDate( Date patchPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPatchPublicationDate( Date patchPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPatchPublicationDateMillis( long patchPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPluginModificationDate( Date pluginModificationDate ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginModificationDate( Date pluginModificationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPluginModificationDateMillis( long pluginModificationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPluginPublicationDate( Date pluginPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginPublicationDate( Date pluginPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPluginPublicationDateMillis( long pluginPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setPluginOutput( String pluginOutput ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginOutput( String pluginOutput ) { throw readOnly(); }
+
+        @Override
+        public void setPluginType( String pluginType ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginType( String pluginType ) { throw readOnly(); }
+
+        @Override
+        public void setPluginVersion( String pluginVersion ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withPluginVersion( String pluginVersion ) { throw readOnly(); }
+
+        @Override
+        public void setSolution( String solution ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withSolution( String solution ) { throw readOnly(); }
+
+        @Override
+        public void setRiskFactor( RiskFactor riskFactor ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withRiskFactor( RiskFactor riskFactor ) { throw readOnly(); }
+
+        @Override
+        public void setSynopsis( String synopsis ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withSynopsis( String synopsis ) { throw readOnly(); }
+
+        @Override
+        public void setUnsupportedByVendor( Boolean unsupportedByVendor ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withUnsupportedByVendor( Boolean unsupportedByVendor ) { throw readOnly(); }
+
+        @Override
+        public void setVulnerabilityState( VulnerabilityState vulnerabilityState ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withVulnerabilityState( VulnerabilityState vulnerabilityState ) { throw readOnly(); }
+
+        @Override
+        public void setVulnPublicationDate( Date vulnPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withVulnPublicationDate( Date vulnPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setVulnPublicationDateMillis( long vulnPublicationDate ) { throw readOnly(); }
+
+        @Override
+        public void setXrefs( List<String> xrefs ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withXrefs( List<String> xrefs ) { throw readOnly(); }
+
+        @Override
+        public void addXref( String xref ) { throw readOnly(); }
+
+        @Override
+        public void setSeeAlsos( List<String> seeAlsos ) { throw readOnly(); }
+
+        @Override
+        public Vulnerability withSeeAlsos( List<String> seeAlsos ) { throw readOnly(); }
+
+        @Override
+        public void addSeeAlso( String seeAlso ) { throw readOnly(); }
+    }
+}
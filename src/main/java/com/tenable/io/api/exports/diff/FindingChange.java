@@ -0,0 +1,72 @@
+package com.tenable.io.api.exports.diff;
+
+
+import com.tenable.io.api.exports.models.FindingKey;
+
+
+/**
+ * A finding that changed between two vulns export snapshots.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class FindingChange {
+    private final Type type;
+    private final FindingKey key;
+
+
+    /**
+     * Instantiates a new finding change.
+     *
+     * @param type the type of change
+     * @param key the finding key
+     */
+    public FindingChange( Type type, FindingKey key ) {
+        this.type = type;
+        this.key = key;
+    }
+
+
+    /**
+     * Gets the type of change.
+     *
+     * @return the type of change
+     */
+    public Type getType() {
+        return type;
+    }
+
+
+    /**
+     * Gets the finding key.
+     *
+     * @return the finding key
+     */
+    public FindingKey getKey() {
+        return key;
+    }
+
+
+    @Override
+    public String toString() {
+        return type + " " + key;
+    }
+
+
+    /**
+     * The type of change.
+     */
+    public enum Type {
+        /**
+         * The finding is open in the later snapshot and absent from the earlier one.
+         */
+        NEW,
+        /**
+         * The finding is open in the earlier snapshot, and fixed in or absent from the later one.
+         */
+        FIXED,
+        /**
+         * The finding is fixed in the earlier snapshot and open in the later one.
+         */
+        REOPENED
+    }
+}
@@ -0,0 +1,70 @@
+package com.tenable.io.api.exports.diff;
+
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+
+/**
+ * Reads the records of a run file written by a RunWriter, one at a time into its fields.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class RunReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataInputStream in;
+
+    long high;
+    long low;
+    long assetHigh;
+    long assetLow;
+    long pluginId;
+    int port;
+    int flags;
+    String protocol;
+
+
+    RunReader( File file ) throws IOException {
+        this.in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ), BUFFER_SIZE ) );
+    }
+
+
+    /**
+     * Reads the next record.
+     *
+     * @return false at the end of the run
+     * @throws IOException if the run could not be read
+     */
+    boolean next() throws IOException {
+        try {
+            high = in.readLong();
+        } catch( EOFException e ) {
+            return false;
+        }
+        low = in.readLong();
+        assetHigh = in.readLong();
+        assetLow = in.readLong();
+        pluginId = in.readLong();
+        port = in.readInt();
+        flags = in.readUnsignedByte();
+        protocol = ( flags & RunWriter.HAS_PROTOCOL ) != 0 ? in.readUTF() : null;
+        return true;
+    }
+
+
+    int compareTo( RunReader other ) {
+        int result = Long.compare( high, other.high );
+        return result != 0 ? result : Long.compare( low, other.low );
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,62 @@
+package com.tenable.io.api.exports.diff;
+
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+
+/**
+ * Writes a run file: finding records sorted by 128 bit key hash, each the high and low hash, the asset UUID, plugin
+ * id, port, flags and protocol, in DataOutput format.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class RunWriter implements AutoCloseable {
+    static final int OPEN = 1;
+    static final int HAS_ASSET = 2;
+    static final int HAS_PROTOCOL = 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final DataOutputStream out;
+
+
+    RunWriter( File file ) throws IOException {
+        this.file = file;
+        this.out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ), BUFFER_SIZE ) );
+    }
+
+
+    void write( long high, long low, long assetHigh, long assetLow, long pluginId, int port, int flags, String protocol ) throws IOException {
+        out.writeLong( high );
+        out.writeLong( low );
+        out.writeLong( assetHigh );
+        out.writeLong( assetLow );
+        out.writeLong( pluginId );
+        out.writeInt( port );
+        out.writeByte( flags );
+        if( ( flags & HAS_PROTOCOL ) != 0 ) {
+            out.writeUTF( protocol );
+        }
+    }
+
+
+    void write( RunReader reader ) throws IOException {
+        write( reader.high, reader.low, reader.assetHigh, reader.assetLow, reader.pluginId, reader.port, reader.flags, reader.protocol );
+    }
+
+
+    File getFile() {
+        return file;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
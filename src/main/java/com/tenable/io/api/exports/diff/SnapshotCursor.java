@@ -0,0 +1,124 @@
+package com.tenable.io.api.exports.diff;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import com.tenable.io.api.exports.models.FindingKey;
+
+
+/**
+ * Reads sorted runs in key order, by a k-way merge over a priority queue of run readers. Findings of the same key are
+ * read as one, open if any of them is open.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class SnapshotCursor implements AutoCloseable {
+    private final List<RunReader> readers = new ArrayList<>();
+    private final PriorityQueue<RunReader> queue;
+    private RunReader current;
+    private RunReader pending;
+
+    long high;
+    long low;
+    boolean open;
+    private long assetHigh;
+    private long assetLow;
+    private long pluginId;
+    private int port;
+    private int flags;
+    private String protocol;
+
+
+    SnapshotCursor( List<File> runs ) throws IOException {
+        this.queue = new PriorityQueue<>( Math.max( 1, runs.size() ), RunReader::compareTo );
+        try {
+            for( File run : runs ) {
+                RunReader reader = new RunReader( run );
+                readers.add( reader );
+                if( reader.next() ) {
+                    queue.add( reader );
+                }
+            }
+        } catch( IOException e ) {
+            close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Moves to the next record of the merged runs, including records of the same key.
+     *
+     * @return the reader positioned on the record, valid until the next call, or null at the end
+     * @throws IOException if a run could not be read
+     */
+    RunReader nextRecord() throws IOException {
+        if( current != null && current.next() ) {
+            queue.add( current );
+        }
+        current = queue.poll();
+        return current;
+    }
+
+
+    /**
+     * Moves to the next distinct key.
+     *
+     * @return false at the end of the runs
+     * @throws IOException if a run could not be read
+     */
+    boolean next() throws IOException {
+        RunReader reader = pending != null ? pending : nextRecord();
+        pending = null;
+        if( reader == null ) {
+            return false;
+        }
+        high = reader.high;
+        low = reader.low;
+        assetHigh = reader.assetHigh;
+        assetLow = reader.assetLow;
+        pluginId = reader.pluginId;
+        port = reader.port;
+        flags = reader.flags;
+        protocol = reader.protocol;
+        open = ( flags & RunWriter.OPEN ) != 0;
+        while( ( reader = nextRecord() ) != null && reader.high == high && reader.low == low ) {
+            open |= ( reader.flags & RunWriter.OPEN ) != 0;
+        }
+        pending = reader;
+        return true;
+    }
+
+
+    int compareTo( SnapshotCursor other ) {
+        int result = Long.compare( high, other.high );
+        return result != 0 ? result : Long.compare( low, other.low );
+    }
+
+
+    FindingKey getKey() {
+        UUID assetUuid = ( flags & RunWriter.HAS_ASSET ) != 0 ? new UUID( assetHigh, assetLow ) : null;
+        return new FindingKey( assetUuid, pluginId, port, protocol );
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for( RunReader reader : readers ) {
+            try {
+                reader.close();
+            } catch( IOException e ) {
+                failure = e;
+            }
+        }
+        if( failure != null ) {
+            throw failure;
+        }
+    }
+}
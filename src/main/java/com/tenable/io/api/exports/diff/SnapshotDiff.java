@@ -0,0 +1,108 @@
+package com.tenable.io.api.exports.diff;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Computes the new, fixed and reopened findings between two vulns export snapshots, in bounded memory. Each snapshot
+ * is externally sorted by the 128 bit hash of its FindingKeys into binary run files by a SnapshotSorter, then both
+ * are read in key order and compared in a single streaming merge. A finding is open unless its state is FIXED; a
+ * finding open in the earlier snapshot and absent from the later one is reported fixed, so the later snapshot should
+ * cover the same assets and plugins as the earlier one. Thread safe: each diff uses its own sorters.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class SnapshotDiff {
+    /**
+     * The default number of findings buffered in memory per snapshot, using 48 MB each.
+     */
+    public static final int DEFAULT_MAX_RECORDS_IN_MEMORY = 1 << 20;
+
+    private final File directory;
+    private final int maxRecordsInMemory;
+
+
+    /**
+     * Instantiates a new diff engine writing its run files to the default temporary directory.
+     */
+    public SnapshotDiff() {
+        this( new File( System.getProperty( "java.io.tmpdir" ) ), DEFAULT_MAX_RECORDS_IN_MEMORY );
+    }
+
+
+    /**
+     * Instantiates a new diff engine.
+     *
+     * @param directory the directory of the run files
+     * @param maxRecordsInMemory the number of findings buffered in memory per snapshot
+     */
+    public SnapshotDiff( File directory, int maxRecordsInMemory ) {
+        this.directory = directory;
+        this.maxRecordsInMemory = maxRecordsInMemory;
+    }
+
+
+    /**
+     * Diffs two snapshots given as downloaded vulns export chunk files.
+     *
+     * @param before the chunk files of the earlier snapshot
+     * @param after the chunk files of the later snapshot
+     * @param consumer the consumer of the changed findings, called in key hash order
+     * @throws TenableIoException if the chunks could not be read or the run files could not be written
+     */
+    public void diff( List<File> before, List<File> after, Consumer<? super FindingChange> consumer ) throws TenableIoException {
+        try( SnapshotSorter beforeSorter = new SnapshotSorter( directory, maxRecordsInMemory );
+             SnapshotSorter afterSorter = new SnapshotSorter( directory, maxRecordsInMemory ) ) {
+            beforeSorter.addAll( before );
+            afterSorter.addAll( after );
+            diff( beforeSorter, afterSorter, consumer );
+        }
+    }
+
+
+    /**
+     * Diffs two snapshots already added to sorters.
+     *
+     * @param before the sorter of the earlier snapshot
+     * @param after the sorter of the later snapshot
+     * @param consumer the consumer of the changed findings, called in key hash order
+     * @throws TenableIoException if the run files could not be written or read
+     */
+    public static void diff( SnapshotSorter before, SnapshotSorter after, Consumer<? super FindingChange> consumer ) throws TenableIoException {
+        try( SnapshotCursor left = before.sorted(); SnapshotCursor right = after.sorted() ) {
+            boolean hasLeft = left.next();
+            boolean hasRight = right.next();
+            while( hasLeft || hasRight ) {
+                int comparison = !hasLeft ? 1 : !hasRight ? -1 : left.compareTo( right );
+                if( comparison < 0 ) {
+                    if( left.open ) {
+                        consumer.accept( new FindingChange( FindingChange.Type.FIXED, left.getKey() ) );
+                    }
+                    hasLeft = left.next();
+                } else if( comparison > 0 ) {
+                    if( right.open ) {
+                        consumer.accept( new FindingChange( FindingChange.Type.NEW, right.getKey() ) );
+                    }
+                    hasRight = right.next();
+                } else {
+                    if( left.open && !right.open ) {
+                        consumer.accept( new FindingChange( FindingChange.Type.FIXED, left.getKey() ) );
+                    } else if( !left.open && right.open ) {
+                        consumer.accept( new FindingChange( FindingChange.Type.REOPENED, right.getKey() ) );
+                    }
+                    hasLeft = left.next();
+                    hasRight = right.next();
+                }
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't read snapshot runs.", e );
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.tenable.io.api.exports.diff;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import com.tenable.io.api.exports.LazyChunkReader;
+import com.tenable.io.api.exports.analytics.ValueDictionary;
+import com.tenable.io.api.exports.models.FindingKey;
+import com.tenable.io.api.exports.models.LazyVulnerability;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * External sort of the findings of a vulns export snapshot by the 128 bit hash of their FindingKey. Findings are
+ * buffered as rows of longs in a single primitive array, grown on demand up to the buffer size; when the buffer is full,
+ * it is sorted in place and spilled to a binary run file. Once all findings are added, runs are merged, in passes of at most MERGE_FAN_IN runs, and
+ * read back in key order as a SnapshotCursor. Memory is bounded by the buffer size, whatever the snapshot size. Run
+ * files are deleted on close. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class SnapshotSorter implements AutoCloseable {
+    /**
+     * The maximum number of runs merged at once.
+     */
+    public static final int MERGE_FAN_IN = 64;
+
+    private static final int STRIDE = 6;
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final int INITIAL_RECORDS = 1024;
+
+    private final File directory;
+    private final int maxRecords;
+    private final ValueDictionary<String> protocols = new ValueDictionary<>();
+    private final List<File> runs = new ArrayList<>();
+    private long[] records;
+    private int size;
+    private int runCount;
+
+
+    /**
+     * Instantiates a new sorter.
+     *
+     * @param directory the directory of the run files
+     * @param maxRecordsInMemory the number of findings buffered before spilling a run, 48 bytes each, allocated as
+     *                           findings are added
+     * @throws TenableIoException if the buffer size is not positive
+     */
+    public SnapshotSorter( File directory, int maxRecordsInMemory ) throws TenableIoException {
+        if( maxRecordsInMemory < 1 || maxRecordsInMemory > Integer.MAX_VALUE / STRIDE ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "maxRecordsInMemory %d is invalid.", maxRecordsInMemory ) );
+        }
+        this.directory = directory;
+        this.maxRecords = maxRecordsInMemory;
+        this.records = new long[Math.multiplyExact( Math.min( maxRecordsInMemory, INITIAL_RECORDS ), STRIDE )];
+    }
+
+
+    /**
+     * Adds the given finding.
+     *
+     * @param vulnerability the finding
+     * @throws TenableIoException if a run could not be written
+     */
+    public void add( Vulnerability vulnerability ) throws TenableIoException {
+        if( size == maxRecords ) {
+            spill();
+        } else if( ( size + 1 ) * STRIDE > records.length ) {
+            int capacity = (int) Math.min( (long) size * 2, maxRecords );
+            records = Arrays.copyOf( records, Math.multiplyExact( capacity, STRIDE ) );
+        }
+        FindingKey key = FindingKey.of( vulnerability );
+        UUID assetUuid = key.getAssetUuid();
+        int flags = vulnerability.getVulnerabilityState() != VulnerabilityState.FIXED ? RunWriter.OPEN : 0;
+        if( assetUuid != null ) {
+            flags |= RunWriter.HAS_ASSET;
+        }
+        if( key.getProtocol() != null ) {
+            flags |= RunWriter.HAS_PROTOCOL;
+        }
+
+        int offset = size++ * STRIDE;
+        records[offset] = key.getHashHigh();
+        records[offset + 1] = key.getHashLow();
+        records[offset + 2] = assetUuid != null ? assetUuid.getMostSignificantBits() : 0;
+        records[offset + 3] = assetUuid != null ? assetUuid.getLeastSignificantBits() : 0;
+        records[offset + 4] = key.getPluginId();
+        records[offset + 5] = (long) key.getPort() << 32 | (long) ( protocols.encode( key.getProtocol() ) + 1 ) << 8 | flags;
+    }
+
+
+    /**
+     * Adds the findings of the given vulns export chunk files.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @throws TenableIoException if a chunk could not be read or a run could not be written
+     */
+    public void addAll( List<File> chunkFiles ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyVulnerability> reader = LazyChunkReader.vulns( chunkFile ) ) {
+                LazyVulnerability vulnerability;
+                while( ( vulnerability = reader.read() ) != null ) {
+                    add( vulnerability );
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Gets the number of run files spilled so far.
+     *
+     * @return the number of runs
+     */
+    public int getRunCount() {
+        return runCount;
+    }
+
+
+    /**
+     * Spills the buffered findings and merges the runs down to at most MERGE_FAN_IN, then opens a cursor over the
+     * findings in key order. No finding can be added afterwards.
+     *
+     * @return the cursor, to be closed by the caller
+     * @throws TenableIoException if the runs could not be written or read
+     */
+    SnapshotCursor sorted() throws TenableIoException {
+        spill();
+        try {
+            while( runs.size() > MERGE_FAN_IN ) {
+                List<File> merged = new ArrayList<>();
+                for( int from = 0; from < runs.size(); from += MERGE_FAN_IN ) {
+                    List<File> group = runs.subList( from, Math.min( from + MERGE_FAN_IN, runs.size() ) );
+                    merged.add( merge( group ) );
+                    for( File run : group ) {
+                        delete( run );
+                    }
+                }
+                runs.clear();
+                runs.addAll( merged );
+            }
+            return new SnapshotCursor( runs );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't merge runs in %s.", directory.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Deletes the run files.
+     */
+    @Override
+    public void close() {
+        for( File run : runs ) {
+            delete( run );
+        }
+        runs.clear();
+    }
+
+
+    private void spill() throws TenableIoException {
+        if( size == 0 && !runs.isEmpty() ) {
+            return;
+        }
+        sort( 0, size - 1 );
+        File file = newRunFile();
+        try( RunWriter writer = new RunWriter( file ) ) {
+            runs.add( file );
+            for( int offset = 0; offset < size * STRIDE; offset += STRIDE ) {
+                long packed = records[offset + 5];
+                writer.write( records[offset], records[offset + 1], records[offset + 2], records[offset + 3], records[offset + 4],
+                        (int) ( packed >>> 32 ), (int) packed & 0xFF, protocols.decode( (int) ( packed >>> 8 & 0xFFFFFF ) - 1 ) );
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write run file: %s.", file.getAbsolutePath() ), e );
+        }
+        size = 0;
+        runCount++;
+    }
+
+
+    private File merge( List<File> group ) throws IOException, TenableIoException {
+        File file = newRunFile();
+        try( SnapshotCursor cursor = new SnapshotCursor( group ); RunWriter writer = new RunWriter( file ) ) {
+            RunReader reader;
+            while( ( reader = cursor.nextRecord() ) != null ) {
+                writer.write( reader );
+            }
+        }
+        return file;
+    }
+
+
+    private File newRunFile() throws TenableIoException {
+        try {
+            return File.createTempFile( "snapshot-run", ".bin", directory );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't create run file in %s.", directory.getAbsolutePath() ), e );
+        }
+    }
+
+
+    private static void delete( File file ) {
+        if( !file.delete() ) {
+            file.deleteOnExit();
+        }
+    }
+
+
+    private void sort( int low, int high ) {
+        while( high - low >= INSERTION_SORT_THRESHOLD ) {
+            int middle = ( low + high ) >>> 1;
+            long pivotHigh = records[middle * STRIDE];
+            long pivotLow = records[middle * STRIDE + 1];
+            int i = low;
+            int j = high;
+            while( i <= j ) {
+                while( compare( i, pivotHigh, pivotLow ) < 0 ) {
+                    i++;
+                }
+                while( compare( j, pivotHigh, pivotLow ) > 0 ) {
+                    j--;
+                }
+                if( i <= j ) {
+                    swap( i++, j-- );
+                }
+            }
+            // recurse into the smaller side to bound the stack depth
+            if( j - low < high - i ) {
+                sort( low, j );
+                low = i;
+            } else {
+                sort( i, high );
+                high = j;
+            }
+        }
+        for( int i = low + 1; i <= high; i++ ) {
+            for( int j = i; j > low && compare( j, records[( j - 1 ) * STRIDE], records[( j - 1 ) * STRIDE + 1] ) < 0; j-- ) {
+                swap( j, j - 1 );
+            }
+        }
+    }
+
+
+    private int compare( int record, long high, long low ) {
+        int result = Long.compare( records[record * STRIDE], high );
+        return result != 0 ? result : Long.compare( records[record * STRIDE + 1], low );
+    }
+
+
+    private void swap( int left, int right ) {
+        int leftOffset = left * STRIDE;
+        int rightOffset = right * STRIDE;
+        for( int i = 0; i < STRIDE; i++ ) {
+            long value = records[leftOffset + i];
+            records[leftOffset + i] = records[rightOffset + i];
+            records[rightOffset + i] = value;
+        }
+    }
+}
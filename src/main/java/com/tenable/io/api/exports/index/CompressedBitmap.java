@@ -0,0 +1,500 @@
+package com.tenable.io.api.exports.index;
+
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+
+/**
+ * Compressed set of non negative ints, in the layout of Roaring bitmaps: values are grouped by their high 16 bits into
+ * containers, each a sorted array of the low 16 bits while it holds at most 4096 values, or a 65536 bit bitmap
+ * otherwise, so both sparse and dense sets take little memory. Supports AND, OR and ANDNOT, which return new bitmaps.
+ * Immutable once built by a FindingIndexBuilder.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class CompressedBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    private static final byte ARRAY = 0;
+    private static final byte BITMAP = 1;
+
+    private char[] keys;
+    private Object[] containers;
+    private int[] cardinalities;
+    private int size;
+
+
+    CompressedBitmap() {
+        this( 4 );
+    }
+
+
+    private CompressedBitmap( int capacity ) {
+        this.keys = new char[capacity];
+        this.containers = new Object[capacity];
+        this.cardinalities = new int[capacity];
+    }
+
+
+    /**
+     * Creates a bitmap of the given values.
+     *
+     * @param values the values, non negative
+     * @return the bitmap
+     */
+    public static CompressedBitmap of( int... values ) {
+        CompressedBitmap result = new CompressedBitmap();
+        for( int value : values ) {
+            result.add( value );
+        }
+        return result;
+    }
+
+
+    /**
+     * Creates a bitmap of the values from 0 inclusive to the given value exclusive.
+     *
+     * @param end the end of the range
+     * @return the bitmap
+     */
+    public static CompressedBitmap range( int end ) {
+        CompressedBitmap result = new CompressedBitmap( ( end >>> 16 ) + 1 );
+        for( int value = 0; value < end; value++ ) {
+            result.add( value );
+        }
+        return result;
+    }
+
+
+    void add( int value ) {
+        char key = (char) ( value >>> 16 );
+        char low = (char) value;
+        int index = Arrays.binarySearch( keys, 0, size, key );
+        if( index < 0 ) {
+            index = -index - 1;
+            insert( index, key, new char[4], 0 );
+        }
+
+        Object container = containers[index];
+        int cardinality = cardinalities[index];
+        if( container instanceof long[] ) {
+            long[] bits = (long[]) container;
+            long mask = 1L << low;
+            if( ( bits[low >>> 6] & mask ) == 0 ) {
+                bits[low >>> 6] |= mask;
+                cardinalities[index]++;
+            }
+            return;
+        }
+
+        char[] array = (char[]) container;
+        int position = Arrays.binarySearch( array, 0, cardinality, low );
+        if( position >= 0 ) {
+            return;
+        }
+        position = -position - 1;
+        if( cardinality == ARRAY_MAX ) {
+            long[] bits = toBits( array, cardinality );
+            bits[low >>> 6] |= 1L << low;
+            containers[index] = bits;
+        } else {
+            if( cardinality == array.length ) {
+                array = Arrays.copyOf( array, Math.min( ARRAY_MAX, cardinality * 2 ) );
+                containers[index] = array;
+            }
+            System.arraycopy( array, position, array, position + 1, cardinality - position );
+            array[position] = low;
+        }
+        cardinalities[index]++;
+    }
+
+
+    /**
+     * Checks whether the given value is in the bitmap.
+     *
+     * @param value the value
+     * @return true if the value is in the bitmap
+     */
+    public boolean contains( int value ) {
+        int index = Arrays.binarySearch( keys, 0, size, (char) ( value >>> 16 ) );
+        if( index < 0 ) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[index];
+        if( container instanceof long[] ) {
+            return ( ( (long[]) container )[low >>> 6] & ( 1L << low ) ) != 0;
+        }
+        return Arrays.binarySearch( (char[]) container, 0, cardinalities[index], low ) >= 0;
+    }
+
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the number of values
+     */
+    public int getCardinality() {
+        int result = 0;
+        for( int i = 0; i < size; i++ ) {
+            result += cardinalities[i];
+        }
+        return result;
+    }
+
+
+    /**
+     * Checks whether the bitmap is empty.
+     *
+     * @return true if the bitmap has no value
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+
+    /**
+     * Intersects this bitmap with the given one.
+     *
+     * @param other the other bitmap
+     * @return the values in both bitmaps
+     */
+    public CompressedBitmap and( CompressedBitmap other ) {
+        CompressedBitmap result = new CompressedBitmap( Math.max( 1, Math.min( size, other.size ) ) );
+        int i = 0;
+        int j = 0;
+        while( i < size && j < other.size ) {
+            if( keys[i] < other.keys[j] ) {
+                i++;
+            } else if( keys[i] > other.keys[j] ) {
+                j++;
+            } else {
+                if( containers[i] instanceof char[] ) {
+                    result.appendArray( keys[i], filter( (char[]) containers[i], cardinalities[i], other.containers[j], other.cardinalities[j], true ) );
+                } else if( other.containers[j] instanceof char[] ) {
+                    result.appendArray( keys[i], filter( (char[]) other.containers[j], other.cardinalities[j], containers[i], cardinalities[i], true ) );
+                } else {
+                    long[] bits = toBits( containers[i], cardinalities[i] );
+                    long[] otherBits = (long[]) other.containers[j];
+                    for( int word = 0; word < BITMAP_WORDS; word++ ) {
+                        bits[word] &= otherBits[word];
+                    }
+                    result.append( keys[i], bits );
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Unites this bitmap with the given one.
+     *
+     * @param other the other bitmap
+     * @return the values in either bitmap
+     */
+    public CompressedBitmap or( CompressedBitmap other ) {
+        CompressedBitmap result = new CompressedBitmap( Math.max( 1, size + other.size ) );
+        int i = 0;
+        int j = 0;
+        while( i < size || j < other.size ) {
+            if( j == other.size || ( i < size && keys[i] < other.keys[j] ) ) {
+                result.insert( result.size, keys[i], copy( containers[i], cardinalities[i] ), cardinalities[i] );
+                i++;
+            } else if( i == size || keys[i] > other.keys[j] ) {
+                result.insert( result.size, other.keys[j], copy( other.containers[j], other.cardinalities[j] ), other.cardinalities[j] );
+                j++;
+            } else if( containers[i] instanceof char[] && other.containers[j] instanceof char[] && cardinalities[i] + other.cardinalities[j] <= ARRAY_MAX ) {
+                result.appendArray( keys[i], merge( (char[]) containers[i], cardinalities[i], (char[]) other.containers[j], other.cardinalities[j] ) );
+                i++;
+                j++;
+            } else {
+                long[] bits = toBits( containers[i], cardinalities[i] );
+                long[] otherBits = toBits( other.containers[j], other.cardinalities[j] );
+                for( int word = 0; word < BITMAP_WORDS; word++ ) {
+                    bits[word] |= otherBits[word];
+                }
+                result.append( keys[i], bits );
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Removes the values of the given bitmap from this one.
+     *
+     * @param other the other bitmap
+     * @return the values in this bitmap but not in the other
+     */
+    public CompressedBitmap andNot( CompressedBitmap other ) {
+        CompressedBitmap result = new CompressedBitmap( Math.max( 1, size ) );
+        int j = 0;
+        for( int i = 0; i < size; i++ ) {
+            while( j < other.size && other.keys[j] < keys[i] ) {
+                j++;
+            }
+            if( j == other.size || other.keys[j] != keys[i] ) {
+                result.insert( result.size, keys[i], copy( containers[i], cardinalities[i] ), cardinalities[i] );
+            } else if( containers[i] instanceof char[] ) {
+                result.appendArray( keys[i], filter( (char[]) containers[i], cardinalities[i], other.containers[j], other.cardinalities[j], false ) );
+            } else {
+                long[] bits = toBits( containers[i], cardinalities[i] );
+                long[] otherBits = toBits( other.containers[j], other.cardinalities[j] );
+                for( int word = 0; word < BITMAP_WORDS; word++ ) {
+                    bits[word] &= ~otherBits[word];
+                }
+                result.append( keys[i], bits );
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Calls the given consumer with each value, in increasing order.
+     *
+     * @param consumer the consumer
+     */
+    public void forEach( IntConsumer consumer ) {
+        for( int i = 0; i < size; i++ ) {
+            int high = keys[i] << 16;
+            Object container = containers[i];
+            if( container instanceof long[] ) {
+                long[] bits = (long[]) container;
+                for( int word = 0; word < BITMAP_WORDS; word++ ) {
+                    long value = bits[word];
+                    while( value != 0 ) {
+                        consumer.accept( high | word << 6 | Long.numberOfTrailingZeros( value ) );
+                        value &= value - 1;
+                    }
+                }
+            } else {
+                char[] array = (char[]) container;
+                for( int position = 0; position < cardinalities[i]; position++ ) {
+                    consumer.accept( high | array[position] );
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Gets the values.
+     *
+     * @return the values, in increasing order
+     */
+    public int[] toArray() {
+        int[] result = new int[getCardinality()];
+        int[] position = new int[1];
+        forEach( value -> result[position[0]++] = value );
+        return result;
+    }
+
+
+    /**
+     * Gets the number of bytes written by write.
+     *
+     * @return the serialized size
+     */
+    public int getSerializedSize() {
+        int result = 4;
+        for( int i = 0; i < size; i++ ) {
+            result += 7 + ( containers[i] instanceof long[] ? BITMAP_WORDS * 8 : cardinalities[i] * 2 );
+        }
+        return result;
+    }
+
+
+    /**
+     * Writes the bitmap: the number of containers, then each container key, type, cardinality and values.
+     *
+     * @param out the output
+     * @throws IOException if the bitmap could not be written
+     */
+    public void write( DataOutput out ) throws IOException {
+        out.writeInt( size );
+        for( int i = 0; i < size; i++ ) {
+            out.writeChar( keys[i] );
+            Object container = containers[i];
+            out.writeByte( container instanceof long[] ? BITMAP : ARRAY );
+            out.writeInt( cardinalities[i] );
+            if( container instanceof long[] ) {
+                for( long word : (long[]) container ) {
+                    out.writeLong( word );
+                }
+            } else {
+                char[] array = (char[]) container;
+                for( int position = 0; position < cardinalities[i]; position++ ) {
+                    out.writeChar( array[position] );
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Reads a bitmap written by write, from the position of the given buffer.
+     *
+     * @param buffer the buffer, advanced past the bitmap
+     * @return the bitmap
+     */
+    public static CompressedBitmap read( ByteBuffer buffer ) {
+        int count = buffer.getInt();
+        CompressedBitmap result = new CompressedBitmap( Math.max( 1, count ) );
+        for( int i = 0; i < count; i++ ) {
+            char key = buffer.getChar();
+            byte type = buffer.get();
+            int cardinality = buffer.getInt();
+            Object container;
+            if( type == BITMAP ) {
+                long[] bits = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get( bits );
+                buffer.position( buffer.position() + BITMAP_WORDS * 8 );
+                container = bits;
+            } else {
+                char[] array = new char[cardinality];
+                buffer.asCharBuffer().get( array );
+                buffer.position( buffer.position() + cardinality * 2 );
+                container = array;
+            }
+            result.insert( i, key, container, cardinality );
+        }
+        return result;
+    }
+
+
+    @Override
+    public boolean equals( Object o ) {
+        if( this == o )
+            return true;
+        if( !( o instanceof CompressedBitmap ) )
+            return false;
+        return Arrays.equals( toArray(), ( (CompressedBitmap) o ).toArray() );
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode( toArray() );
+    }
+
+
+    @Override
+    public String toString() {
+        return Arrays.toString( toArray() );
+    }
+
+
+    /**
+     * Appends a container built by a set operation, as an array container if it is small enough, dropping it if it
+     * is empty.
+     */
+    private void append( char key, long[] bits ) {
+        int cardinality = 0;
+        for( long word : bits ) {
+            cardinality += Long.bitCount( word );
+        }
+        if( cardinality == 0 ) {
+            return;
+        }
+        if( cardinality > ARRAY_MAX ) {
+            insert( size, key, bits, cardinality );
+            return;
+        }
+        char[] array = new char[cardinality];
+        int position = 0;
+        for( int word = 0; word < BITMAP_WORDS; word++ ) {
+            long value = bits[word];
+            while( value != 0 ) {
+                array[position++] = (char) ( word << 6 | Long.numberOfTrailingZeros( value ) );
+                value &= value - 1;
+            }
+        }
+        insert( size, key, array, cardinality );
+    }
+
+
+    private void appendArray( char key, char[] array ) {
+        if( array.length > 0 ) {
+            insert( size, key, array, array.length );
+        }
+    }
+
+
+    private static char[] filter( char[] array, int cardinality, Object other, int otherCardinality, boolean keep ) {
+        char[] result = new char[cardinality];
+        int count = 0;
+        for( int position = 0; position < cardinality; position++ ) {
+            char low = array[position];
+            boolean contained = other instanceof long[] ? ( ( (long[]) other )[low >>> 6] & ( 1L << low ) ) != 0
+                    : Arrays.binarySearch( (char[]) other, 0, otherCardinality, low ) >= 0;
+            if( contained == keep ) {
+                result[count++] = low;
+            }
+        }
+        return Arrays.copyOf( result, count );
+    }
+
+
+    private static char[] merge( char[] left, int leftCardinality, char[] right, int rightCardinality ) {
+        char[] result = new char[leftCardinality + rightCardinality];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while( i < leftCardinality || j < rightCardinality ) {
+            if( j == rightCardinality || ( i < leftCardinality && left[i] < right[j] ) ) {
+                result[count++] = left[i++];
+            } else if( i == leftCardinality || left[i] > right[j] ) {
+                result[count++] = right[j++];
+            } else {
+                result[count++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf( result, count );
+    }
+
+
+    private static Object copy( Object container, int cardinality ) {
+        return container instanceof long[] ? ( (long[]) container ).clone() : Arrays.copyOf( (char[]) container, cardinality );
+    }
+
+
+    private void insert( int index, char key, Object container, int cardinality ) {
+        if( size == keys.length ) {
+            int capacity = Math.max( 4, size * 2 );
+            keys = Arrays.copyOf( keys, capacity );
+            containers = Arrays.copyOf( containers, capacity );
+            cardinalities = Arrays.copyOf( cardinalities, capacity );
+        }
+        System.arraycopy( keys, index, keys, index + 1, size - index );
+        System.arraycopy( containers, index, containers, index + 1, size - index );
+        System.arraycopy( cardinalities, index, cardinalities, index + 1, size - index );
+        keys[index] = key;
+        containers[index] = container;
+        cardinalities[index] = cardinality;
+        size++;
+    }
+
+
+    private static long[] toBits( Object container, int cardinality ) {
+        if( container instanceof long[] ) {
+            return ( (long[]) container ).clone();
+        }
+        long[] bits = new long[BITMAP_WORDS];
+        char[] array = (char[]) container;
+        for( int position = 0; position < cardinality; position++ ) {
+            bits[array[position] >>> 6] |= 1L << array[position];
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,302 @@
+package com.tenable.io.api.exports.index;
+
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Inverted index of exported findings: for each term of each IndexField, the compressed bitmap of the ordinals of the
+ * assets having a finding with that term. Questions such as "which assets have CVE-X and plugin Y but not plugin Z"
+ * are answered with set algebra instead of a scan of the export, e.g.
+ * {@code index.getAssetUuids( index.cve( "CVE-X" ).and( index.pluginId( y ) ).andNot( index.pluginId( z ) ) )}.
+ * Indexes are written to a single file: a header, the asset UUIDs, a directory of terms with the offset of their
+ * bitmap, then the bitmaps. A loaded index maps the file in memory and only decodes a bitmap the first time its term
+ * is queried, so reloading after a restart costs little more than reading the term directory. Thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class FindingIndex {
+    private static final int MAGIC = 0x54494F58;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final LongBuffer assets;
+    private final int assetCount;
+    private final Map<IndexField, Map<String, CompressedBitmap>> bitmaps = new EnumMap<>( IndexField.class );
+    private final Map<IndexField, Map<String, Integer>> offsets = new EnumMap<>( IndexField.class );
+    private final ByteBuffer data;
+
+
+    FindingIndex( List<UUID> assetUuids, Map<IndexField, Map<String, CompressedBitmap>> bitmaps ) {
+        long[] keys = new long[assetUuids.size() * 2];
+        for( int i = 0; i < assetUuids.size(); i++ ) {
+            keys[i * 2] = assetUuids.get( i ).getMostSignificantBits();
+            keys[i * 2 + 1] = assetUuids.get( i ).getLeastSignificantBits();
+        }
+        this.assets = LongBuffer.wrap( keys );
+        this.assetCount = assetUuids.size();
+        for( IndexField field : IndexField.values() ) {
+            this.bitmaps.put( field, new ConcurrentHashMap<>( bitmaps.getOrDefault( field, Collections.emptyMap() ) ) );
+            this.offsets.put( field, Collections.emptyMap() );
+        }
+        this.data = null;
+    }
+
+
+    private FindingIndex( LongBuffer assets, int assetCount, Map<IndexField, Map<String, Integer>> offsets, ByteBuffer data ) {
+        this.assets = assets;
+        this.assetCount = assetCount;
+        for( IndexField field : IndexField.values() ) {
+            this.bitmaps.put( field, new ConcurrentHashMap<>() );
+            this.offsets.put( field, offsets.get( field ) );
+        }
+        this.data = data;
+    }
+
+
+    /**
+     * Loads an index written by write, by mapping the file in memory.
+     *
+     * @param file the index file
+     * @return the index
+     * @throws TenableIoException if the file could not be read or is not an index
+     */
+    public static FindingIndex load( File file ) throws TenableIoException {
+        ByteBuffer buffer;
+        try( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) ) {
+            if( channel.size() > Integer.MAX_VALUE ) {
+                throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Index file %s is larger than 2 GB.", file.getAbsolutePath() ) );
+            }
+            buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't map index file: %s.", file.getAbsolutePath() ), e );
+        }
+
+        try {
+            if( buffer.getInt() != MAGIC || buffer.getInt() != VERSION ) {
+                throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "%s is not a finding index.", file.getAbsolutePath() ) );
+            }
+            int assetCount = buffer.getInt();
+            ByteBuffer assetSlice = buffer.slice();
+            assetSlice.limit( assetCount * 16 );
+            buffer.position( buffer.position() + assetCount * 16 );
+
+            Map<IndexField, Map<String, Integer>> offsets = new EnumMap<>( IndexField.class );
+            for( IndexField field : IndexField.values() ) {
+                int termCount = buffer.getInt();
+                Map<String, Integer> fieldOffsets = new HashMap<>( termCount * 2 );
+                for( int i = 0; i < termCount; i++ ) {
+                    byte[] term = new byte[buffer.getInt()];
+                    buffer.get( term );
+                    fieldOffsets.put( new String( term, StandardCharsets.UTF_8 ), buffer.getInt() );
+                }
+                offsets.put( field, fieldOffsets );
+            }
+            return new FindingIndex( assetSlice.asLongBuffer(), assetCount, offsets, buffer.slice() );
+        } catch( RuntimeException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Index file %s is corrupted.", file.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Writes the index to the given file.
+     *
+     * @param file the index file
+     * @throws TenableIoException if the file could not be written
+     */
+    public void write( File file ) throws TenableIoException {
+        try( DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ), BUFFER_SIZE ) ) ) {
+            out.writeInt( MAGIC );
+            out.writeInt( VERSION );
+            out.writeInt( assetCount );
+            for( int i = 0; i < assetCount * 2; i++ ) {
+                out.writeLong( assets.get( i ) );
+            }
+
+            List<CompressedBitmap> all = new ArrayList<>();
+            int offset = 0;
+            for( IndexField field : IndexField.values() ) {
+                Set<String> terms = getTerms( field );
+                out.writeInt( terms.size() );
+                for( String term : terms ) {
+                    CompressedBitmap bitmap = get( field, term );
+                    byte[] bytes = term.getBytes( StandardCharsets.UTF_8 );
+                    out.writeInt( bytes.length );
+                    out.write( bytes );
+                    out.writeInt( offset );
+                    offset += bitmap.getSerializedSize();
+                    if( offset < 0 ) {
+                        throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "The index is larger than 2 GB." );
+                    }
+                    all.add( bitmap );
+                }
+            }
+            for( CompressedBitmap bitmap : all ) {
+                bitmap.write( out );
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write index file: %s.", file.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding with the given field value.
+     *
+     * @param field the field
+     * @param value the field value
+     * @return the bitmap of asset ordinals, empty if no finding has the value
+     */
+    public CompressedBitmap get( IndexField field, Object value ) {
+        String term = IndexField.term( value );
+        CompressedBitmap result = bitmaps.get( field ).get( term );
+        if( result == null ) {
+            Integer offset = offsets.get( field ).get( term );
+            if( offset == null ) {
+                return new CompressedBitmap();
+            }
+            ByteBuffer view = data.duplicate();
+            view.position( offset );
+            result = CompressedBitmap.read( view );
+            bitmaps.get( field ).putIfAbsent( term, result );
+        }
+        return result;
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding referencing the given CVE.
+     *
+     * @param cve the CVE id
+     * @return the bitmap of asset ordinals
+     */
+    public CompressedBitmap cve( String cve ) {
+        return get( IndexField.CVE, cve );
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding of the given plugin.
+     *
+     * @param pluginId the plugin id
+     * @return the bitmap of asset ordinals
+     */
+    public CompressedBitmap pluginId( long pluginId ) {
+        return get( IndexField.PLUGIN_ID, pluginId );
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding of the given severity.
+     *
+     * @param severity the severity level
+     * @return the bitmap of asset ordinals
+     */
+    public CompressedBitmap severity( SeverityLevel severity ) {
+        return get( IndexField.SEVERITY, severity );
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding of a plugin of the given family.
+     *
+     * @param pluginFamily the plugin family
+     * @return the bitmap of asset ordinals
+     */
+    public CompressedBitmap pluginFamily( String pluginFamily ) {
+        return get( IndexField.PLUGIN_FAMILY, pluginFamily );
+    }
+
+
+    /**
+     * Gets the bitmap of the assets having a finding in the given state.
+     *
+     * @param state the vulnerability state
+     * @return the bitmap of asset ordinals
+     */
+    public CompressedBitmap state( VulnerabilityState state ) {
+        return get( IndexField.STATE, state );
+    }
+
+
+    /**
+     * Gets the bitmap of all indexed assets, e.g. to negate a bitmap with andNot.
+     *
+     * @return the bitmap of all asset ordinals
+     */
+    public CompressedBitmap allAssets() {
+        return CompressedBitmap.range( assetCount );
+    }
+
+
+    /**
+     * Gets the terms of the given field.
+     *
+     * @param field the field
+     * @return the terms
+     */
+    public Set<String> getTerms( IndexField field ) {
+        Set<String> result = new HashSet<>( offsets.get( field ).keySet() );
+        result.addAll( bitmaps.get( field ).keySet() );
+        return result;
+    }
+
+
+    /**
+     * Gets the number of indexed assets.
+     *
+     * @return the number of assets
+     */
+    public int getAssetCount() {
+        return assetCount;
+    }
+
+
+    /**
+     * Gets the UUID of the asset of the given ordinal.
+     *
+     * @param ordinal the asset ordinal
+     * @return the asset UUID
+     */
+    public UUID getAssetUuid( int ordinal ) {
+        return new UUID( assets.get( ordinal * 2 ), assets.get( ordinal * 2 + 1 ) );
+    }
+
+
+    /**
+     * Gets the UUIDs of the assets of the given bitmap.
+     *
+     * @param bitmap the bitmap of asset ordinals
+     * @return the asset UUIDs, in ordinal order
+     */
+    public List<UUID> getAssetUuids( CompressedBitmap bitmap ) {
+        List<UUID> result = new ArrayList<>( bitmap.getCardinality() );
+        bitmap.forEach( ordinal -> result.add( getAssetUuid( ordinal ) ) );
+        return result;
+    }
+}
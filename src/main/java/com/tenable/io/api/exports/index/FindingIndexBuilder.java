@@ -0,0 +1,97 @@
+package com.tenable.io.api.exports.index;
+
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.tenable.io.api.exports.LazyChunkReader;
+import com.tenable.io.api.exports.analytics.ValueDictionary;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Builds a FindingIndex from a vulnerability stream: each distinct asset UUID gets an ordinal in order of appearance,
+ * and each term of each IndexField gets a bitmap of the ordinals of the assets having a finding with that term. Not
+ * thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class FindingIndexBuilder implements Consumer<Vulnerability> {
+    private final ValueDictionary<UUID> assets = new ValueDictionary<>();
+    private final Map<IndexField, Map<String, CompressedBitmap>> bitmaps = new EnumMap<>( IndexField.class );
+
+
+    /**
+     * Instantiates a new builder.
+     */
+    public FindingIndexBuilder() {
+        for( IndexField field : IndexField.values() ) {
+            bitmaps.put( field, new HashMap<>() );
+        }
+    }
+
+
+    /**
+     * Indexes the given vulnerability; vulnerabilities without asset UUID are ignored.
+     *
+     * @param vulnerability the vulnerability
+     */
+    @Override
+    public void accept( Vulnerability vulnerability ) {
+        if( vulnerability.getAssetUuid() == null ) {
+            return;
+        }
+        int asset = assets.encode( vulnerability.getAssetUuid() );
+        if( vulnerability.getCves() != null ) {
+            for( String cve : vulnerability.getCves() ) {
+                add( IndexField.CVE, cve, asset );
+            }
+        }
+        add( IndexField.PLUGIN_ID, vulnerability.getPluginID(), asset );
+        add( IndexField.SEVERITY, vulnerability.getSeverity(), asset );
+        add( IndexField.PLUGIN_FAMILY, vulnerability.getPluginFamily(), asset );
+        add( IndexField.STATE, vulnerability.getVulnerabilityState(), asset );
+    }
+
+
+    /**
+     * Indexes the vulnerabilities of the given vulns export chunk files.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @return this builder
+     * @throws TenableIoException if a chunk could not be read
+     */
+    public FindingIndexBuilder addAll( List<File> chunkFiles ) throws TenableIoException {
+        LazyChunkReader.readAllVulns( chunkFiles, this );
+        return this;
+    }
+
+
+    /**
+     * Builds the index of the vulnerabilities added. The index takes over the bitmaps, so the builder must not be used
+     * afterwards.
+     *
+     * @return the index
+     */
+    public FindingIndex build() {
+        List<UUID> assetUuids = new ArrayList<>( assets.size() );
+        for( int i = 0; i < assets.size(); i++ ) {
+            assetUuids.add( assets.decode( i ) );
+        }
+        return new FindingIndex( assetUuids, bitmaps );
+    }
+
+
+    private void add( IndexField field, Object value, int asset ) {
+        if( value != null ) {
+            bitmaps.get( field ).computeIfAbsent( IndexField.term( value ), term -> new CompressedBitmap() ).add( asset );
+        }
+    }
+}
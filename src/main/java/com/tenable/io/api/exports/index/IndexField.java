@@ -0,0 +1,42 @@
+package com.tenable.io.api.exports.index;
+
+
+/**
+ * The vulnerability fields a FindingIndex maps to bitmaps of asset ordinals. Terms are stored as strings: the name of
+ * enum values, the decimal plugin id, or the field value itself.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public enum IndexField {
+    /**
+     * The CVE ids of the vulnerability.
+     */
+    CVE,
+    /**
+     * The plugin id.
+     */
+    PLUGIN_ID,
+    /**
+     * The severity level.
+     */
+    SEVERITY,
+    /**
+     * The plugin family.
+     */
+    PLUGIN_FAMILY,
+    /**
+     * The vulnerability state.
+     */
+    STATE;
+
+
+    /**
+     * Gets the term of the given field value.
+     *
+     * @param value the field value
+     * @return the term
+     */
+    public static String term( Object value ) {
+        return value instanceof Enum ? ( (Enum<?>) value ).name() : String.valueOf( value );
+    }
+}
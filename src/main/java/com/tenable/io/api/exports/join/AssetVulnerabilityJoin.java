@@ -0,0 +1,317 @@
+package com.tenable.io.api.exports.join;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenable.io.api.exports.ChunkCompression;
+import com.tenable.io.api.exports.LazyChunkReader;
+import com.tenable.io.api.exports.models.LazyAsset;
+import com.tenable.io.api.exports.models.LazyVulnerability;
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.api.models.AssetVulnerabilities;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.HashHelper;
+import com.tenable.io.core.utilities.JsonHelper;
+
+
+/**
+ * Joins an assets export with a vulns export on asset UUID into AssetVulnerabilities. The raw JSON of the assets and
+ * vulnerabilities is indexed by asset UUID in an off-heap hash table, and each asset is only decoded, with its
+ * vulnerabilities, when emitted. When the chunk files exceed the memory budget, the join falls back to a partitioned
+ * hash join: both exports are first split by asset UUID hash into partition files on disk, small enough to fit the
+ * budget, then each partition is joined in memory in turn. The budget is a target: a partition skewed by a few huge
+ * assets may exceed it. An AssetVulnerabilities is emitted for every asset UUID found in either export; its asset is
+ * null if the asset is missing from the assets export, and its vulnerability list is empty if the asset has none.
+ * Vulnerabilities without asset UUID are skipped. Thread safe: each join uses its own table.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class AssetVulnerabilityJoin {
+    /**
+     * The default memory budget, 256 MB.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final File directory;
+    private final long memoryBudget;
+    private final ObjectMapper objectMapper = new JsonHelper( true ).getObjectMapper();
+
+
+    /**
+     * Instantiates a new join with the default memory budget, writing partition files to the default temporary
+     * directory.
+     */
+    public AssetVulnerabilityJoin() {
+        this( new File( System.getProperty( "java.io.tmpdir" ) ), DEFAULT_MEMORY_BUDGET );
+    }
+
+
+    /**
+     * Instantiates a new join.
+     *
+     * @param directory the directory of the partition files
+     * @param memoryBudget the number of bytes of chunk files joined in memory at once, at most 1 GB
+     */
+    public AssetVulnerabilityJoin( File directory, long memoryBudget ) {
+        this.directory = directory;
+        this.memoryBudget = Math.max( 1, Math.min( memoryBudget, 1L << 30 ) );
+    }
+
+
+    /**
+     * Gets the number of partitions the given exports are joined in, 1 if they fit the memory budget. Compressed chunk
+     * files count for their uncompressed size.
+     *
+     * @param assetChunkFiles the downloaded assets export chunk files
+     * @param vulnChunkFiles the downloaded vulns export chunk files
+     * @return the number of partitions
+     * @throws TenableIoException if the size of a chunk file could not be read
+     */
+    public int getPartitionCount( List<File> assetChunkFiles, List<File> vulnChunkFiles ) throws TenableIoException {
+        long size = uncompressedSize( assetChunkFiles ) + uncompressedSize( vulnChunkFiles );
+        return (int) Math.max( 1, Math.min( 4096, ( size + memoryBudget - 1 ) / memoryBudget ) );
+    }
+
+
+    /**
+     * Joins the given exports.
+     *
+     * @param assetChunkFiles the downloaded assets export chunk files
+     * @param vulnChunkFiles the downloaded vulns export chunk files
+     * @param consumer the consumer of the assets with their vulnerabilities
+     * @throws TenableIoException if the chunk files could not be read or the partition files written
+     */
+    public void join( List<File> assetChunkFiles, List<File> vulnChunkFiles, Consumer<? super AssetVulnerabilities> consumer ) throws TenableIoException {
+        OffHeapJoinTable table = new OffHeapJoinTable();
+        int partitionCount = getPartitionCount( assetChunkFiles, vulnChunkFiles );
+        if( partitionCount == 1 ) {
+            readAssets( assetChunkFiles, ( high, low, bytes ) -> table.addAsset( high, low, bytes, 0, bytes.length ) );
+            readVulnerabilities( vulnChunkFiles, ( high, low, bytes ) -> table.addVulnerability( high, low, bytes, 0, bytes.length ) );
+            emit( table, consumer );
+            return;
+        }
+
+        List<File> assetPartitions = Collections.emptyList();
+        List<File> vulnPartitions = Collections.emptyList();
+        try {
+            assetPartitions = partition( assetChunkFiles, partitionCount, true );
+            vulnPartitions = partition( vulnChunkFiles, partitionCount, false );
+            for( int i = 0; i < partitionCount; i++ ) {
+                try {
+                    readPartition( assetPartitions.get( i ), ( high, low, bytes ) -> table.addAsset( high, low, bytes, 0, bytes.length ) );
+                    readPartition( vulnPartitions.get( i ), ( high, low, bytes ) -> table.addVulnerability( high, low, bytes, 0, bytes.length ) );
+                } catch( IOException e ) {
+                    throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read join partition %d.", i ), e );
+                }
+                delete( assetPartitions.get( i ) );
+                delete( vulnPartitions.get( i ) );
+                emit( table, consumer );
+                table.clear();
+            }
+        } finally {
+            for( File file : assetPartitions ) {
+                delete( file );
+            }
+            for( File file : vulnPartitions ) {
+                delete( file );
+            }
+        }
+    }
+
+
+    private List<File> partition( List<File> chunkFiles, int partitionCount, boolean assets ) throws TenableIoException {
+        List<File> files = new ArrayList<>( partitionCount );
+        List<DataOutputStream> outs = new ArrayList<>( partitionCount );
+        boolean completed = false;
+        try {
+            for( int i = 0; i < partitionCount; i++ ) {
+                File file = File.createTempFile( assets ? "join-assets" : "join-vulns", ".bin", directory );
+                files.add( file );
+                outs.add( new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ), BUFFER_SIZE ) ) );
+            }
+            RecordSink sink = ( high, low, bytes ) -> {
+                int partition = (int) ( ( HashHelper.hash64( high ^ low ) >>> 1 ) % partitionCount );
+                DataOutputStream out = outs.get( partition );
+                try {
+                    out.writeLong( high );
+                    out.writeLong( low );
+                    out.writeInt( bytes.length );
+                    out.write( bytes );
+                } catch( IOException e ) {
+                    throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write join partition %d.", partition ), e );
+                }
+            };
+            if( assets ) {
+                readAssets( chunkFiles, sink );
+            } else {
+                readVulnerabilities( chunkFiles, sink );
+            }
+            for( DataOutputStream out : outs ) {
+                out.close();
+            }
+            completed = true;
+            return files;
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't write join partitions in %s.", directory.getAbsolutePath() ), e );
+        } finally {
+            if( !completed ) {
+                for( DataOutputStream out : outs ) {
+                    try {
+                        out.close();
+                    } catch( IOException ignored ) {
+                        // already failing
+                    }
+                }
+                for( File file : files ) {
+                    delete( file );
+                }
+            }
+        }
+    }
+
+
+    private void readAssets( List<File> chunkFiles, RecordSink sink ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyAsset> reader = LazyChunkReader.assets( chunkFile ) ) {
+                LazyAsset asset;
+                while( ( asset = reader.read() ) != null ) {
+                    UUID id = asset.getId();
+                    if( id != null ) {
+                        sink.accept( id.getMostSignificantBits(), id.getLeastSignificantBits(), rawBytes( asset.getRecord().getRaw(), asset ) );
+                    }
+                }
+            }
+        }
+    }
+
+
+    private void readVulnerabilities( List<File> chunkFiles, RecordSink sink ) throws TenableIoException {
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyVulnerability> reader = LazyChunkReader.vulns( chunkFile ) ) {
+                LazyVulnerability vulnerability;
+                while( ( vulnerability = reader.read() ) != null ) {
+                    UUID assetUuid = vulnerability.getAssetUuid();
+                    if( assetUuid != null ) {
+                        sink.accept( assetUuid.getMostSignificantBits(), assetUuid.getLeastSignificantBits(), rawBytes( vulnerability.getRecord().getRaw(), vulnerability ) );
+                    }
+                }
+            }
+        }
+    }
+
+
+    private void readPartition( File file, RecordSink sink ) throws IOException, TenableIoException {
+        try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ), BUFFER_SIZE ) ) ) {
+            while( true ) {
+                long high;
+                try {
+                    high = in.readLong();
+                } catch( EOFException e ) {
+                    return;
+                }
+                long low = in.readLong();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully( bytes );
+                sink.accept( high, low, bytes );
+            }
+        }
+    }
+
+
+    /**
+     * Gets the raw JSON of a record, serializing the model if the record has already released its raw bytes, once
+     * all its fields were decoded.
+     */
+    private byte[] rawBytes( byte[] raw, Object model ) throws TenableIoException {
+        if( raw != null ) {
+            return raw;
+        }
+        try {
+            return objectMapper.writeValueAsBytes( model );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, "Couldn't serialize record.", e );
+        }
+    }
+
+
+    private void emit( OffHeapJoinTable table, Consumer<? super AssetVulnerabilities> consumer ) throws TenableIoException {
+        try {
+            table.forEach( ( high, low, assetRecord, lastVulnerability, vulnerabilityCount ) -> {
+                AssetVulnerabilities result = new AssetVulnerabilities();
+                Vulnerability[] vulnerabilities = new Vulnerability[vulnerabilityCount];
+                long record = lastVulnerability;
+                for( int i = vulnerabilityCount - 1; i >= 0; i-- ) {
+                    vulnerabilities[i] = objectMapper.readValue( table.getBytes( record ), Vulnerability.class );
+                    record = table.getPrevious( record );
+                }
+                result.setVulnerabilities( new ArrayList<>( Arrays.asList( vulnerabilities ) ) );
+                if( assetRecord != OffHeapJoinTable.NONE ) {
+                    Asset asset = objectMapper.readValue( table.getBytes( assetRecord ), Asset.class );
+                    result.setAsset( asset );
+                    result.setName( name( asset ) );
+                } else {
+                    result.setName( new UUID( high, low ).toString() );
+                }
+                consumer.accept( result );
+            } );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, "Couldn't decode joined record.", e );
+        }
+    }
+
+
+    private static long uncompressedSize( List<File> chunkFiles ) throws TenableIoException {
+        long size = 0;
+        for( File chunkFile : chunkFiles ) {
+            try {
+                size += ChunkCompression.uncompressedSize( chunkFile );
+            } catch( IOException e ) {
+                throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read chunk file: %s.", chunkFile.getAbsolutePath() ), e );
+            }
+        }
+        return size;
+    }
+
+
+    private static String name( Asset asset ) {
+        if( asset.getHostName() != null ) {
+            return asset.getHostName();
+        }
+        if( asset.getHostFqdn() != null ) {
+            return asset.getHostFqdn();
+        }
+        return asset.getId() != null ? asset.getId().toString() : null;
+    }
+
+
+    private static void delete( File file ) {
+        if( file.exists() && !file.delete() ) {
+            file.deleteOnExit();
+        }
+    }
+
+
+    @FunctionalInterface
+    private interface RecordSink {
+        void accept( long high, long low, byte[] bytes ) throws TenableIoException;
+    }
+}
@@ -0,0 +1,204 @@
+package com.tenable.io.api.exports.join;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.tenable.io.core.utilities.HashHelper;
+
+
+/**
+ * Open addressing hash table from asset UUID to the raw JSON of the asset and of its vulnerabilities, held off-heap in
+ * direct buffers so the join does not load the garbage collector with millions of small objects. Each slot holds the
+ * UUID, the arena offset of the asset record and of the last vulnerability record of the asset, and the number of
+ * vulnerabilities; vulnerability records are chained from last to first. Arena records are a long link to the
+ * previous record, an int length and the bytes. Buffers double when full. Not thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class OffHeapJoinTable {
+    static final long NONE = -1;
+
+    private static final int SLOT_SIZE = 40;
+    private static final int ASSET_OFFSET = 16;
+    private static final int VULN_OFFSET = 24;
+    private static final int COUNT_OFFSET = 32;
+    private static final int USED_OFFSET = 36;
+    private static final int RECORD_HEADER = 12;
+    private static final int INITIAL_SLOTS = 1024;
+    private static final int INITIAL_ARENA_SIZE = 64 * 1024;
+
+    private ByteBuffer slots = ByteBuffer.allocateDirect( INITIAL_SLOTS * SLOT_SIZE );
+    private ByteBuffer arena = ByteBuffer.allocateDirect( INITIAL_ARENA_SIZE );
+    private int slotCount = INITIAL_SLOTS;
+    private int size;
+
+
+    /**
+     * Sets the asset record of the given UUID.
+     */
+    void addAsset( long high, long low, byte[] bytes, int offset, int length ) {
+        int slot = findOrAdd( high, low );
+        slots.putLong( slot + ASSET_OFFSET, append( NONE, bytes, offset, length ) );
+    }
+
+
+    /**
+     * Adds a vulnerability record to the given UUID.
+     */
+    void addVulnerability( long high, long low, byte[] bytes, int offset, int length ) {
+        int slot = findOrAdd( high, low );
+        slots.putLong( slot + VULN_OFFSET, append( slots.getLong( slot + VULN_OFFSET ), bytes, offset, length ) );
+        slots.putInt( slot + COUNT_OFFSET, slots.getInt( slot + COUNT_OFFSET ) + 1 );
+    }
+
+
+    /**
+     * Gets the number of distinct UUIDs.
+     */
+    int size() {
+        return size;
+    }
+
+
+    /**
+     * Gets the number of bytes of the arena in use.
+     */
+    long getArenaSize() {
+        return arena.position();
+    }
+
+
+    /**
+     * Calls the visitor with each UUID and its records.
+     */
+    void forEach( Visitor visitor ) throws IOException {
+        for( int slot = 0; slot < slotCount * SLOT_SIZE; slot += SLOT_SIZE ) {
+            if( slots.getInt( slot + USED_OFFSET ) != 0 ) {
+                visitor.visit( slots.getLong( slot ), slots.getLong( slot + 8 ), slots.getLong( slot + ASSET_OFFSET ),
+                        slots.getLong( slot + VULN_OFFSET ), slots.getInt( slot + COUNT_OFFSET ) );
+            }
+        }
+    }
+
+
+    /**
+     * Gets the link to the previous record of the record at the given arena offset.
+     */
+    long getPrevious( long record ) {
+        return arena.getLong( (int) record );
+    }
+
+
+    /**
+     * Copies the bytes of the record at the given arena offset.
+     */
+    byte[] getBytes( long record ) {
+        byte[] bytes = new byte[arena.getInt( (int) record + 8 )];
+        ByteBuffer view = arena.duplicate();
+        view.position( (int) record + RECORD_HEADER );
+        view.get( bytes );
+        return bytes;
+    }
+
+
+    /**
+     * Removes all entries, keeping the allocated buffers.
+     */
+    void clear() {
+        for( int slot = 0; slot < slotCount * SLOT_SIZE; slot += SLOT_SIZE ) {
+            slots.putInt( slot + USED_OFFSET, 0 );
+        }
+        arena.clear();
+        size = 0;
+    }
+
+
+    private long append( long previous, byte[] bytes, int offset, int length ) {
+        if( arena.remaining() < RECORD_HEADER + length ) {
+            long required = (long) arena.position() + RECORD_HEADER + length;
+            long capacity = Math.max( required, arena.capacity() * 2L );
+            if( capacity > Integer.MAX_VALUE ) {
+                if( required > Integer.MAX_VALUE ) {
+                    throw new IllegalStateException( "Join partition exceeds 2 GB." );
+                }
+                capacity = Integer.MAX_VALUE;
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect( (int) capacity );
+            arena.flip();
+            grown.put( arena );
+            arena = grown;
+        }
+        long record = arena.position();
+        arena.putLong( previous );
+        arena.putInt( length );
+        arena.put( bytes, offset, length );
+        return record;
+    }
+
+
+    private int findOrAdd( long high, long low ) {
+        int mask = slotCount - 1;
+        int index = (int) HashHelper.hash64( high ^ Long.rotateLeft( low, 32 ) ) & mask;
+        while( true ) {
+            int slot = index * SLOT_SIZE;
+            if( slots.getInt( slot + USED_OFFSET ) == 0 ) {
+                if( ( size + 1 ) * 2 > slotCount ) {
+                    grow();
+                    return findOrAdd( high, low );
+                }
+                slots.putLong( slot, high );
+                slots.putLong( slot + 8, low );
+                slots.putLong( slot + ASSET_OFFSET, NONE );
+                slots.putLong( slot + VULN_OFFSET, NONE );
+                slots.putInt( slot + COUNT_OFFSET, 0 );
+                slots.putInt( slot + USED_OFFSET, 1 );
+                size++;
+                return slot;
+            }
+            if( slots.getLong( slot ) == high && slots.getLong( slot + 8 ) == low ) {
+                return slot;
+            }
+            index = ( index + 1 ) & mask;
+        }
+    }
+
+
+    private void grow() {
+        ByteBuffer old = slots;
+        int oldCount = slotCount;
+        slotCount *= 2;
+        slots = ByteBuffer.allocateDirect( slotCount * SLOT_SIZE );
+        int mask = slotCount - 1;
+        for( int from = 0; from < oldCount * SLOT_SIZE; from += SLOT_SIZE ) {
+            if( old.getInt( from + USED_OFFSET ) != 0 ) {
+                long high = old.getLong( from );
+                long low = old.getLong( from + 8 );
+                int index = (int) HashHelper.hash64( high ^ Long.rotateLeft( low, 32 ) ) & mask;
+                while( slots.getInt( index * SLOT_SIZE + USED_OFFSET ) != 0 ) {
+                    index = ( index + 1 ) & mask;
+                }
+                for( int i = 0; i < SLOT_SIZE; i += 4 ) {
+                    slots.putInt( index * SLOT_SIZE + i, old.getInt( from + i ) );
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Visits the entries of the table.
+     */
+    interface Visitor {
+        /**
+         * Visits an asset UUID and its records.
+         *
+         * @param high the most significant bits of the UUID
+         * @param low the least significant bits of the UUID
+         * @param asset the arena offset of the asset record, NONE if the asset was not found
+         * @param lastVulnerability the arena offset of the last vulnerability record, NONE if it has none
+         * @param vulnerabilityCount the number of vulnerabilities
+         */
+        void visit( long high, long low, long asset, long lastVulnerability, int vulnerabilityCount ) throws IOException;
+    }
+}
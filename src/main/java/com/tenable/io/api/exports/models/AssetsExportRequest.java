@@ -1,6 +1,7 @@
 package com.tenable.io.api.exports.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -10,8 +11,8 @@ import java.util.Map;
  * Copyright (c) 2018 Tenable Network Security, Inc.
  */
 public class AssetsExportRequest {
-    private static final int lowerRange = 100;
-    private static final int higherRange = 10000;
+    public static final int lowerRange = 100;
+    public static final int higherRange = 10000;
     private int chunkSize;
     private AssetsExportFilters filters;
 
@@ -91,6 +92,15 @@ public class AssetsExportRequest {
     public void setFilters( AssetsExportFilters filters ) { this.filters = filters; }
 
 
+    /**
+     * Gets the filters instance set on this request, as opposed to the serialized filters map
+     *
+     * @return the AssetsExportFilters, or null if no filters were set
+     */
+    @JsonIgnore
+    public AssetsExportFilters getExportFilters() { return this.filters; }
+
+
     /**
      * Gets the assets export filters
      *
@@ -0,0 +1,18 @@
+package com.tenable.io.api.exports.models;
+
+
+/**
+ * The format of a bundle file written by {@link com.tenable.io.api.exports.ChunkBundler}.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public enum BundleFormat {
+    /**
+     * One record per line
+     */
+    NDJSON,
+    /**
+     * A single JSON array of all the records
+     */
+    JSON_ARRAY
+}
@@ -0,0 +1,230 @@
+package com.tenable.io.api.exports.models;
+
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * The manifest of a bundle file written by {@link com.tenable.io.api.exports.ChunkBundler}: the byte range and the
+ * record range of each chunk in the bundle, in bundle order, so any chunk can be read by seeking straight to it.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class BundleManifest {
+    private BundleFormat format;
+    private String bundleFile;
+    private long size;
+    private long recordCount;
+    private List<Chunk> chunks = new ArrayList<>();
+
+
+    /**
+     * Sets the format of the bundle.
+     *
+     * @param format the bundle format
+     */
+    public void setFormat( BundleFormat format ) { this.format = format; }
+
+
+    /**
+     * Gets the format of the bundle.
+     *
+     * @return the bundle format
+     */
+    public BundleFormat getFormat() { return this.format; }
+
+
+    /**
+     * Sets the name of the bundle file.
+     *
+     * @param bundleFile the bundle file name
+     */
+    @JsonProperty( "bundle_file" )
+    public void setBundleFile( String bundleFile ) { this.bundleFile = bundleFile; }
+
+
+    /**
+     * Gets the name of the bundle file.
+     *
+     * @return the bundle file name
+     */
+    @JsonProperty( "bundle_file" )
+    public String getBundleFile() { return this.bundleFile; }
+
+
+    /**
+     * Sets the size of the bundle file.
+     *
+     * @param size the bundle size in bytes
+     */
+    public void setSize( long size ) { this.size = size; }
+
+
+    /**
+     * Gets the size of the bundle file.
+     *
+     * @return the bundle size in bytes
+     */
+    public long getSize() { return this.size; }
+
+
+    /**
+     * Sets the number of records in the bundle.
+     *
+     * @param recordCount the record count
+     */
+    @JsonProperty( "record_count" )
+    public void setRecordCount( long recordCount ) { this.recordCount = recordCount; }
+
+
+    /**
+     * Gets the number of records in the bundle.
+     *
+     * @return the record count
+     */
+    @JsonProperty( "record_count" )
+    public long getRecordCount() { return this.recordCount; }
+
+
+    /**
+     * Sets the chunks of the bundle.
+     *
+     * @param chunks the chunks, in bundle order
+     */
+    public void setChunks( List<Chunk> chunks ) { this.chunks = chunks; }
+
+
+    /**
+     * Gets the chunks of the bundle.
+     *
+     * @return the chunks, in bundle order
+     */
+    public List<Chunk> getChunks() { return this.chunks; }
+
+
+    /**
+     * Finds the chunk holding the record at the given position in the bundle.
+     *
+     * @param recordIndex the zero based position of the record in the bundle
+     * @return the chunk holding the record, or null if the bundle has fewer records
+     */
+    public Chunk chunkOfRecord( long recordIndex ) {
+        int low = 0;
+        int high = chunks.size() - 1;
+        while( low <= high ) {
+            int middle = ( low + high ) >>> 1;
+            Chunk chunk = chunks.get( middle );
+            if( recordIndex < chunk.getFirstRecord() ) {
+                high = middle - 1;
+            } else if( recordIndex >= chunk.getFirstRecord() + chunk.getRecordCount() ) {
+                low = middle + 1;
+            } else {
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * A chunk of the bundle. In an NDJSON bundle, its byte range holds the lines of its records. In a JSON array bundle,
+     * it holds its comma separated records, without the brackets and without the comma separating it from the previous
+     * chunk, so wrapping the range in brackets yields the chunk as a JSON array.
+     */
+    public static class Chunk {
+        private String chunkFile;
+        private long offset;
+        private long length;
+        private long firstRecord;
+        private long recordCount;
+
+
+        /**
+         * Sets the name of the chunk file the chunk was copied from.
+         *
+         * @param chunkFile the chunk file name
+         */
+        @JsonProperty( "chunk_file" )
+        public void setChunkFile( String chunkFile ) { this.chunkFile = chunkFile; }
+
+
+        /**
+         * Gets the name of the chunk file the chunk was copied from.
+         *
+         * @return the chunk file name
+         */
+        @JsonProperty( "chunk_file" )
+        public String getChunkFile() { return this.chunkFile; }
+
+
+        /**
+         * Sets the offset of the chunk in the bundle file.
+         *
+         * @param offset the byte offset
+         */
+        public void setOffset( long offset ) { this.offset = offset; }
+
+
+        /**
+         * Gets the offset of the chunk in the bundle file.
+         *
+         * @return the byte offset
+         */
+        public long getOffset() { return this.offset; }
+
+
+        /**
+         * Sets the length of the chunk in the bundle file.
+         *
+         * @param length the length in bytes
+         */
+        public void setLength( long length ) { this.length = length; }
+
+
+        /**
+         * Gets the length of the chunk in the bundle file.
+         *
+         * @return the length in bytes
+         */
+        public long getLength() { return this.length; }
+
+
+        /**
+         * Sets the position in the bundle of the first record of the chunk.
+         *
+         * @param firstRecord the zero based record position
+         */
+        @JsonProperty( "first_record" )
+        public void setFirstRecord( long firstRecord ) { this.firstRecord = firstRecord; }
+
+
+        /**
+         * Gets the position in the bundle of the first record of the chunk.
+         *
+         * @return the zero based record position
+         */
+        @JsonProperty( "first_record" )
+        public long getFirstRecord() { return this.firstRecord; }
+
+
+        /**
+         * Sets the number of records in the chunk.
+         *
+         * @param recordCount the record count
+         */
+        @JsonProperty( "record_count" )
+        public void setRecordCount( long recordCount ) { this.recordCount = recordCount; }
+
+
+        /**
+         * Gets the number of records in the chunk.
+         *
+         * @return the record count
+         */
+        @JsonProperty( "record_count" )
+        public long getRecordCount() { return this.recordCount; }
+    }
+}
@@ -0,0 +1,170 @@
+package com.tenable.io.api.exports.models;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tenable.io.api.models.Vulnerability;
+
+
+/**
+ * A vulnerability whose plugin level fields (plugin name and family, description, solution, synopsis, see also, CVEs,
+ * xrefs and BIDs) are read from a PluginMetadata shared with the other findings of the same plugin. Only the per
+ * finding fields are held by the record itself.
+ *
+ * Setting one of the plugin level fields detaches the record from the shared metadata first, so the other records of
+ * the plugin are never changed.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class DedupedVulnerability extends Vulnerability {
+    private PluginMetadata pluginMetadata;
+
+
+    /**
+     * Gets the shared plugin metadata of this vulnerability.
+     *
+     * @return the plugin metadata, or null if the plugin level fields are held by the record itself
+     */
+    @JsonIgnore
+    public PluginMetadata getPluginMetadata() {
+        return pluginMetadata;
+    }
+
+
+    /**
+     * Makes this vulnerability share the given plugin metadata, dropping its own copy of the plugin level fields.
+     *
+     * @param pluginMetadata the plugin metadata, which must match the plugin level fields of this vulnerability
+     */
+    public void attach( PluginMetadata pluginMetadata ) {
+        super.setPluginName( null );
+        super.setPluginFamily( null );
+        super.setDescription( null );
+        super.setSolution( null );
+        super.setSynopsis( null );
+        super.setSeeAlsos( null );
+        super.setCves( null );
+        super.setXrefs( null );
+        super.setBids( null );
+        this.pluginMetadata = pluginMetadata;
+    }
+
+
+    private void detach() {
+        PluginMetadata metadata = pluginMetadata;
+        if( metadata == null ) {
+            return;
+        }
+        pluginMetadata = null;
+        super.setPluginName( metadata.getPluginName() );
+        super.setPluginFamily( metadata.getPluginFamily() );
+        super.setDescription( metadata.getDescription() );
+        super.setSolution( metadata.getSolution() );
+        super.setSynopsis( metadata.getSynopsis() );
+        super.setSeeAlsos( copy( metadata.getSeeAlsos() ) );
+        super.setCves( copy( metadata.getCves() ) );
+        super.setXrefs( copy( metadata.getXrefs() ) );
+        super.setBids( copy( metadata.getBids() ) );
+    }
+
+
+    private static List<String> copy( List<String> list ) {
+        return list != null ? new ArrayList<>( list ) : null;
+    }
+
+
+    @Override
+    public String getPluginName() { return pluginMetadata != null ? pluginMetadata.getPluginName() : super.getPluginName(); }
+
+    @Override
+    public void setPluginName( String pluginName ) { detach(); super.setPluginName( pluginName ); }
+
+    @Override
+    public Vulnerability withPluginName( String pluginName ) { detach(); return super.withPluginName( pluginName ); }
+
+    @Override
+    public String getPluginFamily() { return pluginMetadata != null ? pluginMetadata.getPluginFamily() : super.getPluginFamily(); }
+
+    @Override
+    public void setPluginFamily( String pluginFamily ) { detach(); super.setPluginFamily( pluginFamily ); }
+
+    @Override
+    public Vulnerability withPluginFamily( String pluginFamily ) { detach(); return super.withPluginFamily( pluginFamily ); }
+
+    @Override
+    public String getDescription() { return pluginMetadata != null ? pluginMetadata.getDescription() : super.getDescription(); }
+
+    @Override
+    public void setDescription( String description ) { detach(); super.setDescription( description ); }
+
+    @Override
+    public Vulnerability withDescription( String description ) { detach(); return super.withDescription( description ); }
+
+    @Override
+    public String getSolution() { return pluginMetadata != null ? pluginMetadata.getSolution() : super.getSolution(); }
+
+    @Override
+    public void setSolution( String solution ) { detach(); super.setSolution( solution ); }
+
+    @Override
+    public Vulnerability withSolution( String solution ) { detach(); return super.withSolution( solution ); }
+
+    @Override
+    public String getSynopsis() { return pluginMetadata != null ? pluginMetadata.getSynopsis() : super.getSynopsis(); }
+
+    @Override
+    public void setSynopsis( String synopsis ) { detach(); super.setSynopsis( synopsis ); }
+
+    @Override
+    public Vulnerability withSynopsis( String synopsis ) { detach(); return super.withSynopsis( synopsis ); }
+
+    @Override
+    public List<String> getSeeAlsos() { return pluginMetadata != null ? pluginMetadata.getSeeAlsos() : super.getSeeAlsos(); }
+
+    @Override
+    public void setSeeAlsos( List<String> seeAlsos ) { detach(); super.setSeeAlsos( seeAlsos ); }
+
+    @Override
+    public Vulnerability withSeeAlsos( List<String> seeAlsos ) { detach(); return super.withSeeAlsos( seeAlsos ); }
+
+    @Override
+    public void addSeeAlso( String seeAlso ) { detach(); super.addSeeAlso( seeAlso ); }
+
+    @Override
+    public List<String> getCves() { return pluginMetadata != null ? pluginMetadata.getCves() : super.getCves(); }
+
+    @Override
+    public void setCves( List<String> cves ) { detach(); super.setCves( cves ); }
+
+    @Override
+    public Vulnerability withCves( List<String> cves ) { detach(); return super.withCves( cves ); }
+
+    @Override
+    public void addCve( String cve ) { detach(); super.addCve( cve ); }
+
+    @Override
+    public List<String> getXrefs() { return pluginMetadata != null ? pluginMetadata.getXrefs() : super.getXrefs(); }
+
+    @Override
+    public void setXrefs( List<String> xrefs ) { detach(); super.setXrefs( xrefs ); }
+
+    @Override
+    public Vulnerability withXrefs( List<String> xrefs ) { detach(); return super.withXrefs( xrefs ); }
+
+    @Override
+    public void addXref( String xref ) { detach(); super.addXref( xref ); }
+
+    @Override
+    public List<String> getBids() { return pluginMetadata != null ? pluginMetadata.getBids() : super.getBids(); }
+
+    @Override
+    public void setBids( List<String> bids ) { detach(); super.setBids( bids ); }
+
+    @Override
+    public Vulnerability withBids( List<String> bids ) { detach(); return super.withBids( bids ); }
+
+    @Override
+    public void addBid( String bid ) { detach(); super.addBid( bid ); }
+}
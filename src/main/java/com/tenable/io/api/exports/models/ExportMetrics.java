@@ -0,0 +1,198 @@
+package com.tenable.io.api.exports.models;
+
+
+/**
+ * Throughput measured for one export: how many chunks and bytes were downloaded, how long it took, and the chunk size
+ * (num_assets for vulns exports, chunk_size for assets exports) the export was requested with.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportMetrics {
+    /**
+     * The kind of export the metrics were measured for.
+     */
+    public enum ExportType {
+        VULNS,
+        ASSETS
+    }
+
+    private ExportType exportType;
+    private String exportUuid;
+    private int chunkSize;
+    private int chunks;
+    private long bytes;
+    private long maxChunkBytes;
+    private long records;
+    private long elapsedMillis;
+
+
+    /**
+     * Gets the kind of export.
+     *
+     * @return the kind of export
+     */
+    public ExportType getExportType() { return exportType; }
+
+
+    /**
+     * Sets the kind of export.
+     *
+     * @param exportType the kind of export
+     * @return the export metrics
+     */
+    public ExportMetrics withExportType( ExportType exportType ) {
+        this.exportType = exportType;
+        return this;
+    }
+
+
+    /**
+     * Gets the export uuid.
+     *
+     * @return the export uuid
+     */
+    public String getExportUuid() { return exportUuid; }
+
+
+    /**
+     * Sets the export uuid.
+     *
+     * @param exportUuid the export uuid
+     * @return the export metrics
+     */
+    public ExportMetrics withExportUuid( String exportUuid ) {
+        this.exportUuid = exportUuid;
+        return this;
+    }
+
+
+    /**
+     * Gets the chunk size the export was requested with: num_assets for vulns exports, chunk_size for assets exports.
+     *
+     * @return the requested chunk size
+     */
+    public int getChunkSize() { return chunkSize; }
+
+
+    /**
+     * Sets the chunk size the export was requested with.
+     *
+     * @param chunkSize the requested chunk size
+     * @return the export metrics
+     */
+    public ExportMetrics withChunkSize( int chunkSize ) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+
+    /**
+     * Gets the number of chunks downloaded.
+     *
+     * @return the number of chunks downloaded
+     */
+    public int getChunks() { return chunks; }
+
+
+    /**
+     * Gets the total number of bytes downloaded.
+     *
+     * @return the total number of bytes downloaded
+     */
+    public long getBytes() { return bytes; }
+
+
+    /**
+     * Gets the size in bytes of the largest chunk downloaded. The largest chunk is assumed to be a full chunk.
+     *
+     * @return the size in bytes of the largest chunk
+     */
+    public long getMaxChunkBytes() { return maxChunkBytes; }
+
+
+    /**
+     * Records a downloaded chunk.
+     *
+     * @param chunkBytes the size of the chunk in bytes
+     */
+    public synchronized void addChunk( long chunkBytes ) {
+        chunks++;
+        bytes += chunkBytes;
+        maxChunkBytes = Math.max( maxChunkBytes, chunkBytes );
+    }
+
+
+    /**
+     * Gets the number of records downloaded. ExportHelper counts the records of every chunk it downloads.
+     *
+     * @return the number of records downloaded
+     */
+    public long getRecords() { return records; }
+
+
+    /**
+     * Adds to the number of records downloaded.
+     *
+     * @param records the number of records downloaded
+     */
+    public synchronized void addRecords( long records ) {
+        this.records += records;
+    }
+
+
+    /**
+     * Gets the time in milliseconds from the export request to the last chunk download.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() { return elapsedMillis; }
+
+
+    /**
+     * Sets the time in milliseconds from the export request to the last chunk download.
+     *
+     * @param elapsedMillis the elapsed time in milliseconds
+     * @return the export metrics
+     */
+    public ExportMetrics withElapsedMillis( long elapsedMillis ) {
+        this.elapsedMillis = elapsedMillis;
+        return this;
+    }
+
+
+    /**
+     * Gets the average chunk size in bytes.
+     *
+     * @return the average chunk size in bytes; 0 if no chunk was downloaded
+     */
+    public long getBytesPerChunk() {
+        return chunks > 0 ? bytes / chunks : 0;
+    }
+
+
+    /**
+     * Gets the number of records exported per second.
+     *
+     * @return the number of records per second
+     */
+    public double getRecordsPerSecond() {
+        return elapsedMillis > 0 ? records * 1000.0 / elapsedMillis : 0;
+    }
+
+
+    /**
+     * Gets the number of bytes exported per second.
+     *
+     * @return the number of bytes per second
+     */
+    public double getBytesPerSecond() {
+        return elapsedMillis > 0 ? bytes * 1000.0 / elapsedMillis : 0;
+    }
+
+
+    @Override
+    public String toString() {
+        return String.format( "%s export %s: chunkSize=%d, chunks=%d, bytes=%d, bytesPerChunk=%d, records=%d, elapsedMillis=%d",
+                exportType, exportUuid, chunkSize, chunks, bytes, getBytesPerChunk(), records, elapsedMillis );
+    }
+}
@@ -0,0 +1,250 @@
+package com.tenable.io.api.exports.models;
+
+
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+
+import java.time.Clock;
+
+
+/**
+ * Progress of an export, from the request to the download of its last chunk. Combines the chunk counts reported by the
+ * server with the chunks, bytes and records downloaded so far, and estimates the time left from both.
+ * The instance passed to an ExportProgressListener is updated in place as the export progresses.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportProgress {
+    private final ExportType exportType;
+    private final String exportUuid;
+    private final long startTime;
+    private final Clock clock;
+    private Status status;
+    private int totalChunks;
+    private int finishedChunks;
+    private int chunksAvailable;
+    private int chunksToDownload;
+    private int chunksDownloaded;
+    private long bytesDownloaded;
+    private long recordsDownloaded;
+    private long serverFinishedTime;
+
+
+    /**
+     * Instantiates the progress of a new export.
+     *
+     * @param exportType the kind of export
+     * @param exportUuid the export uuid
+     * @param startTime the time the export was requested, in milliseconds since epoch
+     */
+    public ExportProgress( ExportType exportType, String exportUuid, long startTime ) {
+        this( exportType, exportUuid, startTime, Clock.systemUTC() );
+    }
+
+
+    /**
+     * Instantiates the progress of a new export, measuring time with the given clock.
+     *
+     * @param exportType the kind of export
+     * @param exportUuid the export uuid
+     * @param startTime the time the export was requested, in milliseconds since epoch
+     * @param clock the clock giving the current time
+     */
+    public ExportProgress( ExportType exportType, String exportUuid, long startTime, Clock clock ) {
+        this.exportType = exportType;
+        this.exportUuid = exportUuid;
+        this.startTime = startTime;
+        this.clock = clock;
+    }
+
+
+    /**
+     * Updates the server side progress from the given export status.
+     *
+     * @param exportStatus the export status returned by the server
+     */
+    public synchronized void update( ExportStatus exportStatus ) {
+        status = exportStatus.getStatus();
+        totalChunks = exportStatus.getTotalChunks();
+        finishedChunks = exportStatus.getFinishedChunks();
+        chunksAvailable = exportStatus.getChunksAvailable() != null ? exportStatus.getChunksAvailable().size() :
+                exportStatus.getChunksAvailableCount();
+        if( status == Status.FINISHED && serverFinishedTime == 0 ) {
+            serverFinishedTime = clock.millis();
+            chunksToDownload = chunksAvailable;
+        }
+    }
+
+
+    /**
+     * Records a downloaded chunk.
+     *
+     * @param bytes the size of the chunk in bytes
+     * @param records the number of records in the chunk, 0 if not counted
+     */
+    public synchronized void addDownloadedChunk( long bytes, long records ) {
+        chunksDownloaded++;
+        bytesDownloaded += bytes;
+        recordsDownloaded += records;
+    }
+
+
+    /**
+     * Gets the kind of export.
+     *
+     * @return the kind of export
+     */
+    public ExportType getExportType() { return exportType; }
+
+
+    /**
+     * Gets the export uuid.
+     *
+     * @return the export uuid
+     */
+    public String getExportUuid() { return exportUuid; }
+
+
+    /**
+     * Gets the last status reported by the server.
+     *
+     * @return the last status reported by the server
+     */
+    public synchronized Status getStatus() { return status; }
+
+
+    /**
+     * Gets the total number of chunks of the export; 0 while the server has not planned the export yet.
+     *
+     * @return the total number of chunks
+     */
+    public synchronized int getTotalChunks() { return totalChunks; }
+
+
+    /**
+     * Gets the number of chunks the server has finished processing.
+     *
+     * @return the number of finished chunks
+     */
+    public synchronized int getFinishedChunks() { return finishedChunks; }
+
+
+    /**
+     * Gets the number of chunks available for download.
+     *
+     * @return the number of chunks available for download
+     */
+    public synchronized int getChunksAvailable() { return chunksAvailable; }
+
+
+    /**
+     * Gets the number of chunks downloaded so far.
+     *
+     * @return the number of chunks downloaded
+     */
+    public synchronized int getChunksDownloaded() { return chunksDownloaded; }
+
+
+    /**
+     * Gets the number of bytes downloaded so far.
+     *
+     * @return the number of bytes downloaded
+     */
+    public synchronized long getBytesDownloaded() { return bytesDownloaded; }
+
+
+    /**
+     * Gets the number of records downloaded so far.
+     *
+     * @return the number of records downloaded
+     */
+    public synchronized long getRecordsDownloaded() { return recordsDownloaded; }
+
+
+    /**
+     * Gets the time elapsed since the export was requested.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return clock.millis() - startTime;
+    }
+
+
+    /**
+     * Gets the number of bytes downloaded per second since the export was requested.
+     *
+     * @return the number of bytes per second
+     */
+    public synchronized double getBytesPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? bytesDownloaded * 1000.0 / elapsed : 0;
+    }
+
+
+    /**
+     * Gets the number of records downloaded per second since the export was requested.
+     *
+     * @return the number of records per second
+     */
+    public synchronized double getRecordsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? recordsDownloaded * 1000.0 / elapsed : 0;
+    }
+
+
+    /**
+     * Estimates the time left until the server finishes processing the export, from the rate chunks were finished so far.
+     *
+     * @return the estimated time left in milliseconds, 0 once finished, or -1 while there is not enough data to estimate
+     */
+    public synchronized long getEstimatedServerRemainingMillis() {
+        if( serverFinishedTime > 0 ) {
+            return 0;
+        }
+        if( totalChunks <= 0 || finishedChunks <= 0 ) {
+            return -1;
+        }
+        return getElapsedMillis() * ( totalChunks - finishedChunks ) / finishedChunks;
+    }
+
+
+    /**
+     * Estimates the time left until the last chunk is downloaded. While the server is processing, this is the server
+     * estimate plus the time to download the remaining chunks at the download rate observed so far, if any.
+     *
+     * @return the estimated time left in milliseconds, or -1 while there is not enough data to estimate
+     */
+    public synchronized long getEstimatedRemainingMillis() {
+        long serverRemaining = getEstimatedServerRemainingMillis();
+        if( serverRemaining < 0 ) {
+            return -1;
+        }
+        if( serverFinishedTime == 0 ) {
+            return serverRemaining;
+        }
+        if( chunksDownloaded == 0 ) {
+            return chunksToDownload == 0 ? 0 : -1;
+        }
+        long downloadElapsed = clock.millis() - serverFinishedTime;
+        return downloadElapsed * ( chunksToDownload - chunksDownloaded ) / chunksDownloaded;
+    }
+
+
+    /**
+     * Estimates when the last chunk will be downloaded.
+     *
+     * @return the estimated completion time in milliseconds since epoch, or -1 while there is not enough data to estimate
+     */
+    public long getEstimatedCompletionTime() {
+        long remaining = getEstimatedRemainingMillis();
+        return remaining < 0 ? -1 : clock.millis() + remaining;
+    }
+
+
+    @Override
+    public synchronized String toString() {
+        return String.format( "%s export %s: status=%s, finished=%d/%d, downloaded=%d/%d chunks, bytes=%d, records=%d, eta=%d ms",
+                exportType, exportUuid, status, finishedChunks, totalChunks, chunksDownloaded, chunksAvailable, bytesDownloaded,
+                recordsDownloaded, getEstimatedRemainingMillis() );
+    }
+}
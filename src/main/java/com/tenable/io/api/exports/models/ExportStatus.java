@@ -10,10 +10,33 @@ import java.util.List;
  * Copyright (c) 2018 Tenable Network Security, Inc.
  */
 public class ExportStatus {
+    private String uuid;
     private Status status;
     private List<Integer> chunksAvailable;
     private List<Integer> chunksFailed;
     private List<Integer> chunksCancelled;
+    private int totalChunks;
+    private int chunksAvailableCount;
+    private int emptyChunksCount;
+    private int finishedChunks;
+    private int numAssetsPerChunk;
+    private long created;
+
+
+    /**
+     * Sets the uuid of the export request.
+     *
+     * @param uuid the export request uuid
+     */
+    public void setUuid( String uuid ) { this.uuid = uuid; }
+
+
+    /**
+     * Gets the uuid of the export request
+     *
+     * @return the export request uuid
+     */
+    public String getUuid() { return this.uuid; }
 
 
     /**
@@ -82,4 +105,110 @@ public class ExportStatus {
      */
     @JsonProperty( "chunks_cancelled" )
     public List<Integer> getChunksCancelled() { return this.chunksCancelled; }
+
+
+    /**
+     * Sets the total number of chunks of the export. Only known once the server has planned the export; 0 until then.
+     *
+     * @param totalChunks the total number of chunks
+     */
+    @JsonProperty( "total_chunks" )
+    public void setTotalChunks( int totalChunks ) { this.totalChunks = totalChunks; }
+
+
+    /**
+     * Gets the total number of chunks of the export; 0 while the server has not planned the export yet
+     *
+     * @return the total number of chunks
+     */
+    @JsonProperty( "total_chunks" )
+    public int getTotalChunks() { return this.totalChunks; }
+
+
+    /**
+     * Sets the number of chunks available for download
+     *
+     * @param chunksAvailableCount the number of chunks available for download
+     */
+    @JsonProperty( "chunks_available_count" )
+    public void setChunksAvailableCount( int chunksAvailableCount ) { this.chunksAvailableCount = chunksAvailableCount; }
+
+
+    /**
+     * Gets the number of chunks available for download
+     *
+     * @return the number of chunks available for download
+     */
+    @JsonProperty( "chunks_available_count" )
+    public int getChunksAvailableCount() { return this.chunksAvailableCount; }
+
+
+    /**
+     * Sets the number of chunks that were processed but contain no data
+     *
+     * @param emptyChunksCount the number of empty chunks
+     */
+    @JsonProperty( "empty_chunks_count" )
+    public void setEmptyChunksCount( int emptyChunksCount ) { this.emptyChunksCount = emptyChunksCount; }
+
+
+    /**
+     * Gets the number of chunks that were processed but contain no data
+     *
+     * @return the number of empty chunks
+     */
+    @JsonProperty( "empty_chunks_count" )
+    public int getEmptyChunksCount() { return this.emptyChunksCount; }
+
+
+    /**
+     * Sets the number of chunks the server has finished processing, including empty chunks
+     *
+     * @param finishedChunks the number of finished chunks
+     */
+    @JsonProperty( "finished_chunks" )
+    public void setFinishedChunks( int finishedChunks ) { this.finishedChunks = finishedChunks; }
+
+
+    /**
+     * Gets the number of chunks the server has finished processing, including empty chunks
+     *
+     * @return the number of finished chunks
+     */
+    @JsonProperty( "finished_chunks" )
+    public int getFinishedChunks() { return this.finishedChunks; }
+
+
+    /**
+     * Sets the number of assets per chunk the export was requested with
+     *
+     * @param numAssetsPerChunk the number of assets per chunk
+     */
+    @JsonProperty( "num_assets_per_chunk" )
+    public void setNumAssetsPerChunk( int numAssetsPerChunk ) { this.numAssetsPerChunk = numAssetsPerChunk; }
+
+
+    /**
+     * Gets the number of assets per chunk the export was requested with
+     *
+     * @return the number of assets per chunk
+     */
+    @JsonProperty( "num_assets_per_chunk" )
+    public int getNumAssetsPerChunk() { return this.numAssetsPerChunk; }
+
+
+    /**
+     * Sets the creation time of the export, in milliseconds since epoch
+     *
+     * @param created the creation time of the export
+     */
+    public void setCreated( long created ) { this.created = created; }
+
+
+    /**
+     * Gets the creation time of the export, in milliseconds since epoch
+     *
+     * @return the creation time of the export
+     */
+    public long getCreated() { return this.created; }
 }
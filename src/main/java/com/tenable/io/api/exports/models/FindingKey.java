@@ -0,0 +1,151 @@
+package com.tenable.io.api.exports.models;
+
+
+import java.util.Objects;
+import java.util.UUID;
+
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.HashHelper;
+
+
+/**
+ * Identifies a single finding across exports: the asset it was found on, the plugin that reported it, and the port and
+ * protocol it was reported on. Keys also have a 128 bit hash, for compact sorting and comparison of findings; two
+ * distinct findings are practically certain to have distinct 128 bit hashes.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class FindingKey {
+    private static final long HIGH_SEED = 0x243F6A8885A308D3L;
+    private static final long LOW_SEED = 0x13198A2E03707344L;
+
+    private final UUID assetUuid;
+    private final long pluginId;
+    private final int port;
+    private final String protocol;
+
+
+    /**
+     * Instantiates a new finding key.
+     *
+     * @param assetUuid the asset UUID; can be null
+     * @param pluginId the plugin id
+     * @param port the port
+     * @param protocol the protocol; can be null
+     */
+    public FindingKey( UUID assetUuid, long pluginId, int port, String protocol ) {
+        this.assetUuid = assetUuid;
+        this.pluginId = pluginId;
+        this.port = port;
+        this.protocol = protocol;
+    }
+
+
+    /**
+     * Creates the finding key of the given vulnerability.
+     *
+     * @param vulnerability the vulnerability
+     * @return the finding key
+     */
+    public static FindingKey of( Vulnerability vulnerability ) {
+        return new FindingKey( vulnerability.getAssetUuid(), vulnerability.getPluginID(), vulnerability.getPort(), vulnerability.getProtocol() );
+    }
+
+
+    /**
+     * Gets the asset UUID.
+     *
+     * @return the asset UUID
+     */
+    public UUID getAssetUuid() {
+        return assetUuid;
+    }
+
+
+    /**
+     * Gets the plugin id.
+     *
+     * @return the plugin id
+     */
+    public long getPluginId() {
+        return pluginId;
+    }
+
+
+    /**
+     * Gets the port.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return port;
+    }
+
+
+    /**
+     * Gets the protocol.
+     *
+     * @return the protocol
+     */
+    public String getProtocol() {
+        return protocol;
+    }
+
+
+    /**
+     * Gets the high 64 bits of the 128 bit hash of this key.
+     *
+     * @return the high 64 bits of the hash
+     */
+    public long getHashHigh() {
+        return hash( HIGH_SEED );
+    }
+
+
+    /**
+     * Gets the low 64 bits of the 128 bit hash of this key.
+     *
+     * @return the low 64 bits of the hash
+     */
+    public long getHashLow() {
+        return hash( LOW_SEED );
+    }
+
+
+    @Override
+    public boolean equals( Object o ) {
+        if( this == o )
+            return true;
+        if( !( o instanceof FindingKey ) )
+            return false;
+
+        FindingKey other = (FindingKey) o;
+        return pluginId == other.pluginId && port == other.port && Objects.equals( assetUuid, other.assetUuid ) &&
+                Objects.equals( protocol, other.protocol );
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash( assetUuid, pluginId, port, protocol );
+    }
+
+
+    @Override
+    public String toString() {
+        return assetUuid + ":" + pluginId + ":" + port + "/" + protocol;
+    }
+
+
+    private long hash( long seed ) {
+        long hash = seed;
+        if( assetUuid != null ) {
+            hash = HashHelper.combine( HashHelper.combine( hash, assetUuid.getMostSignificantBits() ), assetUuid.getLeastSignificantBits() );
+        }
+        hash = HashHelper.combine( HashHelper.combine( hash, pluginId ), port );
+        if( protocol != null ) {
+            hash = HashHelper.combine( hash, HashHelper.hash64( protocol ) );
+        }
+        return HashHelper.hash64( hash );
+    }
+}
@@ -0,0 +1,224 @@
+package com.tenable.io.api.exports.models;
+
+
+import java.net.Inet4Address;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tenable.io.api.exports.LazyRecord;
+import com.tenable.io.api.exports.LazyRecordBinding;
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.core.utilities.models.MacAddress;
+
+
+/**
+ * An asset read by a LazyChunkReader, whose fields are decoded from the raw record bytes the first time their
+ * getter is called. Setting a field replaces its raw value. Not thread safe: a record shared between threads should
+ * be fully decoded first with {@link #decodeAll()}.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class LazyAsset extends Asset {
+    /**
+     * The binding of the Asset properties, shared by all lazy assets.
+     */
+    public static final LazyRecordBinding<LazyAsset> binding = new LazyRecordBinding<>( Asset.class, LazyAsset::new );
+
+    private final LazyRecord record;
+
+
+    /**
+     * Instantiates an empty lazy asset.
+     */
+    public LazyAsset() {
+        this( new LazyRecord( binding ) );
+    }
+
+
+    /**
+     * Instantiates a lazy asset reading its fields from the given record.
+     *
+     * @param record the raw record
+     */
+    public LazyAsset( LazyRecord record ) {
+        this.record = record;
+    }
+
+
+    /**
+     * Gets the raw record backing this asset.
+     *
+     * @return the raw record
+     */
+    @JsonIgnore
+    public LazyRecord getRecord() {
+        return record;
+    }
+
+
+    /**
+     * Decodes all fields not decoded yet, and releases the raw record bytes.
+     *
+     * @return this asset
+     */
+    public LazyAsset decodeAll() {
+        record.decodeAll( this );
+        return this;
+    }
+
+
+    @Override
+    public UUID getBiosUuid() { record.decode( this, "biosUuid" ); return super.getBiosUuid(); }
+
+    @Override
+    public void setBiosUuid( UUID biosUuid ) { record.markDecoded( "biosUuid" ); super.setBiosUuid( biosUuid ); }
+
+    @Override
+    public Asset withBiosUuid( UUID biosUuid ) { record.markDecoded( "biosUuid" ); return super.withBiosUuid( biosUuid ); }
+
+    @Override
+    public String getHostFqdn() { record.decode( this, "hostFqdn" ); return super.getHostFqdn(); }
+
+    @Override
+    public void setHostFqdn( String hostFqdn ) { record.markDecoded( "hostFqdn" ); super.setHostFqdn( hostFqdn ); }
+
+    @Override
+    public Asset withHostFqdn( String hostFqdn ) { record.markDecoded( "hostFqdn" ); return super.withHostFqdn( hostFqdn ); }
+
+    @Override
+    public String getHostName() { record.decode( this, "hostName" ); return super.getHostName(); }
+
+    @Override
+    public void setHostName( String hostName ) { record.markDecoded( "hostName" ); super.setHostName( hostName ); }
+
+    @Override
+    public Asset withHostName( String hostName ) { record.markDecoded( "hostName" ); return super.withHostName( hostName ); }
+
+    @Override
+    public Inet4Address getHostIpV4() { record.decode( this, "hostIpV4" ); return super.getHostIpV4(); }
+
+    @Override
+    public void setHostIpV4( Inet4Address hostIpV4 ) { record.markDecoded( "hostIpV4" ); super.setHostIpV4( hostIpV4 ); }
+
+    @Override
+    public Asset withHostIpV4( Inet4Address hostIpV4 ) { record.markDecoded( "hostIpV4" ); return super.withHostIpV4( hostIpV4 ); }
+
+    @Override
+    public long getHostIpV4Address() { record.decode( this, "hostIpV4" ); return super.getHostIpV4Address(); }
+
+    @Override
+    public void setHostIpV4Address( long hostIpV4 ) { record.markDecoded( "hostIpV4" ); super.setHostIpV4Address( hostIpV4 ); }
+
+    @Override
+    public UUID getId() { record.decode( this, "id" ); return super.getId(); }
+
+    @Override
+    public void setId( UUID id ) { record.markDecoded( "id" ); super.setId( id ); }
+
+    @Override
+    public Asset withId( UUID id ) { record.markDecoded( "id" ); return super.withId( id ); }
+
+    @Override
+    public Date getLastHostScanStart() { record.decode( this, "lastHostScanStart" ); return super.getLastHostScanStart(); }
+
+    @Override
+    public void setLastHostScanStart( Date lastHostScanStart ) { record.markDecoded( "lastHostScanStart" ); super.setLastHostScanStart( lastHostScanStart ); }
+
+    @Override
+    public Asset withLastHostScanStart( Date lastHostScanStart ) { record.markDecoded( "lastHostScanStart" ); return super.withLastHostScanStart( lastHostScanStart ); }
+
+    @Override
+    public long getLastHostScanStartMillis() { record.decode( this, "lastHostScanStart" ); return super.getLastHostScanStartMillis(); }
+
+    @Override
+    public void setLastHostScanStartMillis( long lastHostScanStart ) { record.markDecoded( "lastHostScanStart" ); super.setLastHostScanStartMillis( lastHostScanStart ); }
+
+    @Override
+    public Date getLastHostScanEnd() { record.decode( this, "lastHostScanEnd" ); return super.getLastHostScanEnd(); }
+
+    @Override
+    public void setLastHostScanEnd( Date lastHostScanEnd ) { record.markDecoded( "lastHostScanEnd" ); super.setLastHostScanEnd( lastHostScanEnd ); }
+
+    @Override
+    public Asset withLastHostScanEnd( Date lastHostScanEnd ) { record.markDecoded( "lastHostScanEnd" ); return super.withLastHostScanEnd( lastHostScanEnd ); }
+
+    @Override
+    public long getLastHostScanEndMillis() { record.decode( this, "lastHostScanEnd" ); return super.getLastHostScanEndMillis(); }
+
+    @Override
+    public void setLastHostScanEndMillis( long lastHostScanEnd ) { record.markDecoded( "lastHostScanEnd" ); super.setLastHostScanEndMillis( lastHostScanEnd ); }
+
+    @Override
+    public String getLastAuthenticatedScanProto() { record.decode( this, "lastAuthenticatedScanProto" ); return super.getLastAuthenticatedScanProto(); }
+
+    @Override
+    public void setLastAuthenticatedScanProto( String lastAuthenticatedScanProto ) { record.markDecoded( "lastAuthenticatedScanProto" ); super.setLastAuthenticatedScanProto( lastAuthenticatedScanProto ); }
+
+    @Override
+    public Asset withLastAuthenticatedScanProto( String lastAuthenticatedScanProto ) { record.markDecoded( "lastAuthenticatedScanProto" ); return super.withLastAuthenticatedScanProto( lastAuthenticatedScanProto ); }
+
+    @Override
+    public Date getLastAuthenticatedResult() { record.decode( this, "lastAuthenticatedResult" ); return super.getLastAuthenticatedResult(); }
+
+    @Override
+    public void setLastAuthenticatedResult( Date lastAuthenticatedResult ) { record.markDecoded( "lastAuthenticatedResult" ); super.setLastAuthenticatedResult( lastAuthenticatedResult ); }
+
+    @Override
+    public Asset withLastAuthenticatedResult( Date lastAuthenticatedResult ) { record.markDecoded( "lastAuthenticatedResult" ); return super.withLastAuthenticatedResult( lastAuthenticatedResult ); }
+
+    @Override
+    public long getLastAuthenticatedResultMillis() { record.decode( this, "lastAuthenticatedResult" ); return super.getLastAuthenticatedResultMillis(); }
+
+    @Override
+    public void setLastAuthenticatedResultMillis( long lastAuthenticatedResult ) { record.markDecoded( "lastAuthenticatedResult" ); super.setLastAuthenticatedResultMillis( lastAuthenticatedResult ); }
+
+    @Override
+    public List<MacAddress> getMacAddresses() { record.decode( this, "macAddresses" ); return super.getMacAddresses(); }
+
+    @Override
+    public void setMacAddresses( List<MacAddress> macAddresses ) { record.markDecoded( "macAddresses" ); super.setMacAddresses( macAddresses ); }
+
+    @Override
+    public Asset withMacAddresses( List<MacAddress> macAddresses ) { record.markDecoded( "macAddresses" ); return super.withMacAddresses( macAddresses ); }
+
+    @Override
+    public void addMacAddress( MacAddress macAddress ) { record.decode( this, "macAddresses" ); super.addMacAddress( macAddress ); }
+
+    @Override
+    public UUID getMcAfeeApoGuid() { record.decode( this, "mcAfeeApoGuid" ); return super.getMcAfeeApoGuid(); }
+
+    @Override
+    public void setMcAfeeApoGuid( UUID mcAfeeApoGuid ) { record.markDecoded( "mcAfeeApoGuid" ); super.setMcAfeeApoGuid( mcAfeeApoGuid ); }
+
+    @Override
+    public Asset withMcAfeeApoGuid( UUID mcAfeeApoGuid ) { record.markDecoded( "mcAfeeApoGuid" ); return super.withMcAfeeApoGuid( mcAfeeApoGuid ); }
+
+    @Override
+    public String getNetbiosName() { record.decode( this, "netbiosName" ); return super.getNetbiosName(); }
+
+    @Override
+    public void setNetbiosName( String netbiosName ) { record.markDecoded( "netbiosName" ); super.setNetbiosName( netbiosName ); }
+
+    @Override
+    public Asset withNetbiosName( String netbiosName ) { record.markDecoded( "netbiosName" ); return super.withNetbiosName( netbiosName ); }
+
+    @Override
+    public String getOperatingSystem() { record.decode( this, "operatingSystem" ); return super.getOperatingSystem(); }
+
+    @Override
+    public void setOperatingSystem( String operatingSystem ) { record.markDecoded( "operatingSystem" ); super.setOperatingSystem( operatingSystem ); }
+
+    @Override
+    public Asset withOperatingSystem( String operatingSystem ) { record.markDecoded( "operatingSystem" ); return super.withOperatingSystem( operatingSystem ); }
+
+    @Override
+    public String getSystemType() { record.decode( this, "systemType" ); return super.getSystemType(); }
+
+    @Override
+    public void setSystemType( String systemType ) { record.markDecoded( "systemType" ); super.setSystemType( systemType ); }
+
+    @Override
+    public Asset withSystemType( String systemType ) { record.markDecoded( "systemType" ); return super.withSystemType( systemType ); }
+}
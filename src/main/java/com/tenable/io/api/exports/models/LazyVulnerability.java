@@ -0,0 +1,567 @@
+package com.tenable.io.api.exports.models;
+
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tenable.io.api.exports.LazyRecord;
+import com.tenable.io.api.exports.LazyRecordBinding;
+import com.tenable.io.api.models.RiskFactor;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+
+
+/**
+ * A vulnerability read by a LazyChunkReader, whose fields are decoded from the raw record bytes the first time their
+ * getter is called. Setting a field replaces its raw value. Not thread safe: a record shared between threads should
+ * be fully decoded first with {@link #decodeAll()}.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class LazyVulnerability extends Vulnerability {
+    /**
+     * The binding of the Vulnerability properties, shared by all lazy vulnerabilities.
+     */
+    public static final LazyRecordBinding<LazyVulnerability> binding = new LazyRecordBinding<>( Vulnerability.class, LazyVulnerability::new );
+
+    private final LazyRecord record;
+
+
+    /**
+     * Instantiates an empty lazy vulnerability.
+     */
+    public LazyVulnerability() {
+        this( new LazyRecord( binding ) );
+    }
+
+
+    /**
+     * Instantiates a lazy vulnerability reading its fields from the given record.
+     *
+     * @param record the raw record
+     */
+    public LazyVulnerability( LazyRecord record ) {
+        this.record = record;
+    }
+
+
+    /**
+     * Gets the raw record backing this vulnerability.
+     *
+     * @return the raw record
+     */
+    @JsonIgnore
+    public LazyRecord getRecord() {
+        return record;
+    }
+
+
+    /**
+     * Decodes all fields not decoded yet, and releases the raw record bytes.
+     *
+     * @return this vulnerability
+     */
+    public LazyVulnerability decodeAll() {
+        record.decodeAll( this );
+        return this;
+    }
+
+
+    @Override
+    public UUID getAssetUuid() { record.decode( this, "assetUuid" ); return super.getAssetUuid(); }
+
+    @Override
+    public void setAssetUuid( UUID assetUuid ) { record.markDecoded( "assetUuid" ); super.setAssetUuid( assetUuid ); }
+
+    @Override
+    public Vulnerability withAssetUuid( UUID assetUuid ) { record.markDecoded( "assetUuid" ); return super.withAssetUuid( assetUuid ); }
+
+    @Override
+    public SeverityLevel getSeverity() { record.decode( this, "severity" ); return super.getSeverity(); }
+
+    @Override
+    public void setSeverity( SeverityLevel severity ) { record.markDecoded( "severity" ); super.setSeverity( severity ); }
+
+    @Override
+    public Vulnerability withSeverity( SeverityLevel severity ) { record.markDecoded( "severity" ); return super.withSeverity( severity ); }
+
+    @Override
+    public String getProtocol() { record.decode( this, "protocol" ); return super.getProtocol(); }
+
+    @Override
+    public void setProtocol( String protocol ) { record.markDecoded( "protocol" ); super.setProtocol( protocol ); }
+
+    @Override
+    public Vulnerability withProtocol( String protocol ) { record.markDecoded( "protocol" ); return super.withProtocol( protocol ); }
+
+    @Override
+    public String getPluginFamily() { record.decode( this, "pluginFamily" ); return super.getPluginFamily(); }
+
+    @Override
+    public void setPluginFamily( String pluginFamily ) { record.markDecoded( "pluginFamily" ); super.setPluginFamily( pluginFamily ); }
+
+    @Override
+    public Vulnerability withPluginFamily( String pluginFamily ) { record.markDecoded( "pluginFamily" ); return super.withPluginFamily( pluginFamily ); }
+
+    @Override
+    public int getPort() { record.decode( this, "port" ); return super.getPort(); }
+
+    @Override
+    public void setPort( int port ) { record.markDecoded( "port" ); super.setPort( port ); }
+
+    @Override
+    public Vulnerability withPort( int port ) { record.markDecoded( "port" ); return super.withPort( port ); }
+
+    @Override
+    public long getPluginID() { record.decode( this, "pluginID" ); return super.getPluginID(); }
+
+    @Override
+    public void setPluginID( long pluginID ) { record.markDecoded( "pluginID" ); super.setPluginID( pluginID ); }
+
+    @Override
+    public Vulnerability withPluginID( long pluginID ) { record.markDecoded( "pluginID" ); return super.withPluginID( pluginID ); }
+
+    @Override
+    public String getPluginName() { record.decode( this, "pluginName" ); return super.getPluginName(); }
+
+    @Override
+    public void setPluginName( String pluginName ) { record.markDecoded( "pluginName" ); super.setPluginName( pluginName ); }
+
+    @Override
+    public Vulnerability withPluginName( String pluginName ) { record.markDecoded( "pluginName" ); return super.withPluginName( pluginName ); }
+
+    @Override
+    public List<String> getBids() { record.decode( this, "bids" ); return super.getBids(); }
+
+    @Override
+    public void setBids( List<String> bids ) { record.markDecoded( "bids" ); super.setBids( bids ); }
+
+    @Override
+    public Vulnerability withBids( List<String> bids ) { record.markDecoded( "bids" ); return super.withBids( bids ); }
+
+    @Override
+    public void addBid( String bid ) { record.decode( this, "bids" ); super.addBid( bid ); }
+
+    @Override
+    public String getCanvasPackage() { record.decode( this, "canvasPackage" ); return super.getCanvasPackage(); }
+
+    @Override
+    public void setCanvasPackage( String canvasPackage ) { record.markDecoded( "canvasPackage" ); super.setCanvasPackage( canvasPackage ); }
+
+    @Override
+    public Vulnerability withCanvasPackage( String canvasPackage ) { record.markDecoded( "canvasPackage" ); return super.withCanvasPackage( canvasPackage ); }
+
+    @Override
+    public List<String> getCves() { record.decode( this, "cves" ); return super.getCves(); }
+
+    @Override
+    public void setCves( List<String> cves ) { record.markDecoded( "cves" ); super.setCves( cves ); }
+
+    @Override
+    public Vulnerability withCves( List<String> cves ) { record.markDecoded( "cves" ); return super.withCves( cves ); }
+
+    @Override
+    public void addCve( String cve ) { record.decode( this, "cves" ); super.addCve( cve ); }
+
+    @Override
+    public Float getCvssBaseScore() { record.decode( this, "cvssBaseScore" ); return super.getCvssBaseScore(); }
+
+    @Override
+    public void setCvssBaseScore( Float cvssBaseScore ) { record.markDecoded( "cvssBaseScore" ); super.setCvssBaseScore( cvssBaseScore ); }
+
+    @Override
+    public Vulnerability withCvssBaseScore( Float cvssBaseScore ) { record.markDecoded( "cvssBaseScore" ); return super.withCvssBaseScore( cvssBaseScore ); }
+
+    @Override
+    public Float getCvssTemporalScore() { record.decode( this, "cvssTemporalScore" ); return super.getCvssTemporalScore(); }
+
+    @Override
+    public void setCvssTemporalScore( Float cvssTemporalScore ) { record.markDecoded( "cvssTemporalScore" ); super.setCvssTemporalScore( cvssTemporalScore ); }
+
+    @Override
+    public Vulnerability withCvssTemporalScore( Float cvssTemporalScore ) { record.markDecoded( "cvssTemporalScore" ); return super.withCvssTemporalScore( cvssTemporalScore ); }
+
+    @Override
+    public String getCvssTemporalVector() { record.decode( this, "cvssTemporalVector" ); return super.getCvssTemporalVector(); }
+
+    @Override
+    public void setCvssTemporalVector( String cvssTemporalVector ) { record.markDecoded( "cvssTemporalVector" ); super.setCvssTemporalVector( cvssTemporalVector ); }
+
+    @Override
+    public Vulnerability withCvssTemporalVector( String cvssTemporalVector ) { record.markDecoded( "cvssTemporalVector" ); return super.withCvssTemporalVector( cvssTemporalVector ); }
+
+    @Override
+    public String getCvssVector() { record.decode( this, "cvssVector" ); return super.getCvssVector(); }
+
+    @Override
+    public void setCvssVector( String cvssVector ) { record.markDecoded( "cvssVector" ); super.setCvssVector( cvssVector ); }
+
+    @Override
+    public Vulnerability withCvssVector( String cvssVector ) { record.markDecoded( "cvssVector" ); return super.withCvssVector( cvssVector ); }
+
+    @Override
+    public Float getCvss3BaseScore() { record.decode( this, "cvss3BaseScore" ); return super.getCvss3BaseScore(); }
+
+    @Override
+    public void setCvss3BaseScore( Float cvss3BaseScore ) { record.markDecoded( "cvss3BaseScore" ); super.setCvss3BaseScore( cvss3BaseScore ); }
+
+    @Override
+    public Vulnerability withCvss3BaseScore( Float cvss3BaseScore ) { record.markDecoded( "cvss3BaseScore" ); return super.withCvss3BaseScore( cvss3BaseScore ); }
+
+    @Override
+    public Float getCvss3TemporalScore() { record.decode( this, "cvss3TemporalScore" ); return super.getCvss3TemporalScore(); }
+
+    @Override
+    public void setCvss3TemporalScore( Float cvss3TemporalScore ) { record.markDecoded( "cvss3TemporalScore" ); super.setCvss3TemporalScore( cvss3TemporalScore ); }
+
+    @Override
+    public Vulnerability withCvss3TemporalScore( Float cvss3TemporalScore ) { record.markDecoded( "cvss3TemporalScore" ); return super.withCvss3TemporalScore( cvss3TemporalScore ); }
+
+    @Override
+    public String getCvss3TemporalVector() { record.decode( this, "cvss3TemporalVector" ); return super.getCvss3TemporalVector(); }
+
+    @Override
+    public void setCvss3TemporalVector( String cvss3TemporalVector ) { record.markDecoded( "cvss3TemporalVector" ); super.setCvss3TemporalVector( cvss3TemporalVector ); }
+
+    @Override
+    public Vulnerability withCvss3TemporalVector( String cvss3TemporalVector ) { record.markDecoded( "cvss3TemporalVector" ); return super.withCvss3TemporalVector( cvss3TemporalVector ); }
+
+    @Override
+    public String getCvss3Vector() { record.decode( this, "cvss3Vector" ); return super.getCvss3Vector(); }
+
+    @Override
+    public void setCvss3Vector( String cvss3Vector ) { record.markDecoded( "cvss3Vector" ); super.setCvss3Vector( cvss3Vector ); }
+
+    @Override
+    public Vulnerability withCvss3Vector( String cvss3Vector ) { record.markDecoded( "cvss3Vector" ); return super.withCvss3Vector( cvss3Vector ); }
+
+    @Override
+    public String getD2ElliotName() { record.decode( this, "d2ElliotName" ); return super.getD2ElliotName(); }
+
+    @Override
+    public void setD2ElliotName( String d2ElliotName ) { record.markDecoded( "d2ElliotName" ); super.setD2ElliotName( d2ElliotName ); }
+
+    @Override
+    public Vulnerability withD2ElliotName( String d2ElliotName ) { record.markDecoded( "d2ElliotName" ); return super.withD2ElliotName( d2ElliotName ); }
+
+    @Override
+    public String getDescription() { record.decode( this, "description" ); return super.getDescription(); }
+
+    @Override
+    public void setDescription( String description ) { record.markDecoded( "description" ); super.setDescription( description ); }
+
+    @Override
+    public Vulnerability withDescription( String description ) { record.markDecoded( "description" ); return super.withDescription( description ); }
+
+    @Override
+    public Boolean getExploitAvailable() { record.decode( this, "exploitAvailable" ); return super.getExploitAvailable(); }
+
+    @Override
+    public void setExploitAvailable( Boolean exploitAvailable ) { record.markDecoded( "exploitAvailable" ); super.setExploitAvailable( exploitAvailable ); }
+
+    @Override
+    public Vulnerability withExploitAvailable( Boolean exploitAvailable ) { record.markDecoded( "exploitAvailable" ); return super.withExploitAvailable( exploitAvailable ); }
+
+    @Override
+    public Boolean getExploitedByNessus() { record.decode( this, "exploitedByNessus" ); return super.getExploitedByNessus(); }
+
+    @Override
+    public void setExploitedByNessus( Boolean exploitedByNessus ) { record.markDecoded( "exploitedByNessus" ); super.setExploitedByNessus( exploitedByNessus ); }
+
+    @Override
+    public Vulnerability withExploitedByNessus( Boolean exploitedByNessus ) { record.markDecoded( "exploitedByNessus" ); return super.withExploitedByNessus( exploitedByNessus ); }
+
+    @Override
+    public Boolean getExploitFrameworkCanvas() { record.decode( this, "exploitFrameworkCanvas" ); return super.getExploitFrameworkCanvas(); }
+
+    @Override
+    public void setExploitFrameworkCanvas( Boolean exploitFrameworkCanvas ) { record.markDecoded( "exploitFrameworkCanvas" ); super.setExploitFrameworkCanvas( exploitFrameworkCanvas ); }
+
+    @Override
+    public Vulnerability withExploitFrameworkCanvas( Boolean exploitFrameworkCanvas ) { record.markDecoded( "exploitFrameworkCanvas" ); return super.withExploitFrameworkCanvas( exploitFrameworkCanvas ); }
+
+    @Override
+    public Boolean getExploitFrameworkCore() { record.decode( this, "exploitFrameworkCore" ); return super.getExploitFrameworkCore(); }
+
+    @Override
+    public void setExploitFrameworkCore( Boolean exploitFrameworkCore ) { record.markDecoded( "exploitFrameworkCore" ); super.setExploitFrameworkCore( exploitFrameworkCore ); }
+
+    @Override
+    public Vulnerability withExploitFrameworkCore( Boolean exploitFrameworkCore ) { record.markDecoded( "exploitFrameworkCore" ); return super.withExploitFrameworkCore( exploitFrameworkCore ); }
+
+    @Override
+    public Boolean getExploitFrameworkExploithub() { record.decode( this, "exploitFrameworkExploithub" ); return super.getExploitFrameworkExploithub(); }
+
+    @Override
+    public void setExploitFrameworkExploithub( Boolean exploitFrameworkExploithub ) { record.markDecoded( "exploitFrameworkExploithub" ); super.setExploitFrameworkExploithub( exploitFrameworkExploithub ); }
+
+    @Override
+    public Vulnerability withExploitFrameworkExploithub( Boolean exploitFrameworkExploithub ) { record.markDecoded( "exploitFrameworkExploithub" ); return super.withExploitFrameworkExploithub( exploitFrameworkExploithub ); }
+
+    @Override
+    public Boolean getExploitFrameworkMetasploit() { record.decode( this, "exploitFrameworkMetasploit" ); return super.getExploitFrameworkMetasploit(); }
+
+    @Override
+    public void setExploitFrameworkMetasploit( Boolean exploitFrameworkMetasploit ) { record.markDecoded( "exploitFrameworkMetasploit" ); super.setExploitFrameworkMetasploit( exploitFrameworkMetasploit ); }
+
+    @Override
+    public Vulnerability withExploitFrameworkMetasploit( Boolean exploitFrameworkMetasploit ) { record.markDecoded( "exploitFrameworkMetasploit" ); return super.withExploitFrameworkMetasploit( exploitFrameworkMetasploit ); }
+
+    @Override
+    public Boolean getExploitFrameworkD2Elliot() { record.decode( this, "exploitFrameworkD2Elliot" ); return super.getExploitFrameworkD2Elliot(); }
+
+    @Override
+    public void setExploitFrameworkD2Elliot( Boolean exploitFrameworkD2Elliot ) { record.markDecoded( "exploitFrameworkD2Elliot" ); super.setExploitFrameworkD2Elliot( exploitFrameworkD2Elliot ); }
+
+    @Override
+    public Vulnerability withExploitFrameworkD2Elliot( Boolean exploitFrameworkD2Elliot ) { record.markDecoded( "exploitFrameworkD2Elliot" ); return super.withExploitFrameworkD2Elliot( exploitFrameworkD2Elliot ); }
+
+    @Override
+    public Boolean getExploitedByMalware() { record.decode( this, "exploitedByMalware" ); return super.getExploitedByMalware(); }
+
+    @Override
+    public void setExploitedByMalware( Boolean exploitedByMalware ) { record.markDecoded( "exploitedByMalware" ); super.setExploitedByMalware( exploitedByMalware ); }
+
+    @Override
+    public Vulnerability withExploitedByMalware( Boolean exploitedByMalware ) { record.markDecoded( "exploitedByMalware" ); return super.withExploitedByMalware( exploitedByMalware ); }
+
+    @Override
+    public Date getFirstFound() { record.decode( this, "firstFound" ); return super.getFirstFound(); }
+
+    @Override
+    public void setFirstFound( Date firstFound ) { record.markDecoded( "firstFound" ); super.setFirstFound( firstFound ); }
+
+    @Override
+    public Vulnerability withFirstFound( Date firstFound ) { record.markDecoded( "firstFound" ); return super.withFirstFound( firstFound ); }
+
+    @Override
+    public long getFirstFoundMillis() { record.decode( this, "firstFound" ); return super.getFirstFoundMillis(); }
+
+    @Override
+    public void setFirstFoundMillis( long firstFound ) { record.markDecoded( "firstFound" ); super.setFirstFoundMillis( firstFound ); }
+
+    @Override
+    public Boolean getHasPatch() { record.decode( this, "hasPatch" ); return super.getHasPatch(); }
+
+    @Override
+    public void setHasPatch( Boolean hasPatch ) { record.markDecoded( "hasPatch" ); super.setHasPatch( hasPatch ); }
+
+    @Override
+    public Vulnerability withHasPatch( Boolean hasPatch ) { record.markDecoded( "hasPatch" ); return super.withHasPatch( hasPatch ); }
+
+    @Override
+    public Boolean getInTheNews() { record.decode( this, "inTheNews" ); return super.getInTheNews(); }
+
+    @Override
+    public void setInTheNews( Boolean inTheNews ) { record.markDecoded( "inTheNews" ); super.setInTheNews( inTheNews ); }
+
+    @Override
+    public Vulnerability withInTheNews( Boolean inTheNews ) { record.markDecoded( "inTheNews" ); return super.withInTheNews( inTheNews ); }
+
+    @Override
+    public Date getLastFound() { record.decode( this, "lastFound" ); return super.getLastFound(); }
+
+    @Override
+    public void setLastFound( Date lastFound ) { record.markDecoded( "lastFound" ); super.setLastFound( lastFound ); }
+
+    @Override
+    public Vulnerability withLastFound( Date lastFound ) { record.markDecoded( "lastFound" ); return super.withLastFound( lastFound ); }
+
+    @Override
+    public long getLastFoundMillis() { record.decode( this, "lastFound" ); return super.getLastFoundMillis(); }
+
+    @Override
+    public void setLastFoundMillis( long lastFound ) { record.markDecoded( "lastFound" ); super.setLastFoundMillis( lastFound ); }
+
+    @Override
+    public Date getLastFixed() { record.decode( this, "lastFixed" ); return super.getLastFixed(); }
+
+    @Override
+    public void setLastFixed( Date lastFixed ) { record.markDecoded( "lastFixed" ); super.setLastFixed( lastFixed ); }
+
+    @Override
+    public Vulnerability withLastFixed( Date lastFixed ) { record.markDecoded( "lastFixed" ); return super.withLastFixed( lastFixed ); }
+
+    @Override
+    public long getLastFixedMillis() { record.decode( this, "lastFixed" ); return super.getLastFixedMillis(); }
+
+    @Override
+    public void setLastFixedMillis( long lastFixed ) { record.markDecoded( "lastFixed" ); super.setLastFixedMillis( lastFixed ); }
+
+    @Override
+    public Boolean getMalware() { record.decode( this, "malware" ); return super.getMalware(); }
+
+    @Override
+    public void setMalware( Boolean malware ) { record.markDecoded( "malware" ); super.setMalware( malware ); }
+
+    @Override
+    public Vulnerability withMalware( Boolean malware ) { record.markDecoded( "malware" ); return super.withMalware( malware ); }
+
+    @Override
+    public String getMetasploitName() { record.decode( this, "metasploitName" ); return super.getMetasploitName(); }
+
+    @Override
+    public void setMetasploitName( String metasploitName ) { record.markDecoded( "metasploitName" ); super.setMetasploitName( metasploitName ); }
+
+    @Override
+    public Vulnerability withMetasploitName( String metasploitName ) { record.markDecoded( "metasploitName" ); return super.withMetasploitName( metasploitName ); }
+
+    @Override
+    public Date getPatchPublicationDate() { record.decode( this, "patchPublicationDate" ); return super.getPatchPublicationDate(); }
+
+    @Override
+    public void setPatchPublicationDate( Date patchPublicationDate ) { record.markDecoded( "patchPublicationDate" ); super.setPatchPublicationDate( patchPublicationDate ); }
+
+    @Override
+    public Vulnerability withPatchPublicationDate( Date patchPublicationDate ) { record.markDecoded( "patchPublicationDate" ); return super.withPatchPublicationDate( patchPublicationDate ); }
+
+    @Override
+    public long getPatchPublicationDateMillis() { record.decode( this, "patchPublicationDate" ); return super.getPatchPublicationDateMillis(); }
+
+    @Override
+    public void setPatchPublicationDateMillis( long patchPublicationDate ) { record.markDecoded( "patchPublicationDate" ); super.setPatchPublicationDateMillis( patchPublicationDate ); }
+
+    @Override
+    public Date getPluginModificationDate() { record.decode( this, "pluginModificationDate" ); return super.getPluginModificationDate(); }
+
+    @Override
+    public void setPluginModificationDate( Date pluginModificationDate ) { record.markDecoded( "pluginModificationDate" ); super.setPluginModificationDate( pluginModificationDate ); }
+
+    @Override
+    public Vulnerability withPluginModificationDate( Date pluginModificationDate ) { record.markDecoded( "pluginModificationDate" ); return super.withPluginModificationDate( pluginModificationDate ); }
+
+    @Override
+    public long getPluginModificationDateMillis() { record.decode( this, "pluginModificationDate" ); return super.getPluginModificationDateMillis(); }
+
+    @Override
+    public void setPluginModificationDateMillis( long pluginModificationDate ) { record.markDecoded( "pluginModificationDate" ); super.setPluginModificationDateMillis( pluginModificationDate ); }
+
+    @Override
+    public Date getPluginPublicationDate() { record.decode( this, "pluginPublicationDate" ); return super.getPluginPublicationDate(); }
+
+    @Override
+    public void setPluginPublicationDate( Date pluginPublicationDate ) { record.markDecoded( "pluginPublicationDate" ); super.setPluginPublicationDate( pluginPublicationDate ); }
+
+    @Override
+    public Vulnerability withPluginPublicationDate( Date pluginPublicationDate ) { record.markDecoded( "pluginPublicationDate" ); return super.withPluginPublicationDate( pluginPublicationDate ); }
+
+    @Override
+    public long getPluginPublicationDateMillis() { record.decode( this, "pluginPublicationDate" ); return super.getPluginPublicationDateMillis(); }
+
+    @Override
+    public void setPluginPublicationDateMillis( long pluginPublicationDate ) { record.markDecoded( "pluginPublicationDate" ); super.setPluginPublicationDateMillis( pluginPublicationDate ); }
+
+    @Override
+    public String getPluginOutput() { record.decode( this, "pluginOutput" ); return super.getPluginOutput(); }
+
+    @Override
+    public void setPluginOutput( String pluginOutput ) { record.markDecoded( "pluginOutput" ); super.setPluginOutput( pluginOutput ); }
+
+    @Override
+    public Vulnerability withPluginOutput( String pluginOutput ) { record.markDecoded( "pluginOutput" ); return super.withPluginOutput( pluginOutput ); }
+
+    @Override
+    public String getPluginType() { record.decode( this, "pluginType" ); return super.getPluginType(); }
+
+    @Override
+    public void setPluginType( String pluginType ) { record.markDecoded( "pluginType" ); super.setPluginType( pluginType ); }
+
+    @Override
+    public Vulnerability withPluginType( String pluginType ) { record.markDecoded( "pluginType" ); return super.withPluginType( pluginType ); }
+
+    @Override
+    public String getPluginVersion() { record.decode( this, "pluginVersion" ); return super.getPluginVersion(); }
+
+    @Override
+    public void setPluginVersion( String pluginVersion ) { record.markDecoded( "pluginVersion" ); super.setPluginVersion( pluginVersion ); }
+
+    @Override
+    public Vulnerability withPluginVersion( String pluginVersion ) { record.markDecoded( "pluginVersion" ); return super.withPluginVersion( pluginVersion ); }
+
+    @Override
+    public String getSolution() { record.decode( this, "solution" ); return super.getSolution(); }
+
+    @Override
+    public void setSolution( String solution ) { record.markDecoded( "solution" ); super.setSolution( solution ); }
+
+    @Override
+    public Vulnerability withSolution( String solution ) { record.markDecoded( "solution" ); return super.withSolution( solution ); }
+
+    @Override
+    public RiskFactor getRiskFactor() { record.decode( this, "riskFactor" ); return super.getRiskFactor(); }
+
+    @Override
+    public void setRiskFactor( RiskFactor riskFactor ) { record.markDecoded( "riskFactor" ); super.setRiskFactor( riskFactor ); }
+
+    @Override
+    public Vulnerability withRiskFactor( RiskFactor riskFactor ) { record.markDecoded( "riskFactor" ); return super.withRiskFactor( riskFactor ); }
+
+    @Override
+    public String getSynopsis() { record.decode( this, "synopsis" ); return super.getSynopsis(); }
+
+    @Override
+    public void setSynopsis( String synopsis ) { record.markDecoded( "synopsis" ); super.setSynopsis( synopsis ); }
+
+    @Override
+    public Vulnerability withSynopsis( String synopsis ) { record.markDecoded( "synopsis" ); return super.withSynopsis( synopsis ); }
+
+    @Override
+    public Boolean getUnsupportedByVendor() { record.decode( this, "unsupportedByVendor" ); return super.getUnsupportedByVendor(); }
+
+    @Override
+    public void setUnsupportedByVendor( Boolean unsupportedByVendor ) { record.markDecoded( "unsupportedByVendor" ); super.setUnsupportedByVendor( unsupportedByVendor ); }
+
+    @Override
+    public Vulnerability withUnsupportedByVendor( Boolean unsupportedByVendor ) { record.markDecoded( "unsupportedByVendor" ); return super.withUnsupportedByVendor( unsupportedByVendor ); }
+
+    @Override
+    public VulnerabilityState getVulnerabilityState() { record.decode( this, "vulnerabilityState" ); return super.getVulnerabilityState(); }
+
+    @Override
+    public void setVulnerabilityState( VulnerabilityState vulnerabilityState ) { record.markDecoded( "vulnerabilityState" ); super.setVulnerabilityState( vulnerabilityState ); }
+
+    @Override
+    public Vulnerability withVulnerabilityState( VulnerabilityState vulnerabilityState ) { record.markDecoded( "vulnerabilityState" ); return super.withVulnerabilityState( vulnerabilityState ); }
+
+    @Override
+    public Date getVulnPublicationDate() { record.decode( this, "vulnPublicationDate" ); return super.getVulnPublicationDate(); }
+
+    @Override
+    public void setVulnPublicationDate( Date vulnPublicationDate ) { record.markDecoded( "vulnPublicationDate" ); super.setVulnPublicationDate( vulnPublicationDate ); }
+
+    @Override
+    public Vulnerability withVulnPublicationDate( Date vulnPublicationDate ) { record.markDecoded( "vulnPublicationDate" ); return super.withVulnPublicationDate( vulnPublicationDate ); }
+
+    @Override
+    public long getVulnPublicationDateMillis() { record.decode( this, "vulnPublicationDate" ); return super.getVulnPublicationDateMillis(); }
+
+    @Override
+    public void setVulnPublicationDateMillis( long vulnPublicationDate ) { record.markDecoded( "vulnPublicationDate" ); super.setVulnPublicationDateMillis( vulnPublicationDate ); }
+
+    @Override
+    public List<String> getXrefs() { record.decode( this, "xrefs" ); return super.getXrefs(); }
+
+    @Override
+    public void setXrefs( List<String> xrefs ) { record.markDecoded( "xrefs" ); super.setXrefs( xrefs ); }
+
+    @Override
+    public Vulnerability withXrefs( List<String> xrefs ) { record.markDecoded( "xrefs" ); return super.withXrefs( xrefs ); }
+
+    @Override
+    public void addXref( String xref ) { record.decode( this, "xrefs" ); super.addXref( xref ); }
+
+    @Override
+    public List<String> getSeeAlsos() { record.decode( this, "seeAlsos" ); return super.getSeeAlsos(); }
+
+    @Override
+    public void setSeeAlsos( List<String> seeAlsos ) { record.markDecoded( "seeAlsos" ); super.setSeeAlsos( seeAlsos ); }
+
+    @Override
+    public Vulnerability withSeeAlsos( List<String> seeAlsos ) { record.markDecoded( "seeAlsos" ); return super.withSeeAlsos( seeAlsos ); }
+
+    @Override
+    public void addSeeAlso( String seeAlso ) { record.decode( this, "seeAlsos" ); super.addSeeAlso( seeAlso ); }
+}
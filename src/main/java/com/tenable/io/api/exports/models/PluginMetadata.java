@@ -0,0 +1,180 @@
+package com.tenable.io.api.exports.models;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.tenable.io.api.models.Vulnerability;
+
+
+/**
+ * The plugin level text of a vulnerability: the fields that are identical for every finding reported by the same
+ * plugin. Shared by the DedupedVulnerability records of a plugin, so an export holds them once per plugin instead of
+ * once per finding. Immutable.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class PluginMetadata {
+    private final long pluginId;
+    private final String pluginName;
+    private final String pluginFamily;
+    private final String description;
+    private final String solution;
+    private final String synopsis;
+    private final List<String> seeAlsos;
+    private final List<String> cves;
+    private final List<String> xrefs;
+    private final List<String> bids;
+
+
+    private PluginMetadata( Vulnerability vulnerability ) {
+        this.pluginId = vulnerability.getPluginID();
+        this.pluginName = vulnerability.getPluginName();
+        this.pluginFamily = vulnerability.getPluginFamily();
+        this.description = vulnerability.getDescription();
+        this.solution = vulnerability.getSolution();
+        this.synopsis = vulnerability.getSynopsis();
+        this.seeAlsos = copy( vulnerability.getSeeAlsos() );
+        this.cves = copy( vulnerability.getCves() );
+        this.xrefs = copy( vulnerability.getXrefs() );
+        this.bids = copy( vulnerability.getBids() );
+    }
+
+
+    /**
+     * Creates the plugin metadata from the plugin level fields of the given vulnerability.
+     *
+     * @param vulnerability the vulnerability
+     * @return the plugin metadata
+     */
+    public static PluginMetadata of( Vulnerability vulnerability ) {
+        return new PluginMetadata( vulnerability );
+    }
+
+
+    /**
+     * Returns true if the plugin level fields of the given vulnerability are equal to this metadata.
+     *
+     * @param vulnerability the vulnerability
+     * @return true if the vulnerability can share this metadata
+     */
+    public boolean matches( Vulnerability vulnerability ) {
+        return pluginId == vulnerability.getPluginID() &&
+                Objects.equals( pluginName, vulnerability.getPluginName() ) &&
+                Objects.equals( pluginFamily, vulnerability.getPluginFamily() ) &&
+                Objects.equals( description, vulnerability.getDescription() ) &&
+                Objects.equals( solution, vulnerability.getSolution() ) &&
+                Objects.equals( synopsis, vulnerability.getSynopsis() ) &&
+                Objects.equals( seeAlsos, vulnerability.getSeeAlsos() ) &&
+                Objects.equals( cves, vulnerability.getCves() ) &&
+                Objects.equals( xrefs, vulnerability.getXrefs() ) &&
+                Objects.equals( bids, vulnerability.getBids() );
+    }
+
+
+    /**
+     * Gets the plugin id.
+     *
+     * @return the plugin id
+     */
+    public long getPluginId() {
+        return pluginId;
+    }
+
+
+    /**
+     * Gets the title of the plugin.
+     *
+     * @return the title of the plugin
+     */
+    public String getPluginName() {
+        return pluginName;
+    }
+
+
+    /**
+     * Gets the plugin family.
+     *
+     * @return the plugin family
+     */
+    public String getPluginFamily() {
+        return pluginFamily;
+    }
+
+
+    /**
+     * Gets the description of the vulnerability.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+
+    /**
+     * Gets the remediation information.
+     *
+     * @return the solution
+     */
+    public String getSolution() {
+        return solution;
+    }
+
+
+    /**
+     * Gets the brief description of the plugin or vulnerability.
+     *
+     * @return the synopsis
+     */
+    public String getSynopsis() {
+        return synopsis;
+    }
+
+
+    /**
+     * Gets the links to external websites that contain helpful information about the vulnerability.
+     *
+     * @return the unmodifiable list of links; can be null
+     */
+    public List<String> getSeeAlsos() {
+        return seeAlsos;
+    }
+
+
+    /**
+     * Gets the CVEs related to the vulnerability.
+     *
+     * @return the unmodifiable list of CVEs; can be null
+     */
+    public List<String> getCves() {
+        return cves;
+    }
+
+
+    /**
+     * Gets the external references related to the vulnerability.
+     *
+     * @return the unmodifiable list of references; can be null
+     */
+    public List<String> getXrefs() {
+        return xrefs;
+    }
+
+
+    /**
+     * Gets the Securityfocus BIDs related to the vulnerability.
+     *
+     * @return the unmodifiable list of BIDs; can be null
+     */
+    public List<String> getBids() {
+        return bids;
+    }
+
+
+    private static List<String> copy( List<String> list ) {
+        return list != null ? Collections.unmodifiableList( new ArrayList<>( list ) ) : null;
+    }
+}
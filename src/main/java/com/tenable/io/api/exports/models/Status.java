@@ -25,7 +25,11 @@ public enum Status {
     /**
      * An error occurred while preparing export
      */
-    ERROR;
+    ERROR,
+    /**
+     * The export was cancelled
+     */
+    CANCELLED;
 
     /**
      * Converts string value to enum value
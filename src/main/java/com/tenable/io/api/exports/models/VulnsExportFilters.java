@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tenable.io.api.models.SeverityLevel;
 import com.tenable.io.api.models.VulnerabilityState;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +27,32 @@ public class VulnsExportFilters {
     private Map<String, String[]> tags;
 
 
+    /**
+     * Initializes empty vulns export filters
+     */
+    public VulnsExportFilters() {
+    }
+
+
+    /**
+     * Initializes the vulns export filters as a copy of the given filters.
+     * Lists and tag maps are copied so the new instance can be narrowed without affecting the original.
+     *
+     * @param other the filters to copy
+     */
+    public VulnsExportFilters( VulnsExportFilters other ) {
+        this.severity = other.severity != null ? new ArrayList<>( other.severity ) : null;
+        this.state = other.state != null ? new ArrayList<>( other.state ) : null;
+        this.pluginFamily = other.pluginFamily != null ? new ArrayList<>( other.pluginFamily ) : null;
+        this.since = other.since;
+        this.cidrRange = other.cidrRange;
+        this.firstFound = other.firstFound;
+        this.lastFound = other.lastFound;
+        this.lastFixed = other.lastFixed;
+        this.tags = other.tags != null ? new HashMap<>( other.tags ) : null;
+    }
+
+
     /**
      * Sets the list of severities to include in the export
      * Defaults to all severity levels
@@ -1,6 +1,7 @@
 package com.tenable.io.api.exports.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -10,6 +11,8 @@ import java.util.Map;
  * Copyright (c) 2018 Tenable Network Security, Inc.
  */
 public class VulnsExportRequest {
+    public static final int lowerRange = 50;
+    public static final int higherRange = 5000;
     private int numAssets;
     private VulnsExportFilters filters;
 
@@ -82,6 +85,14 @@ public class VulnsExportRequest {
      */
     public void setFilters( VulnsExportFilters filters ) { this.filters = filters; }
 
+    /**
+     * Gets the filters instance set on this request, as opposed to the serialized filters map
+     *
+     * @return the VulnsExportFilters, or null if no filters were set
+     */
+    @JsonIgnore
+    public VulnsExportFilters getExportFilters() { return this.filters; }
+
     /**
      * Gets the vulnerability export filters
      *
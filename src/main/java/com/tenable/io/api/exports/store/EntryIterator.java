@@ -0,0 +1,31 @@
+package com.tenable.io.api.exports.store;
+
+
+import java.io.IOException;
+
+
+/**
+ * Iterates over store records in key order, one at a time into its fields. The value is FindingStore.TOMBSTONE for
+ * deleted findings.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+abstract class EntryIterator implements AutoCloseable {
+    long high;
+    long low;
+    byte[] value;
+
+
+    /**
+     * Moves to the next record.
+     *
+     * @return false at the end
+     * @throws IOException if the records could not be read
+     */
+    abstract boolean next() throws IOException;
+
+
+    @Override
+    public void close() throws IOException {
+    }
+}
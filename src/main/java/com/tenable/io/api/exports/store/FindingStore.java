@@ -0,0 +1,697 @@
+package com.tenable.io.api.exports.store;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenable.io.api.exports.LazyChunkReader;
+import com.tenable.io.api.exports.models.FindingKey;
+import com.tenable.io.api.exports.models.LazyVulnerability;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Local persistent store of the current state of findings, keyed by FindingKey, so incremental exports can be
+ * applied to a previous state without reloading it. The store is log structured: upserts are appended to a log and
+ * applied to a sorted in-memory table; when the table exceeds its size it is written to an immutable sorted segment
+ * file, with a sparse index of its keys, and the log is truncated. Fixed findings are recorded as tombstones, which
+ * hide the older records of the finding. Once there are more segments than the maximum, a background thread merges
+ * them into one, dropping the shadowed records and the tombstones. The segment files in use are listed in a manifest,
+ * replaced atomically, so a crash during a flush or a compaction leaves the previous state; the log is replayed on
+ * open. Log writes are buffered: call sync to force them to disk. Thread safe.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+@Slf4j
+public class FindingStore implements AutoCloseable {
+    /**
+     * The default size of the in-memory table, 16 MB.
+     */
+    public static final long DEFAULT_MEMTABLE_SIZE = 16L * 1024 * 1024;
+
+    /**
+     * The default number of segments above which they are compacted.
+     */
+    public static final int DEFAULT_MAX_SEGMENTS = 8;
+
+    static final byte[] TOMBSTONE = new byte[0];
+
+    private static final String LOG_FILE = "findings.log";
+    private static final String MANIFEST_FILE = "MANIFEST";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File directory;
+    private final long memtableSize;
+    private final int maxSegments;
+    private final ObjectMapper objectMapper = new JsonHelper( true ).getObjectMapper();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor( runnable -> {
+        Thread thread = new Thread( runnable, "finding-store-compaction" );
+        thread.setDaemon( true );
+        return thread;
+    } );
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final AtomicLong nextSegmentId = new AtomicLong();
+
+    private TreeMap<StoreKey, byte[]> memtable = new TreeMap<>();
+    private long memtableBytes;
+    private List<Segment> segments = new ArrayList<>();
+    private FileOutputStream logFile;
+    private DataOutputStream logOutput;
+    private boolean closed;
+
+
+    /**
+     * Opens the store of the given directory, creating it if needed, with the default memtable size and maximum
+     * number of segments.
+     *
+     * @param directory the store directory
+     * @throws TenableIoException if the store could not be opened
+     */
+    public FindingStore( File directory ) throws TenableIoException {
+        this( directory, DEFAULT_MEMTABLE_SIZE, DEFAULT_MAX_SEGMENTS );
+    }
+
+
+    /**
+     * Opens the store of the given directory, creating it if needed.
+     *
+     * @param directory the store directory
+     * @param memtableSize the approximate number of bytes of findings held in memory before they are written to a
+     * segment
+     * @param maxSegments the number of segments above which they are compacted, at least 1
+     * @throws TenableIoException if the store could not be opened
+     */
+    public FindingStore( File directory, long memtableSize, int maxSegments ) throws TenableIoException {
+        if( memtableSize < 1 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "memtableSize %d is invalid.", memtableSize ) );
+        }
+        if( maxSegments < 1 ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "maxSegments %d is invalid.", maxSegments ) );
+        }
+        this.directory = directory;
+        this.memtableSize = memtableSize;
+        this.maxSegments = maxSegments;
+        if( !directory.isDirectory() && !directory.mkdirs() ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't create store directory: %s.", directory.getAbsolutePath() ) );
+        }
+
+        try {
+            openSegments();
+            replayLog();
+            lock.writeLock().lock();
+            try {
+                if( !memtable.isEmpty() ) {
+                    flushMemtable();
+                } else {
+                    openLog();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch( IOException e ) {
+            for( Segment segment : segments ) {
+                segment.close();
+            }
+            compactor.shutdown();
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't open store: %s.", directory.getAbsolutePath() ), e );
+        }
+    }
+
+
+    /**
+     * Inserts or replaces the given finding. A fixed finding is removed.
+     *
+     * @param vulnerability the finding
+     * @throws TenableIoException if the finding could not be written
+     */
+    public void upsert( Vulnerability vulnerability ) throws TenableIoException {
+        FindingKey key = FindingKey.of( vulnerability );
+        if( vulnerability.getVulnerabilityState() == VulnerabilityState.FIXED ) {
+            write( StoreKey.of( key ), TOMBSTONE );
+            return;
+        }
+        try {
+            write( StoreKey.of( key ), objectMapper.writeValueAsBytes( vulnerability ) );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, String.format( "Couldn't serialize finding %s.", key ), e );
+        }
+    }
+
+
+    /**
+     * Removes the finding of the given key.
+     *
+     * @param key the finding key
+     * @throws TenableIoException if the tombstone could not be written
+     */
+    public void delete( FindingKey key ) throws TenableIoException {
+        write( StoreKey.of( key ), TOMBSTONE );
+    }
+
+
+    /**
+     * Applies the findings of the given export chunk files, as with upsert; the raw JSON of the findings is stored
+     * without being decoded.
+     *
+     * @param chunkFiles the downloaded vulns export chunk files
+     * @return the number of findings applied
+     * @throws TenableIoException if the chunk files could not be read or the findings written
+     */
+    public long applyExport( List<File> chunkFiles ) throws TenableIoException {
+        long count = 0;
+        for( File chunkFile : chunkFiles ) {
+            try( LazyChunkReader<LazyVulnerability> reader = LazyChunkReader.vulns( chunkFile ) ) {
+                LazyVulnerability vulnerability;
+                while( ( vulnerability = reader.read() ) != null ) {
+                    byte[] raw = vulnerability.getRecord().getRaw();
+                    if( raw == null || vulnerability.getVulnerabilityState() == VulnerabilityState.FIXED ) {
+                        upsert( vulnerability );
+                    } else {
+                        write( StoreKey.of( FindingKey.of( vulnerability ) ), raw );
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Gets the finding of the given key.
+     *
+     * @param key the finding key
+     * @return the finding, or null if the store has none
+     * @throws TenableIoException if the finding could not be read
+     */
+    public Vulnerability get( FindingKey key ) throws TenableIoException {
+        StoreKey storeKey = StoreKey.of( key );
+        byte[] value;
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            value = memtable.get( storeKey );
+            for( int i = segments.size() - 1; value == null && i >= 0; i-- ) {
+                value = segments.get( i ).get( storeKey.high, storeKey.low );
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read finding %s.", key ), e );
+        } finally {
+            lock.readLock().unlock();
+        }
+        return value == null || value == TOMBSTONE ? null : decode( value );
+    }
+
+
+    /**
+     * Calls the consumer with each finding of the store, in key order. Writes made during the iteration are not
+     * visible to it.
+     *
+     * @param consumer the consumer of the findings
+     * @throws TenableIoException if the findings could not be read
+     */
+    public void forEach( Consumer<? super Vulnerability> consumer ) throws TenableIoException {
+        scan( value -> consumer.accept( decode( value ) ) );
+    }
+
+
+    /**
+     * Counts the findings of the store. This reads all segments.
+     *
+     * @return the number of findings
+     * @throws TenableIoException if the findings could not be read
+     */
+    public long count() throws TenableIoException {
+        long[] count = new long[1];
+        scan( value -> count[0]++ );
+        return count[0];
+    }
+
+
+    /**
+     * Forces the log to disk.
+     *
+     * @throws TenableIoException if the log could not be written
+     */
+    public void sync() throws TenableIoException {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            logOutput.flush();
+            logFile.getFD().sync();
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't sync store log.", e );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Writes the in-memory table to a new segment and truncates the log.
+     *
+     * @throws TenableIoException if the segment could not be written
+     */
+    public void flush() throws TenableIoException {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            if( !memtable.isEmpty() ) {
+                flushMemtable();
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't flush store.", e );
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleCompaction();
+    }
+
+
+    /**
+     * Flushes the in-memory table and merges all segments into one, waiting for the compaction to complete.
+     *
+     * @throws TenableIoException if the segments could not be compacted
+     */
+    public void compact() throws TenableIoException {
+        flush();
+        Future<?> compaction = compactor.submit( () -> {
+            compactSegments();
+            return null;
+        } );
+        try {
+            compaction.get();
+        } catch( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new TenableIoException( TenableIoErrorCode.Generic, "Interrupted while compacting store.", e );
+        } catch( ExecutionException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't compact store.", e.getCause() );
+        }
+    }
+
+
+    /**
+     * Gets the number of segment files.
+     *
+     * @return the number of segments
+     */
+    public int getSegmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Waits for a running compaction, then forces the log to disk and closes the store. The in-memory table is
+     * restored from the log when the store is reopened. Segments still read by a running scan are closed when the scan
+     * completes.
+     *
+     * @throws TenableIoException if the log could not be written
+     */
+    @Override
+    public void close() throws TenableIoException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination( Long.MAX_VALUE, TimeUnit.MILLISECONDS );
+        } catch( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            if( closed ) {
+                return;
+            }
+            closed = true;
+            for( Segment segment : segments ) {
+                segment.close();
+            }
+            logOutput.flush();
+            logFile.getFD().sync();
+            logOutput.close();
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't close store log.", e );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    private void write( StoreKey key, byte[] value ) throws TenableIoException {
+        boolean flushed = false;
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            Segment.writeRecord( logOutput, key.high, key.low, value );
+            byte[] previous = memtable.put( key, value );
+            memtableBytes += value.length + ( previous == null ? ENTRY_OVERHEAD : -previous.length );
+            if( memtableBytes >= memtableSize ) {
+                flushMemtable();
+                flushed = true;
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, "Couldn't write store log.", e );
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if( flushed ) {
+            scheduleCompaction();
+        }
+    }
+
+
+    /**
+     * Scans the records of the store, calling the visitor with the value of each finding. Only the in-memory table is
+     * copied under the lock; the segments are retained so a compaction cannot delete them during the scan.
+     */
+    private void scan( ValueVisitor visitor ) throws TenableIoException {
+        List<Segment> snapshot;
+        List<Map.Entry<StoreKey, byte[]>> entries;
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            entries = new ArrayList<>( memtable.entrySet() );
+            snapshot = new ArrayList<>( segments );
+            for( Segment segment : snapshot ) {
+                segment.retain();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try( EntryIterator iterator = merge( new MemtableIterator( entries ), snapshot ) ) {
+            while( iterator.next() ) {
+                if( iterator.value != TOMBSTONE ) {
+                    visitor.visit( iterator.value );
+                }
+            }
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.FileError, String.format( "Couldn't read store: %s.", directory.getAbsolutePath() ), e );
+        } finally {
+            for( Segment segment : snapshot ) {
+                segment.release();
+            }
+        }
+    }
+
+
+    /**
+     * Merges the given segments, oldest first, below the given newer records.
+     */
+    private static EntryIterator merge( EntryIterator newest, List<Segment> segments ) throws IOException {
+        List<EntryIterator> sources = new ArrayList<>( segments.size() + 1 );
+        if( newest != null ) {
+            sources.add( newest );
+        }
+        try {
+            for( int i = segments.size() - 1; i >= 0; i-- ) {
+                sources.add( segments.get( i ).iterator() );
+            }
+            return new MergingIterator( sources );
+        } catch( IOException | RuntimeException e ) {
+            for( EntryIterator source : sources ) {
+                source.close();
+            }
+            throw e;
+        }
+    }
+
+
+    /**
+     * Writes the in-memory table to a new segment, records it in the manifest and truncates the log. The segment and
+     * the manifest are forced to disk first, so the log is only dropped once its records are durable. Tombstones are
+     * only kept when older segments may hold records of their finding. Called under the write lock.
+     */
+    private void flushMemtable() throws IOException {
+        Segment segment = Segment.write( newSegmentFile(), new MemtableIterator( new ArrayList<>( memtable.entrySet() ) ), segments.isEmpty() );
+        List<Segment> updated = new ArrayList<>( segments );
+        updated.add( segment );
+        try {
+            writeManifest( updated );
+        } catch( IOException e ) {
+            segment.release();
+            throw e;
+        }
+        segments = updated;
+        memtable = new TreeMap<>();
+        memtableBytes = 0;
+        if( logOutput != null ) {
+            logOutput.close();
+        }
+        openLog();
+    }
+
+
+    private void scheduleCompaction() {
+        if( getSegmentCount() > maxSegments && compactionScheduled.compareAndSet( false, true ) ) {
+            try {
+                compactor.execute( () -> {
+                    compactionScheduled.set( false );
+                    try {
+                        compactSegments();
+                    } catch( IOException | RuntimeException e ) {
+                        log.warn( String.format( "Couldn't compact store %s.", directory.getAbsolutePath() ), e );
+                    }
+                } );
+            } catch( RuntimeException e ) {
+                // the store is closing
+                compactionScheduled.set( false );
+            }
+        }
+    }
+
+
+    /**
+     * Merges the current segments into one, without holding the lock during the merge. Runs on the compaction thread
+     * only, so the merged segments are still the oldest ones when swapped, and the tombstones can be dropped.
+     */
+    private void compactSegments() throws IOException {
+        List<Segment> snapshot;
+        lock.readLock().lock();
+        try {
+            if( closed || segments.size() < 2 ) {
+                return;
+            }
+            snapshot = new ArrayList<>( segments );
+            for( Segment segment : snapshot ) {
+                segment.retain();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Segment merged;
+        try( EntryIterator iterator = merge( null, snapshot ) ) {
+            merged = Segment.write( newSegmentFile(), iterator, true );
+        } finally {
+            for( Segment segment : snapshot ) {
+                segment.release();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if( closed ) {
+                merged.release();
+                return;
+            }
+            List<Segment> updated = new ArrayList<>( segments.size() - snapshot.size() + 1 );
+            updated.add( merged );
+            updated.addAll( segments.subList( snapshot.size(), segments.size() ) );
+            try {
+                writeManifest( updated );
+            } catch( IOException e ) {
+                merged.release();
+                throw e;
+            }
+            segments = updated;
+            for( Segment segment : snapshot ) {
+                segment.release();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Opens the segments listed in the manifest, and deletes the segment files left by an interrupted flush or
+     * compaction.
+     */
+    private void openSegments() throws IOException {
+        File manifest = new File( directory, MANIFEST_FILE );
+        Set<String> names = new HashSet<>();
+        if( manifest.exists() ) {
+            for( String name : Files.readAllLines( manifest.toPath(), StandardCharsets.UTF_8 ) ) {
+                if( !name.isEmpty() ) {
+                    segments.add( Segment.open( new File( directory, name ) ) );
+                    names.add( name );
+                }
+            }
+        }
+        File[] files = directory.listFiles();
+        for( File file : files != null ? files : new File[0] ) {
+            String name = file.getName();
+            if( name.startsWith( SEGMENT_PREFIX ) && name.endsWith( SEGMENT_SUFFIX ) ) {
+                long id = Long.parseLong( name.substring( SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length() ) );
+                nextSegmentId.set( Math.max( nextSegmentId.get(), id + 1 ) );
+                if( !names.contains( name ) && !file.delete() ) {
+                    file.deleteOnExit();
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Replays the log into the in-memory table. A record truncated by a crash ends the replay.
+     */
+    private void replayLog() throws IOException {
+        File file = new File( directory, LOG_FILE );
+        if( !file.exists() ) {
+            return;
+        }
+        try( DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ), BUFFER_SIZE ) ) ) {
+            EntryIterator record = new MemtableIterator( Collections.emptyList() );
+            while( Segment.readRecord( in, record ) ) {
+                memtable.put( new StoreKey( record.high, record.low ), record.value );
+            }
+        } catch( EOFException e ) {
+            log.warn( String.format( "Ignoring truncated record at the end of store log %s.", file.getAbsolutePath() ) );
+        }
+    }
+
+
+    private void openLog() throws IOException {
+        logFile = new FileOutputStream( new File( directory, LOG_FILE ) );
+        logOutput = new DataOutputStream( new BufferedOutputStream( logFile, BUFFER_SIZE ) );
+    }
+
+
+    private void writeManifest( List<Segment> updated ) throws IOException {
+        List<String> names = new ArrayList<>( updated.size() );
+        for( Segment segment : updated ) {
+            names.add( segment.getFile().getName() );
+        }
+        File temporary = new File( directory, MANIFEST_FILE + ".tmp" );
+        try( FileChannel out = FileChannel.open( temporary.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE ) ) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode( String.join( "\n", names ) + "\n" );
+            while( buffer.hasRemaining() ) {
+                out.write( buffer );
+            }
+            // the manifest must be on disk before it replaces the previous one
+            out.force( true );
+        }
+        Files.move( temporary.toPath(), new File( directory, MANIFEST_FILE ).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        syncDirectory();
+    }
+
+
+    /**
+     * Forces the renames in the store directory to disk, where the platform allows opening a directory.
+     */
+    private void syncDirectory() {
+        try( FileChannel channel = FileChannel.open( directory.toPath(), StandardOpenOption.READ ) ) {
+            channel.force( true );
+        } catch( IOException e ) {
+            log.debug( String.format( "Couldn't sync store directory %s.", directory.getAbsolutePath() ), e );
+        }
+    }
+
+
+    private File newSegmentFile() {
+        return new File( directory, String.format( "%s%08d%s", SEGMENT_PREFIX, nextSegmentId.getAndIncrement(), SEGMENT_SUFFIX ) );
+    }
+
+
+    private Vulnerability decode( byte[] value ) throws TenableIoException {
+        try {
+            return objectMapper.readValue( value, Vulnerability.class );
+        } catch( IOException e ) {
+            throw new TenableIoException( TenableIoErrorCode.DeserializationError, "Couldn't decode stored finding.", e );
+        }
+    }
+
+
+    private void checkOpen() throws TenableIoException {
+        if( closed ) {
+            throw new TenableIoException( TenableIoErrorCode.StateConflict, String.format( "Store %s is closed.", directory.getAbsolutePath() ) );
+        }
+    }
+
+
+    @FunctionalInterface
+    private interface ValueVisitor {
+        void visit( byte[] value ) throws TenableIoException;
+    }
+
+
+    /**
+     * Iterates over a sorted copy of the in-memory table.
+     */
+    private static class MemtableIterator extends EntryIterator {
+        private final Iterator<Map.Entry<StoreKey, byte[]>> entries;
+
+
+        MemtableIterator( List<Map.Entry<StoreKey, byte[]>> entries ) {
+            this.entries = entries.iterator();
+        }
+
+
+        @Override
+        boolean next() {
+            if( !entries.hasNext() ) {
+                return false;
+            }
+            Map.Entry<StoreKey, byte[]> entry = entries.next();
+            high = entry.getKey().high;
+            low = entry.getKey().low;
+            value = entry.getValue();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.tenable.io.api.exports.store;
+
+
+import java.io.IOException;
+import java.util.List;
+import java.util.PriorityQueue;
+
+
+/**
+ * Merges iterators of overlapping key ranges in key order. Sources are given newest first; of the records of the same
+ * key, only the one of the newest source is returned.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class MergingIterator extends EntryIterator {
+    private final List<EntryIterator> sources;
+    private final PriorityQueue<Integer> queue;
+
+
+    MergingIterator( List<EntryIterator> sources ) throws IOException {
+        this.sources = sources;
+        this.queue = new PriorityQueue<>( Math.max( 1, sources.size() ), ( left, right ) -> {
+            EntryIterator a = sources.get( left );
+            EntryIterator b = sources.get( right );
+            int result = StoreKey.compare( a.high, a.low, b.high, b.low );
+            return result != 0 ? result : Integer.compare( left, right );
+        } );
+        for( int i = 0; i < sources.size(); i++ ) {
+            if( sources.get( i ).next() ) {
+                queue.add( i );
+            }
+        }
+    }
+
+
+    @Override
+    boolean next() throws IOException {
+        Integer newest = queue.poll();
+        if( newest == null ) {
+            return false;
+        }
+        EntryIterator source = sources.get( newest );
+        high = source.high;
+        low = source.low;
+        value = source.value;
+        if( source.next() ) {
+            queue.add( newest );
+        }
+        // skip the older records of the same key
+        while( !queue.isEmpty() ) {
+            EntryIterator older = sources.get( queue.peek() );
+            if( older.high != high || older.low != low ) {
+                break;
+            }
+            int index = queue.poll();
+            if( older.next() ) {
+                queue.add( index );
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for( EntryIterator source : sources ) {
+            try {
+                source.close();
+            } catch( IOException e ) {
+                failure = e;
+            }
+        }
+        if( failure != null ) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.tenable.io.api.exports.store;
+
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Immutable sorted file of store records. Records are the high and low key hash, a type byte, the value length and
+ * the value; they are followed by a sparse index of the key and offset of every SPARSE_INTERVAL-th record, and a
+ * footer with the index size, record count, index offset and a magic number. The sparse index is held in memory, so
+ * a lookup reads a single block of at most SPARSE_INTERVAL records. Reads use positional reads on a shared channel
+ * and are thread safe. Segments are reference counted: the file is deleted once the store and all iterations over it
+ * have released it.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class Segment {
+    static final int SPARSE_INTERVAL = 64;
+
+    private static final int MAGIC = 0x54494F53;
+    private static final int FOOTER_SIZE = 24;
+    private static final byte VALUE = 0;
+    private static final byte DELETED = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final long[] indexKeys;
+    private final long[] indexOffsets;
+    private final long recordCount;
+    private final long dataEnd;
+    private final AtomicInteger references = new AtomicInteger( 1 );
+    private volatile boolean keepFile;
+
+
+    private Segment( File file, FileChannel channel, long[] indexKeys, long[] indexOffsets, long recordCount, long dataEnd ) {
+        this.file = file;
+        this.channel = channel;
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+        this.recordCount = recordCount;
+        this.dataEnd = dataEnd;
+    }
+
+
+    /**
+     * Writes the records of the given iterator to a new segment file and opens it.
+     *
+     * @param file the segment file
+     * @param entries the records, in key order
+     * @param dropDeleted true to drop tombstones, when no older segment can hold the deleted records
+     * @return the segment
+     * @throws IOException if the segment could not be written
+     */
+    static Segment write( File file, EntryIterator entries, boolean dropDeleted ) throws IOException {
+        try( FileOutputStream out = new FileOutputStream( file ) ) {
+            write( out, entries, dropDeleted );
+            // the segment must be on disk before a manifest lists it
+            out.getFD().sync();
+        }
+        return open( file );
+    }
+
+
+    /**
+     * Writes the records of the given iterator, their sparse index and the footer to the given stream. Offsets are
+     * counted in a long, since DataOutputStream.size() stops at Integer.MAX_VALUE.
+     *
+     * @param stream the stream of the segment file, left open
+     * @param entries the records, in key order
+     * @param dropDeleted true to drop tombstones
+     * @throws IOException if the segment could not be written
+     */
+    static void write( OutputStream stream, EntryIterator entries, boolean dropDeleted ) throws IOException {
+        CountingOutputStream counter = new CountingOutputStream( new BufferedOutputStream( stream, BUFFER_SIZE ) );
+        DataOutputStream out = new DataOutputStream( counter );
+        long[] indexKeys = new long[16];
+        long[] indexOffsets = new long[8];
+        int indexSize = 0;
+        long count = 0;
+        while( entries.next() ) {
+            if( dropDeleted && entries.value == FindingStore.TOMBSTONE ) {
+                continue;
+            }
+            if( count % SPARSE_INTERVAL == 0 ) {
+                if( indexSize == indexOffsets.length ) {
+                    indexKeys = Arrays.copyOf( indexKeys, indexSize * 4 );
+                    indexOffsets = Arrays.copyOf( indexOffsets, indexSize * 2 );
+                }
+                indexKeys[indexSize * 2] = entries.high;
+                indexKeys[indexSize * 2 + 1] = entries.low;
+                indexOffsets[indexSize++] = counter.count;
+            }
+            writeRecord( out, entries.high, entries.low, entries.value );
+            count++;
+        }
+        long dataEnd = counter.count;
+        for( int i = 0; i < indexSize; i++ ) {
+            out.writeLong( indexKeys[i * 2] );
+            out.writeLong( indexKeys[i * 2 + 1] );
+            out.writeLong( indexOffsets[i] );
+        }
+        out.writeInt( indexSize );
+        out.writeLong( count );
+        out.writeLong( dataEnd );
+        out.writeInt( MAGIC );
+        out.flush();
+    }
+
+
+    /**
+     * Writes a record, to a segment or to the store log.
+     */
+    static void writeRecord( DataOutputStream out, long high, long low, byte[] value ) throws IOException {
+        out.writeLong( high );
+        out.writeLong( low );
+        out.writeByte( value == FindingStore.TOMBSTONE ? DELETED : VALUE );
+        out.writeInt( value.length );
+        out.write( value );
+    }
+
+
+    /**
+     * Reads a record written by writeRecord into the given iterator fields.
+     *
+     * @return false at the end of the input
+     */
+    static boolean readRecord( DataInputStream in, EntryIterator target ) throws IOException {
+        long high;
+        try {
+            high = in.readLong();
+        } catch( EOFException e ) {
+            return false;
+        }
+        target.high = high;
+        target.low = in.readLong();
+        byte type = in.readByte();
+        byte[] value = new byte[in.readInt()];
+        in.readFully( value );
+        target.value = type == DELETED ? FindingStore.TOMBSTONE : value;
+        return true;
+    }
+
+
+    /**
+     * Opens an existing segment file, loading its sparse index.
+     *
+     * @param file the segment file
+     * @return the segment
+     * @throws IOException if the segment could not be read or is corrupted
+     */
+    static Segment open( File file ) throws IOException {
+        FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+        try {
+            long size = channel.size();
+            if( size < FOOTER_SIZE ) {
+                throw new IOException( String.format( "Segment %s is truncated.", file.getAbsolutePath() ) );
+            }
+            ByteBuffer footer = read( channel, size - FOOTER_SIZE, FOOTER_SIZE );
+            int indexSize = footer.getInt();
+            long recordCount = footer.getLong();
+            long dataEnd = footer.getLong();
+            if( footer.getInt() != MAGIC || dataEnd + indexSize * 24L + FOOTER_SIZE != size ) {
+                throw new IOException( String.format( "Segment %s is corrupted.", file.getAbsolutePath() ) );
+            }
+            ByteBuffer index = read( channel, dataEnd, indexSize * 24 );
+            long[] indexKeys = new long[indexSize * 2];
+            long[] indexOffsets = new long[indexSize];
+            for( int i = 0; i < indexSize; i++ ) {
+                indexKeys[i * 2] = index.getLong();
+                indexKeys[i * 2 + 1] = index.getLong();
+                indexOffsets[i] = index.getLong();
+            }
+            return new Segment( file, channel, indexKeys, indexOffsets, recordCount, dataEnd );
+        } catch( IOException | RuntimeException e ) {
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Looks up the record of the given key.
+     *
+     * @return the value, FindingStore.TOMBSTONE if the finding was deleted, or null if the segment has no record of
+     * the key
+     */
+    byte[] get( long high, long low ) throws IOException {
+        int from = 0;
+        int to = indexOffsets.length - 1;
+        int block = -1;
+        while( from <= to ) {
+            int middle = ( from + to ) >>> 1;
+            if( StoreKey.compare( indexKeys[middle * 2], indexKeys[middle * 2 + 1], high, low ) <= 0 ) {
+                block = middle;
+                from = middle + 1;
+            } else {
+                to = middle - 1;
+            }
+        }
+        if( block < 0 ) {
+            return null;
+        }
+
+        long start = indexOffsets[block];
+        long end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : dataEnd;
+        ByteBuffer records = read( channel, start, (int) ( end - start ) );
+        while( records.hasRemaining() ) {
+            long recordHigh = records.getLong();
+            long recordLow = records.getLong();
+            byte type = records.get();
+            int length = records.getInt();
+            if( recordHigh == high && recordLow == low ) {
+                if( type == DELETED ) {
+                    return FindingStore.TOMBSTONE;
+                }
+                byte[] value = new byte[length];
+                records.get( value );
+                return value;
+            }
+            records.position( records.position() + length );
+        }
+        return null;
+    }
+
+
+    /**
+     * Iterates over the records of the segment, in key order.
+     */
+    EntryIterator iterator() throws IOException {
+        DataInputStream in = new DataInputStream( new BufferedInputStream( Channels.newInputStream( FileChannel.open( file.toPath(), StandardOpenOption.READ ) ), BUFFER_SIZE ) );
+        return new EntryIterator() {
+            private long remaining = recordCount;
+
+
+            @Override
+            boolean next() throws IOException {
+                if( remaining == 0 ) {
+                    return false;
+                }
+                remaining--;
+                return readRecord( in, this );
+            }
+
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        };
+    }
+
+
+    File getFile() {
+        return file;
+    }
+
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+
+    /**
+     * Adds a reference to the segment, so it is not deleted while in use.
+     */
+    void retain() {
+        references.incrementAndGet();
+    }
+
+
+    /**
+     * Removes a reference to the segment, closing it once unreferenced. The file is then deleted, unless the segment
+     * was closed by the store.
+     */
+    void release() {
+        if( references.decrementAndGet() == 0 ) {
+            try {
+                channel.close();
+            } catch( IOException ignored ) {
+                // nothing to recover, the segment is not read anymore
+            }
+            if( !keepFile && !file.delete() ) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+
+    /**
+     * Removes the reference of the store to the segment, keeping its file. The channel is closed by the last release,
+     * once running scans are done with the segment.
+     */
+    void close() {
+        keepFile = true;
+        release();
+    }
+
+
+    private static ByteBuffer read( FileChannel channel, long position, int length ) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate( length );
+        while( buffer.hasRemaining() ) {
+            if( channel.read( buffer, position + buffer.position() ) < 0 ) {
+                throw new IOException( "Unexpected end of segment." );
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+
+    /**
+     * Counts the bytes written through it.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+
+        CountingOutputStream( OutputStream out ) {
+            super( out );
+        }
+
+
+        @Override
+        public void write( int b ) throws IOException {
+            out.write( b );
+            count++;
+        }
+
+
+        @Override
+        public void write( byte[] b, int off, int len ) throws IOException {
+            out.write( b, off, len );
+            count += len;
+        }
+    }
+}
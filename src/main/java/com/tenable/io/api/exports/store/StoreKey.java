@@ -0,0 +1,55 @@
+package com.tenable.io.api.exports.store;
+
+
+import com.tenable.io.api.exports.models.FindingKey;
+
+
+/**
+ * The 128 bit hash of a FindingKey, ordering the records of a FindingStore.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+final class StoreKey implements Comparable<StoreKey> {
+    final long high;
+    final long low;
+
+
+    StoreKey( long high, long low ) {
+        this.high = high;
+        this.low = low;
+    }
+
+
+    static StoreKey of( FindingKey key ) {
+        return new StoreKey( key.getHashHigh(), key.getHashLow() );
+    }
+
+
+    static int compare( long high, long low, long otherHigh, long otherLow ) {
+        int result = Long.compare( high, otherHigh );
+        return result != 0 ? result : Long.compare( low, otherLow );
+    }
+
+
+    @Override
+    public int compareTo( StoreKey other ) {
+        return compare( high, low, other.high, other.low );
+    }
+
+
+    @Override
+    public boolean equals( Object o ) {
+        if( this == o )
+            return true;
+        if( !( o instanceof StoreKey ) )
+            return false;
+        StoreKey other = (StoreKey) o;
+        return high == other.high && low == other.low;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode( high ^ low );
+    }
+}
@@ -1,6 +1,9 @@
 package com.tenable.io.api.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tenable.io.core.utilities.IpAddressHelper;
+import com.tenable.io.core.utilities.TimestampHelper;
 import com.tenable.io.core.utilities.models.MacAddress;
 
 import java.net.Inet4Address;
@@ -17,12 +20,12 @@ public class Asset {
     private UUID biosUuid;
     private String hostFqdn;
     private String hostName;
-    private Inet4Address hostIpV4;
+    private long hostIpV4 = IpAddressHelper.NO_IPV4;
     private UUID Id;
-    private Date lastHostScanStart;
-    private Date lastHostScanEnd;
+    private long lastHostScanStart = TimestampHelper.NO_TIMESTAMP;
+    private long lastHostScanEnd = TimestampHelper.NO_TIMESTAMP;
     private String lastAuthenticatedScanProto;
-    private Date lastAuthenticatedResult;
+    private long lastAuthenticatedResult = TimestampHelper.NO_TIMESTAMP;
     private List<MacAddress> macAddresses;
     private UUID mcAfeeApoGuid;
     private String netbiosName;
@@ -132,7 +135,7 @@ public class Asset {
      * @return the host's IPv4 address; optional, can be null
      */
     public Inet4Address getHostIpV4() {
-        return hostIpV4;
+        return IpAddressHelper.toInet4Address( hostIpV4 );
     }
 
 
@@ -142,7 +145,7 @@ public class Asset {
      * @param hostIpV4 the host's IPv4 address; optional, can be null
      */
     public void setHostIpV4( Inet4Address hostIpV4 ) {
-        this.hostIpV4 = hostIpV4;
+        this.hostIpV4 = IpAddressHelper.toLong( hostIpV4 );
     }
 
 
@@ -153,11 +156,33 @@ public class Asset {
      * @return the asset
      */
     public Asset withHostIpV4( Inet4Address hostIpV4 ) {
-        this.hostIpV4 = hostIpV4;
+        this.hostIpV4 = IpAddressHelper.toLong( hostIpV4 );
         return this;
     }
 
 
+    /**
+     * Gets the host's IPv4 address as an unsigned 32 bit value, without allocating an Inet4Address.
+     *
+     * @return the host's IPv4 address as an unsigned 32 bit value, or IpAddressHelper.NO_IPV4 if not defined
+     */
+    @JsonIgnore
+    public long getHostIpV4Address() {
+        return hostIpV4;
+    }
+
+
+    /**
+     * Sets the host's IPv4 address as an unsigned 32 bit value.
+     *
+     * @param hostIpV4 the host's IPv4 address as an unsigned 32 bit value, or IpAddressHelper.NO_IPV4 if not defined
+     */
+    @JsonIgnore
+    public void setHostIpV4Address( long hostIpV4 ) {
+        this.hostIpV4 = hostIpV4;
+    }
+
+
     /**
      * Gets the asset's UUID generated by Tenable.io for identification purposes; always present.
      *
@@ -196,7 +221,7 @@ public class Asset {
      * @return the last time a scan was started for this host as a Date; always present
      */
     public Date getLastHostScanStart() {
-        return lastHostScanStart;
+        return TimestampHelper.toDate( lastHostScanStart );
     }
 
 
@@ -206,7 +231,7 @@ public class Asset {
      * @param lastHostScanStart the last time a scan was started for this host as a Date
      */
     public void setLastHostScanStart( Date lastHostScanStart ) {
-        this.lastHostScanStart = lastHostScanStart;
+        this.lastHostScanStart = TimestampHelper.toMillis( lastHostScanStart );
     }
 
 
@@ -217,18 +242,40 @@ public class Asset {
      * @return the asset
      */
     public Asset withLastHostScanStart( Date lastHostScanStart ) {
-        this.lastHostScanStart = lastHostScanStart;
+        this.lastHostScanStart = TimestampHelper.toMillis( lastHostScanStart );
         return this;
     }
 
 
+    /**
+     * Gets the last time a scan was started for this host, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last time a scan was started for this host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getLastHostScanStartMillis() {
+        return lastHostScanStart;
+    }
+
+
+    /**
+     * Sets the last time a scan was started for this host, in milliseconds since epoch.
+     *
+     * @param lastHostScanStart the last time a scan was started for this host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setLastHostScanStartMillis( long lastHostScanStart ) {
+        this.lastHostScanStart = lastHostScanStart;
+    }
+
+
     /**
      * Gets the last time a scan was completed for this host as a Date; always present.
      *
      * @return the last time a scan was completed for this host as a Date; always present
      */
     public Date getLastHostScanEnd() {
-        return lastHostScanEnd;
+        return TimestampHelper.toDate( lastHostScanEnd );
     }
 
 
@@ -238,7 +285,7 @@ public class Asset {
      * @param lastHostScanEnd the last time a scan was completed for this host as a Date
      */
     public void setLastHostScanEnd( Date lastHostScanEnd ) {
-        this.lastHostScanEnd = lastHostScanEnd;
+        this.lastHostScanEnd = TimestampHelper.toMillis( lastHostScanEnd );
     }
 
 
@@ -249,11 +296,33 @@ public class Asset {
      * @return the asset
      */
     public Asset withLastHostScanEnd( Date lastHostScanEnd ) {
-        this.lastHostScanEnd = lastHostScanEnd;
+        this.lastHostScanEnd = TimestampHelper.toMillis( lastHostScanEnd );
         return this;
     }
 
 
+    /**
+     * Gets the last time a scan was completed for this host, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last time a scan was completed for this host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getLastHostScanEndMillis() {
+        return lastHostScanEnd;
+    }
+
+
+    /**
+     * Sets the last time a scan was completed for this host, in milliseconds since epoch.
+     *
+     * @param lastHostScanEnd the last time a scan was completed for this host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setLastHostScanEndMillis( long lastHostScanEnd ) {
+        this.lastHostScanEnd = lastHostScanEnd;
+    }
+
+
     /**
      * Gets the protocol that was used to perform an authenticated scan, e.g. 'ssh' or 'smb'; optional, can be null.
      *
@@ -292,7 +361,7 @@ public class Asset {
      * @return the last time an authenticated scan was completed as a Date. Optional, can be null
      */
     public Date getLastAuthenticatedResult() {
-        return lastAuthenticatedResult;
+        return TimestampHelper.toDate( lastAuthenticatedResult );
     }
 
 
@@ -302,7 +371,7 @@ public class Asset {
      * @param lastAuthenticatedResult the last time an authenticated scan was completed as a Date
      */
     public void setLastAuthenticatedResult( Date lastAuthenticatedResult ) {
-        this.lastAuthenticatedResult = lastAuthenticatedResult;
+        this.lastAuthenticatedResult = TimestampHelper.toMillis( lastAuthenticatedResult );
     }
 
 
@@ -313,11 +382,33 @@ public class Asset {
      * @return the asset
      */
     public Asset withLastAuthenticatedResult( Date lastAuthenticatedResult ) {
-        this.lastAuthenticatedResult = lastAuthenticatedResult;
+        this.lastAuthenticatedResult = TimestampHelper.toMillis( lastAuthenticatedResult );
         return this;
     }
 
 
+    /**
+     * Gets the last time an authenticated scan was completed, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last time an authenticated scan was completed in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getLastAuthenticatedResultMillis() {
+        return lastAuthenticatedResult;
+    }
+
+
+    /**
+     * Sets the last time an authenticated scan was completed, in milliseconds since epoch.
+     *
+     * @param lastAuthenticatedResult the last time an authenticated scan was completed in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setLastAuthenticatedResultMillis( long lastAuthenticatedResult ) {
+        this.lastAuthenticatedResult = lastAuthenticatedResult;
+    }
+
+
     /**
      * Gets the hosts's mac addresses list; optional, can be null.
      *
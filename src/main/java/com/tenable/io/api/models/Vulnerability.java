@@ -1,15 +1,20 @@
 package com.tenable.io.api.models;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tenable.io.core.utilities.TimestampHelper;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 
 /**
  * Copyright (c) 2017 Tenable Network Security, Inc.
  */
 public class Vulnerability {
+    private UUID assetUuid;
     private SeverityLevel severity;
     private String protocol;
     private String pluginFamily;
@@ -37,16 +42,16 @@ public class Vulnerability {
     private Boolean exploitFrameworkMetasploit;
     private Boolean exploitFrameworkD2Elliot;
     private Boolean exploitedByMalware;
-    private Date firstFound;
+    private long firstFound = TimestampHelper.NO_TIMESTAMP;
     private Boolean hasPatch;
     private Boolean inTheNews;
-    private Date lastFound;
-    private Date lastFixed;
+    private long lastFound = TimestampHelper.NO_TIMESTAMP;
+    private long lastFixed = TimestampHelper.NO_TIMESTAMP;
     private Boolean malware;
     private String metasploitName;
-    private Date patchPublicationDate;
-    private Date pluginModificationDate;
-    private Date pluginPublicationDate;
+    private long patchPublicationDate = TimestampHelper.NO_TIMESTAMP;
+    private long pluginModificationDate = TimestampHelper.NO_TIMESTAMP;
+    private long pluginPublicationDate = TimestampHelper.NO_TIMESTAMP;
     private String pluginOutput;
     private String pluginType;
     private String pluginVersion;
@@ -55,11 +60,43 @@ public class Vulnerability {
     private String synopsis;
     private Boolean unsupportedByVendor;
     private VulnerabilityState vulnerabilityState;
-    private Date vulnPublicationDate;
+    private long vulnPublicationDate = TimestampHelper.NO_TIMESTAMP;
     private List<String> xrefs;
     private List<String> seeAlsos;
 
 
+    /**
+     * Gets the UUID of the asset the vulnerability was found on.
+     *
+     * @return the UUID of the asset the vulnerability was found on
+     */
+    public UUID getAssetUuid() {
+        return assetUuid;
+    }
+
+
+    /**
+     * Sets the UUID of the asset the vulnerability was found on.
+     *
+     * @param assetUuid the UUID of the asset the vulnerability was found on
+     */
+    public void setAssetUuid( UUID assetUuid ) {
+        this.assetUuid = assetUuid;
+    }
+
+
+    /**
+     * Sets the UUID of the asset the vulnerability was found on.
+     *
+     * @param assetUuid the UUID of the asset the vulnerability was found on
+     * @return the vulnerability
+     */
+    public Vulnerability withAssetUuid( UUID assetUuid ) {
+        this.assetUuid = assetUuid;
+        return this;
+    }
+
+
     /**
      * Gets the vulnerability severity level.
      *
@@ -985,7 +1022,7 @@ public class Vulnerability {
      * @return the first time the vulnerability was found for the given host as an ISO 8601 timestamp; optional
      */
     public Date getFirstFound() {
-        return firstFound;
+        return TimestampHelper.toDate( firstFound );
     }
 
 
@@ -995,7 +1032,7 @@ public class Vulnerability {
      * @param firstFound the first time the vulnerability was found for the given host as an ISO 8601 timestamp
      */
     public void setFirstFound( Date firstFound ) {
-        this.firstFound = firstFound;
+        this.firstFound = TimestampHelper.toMillis( firstFound );
     }
 
 
@@ -1006,11 +1043,33 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withFirstFound( Date firstFound ) {
-        this.firstFound = firstFound;
+        this.firstFound = TimestampHelper.toMillis( firstFound );
         return this;
     }
 
 
+    /**
+     * Gets the first time the vulnerability was found for the given host, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the first time the vulnerability was found for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getFirstFoundMillis() {
+        return firstFound;
+    }
+
+
+    /**
+     * Sets the first time the vulnerability was found for the given host, in milliseconds since epoch.
+     *
+     * @param firstFound the first time the vulnerability was found for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setFirstFoundMillis( long firstFound ) {
+        this.firstFound = firstFound;
+    }
+
+
     /**
      * Gets a flag specifying whether there is a known patch for the vulnerability. Optional; explicitly excluded when minimum_vuln_info is true.
      * NOTE: will be null to indicate its value is not defined
@@ -1084,7 +1143,7 @@ public class Vulnerability {
      * @return the last time the vulnerability was found for the given host; optional
      */
     public Date getLastFound() {
-        return lastFound;
+        return TimestampHelper.toDate( lastFound );
     }
 
 
@@ -1094,7 +1153,7 @@ public class Vulnerability {
      * @param lastFound the last time the vulnerability was found for the given host
      */
     public void setLastFound( Date lastFound ) {
-        this.lastFound = lastFound;
+        this.lastFound = TimestampHelper.toMillis( lastFound );
     }
 
 
@@ -1105,11 +1164,33 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withLastFound( Date lastFound ) {
-        this.lastFound = lastFound;
+        this.lastFound = TimestampHelper.toMillis( lastFound );
         return this;
     }
 
 
+    /**
+     * Gets the last time the vulnerability was found for the given host, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last time the vulnerability was found for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getLastFoundMillis() {
+        return lastFound;
+    }
+
+
+    /**
+     * Sets the last time the vulnerability was found for the given host, in milliseconds since epoch.
+     *
+     * @param lastFound the last time the vulnerability was found for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setLastFoundMillis( long lastFound ) {
+        this.lastFound = lastFound;
+    }
+
+
     /**
      * Gets the last time the vulnerability was found to be fixed / not present for the given host; optional.
      * NOTE: will be null to indicate its value is not defined
@@ -1117,7 +1198,7 @@ public class Vulnerability {
      * @return the last time the vulnerability was found to be fixed / not present for the given host; optional
      */
     public Date getLastFixed() {
-        return lastFixed;
+        return TimestampHelper.toDate( lastFixed );
     }
 
 
@@ -1127,7 +1208,7 @@ public class Vulnerability {
      * @param lastFixed the last time the vulnerability was found to be fixed / not present for the given host
      */
     public void setLastFixed( Date lastFixed ) {
-        this.lastFixed = lastFixed;
+        this.lastFixed = TimestampHelper.toMillis( lastFixed );
     }
 
 
@@ -1138,11 +1219,33 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withLastFixed( Date lastFixed ) {
-        this.lastFixed = lastFixed;
+        this.lastFixed = TimestampHelper.toMillis( lastFixed );
         return this;
     }
 
 
+    /**
+     * Gets the last time the vulnerability was found to be fixed / not present for the given host, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last time the vulnerability was found to be fixed / not present for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getLastFixedMillis() {
+        return lastFixed;
+    }
+
+
+    /**
+     * Sets the last time the vulnerability was found to be fixed / not present for the given host, in milliseconds since epoch.
+     *
+     * @param lastFixed the last time the vulnerability was found to be fixed / not present for the given host in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setLastFixedMillis( long lastFixed ) {
+        this.lastFixed = lastFixed;
+    }
+
+
     /**
      * Gets a flag specifying whether this vulnerability check was for malware and malware was found on the host. Optional; explicitly excluded when minimum_vuln_info is true.
      * NOTE: will be null to indicate its value is not defined
@@ -1216,7 +1319,7 @@ public class Vulnerability {
      * @return the date a patch for this vulnerability was first published. Optional; explicitly excluded when minimum_vuln_info is true
      */
     public Date getPatchPublicationDate() {
-        return patchPublicationDate;
+        return TimestampHelper.toDate( patchPublicationDate );
     }
 
 
@@ -1226,7 +1329,7 @@ public class Vulnerability {
      * @param patchPublicationDate the date a patch for this vulnerability was first published
      */
     public void setPatchPublicationDate( Date patchPublicationDate ) {
-        this.patchPublicationDate = patchPublicationDate;
+        this.patchPublicationDate = TimestampHelper.toMillis( patchPublicationDate );
     }
 
 
@@ -1237,18 +1340,40 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withPatchPublicationDate( Date patchPublicationDate ) {
-        this.patchPublicationDate = patchPublicationDate;
+        this.patchPublicationDate = TimestampHelper.toMillis( patchPublicationDate );
         return this;
     }
 
 
+    /**
+     * Gets the date a patch for this vulnerability was first published, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the date a patch for this vulnerability was first published in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getPatchPublicationDateMillis() {
+        return patchPublicationDate;
+    }
+
+
+    /**
+     * Sets the date a patch for this vulnerability was first published, in milliseconds since epoch.
+     *
+     * @param patchPublicationDate the date a patch for this vulnerability was first published in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setPatchPublicationDateMillis( long patchPublicationDate ) {
+        this.patchPublicationDate = patchPublicationDate;
+    }
+
+
     /**
      * Gets the last date the Nessus or PVS plugin looking for the vulnerability was modified. Explicitly excluded when minimum_vuln_info is true.
      *
      * @return the last date the Nessus or PVS plugin looking for the vulnerability was modified. Explicitly excluded when minimum_vuln_info is true
      */
     public Date getPluginModificationDate() {
-        return pluginModificationDate;
+        return TimestampHelper.toDate( pluginModificationDate );
     }
 
 
@@ -1258,7 +1383,7 @@ public class Vulnerability {
      * @param pluginModificationDate the last date the Nessus or PVS plugin looking for the vulnerability was modified
      */
     public void setPluginModificationDate( Date pluginModificationDate ) {
-        this.pluginModificationDate = pluginModificationDate;
+        this.pluginModificationDate = TimestampHelper.toMillis( pluginModificationDate );
     }
 
 
@@ -1269,18 +1394,40 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withPluginModificationDate( Date pluginModificationDate ) {
-        this.pluginModificationDate = pluginModificationDate;
+        this.pluginModificationDate = TimestampHelper.toMillis( pluginModificationDate );
         return this;
     }
 
 
+    /**
+     * Gets the last date the Nessus or PVS plugin looking for the vulnerability was modified, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the last date the Nessus or PVS plugin looking for the vulnerability was modified in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getPluginModificationDateMillis() {
+        return pluginModificationDate;
+    }
+
+
+    /**
+     * Sets the last date the Nessus or PVS plugin looking for the vulnerability was modified, in milliseconds since epoch.
+     *
+     * @param pluginModificationDate the last date the Nessus or PVS plugin looking for the vulnerability was modified in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setPluginModificationDateMillis( long pluginModificationDate ) {
+        this.pluginModificationDate = pluginModificationDate;
+    }
+
+
     /**
      * Gets the date the Nessus or PVS plugin looking for the vulnerability was published. Explicitly excluded when minimum_vuln_info is true.
      *
      * @return the date the Nessus or PVS plugin looking for the vulnerability was published. Explicitly excluded when minimum_vuln_info is true
      */
     public Date getPluginPublicationDate() {
-        return pluginPublicationDate;
+        return TimestampHelper.toDate( pluginPublicationDate );
     }
 
 
@@ -1290,7 +1437,7 @@ public class Vulnerability {
      * @param pluginPublicationDate the date the Nessus or PVS plugin looking for the vulnerability was published
      */
     public void setPluginPublicationDate( Date pluginPublicationDate ) {
-        this.pluginPublicationDate = pluginPublicationDate;
+        this.pluginPublicationDate = TimestampHelper.toMillis( pluginPublicationDate );
     }
 
 
@@ -1301,11 +1448,33 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withPluginPublicationDate( Date pluginPublicationDate ) {
-        this.pluginPublicationDate = pluginPublicationDate;
+        this.pluginPublicationDate = TimestampHelper.toMillis( pluginPublicationDate );
         return this;
     }
 
 
+    /**
+     * Gets the date the Nessus or PVS plugin looking for the vulnerability was published, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the date the Nessus or PVS plugin looking for the vulnerability was published in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getPluginPublicationDateMillis() {
+        return pluginPublicationDate;
+    }
+
+
+    /**
+     * Sets the date the Nessus or PVS plugin looking for the vulnerability was published, in milliseconds since epoch.
+     *
+     * @param pluginPublicationDate the date the Nessus or PVS plugin looking for the vulnerability was published in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setPluginPublicationDateMillis( long pluginPublicationDate ) {
+        this.pluginPublicationDate = pluginPublicationDate;
+    }
+
+
     /**
      * Gets the plugin's output about the vulnerability. May be null or empty.
      *
@@ -1570,7 +1739,7 @@ public class Vulnerability {
      * @return the date when this vulnerability was officially made public. Optional; explicitly excluded when minimum_vuln_info is true
      */
     public Date getVulnPublicationDate() {
-        return vulnPublicationDate;
+        return TimestampHelper.toDate( vulnPublicationDate );
     }
 
 
@@ -1580,7 +1749,7 @@ public class Vulnerability {
      * @param vulnPublicationDate the date when this vulnerability was officially made public
      */
     public void setVulnPublicationDate( Date vulnPublicationDate ) {
-        this.vulnPublicationDate = vulnPublicationDate;
+        this.vulnPublicationDate = TimestampHelper.toMillis( vulnPublicationDate );
     }
 
 
@@ -1591,11 +1760,33 @@ public class Vulnerability {
      * @return the vulnerability
      */
     public Vulnerability withVulnPublicationDate( Date vulnPublicationDate ) {
-        this.vulnPublicationDate = vulnPublicationDate;
+        this.vulnPublicationDate = TimestampHelper.toMillis( vulnPublicationDate );
         return this;
     }
 
 
+    /**
+     * Gets the date when this vulnerability was officially made public, in milliseconds since epoch, without allocating a Date.
+     *
+     * @return the date when this vulnerability was officially made public in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public long getVulnPublicationDateMillis() {
+        return vulnPublicationDate;
+    }
+
+
+    /**
+     * Sets the date when this vulnerability was officially made public, in milliseconds since epoch.
+     *
+     * @param vulnPublicationDate the date when this vulnerability was officially made public in milliseconds since epoch, or TimestampHelper.NO_TIMESTAMP if not defined
+     */
+    @JsonIgnore
+    public void setVulnPublicationDateMillis( long vulnPublicationDate ) {
+        this.vulnPublicationDate = vulnPublicationDate;
+    }
+
+
     /**
      * Gets an external reference identifier in the following format: TYPE:IDENTIFIER, e.g. 'OSVDB:11124'; Similar to CVE / BID. Optional; excluded when minimum_vuln_info is true.
      * NOTE: will be null to indicate its value is not defined
@@ -17,5 +17,7 @@ public enum TenableIoErrorCode {
     FileError,
     InvalidRequestParameter,
     InvalidParameter,
-    StateConflict
+    StateConflict,
+    Timeout,
+    Interrupted
 }
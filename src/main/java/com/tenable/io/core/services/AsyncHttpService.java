@@ -252,6 +252,21 @@ public class AsyncHttpService implements AutoCloseable {
      * @throws TenableIoException the tenable IO exception
      */
     public HttpFuture doGetDownload( URI uri, File destinationFile ) throws TenableIoException {
+        return doGetDownload( uri, destinationFile, false );
+    }
+
+
+    /**
+     * Makes an HTTP GET request using the given URI and stream the result into the given File, optionally compressing
+     * it with gzip as it is received.
+     *
+     * @param uri the URI to use for the GET call
+     * @param destinationFile the destination file
+     * @param compress true to write the result gzip compressed
+     * @return the resulting HttpFuture instance
+     * @throws TenableIoException the tenable IO exception
+     */
+    public HttpFuture doGetDownload( URI uri, File destinationFile, boolean compress ) throws TenableIoException {
         HttpGet httpGet = new HttpGet( uri );
 
         // first delete the file if it exists:
@@ -264,6 +279,11 @@ public class AsyncHttpService implements AutoCloseable {
             }
         }
 
+        if( compress ) {
+            GzipFileConsumer consumer = new GzipFileConsumer( destinationFile );
+            return new HttpFuture( this, httpGet, consumer, asyncClient.execute( HttpAsyncMethods.create( httpGet ), consumer, null, null ), null );
+        }
+
         ZeroCopyConsumer<HttpResponse> consumer;
         try {
             consumer = new ZeroCopyConsumer<HttpResponse>( destinationFile ) {
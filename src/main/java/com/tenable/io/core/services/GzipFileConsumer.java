@@ -0,0 +1,93 @@
+package com.tenable.io.core.services;
+
+
+import org.apache.http.HttpResponse;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.AsyncByteConsumer;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Streams a response body into a gzip file, compressing it as it is received so the uncompressed body never reaches
+ * the disk. The fastest deflate level is used: on JSON, it already shrinks the file several times for a small fraction
+ * of the CPU of the better levels. The file is truncated each time a response is received, so a retried download
+ * starts over.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+class GzipFileConsumer extends AsyncByteConsumer<HttpResponse> {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final byte[] scratch = new byte[BUFFER_SIZE];
+    private HttpResponse response;
+    private OutputStream out;
+
+
+    GzipFileConsumer( File file ) {
+        super( BUFFER_SIZE );
+        this.file = file;
+    }
+
+
+    @Override
+    protected void onResponseReceived( HttpResponse response ) throws IOException {
+        closeQuietly();
+        this.response = response;
+        this.out = new GZIPOutputStream( new FileOutputStream( file ), BUFFER_SIZE ) {
+            {
+                def.setLevel( Deflater.BEST_SPEED );
+            }
+        };
+    }
+
+
+    @Override
+    protected void onByteReceived( ByteBuffer buffer, IOControl ioControl ) throws IOException {
+        if( buffer.hasArray() ) {
+            out.write( buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining() );
+            buffer.position( buffer.limit() );
+            return;
+        }
+        while( buffer.hasRemaining() ) {
+            int length = Math.min( buffer.remaining(), scratch.length );
+            buffer.get( scratch, 0, length );
+            out.write( scratch, 0, length );
+        }
+    }
+
+
+    @Override
+    protected HttpResponse buildResult( HttpContext context ) throws IOException {
+        // writes the gzip trailer
+        out.close();
+        out = null;
+        return response;
+    }
+
+
+    @Override
+    protected void releaseResources() {
+        closeQuietly();
+    }
+
+
+    private void closeQuietly() {
+        if( out != null ) {
+            try {
+                out.close();
+            } catch( IOException ignored ) {
+                // the download failed already
+            }
+            out = null;
+        }
+    }
+}
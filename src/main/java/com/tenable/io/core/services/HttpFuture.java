@@ -20,6 +20,7 @@ import com.tenable.io.core.exceptions.TenableIoException;
 import com.tenable.io.core.utilities.LoggerHelper;
 import com.tenable.io.core.utilities.models.LogInstance;
 import com.tenable.io.core.utilities.models.LogLevel;
+import com.tenable.io.core.utilities.models.Projection;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -157,6 +158,40 @@ public class HttpFuture {
     }
 
 
+    /**
+     * Waits if necessary for the HTTP call to complete
+     * This method expects the HTTP call to return a JSON result and tries to deserialize the result into an object corresponding to the given class,
+     * binding only the properties of the given projection, e.g. getAsType( Vulnerability.class, Projection.of( "severity", "pluginID", "port" ) )
+     * If no exception if thrown, the call was successful
+     *
+     * @param <A>        the type parameter
+     * @param clazz      the class of the object to deserialize the result into
+     * @param projection the JSON properties to bind; the others are skipped
+     * @return an object of type A
+     * @throws TenableIoException Thrown if the HTTP call errors out
+     */
+    public <A> A getAsType( Class<A> clazz, Projection projection ) throws TenableIoException {
+        return asyncHttpService.getJsonHelper().fromJson( getAsString(), clazz, projection );
+    }
+
+
+    /**
+     * Waits if necessary for the HTTP call to complete
+     * This method expects the HTTP call to return a JSON result and tries to deserialize the result into an object corresponding to the given TypeReference,
+     * binding only the properties of the given projection
+     * If no exception if thrown, the call was successful
+     *
+     * @param <A>          the type parameter
+     * @param valueTypeRef the TypeReference of the object to deserialize the result into
+     * @param projection   the JSON properties to bind; the others are skipped
+     * @return an object of type A
+     * @throws TenableIoException Thrown if the HTTP call errors out
+     */
+    public <A> A getAsType( TypeReference<A> valueTypeRef, Projection projection ) throws TenableIoException {
+        return asyncHttpService.getJsonHelper().fromJson( getAsString(), valueTypeRef, projection );
+    }
+
+
     /**
      * Waits if necessary for the HTTP call to complete
      * This method expects the HTTP call to return a JSON result and tries to deserialize the "result.root" into an object corresponding to the given class
@@ -0,0 +1,421 @@
+package com.tenable.io.core.utilities;
+
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+
+/**
+ * Base class of the hand written codecs, with the value readers and writers they share. Readers accept the same
+ * coercions Jackson databind does with the JsonHelper settings: null for missing values, numbers and booleans given as
+ * strings, and single values for lists. Values the codecs do not handle themselves are bound by databind.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the model type
+ */
+public abstract class AbstractJsonCodec<T> implements JsonCodec<T> {
+    private final Class<T> type;
+
+
+    /**
+     * Instantiates a new codec.
+     *
+     * @param type the model class
+     */
+    protected AbstractJsonCodec( Class<T> type ) {
+        this.type = type;
+    }
+
+
+    @Override
+    public Class<T> getType() {
+        return type;
+    }
+
+
+    @Override
+    public T read( JsonParser parser ) throws IOException {
+        T value = newInstance();
+        while( parser.nextToken() == JsonToken.FIELD_NAME ) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if( !readField( parser, name, value ) ) {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+
+    @Override
+    public void write( JsonGenerator generator, T value ) throws IOException {
+        generator.writeStartObject();
+        writeFields( generator, value );
+        generator.writeEndObject();
+    }
+
+
+    /**
+     * Creates an empty model.
+     *
+     * @return the model
+     */
+    protected abstract T newInstance();
+
+
+    /**
+     * Reads the value of the given field into the model. The parser is positioned on the first token of the value,
+     * and must be left on its last token.
+     *
+     * @param parser the parser
+     * @param name the JSON property name
+     * @param value the model
+     * @return true if the field was read, false if it is unknown and must be skipped
+     * @throws IOException if the value could not be read
+     */
+    protected abstract boolean readField( JsonParser parser, String name, T value ) throws IOException;
+
+
+    /**
+     * Writes all fields of the model.
+     *
+     * @param generator the generator
+     * @param value the model
+     * @throws IOException if the model could not be written
+     */
+    protected abstract void writeFields( JsonGenerator generator, T value ) throws IOException;
+
+
+    /**
+     * Reads a string value; scalars are read as their text.
+     */
+    protected static String readString( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_STRING ) {
+            return parser.getText();
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        return token.isScalarValue() ? parser.getText() : parser.readValueAs( String.class );
+    }
+
+
+    /**
+     * Reads an int value; null is read as 0.
+     */
+    protected static int readInt( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NUMBER_INT ) {
+            return parser.getIntValue();
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return 0;
+        }
+        return parser.readValueAs( Integer.class );
+    }
+
+
+    /**
+     * Reads a long value; null is read as 0.
+     */
+    protected static long readLong( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NUMBER_INT ) {
+            return parser.getLongValue();
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return 0;
+        }
+        return parser.readValueAs( Long.class );
+    }
+
+
+    /**
+     * Reads a Float value.
+     */
+    protected static Float readFloat( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NUMBER_FLOAT || token == JsonToken.VALUE_NUMBER_INT ) {
+            return parser.getFloatValue();
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        return parser.readValueAs( Float.class );
+    }
+
+
+    /**
+     * Reads a Boolean value.
+     */
+    protected static Boolean readBoolean( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_TRUE ) {
+            return Boolean.TRUE;
+        }
+        if( token == JsonToken.VALUE_FALSE ) {
+            return Boolean.FALSE;
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        return parser.readValueAs( Boolean.class );
+    }
+
+
+    /**
+     * Reads a UUID value.
+     */
+    protected static UUID readUuid( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        return token == JsonToken.VALUE_STRING ? UUID.fromString( parser.getText() ) : parser.readValueAs( UUID.class );
+    }
+
+
+    /**
+     * Reads a timestamp given as milliseconds since epoch or as a date string, without allocating a Date. Strings
+     * TimestampHelper does not support are parsed by databind.
+     */
+    protected static long readTimestamp( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NUMBER_INT ) {
+            return parser.getLongValue();
+        }
+        if( token == JsonToken.VALUE_NULL ) {
+            return TimestampHelper.NO_TIMESTAMP;
+        }
+        if( token == JsonToken.VALUE_STRING ) {
+            long timestamp = TimestampHelper.tryParse( parser.getText() );
+            if( timestamp != TimestampHelper.NO_TIMESTAMP ) {
+                return timestamp;
+            }
+        }
+        return TimestampHelper.toMillis( parser.readValueAs( Date.class ) );
+    }
+
+
+    /**
+     * Reads a Date value, given as milliseconds since epoch or as a date string.
+     */
+    protected static Date readDate( JsonParser parser ) throws IOException {
+        return TimestampHelper.toDate( readTimestamp( parser ) );
+    }
+
+
+    /**
+     * Reads a dotted decimal IPv4 address, without host name lookup.
+     *
+     * @return the address as an unsigned 32 bit value, or IpAddressHelper.NO_IPV4 for null
+     */
+    protected static long readIpV4( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NULL ) {
+            return IpAddressHelper.NO_IPV4;
+        }
+        String text = readString( parser );
+        long address = IpAddressHelper.tryParseIpV4( text );
+        if( address == IpAddressHelper.NO_IPV4 ) {
+            throw new JsonParseException( parser, String.format( "Invalid IPv4 address: %s.", text ) );
+        }
+        return address;
+    }
+
+
+    /**
+     * Reads a value given as a string, such as an enum, with the given parse function.
+     */
+    protected static <V> V readEnum( JsonParser parser, ValueParser<V> valueParser ) throws IOException {
+        String text = readString( parser );
+        if( text == null ) {
+            return null;
+        }
+        try {
+            return valueParser.parse( text );
+        } catch( Exception e ) {
+            throw new JsonParseException( parser, String.format( "Invalid value: %s.", text ), e );
+        }
+    }
+
+
+    /**
+     * Reads a list of strings; a single value is read as a list of one.
+     */
+    protected static List<String> readStringList( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        if( token != JsonToken.START_ARRAY ) {
+            list.add( readString( parser ) );
+            return list;
+        }
+        while( parser.nextToken() != JsonToken.END_ARRAY ) {
+            list.add( readString( parser ) );
+        }
+        return list;
+    }
+
+
+    /**
+     * Reads a list of integers; a single value is read as a list of one.
+     */
+    protected static List<Integer> readIntList( JsonParser parser ) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.VALUE_NULL ) {
+            return null;
+        }
+        List<Integer> list = new ArrayList<>();
+        if( token != JsonToken.START_ARRAY ) {
+            list.add( readInt( parser ) );
+            return list;
+        }
+        while( parser.nextToken() != JsonToken.END_ARRAY ) {
+            list.add( parser.getCurrentToken() == JsonToken.VALUE_NULL ? null : readInt( parser ) );
+        }
+        return list;
+    }
+
+
+    /**
+     * Parses a value from its string form.
+     *
+     * @param <V> the value type
+     */
+    @FunctionalInterface
+    protected interface ValueParser<V> {
+        /**
+         * Parses the given text.
+         *
+         * @param text the text
+         * @return the value
+         * @throws Exception if the text is not a valid value
+         */
+        V parse( String text ) throws Exception;
+    }
+
+
+    /**
+     * Writes a string field, or null.
+     */
+    protected static void writeString( JsonGenerator generator, String name, String value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+        } else {
+            generator.writeStringField( name, value );
+        }
+    }
+
+
+    /**
+     * Writes a Float field, or null.
+     */
+    protected static void writeFloat( JsonGenerator generator, String name, Float value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+        } else {
+            generator.writeNumberField( name, value );
+        }
+    }
+
+
+    /**
+     * Writes a Boolean field, or null.
+     */
+    protected static void writeBoolean( JsonGenerator generator, String name, Boolean value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+        } else {
+            generator.writeBooleanField( name, value );
+        }
+    }
+
+
+    /**
+     * Writes a UUID field, or null.
+     */
+    protected static void writeUuid( JsonGenerator generator, String name, UUID value ) throws IOException {
+        writeString( generator, name, value != null ? value.toString() : null );
+    }
+
+
+    /**
+     * Writes a Date field as milliseconds since epoch, or null.
+     */
+    protected static void writeDate( JsonGenerator generator, String name, Date value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+        } else {
+            generator.writeNumberField( name, value.getTime() );
+        }
+    }
+
+
+    /**
+     * Writes a timestamp field as milliseconds since epoch, or null for TimestampHelper.NO_TIMESTAMP.
+     */
+    protected static void writeTimestamp( JsonGenerator generator, String name, long value ) throws IOException {
+        if( value == TimestampHelper.NO_TIMESTAMP ) {
+            generator.writeNullField( name );
+        } else {
+            generator.writeNumberField( name, value );
+        }
+    }
+
+
+    /**
+     * Writes an IPv4 address field in dotted decimal form, or null for IpAddressHelper.NO_IPV4.
+     */
+    protected static void writeIpV4( JsonGenerator generator, String name, long value ) throws IOException {
+        writeString( generator, name, value != IpAddressHelper.NO_IPV4 ? IpAddressHelper.intToIp( (int)value ) : null );
+    }
+
+
+    /**
+     * Writes a list of strings field, or null.
+     */
+    protected static void writeStringList( JsonGenerator generator, String name, List<String> value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+            return;
+        }
+        generator.writeArrayFieldStart( name );
+        for( String item : value ) {
+            generator.writeString( item );
+        }
+        generator.writeEndArray();
+    }
+
+
+    /**
+     * Writes a list of integers field, or null.
+     */
+    protected static void writeIntList( JsonGenerator generator, String name, List<Integer> value ) throws IOException {
+        if( value == null ) {
+            generator.writeNullField( name );
+            return;
+        }
+        generator.writeArrayFieldStart( name );
+        for( Integer item : value ) {
+            if( item == null ) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber( item );
+            }
+        }
+        generator.writeEndArray();
+    }
+}
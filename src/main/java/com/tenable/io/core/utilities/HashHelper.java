@@ -0,0 +1,76 @@
+package com.tenable.io.core.utilities;
+
+
+import java.util.UUID;
+
+
+/**
+ * Fast non cryptographic 64 bit hashes with good bit mixing, for sketches and hash based partitioning, where
+ * Object.hashCode is too weak. Hashes are stable across JVMs and can be persisted.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class HashHelper {
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+
+    /**
+     * Hashes a long value, with the MurmurHash3 finalizer.
+     *
+     * @param value the value
+     * @return the 64 bit hash
+     */
+    public static long hash64( long value ) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+
+    /**
+     * Hashes the characters of the given string.
+     *
+     * @param value the string
+     * @return the 64 bit hash
+     */
+    public static long hash64( CharSequence value ) {
+        long hash = SEED ^ value.length();
+        int length = value.length();
+        int i = 0;
+        for( ; i + 3 < length; i += 4 ) {
+            long block = value.charAt( i ) | ( (long) value.charAt( i + 1 ) << 16 ) | ( (long) value.charAt( i + 2 ) << 32 ) | ( (long) value.charAt( i + 3 ) << 48 );
+            hash = combine( hash, block );
+        }
+        long tail = 0;
+        for( int shift = 0; i < length; i++, shift += 16 ) {
+            tail |= (long) value.charAt( i ) << shift;
+        }
+        return hash64( combine( hash, tail ) );
+    }
+
+
+    /**
+     * Hashes the given UUID.
+     *
+     * @param value the UUID
+     * @return the 64 bit hash
+     */
+    public static long hash64( UUID value ) {
+        return hash64( combine( hash64( value.getMostSignificantBits() ), value.getLeastSignificantBits() ) );
+    }
+
+
+    /**
+     * Combines a hash with a value, e.g. to hash several fields in turn.
+     *
+     * @param hash the hash so far
+     * @param value the value to add
+     * @return the combined hash, to be finalized with hash64( long )
+     */
+    public static long combine( long hash, long value ) {
+        return Long.rotateLeft( hash ^ hash64( value ), 27 ) * 5 + 0x52dce729;
+    }
+}
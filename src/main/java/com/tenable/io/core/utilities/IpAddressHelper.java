@@ -1,14 +1,25 @@
 package com.tenable.io.core.utilities;
 
 
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
 import com.tenable.io.core.exceptions.TenableIoErrorCode;
 import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.models.IpAddress;
 
 
 /**
  * Copyright (c) 2017 Tenable Network Security, Inc.
  */
 public class IpAddressHelper {
+    /**
+     * The value of an IPv4 address that is not set, for addresses held as unsigned 32 bit values in a long.
+     */
+    public static final long NO_IPV4 = -1L;
+
+
     /**
      * Convert an IP address to an integer
      *
@@ -79,4 +90,197 @@ public class IpAddressHelper {
 
         return ret;
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Parses a dotted decimal IPv4 address, without allocation and without host name lookup.
+     *
+     * @param value the address text
+     * @return the address as an unsigned 32 bit value, or NO_IPV4 if the value is not an IPv4 address
+     */
+    public static long tryParseIpV4( CharSequence value ) {
+        return tryParseIpV4( value, 0, value.length() );
+    }
+
+
+    /**
+     * Parses an IPv4 or IPv6 address literal, without host name lookup. IPv6 addresses may use the :: shorthand, end
+     * with a dotted IPv4 address and be enclosed in brackets.
+     *
+     * @param value the address text
+     * @return the IP address, or null if the value is not an address literal
+     */
+    public static IpAddress tryParseIpAddress( CharSequence value ) {
+        int start = 0;
+        int end = value.length();
+        if( end > 1 && value.charAt( 0 ) == '[' && value.charAt( end - 1 ) == ']' ) {
+            start++;
+            end--;
+        }
+
+        long ipV4 = tryParseIpV4( value, start, end );
+        if( ipV4 != NO_IPV4 ) {
+            return IpAddress.ofIpV4( (int)ipV4 );
+        }
+
+        int[] groups = new int[8];
+        int count = 0;
+        int compressed = -1;
+        int position = start;
+        if( end - position >= 2 && value.charAt( position ) == ':' && value.charAt( position + 1 ) == ':' ) {
+            compressed = 0;
+            position += 2;
+        }
+        while( position < end ) {
+            if( count == 8 ) {
+                return null;
+            }
+            int groupEnd = position;
+            int group = 0;
+            while( groupEnd < end && groupEnd - position < 5 ) {
+                int digit = Character.digit( value.charAt( groupEnd ), 16 );
+                if( digit < 0 ) {
+                    break;
+                }
+                group = group * 16 + digit;
+                groupEnd++;
+            }
+            if( groupEnd < end && value.charAt( groupEnd ) == '.' ) {
+                ipV4 = count <= 6 ? tryParseIpV4( value, position, end ) : NO_IPV4;
+                if( ipV4 == NO_IPV4 ) {
+                    return null;
+                }
+                groups[count++] = (int)( ipV4 >>> 16 );
+                groups[count++] = (int)ipV4 & 0xffff;
+                position = end;
+                break;
+            }
+            if( groupEnd == position || groupEnd - position > 4 ) {
+                return null;
+            }
+            groups[count++] = group;
+            position = groupEnd;
+            if( position == end ) {
+                break;
+            }
+            if( value.charAt( position ) != ':' || position + 1 == end ) {
+                return null;
+            }
+            position++;
+            if( value.charAt( position ) == ':' ) {
+                if( compressed >= 0 ) {
+                    return null;
+                }
+                compressed = count;
+                position++;
+            }
+        }
+
+        if( compressed >= 0 ) {
+            if( count == 8 ) {
+                return null;
+            }
+            int shift = 8 - count;
+            for( int i = count - 1; i >= compressed; i-- ) {
+                groups[i + shift] = groups[i];
+                groups[i] = 0;
+            }
+        } else if( count != 8 ) {
+            return null;
+        }
+
+        long high = 0;
+        long low = 0;
+        for( int i = 0; i < 4; i++ ) {
+            high = ( high << 16 ) | groups[i];
+            low = ( low << 16 ) | groups[i + 4];
+        }
+        return IpAddress.ofIpV6( high, low );
+    }
+
+
+    /**
+     * Parses an IPv4 or IPv6 address literal, without host name lookup.
+     *
+     * @param ipAddress the address text
+     * @return the IP address
+     * @throws TenableIoException if the value is not an address literal
+     */
+    public static IpAddress parseIpAddress( String ipAddress ) throws TenableIoException {
+        if( ipAddress == null )
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "ipAddress is null." );
+
+        IpAddress result = tryParseIpAddress( ipAddress );
+        if( result == null )
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "ipAddress %s is invalid.", ipAddress ) );
+
+        return result;
+    }
+
+
+    /**
+     * Converts an IPv4 address held as an unsigned 32 bit value to an Inet4Address, without host name lookup.
+     *
+     * @param ipV4 the address, or NO_IPV4
+     * @return the Inet4Address, null for NO_IPV4
+     */
+    public static Inet4Address toInet4Address( long ipV4 ) {
+        if( ipV4 == NO_IPV4 ) {
+            return null;
+        }
+        byte[] bytes = { (byte)( ipV4 >>> 24 ), (byte)( ipV4 >>> 16 ), (byte)( ipV4 >>> 8 ), (byte)ipV4 };
+        try {
+            return (Inet4Address)InetAddress.getByAddress( bytes );
+        } catch( UnknownHostException e ) {
+            // getByAddress only fails for an address of illegal length
+            throw new IllegalStateException( e );
+        }
+    }
+
+
+    /**
+     * Converts an Inet4Address to an unsigned 32 bit value.
+     *
+     * @param address the address; can be null
+     * @return the address as an unsigned 32 bit value, NO_IPV4 for null
+     */
+    public static long toLong( Inet4Address address ) {
+        if( address == null ) {
+            return NO_IPV4;
+        }
+        byte[] bytes = address.getAddress();
+        return ( ( bytes[0] & 0xffL ) << 24 ) | ( ( bytes[1] & 0xffL ) << 16 ) | ( ( bytes[2] & 0xffL ) << 8 ) | ( bytes[3] & 0xffL );
+    }
+
+
+    private static long tryParseIpV4( CharSequence value, int start, int end ) {
+        long result = 0;
+        int parts = 0;
+        int position = start;
+        while( parts < 4 ) {
+            int part = 0;
+            int digits = 0;
+            while( position < end && digits < 4 ) {
+                char c = value.charAt( position );
+                if( c < '0' || c > '9' ) {
+                    break;
+                }
+                part = part * 10 + ( c - '0' );
+                digits++;
+                position++;
+            }
+            if( digits == 0 || digits > 3 || part > 255 ) {
+                return NO_IPV4;
+            }
+            result = ( result << 8 ) | part;
+            parts++;
+            if( parts < 4 ) {
+                if( position == end || value.charAt( position ) != '.' ) {
+                    return NO_IPV4;
+                }
+                position++;
+            }
+        }
+        return position == end ? result : NO_IPV4;
+    }
+}
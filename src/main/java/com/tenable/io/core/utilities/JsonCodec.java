@@ -0,0 +1,47 @@
+package com.tenable.io.core.utilities;
+
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+
+/**
+ * Reads and writes one model class directly with the Jackson streaming API, without bean introspection or
+ * reflection. Codecs are registered in the ObjectMapper of a JsonHelper created with useCodecs through
+ * JsonCodecModule; models without a codec are bound by Jackson databind as before.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ *
+ * @param <T> the model type
+ */
+public interface JsonCodec<T> {
+    /**
+     * Gets the model class handled by this codec.
+     *
+     * @return the model class
+     */
+    Class<T> getType();
+
+
+    /**
+     * Reads a model from the given parser, positioned on the START_OBJECT token of the model. The parser is left on
+     * the matching END_OBJECT token.
+     *
+     * @param parser the parser
+     * @return the model
+     * @throws IOException if the model could not be read
+     */
+    T read( JsonParser parser ) throws IOException;
+
+
+    /**
+     * Writes the given model as a JSON object.
+     *
+     * @param generator the generator
+     * @param value the model
+     * @throws IOException if the model could not be written
+     */
+    void write( JsonGenerator generator, T value ) throws IOException;
+}
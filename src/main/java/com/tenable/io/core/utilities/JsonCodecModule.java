@@ -0,0 +1,141 @@
+package com.tenable.io.core.utilities;
+
+
+import java.io.IOException;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.tenable.io.api.codecs.AssetCodec;
+import com.tenable.io.api.codecs.ExportStatusCodec;
+import com.tenable.io.api.codecs.VulnerabilityCodec;
+import com.tenable.io.core.utilities.models.IpAddress;
+
+
+/**
+ * Jackson module plugging JsonCodecs into an ObjectMapper, so the models with a codec are bound with it and other
+ * models keep the databind binding. JsonHelper registers the codecs when created with useCodecs, as the export chunk
+ * readers and writers do; the default JsonHelper registers the module without codecs. The module also replaces the
+ * databind InetAddress deserializers, which go through InetAddress.getByName, with ones accepting address literals
+ * only, so binding never triggers a host name lookup.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class JsonCodecModule extends SimpleModule {
+    private static final long serialVersionUID = 1L;
+
+
+    /**
+     * Instantiates a module registering the given codecs.
+     *
+     * @param codecs the codecs
+     */
+    public JsonCodecModule( JsonCodec<?>... codecs ) {
+        super( "JsonCodecModule" );
+        for( JsonCodec<?> codec : codecs ) {
+            register( codec );
+        }
+        addDeserializer( InetAddress.class, new AddressDeserializer<>( InetAddress.class ) );
+        addDeserializer( Inet4Address.class, new AddressDeserializer<>( Inet4Address.class ) );
+        addDeserializer( Inet6Address.class, new AddressDeserializer<>( Inet6Address.class ) );
+    }
+
+
+    /**
+     * Creates the module registering the codecs of the SDK models: Vulnerability, Asset and ExportStatus.
+     *
+     * @return the module
+     */
+    public static JsonCodecModule defaults() {
+        return new JsonCodecModule( new VulnerabilityCodec(), new AssetCodec(), new ExportStatusCodec() );
+    }
+
+
+    private <T> void register( JsonCodec<T> codec ) {
+        addDeserializer( codec.getType(), new CodecDeserializer<>( codec ) );
+        addSerializer( codec.getType(), new CodecSerializer<>( codec ) );
+    }
+
+
+    private static class CodecDeserializer<T> extends StdDeserializer<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final JsonCodec<T> codec;
+
+
+        CodecDeserializer( JsonCodec<T> codec ) {
+            super( codec.getType() );
+            this.codec = codec;
+        }
+
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public T deserialize( JsonParser parser, DeserializationContext context ) throws IOException {
+            if( parser.getCurrentToken() != JsonToken.START_OBJECT ) {
+                return (T) context.handleUnexpectedToken( handledType(), parser );
+            }
+            return codec.read( parser );
+        }
+    }
+
+
+    private static class CodecSerializer<T> extends StdSerializer<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final JsonCodec<T> codec;
+
+
+        CodecSerializer( JsonCodec<T> codec ) {
+            super( codec.getType() );
+            this.codec = codec;
+        }
+
+
+        @Override
+        public void serialize( T value, JsonGenerator generator, SerializerProvider provider ) throws IOException {
+            codec.write( generator, value );
+        }
+    }
+
+
+    private static class AddressDeserializer<T extends InetAddress> extends StdScalarDeserializer<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final Class<T> type;
+
+
+        AddressDeserializer( Class<T> type ) {
+            super( type );
+            this.type = type;
+        }
+
+
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public T deserialize( JsonParser parser, DeserializationContext context ) throws IOException {
+            if( parser.getCurrentToken() != JsonToken.VALUE_STRING ) {
+                return (T) context.handleUnexpectedToken( handledType(), parser );
+            }
+            String text = parser.getText().trim();
+            if( text.isEmpty() ) {
+                return null;
+            }
+            IpAddress address = IpAddressHelper.tryParseIpAddress( text );
+            InetAddress inetAddress = address != null ? address.toInetAddress() : null;
+            if( !type.isInstance( inetAddress ) ) {
+                return (T) context.handleWeirdStringValue( handledType(), text, "not an IP address literal" );
+            }
+            return type.cast( inetAddress );
+        }
+    }
+}
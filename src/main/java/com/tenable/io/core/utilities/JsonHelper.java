@@ -2,13 +2,19 @@ package com.tenable.io.core.utilities;
 
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.tenable.io.core.utilities.models.Projection;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
 
 
@@ -20,12 +26,25 @@ public class JsonHelper {
 
 
     /**
-     * Instantiates a new Json helper.
+     * Instantiates a new Json helper binding all models with Jackson databind.
      */
     public JsonHelper() {
+        this( false );
+    }
+
+
+    /**
+     * Instantiates a new Json helper.
+     *
+     * @param useCodecs true to bind the models that have a streaming JsonCodec with it, as the export readers do, false
+     *                  to bind all models with Jackson databind. InetAddress values are read from literals only either
+     *                  way.
+     */
+    public JsonHelper( boolean useCodecs ) {
         objectMapper = new ObjectMapper();
         objectMapper.configure( DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false );
         objectMapper.configure( DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true );
+        objectMapper.registerModule( useCodecs ? JsonCodecModule.defaults() : new JsonCodecModule() );
     }
 
 
@@ -132,6 +151,105 @@ public class JsonHelper {
     }
 
 
+    /**
+     * Convert a Json string to a Java value, binding only the properties kept by the given projection. The other
+     * properties are skipped by the parser without being bound.
+     *
+     * @param <A>        the type parameter
+     * @param json       Json string to convert.
+     * @param clazz      Expected Java value type.
+     * @param projection the properties to bind
+     * @return the deserialized Java model
+     */
+    public <A> A fromJson( String json, Class<A> clazz, Projection projection ) {
+        try( JsonParser parser = objectMapper.getFactory().createParser( json ) ) {
+            parser.nextToken();
+            return readValue( parser, clazz, projection );
+        } catch( Exception e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+
+    /**
+     * Convert a Json string to a Java value, binding only the properties kept by the given projection. Use this to
+     * deserialize into a generic type, e.g. a list of models.
+     *
+     * @param <A>          the type parameter
+     * @param json         Json string to convert.
+     * @param valueTypeRef Expected Java value type.
+     * @param projection   the properties to bind
+     * @return the deserialized Java model
+     */
+    public <A> A fromJson( String json, TypeReference<A> valueTypeRef, Projection projection ) {
+        try( JsonParser parser = objectMapper.getFactory().createParser( json ) ) {
+            parser.nextToken();
+            return objectMapper.readValue( project( parser, projection ), valueTypeRef );
+        } catch( Exception e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+
+    /**
+     * Binds the value the given parser is positioned on, keeping only the properties of the given projection. The
+     * other properties are skipped by the parser, so their subtrees are never built. The parser is left on the last
+     * token of the value.
+     *
+     * @param <A>        the type parameter
+     * @param parser     the parser, positioned on the first token of the value
+     * @param clazz      Expected Java value type.
+     * @param projection the properties to bind
+     * @return the deserialized Java model
+     * @throws IOException if the value could not be read or bound
+     */
+    public <A> A readValue( JsonParser parser, Class<A> clazz, Projection projection ) throws IOException {
+        return objectMapper.readValue( project( parser, projection ), clazz );
+    }
+
+
+    private JsonParser project( JsonParser parser, Projection projection ) throws IOException {
+        TokenBuffer buffer = new TokenBuffer( parser );
+        copyProjected( parser, buffer, projection );
+        JsonParser projected = buffer.asParser( objectMapper );
+        projected.nextToken();
+        return projected;
+    }
+
+
+    private static void copyProjected( JsonParser parser, TokenBuffer buffer, Projection projection ) throws IOException {
+        if( projection.isIncludeAll() ) {
+            buffer.copyCurrentStructure( parser );
+            return;
+        }
+
+        JsonToken token = parser.getCurrentToken();
+        if( token == JsonToken.START_OBJECT ) {
+            buffer.writeStartObject();
+            while( parser.nextToken() == JsonToken.FIELD_NAME ) {
+                String name = parser.getCurrentName();
+                Projection field = projection.getField( name );
+                parser.nextToken();
+                if( field == null ) {
+                    parser.skipChildren();
+                } else {
+                    buffer.writeFieldName( name );
+                    copyProjected( parser, buffer, field );
+                }
+            }
+            buffer.writeEndObject();
+        } else if( token == JsonToken.START_ARRAY ) {
+            buffer.writeStartArray();
+            while( parser.nextToken() != JsonToken.END_ARRAY ) {
+                copyProjected( parser, buffer, projection );
+            }
+            buffer.writeEndArray();
+        } else {
+            buffer.copyCurrentEvent( parser );
+        }
+    }
+
+
     /**
      * Creates a new empty ObjectNode.
      *
@@ -191,4 +309,27 @@ public class JsonHelper {
             throw new RuntimeException( t );
         }
     }
+
+
+    /**
+     * Creates a streaming parser over the given InputStream. The parser is bound to this helper's object mapper,
+     * so {@code parser.readValueAs( clazz )} can be used to bind individual values while streaming.
+     *
+     * @param src the src
+     * @return the streaming parser
+     * @throws IOException if the parser could not be created
+     */
+    public JsonParser createParser( InputStream src ) throws IOException {
+        return objectMapper.getFactory().createParser( src );
+    }
+
+
+    /**
+     * Gets the object mapper backing this helper, e.g. to introspect model classes or bind values from a parser.
+     *
+     * @return the object mapper
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
 }
@@ -0,0 +1,236 @@
+package com.tenable.io.core.utilities;
+
+
+import java.util.Date;
+
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+
+
+/**
+ * Parses the timestamps found in API responses and exports into milliseconds since epoch, without SimpleDateFormat,
+ * Calendar or any allocation. Accepts epoch milliseconds given as a string and the ISO 8601 forms used by the API:
+ * a date, optionally followed by a time with optional seconds and fraction, and a zone designator (Z, +hh, +hhmm or
+ * +hh:mm). A time without zone designator is read as UTC.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class TimestampHelper {
+    /**
+     * The value of a timestamp that is not set.
+     */
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+
+    /**
+     * Parses the given timestamp.
+     *
+     * @param value the timestamp, as epoch milliseconds or ISO 8601
+     * @return the timestamp in milliseconds since epoch
+     * @throws TenableIoException if the value is not a supported timestamp
+     */
+    public static long parse( String value ) throws TenableIoException {
+        if( value == null ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, "timestamp is null." );
+        }
+        long result = tryParse( value );
+        if( result == NO_TIMESTAMP ) {
+            throw new TenableIoException( TenableIoErrorCode.InvalidParameter, String.format( "timestamp %s is invalid.", value ) );
+        }
+        return result;
+    }
+
+
+    /**
+     * Parses the given timestamp.
+     *
+     * @param value the timestamp, as epoch milliseconds or ISO 8601
+     * @return the timestamp in milliseconds since epoch, or NO_TIMESTAMP if the value is not a supported timestamp
+     */
+    public static long tryParse( CharSequence value ) {
+        int length = value.length();
+        if( length == 0 ) {
+            return NO_TIMESTAMP;
+        }
+        if( isEpoch( value ) ) {
+            return parseEpoch( value );
+        }
+        if( length < 10 || value.charAt( 4 ) != '-' || value.charAt( 7 ) != '-' ) {
+            return NO_TIMESTAMP;
+        }
+
+        int year = digits( value, 0, 4 );
+        int month = digits( value, 5, 2 );
+        int day = digits( value, 8, 2 );
+        if( year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth( year, month ) ) {
+            return NO_TIMESTAMP;
+        }
+        long millis = daysFromCivil( year, month, day ) * MILLIS_PER_DAY;
+        if( length == 10 ) {
+            return millis;
+        }
+
+        char separator = value.charAt( 10 );
+        if( ( separator != 'T' && separator != 't' && separator != ' ' ) || length < 16 || value.charAt( 13 ) != ':' ) {
+            return NO_TIMESTAMP;
+        }
+        int hour = digits( value, 11, 2 );
+        int minute = digits( value, 14, 2 );
+        if( hour < 0 || hour > 23 || minute < 0 || minute > 59 ) {
+            return NO_TIMESTAMP;
+        }
+        millis += hour * 3600000L + minute * 60000L;
+
+        int position = 16;
+        if( position < length && value.charAt( position ) == ':' ) {
+            int second = digits( value, position + 1, 2 );
+            if( second < 0 || second > 60 ) {
+                return NO_TIMESTAMP;
+            }
+            millis += second * 1000L;
+            position += 3;
+
+            if( position < length && ( value.charAt( position ) == '.' || value.charAt( position ) == ',' ) ) {
+                position++;
+                int start = position;
+                int fraction = 0;
+                while( position < length && Character.isDigit( value.charAt( position ) ) ) {
+                    if( position - start < 3 ) {
+                        fraction = fraction * 10 + ( value.charAt( position ) - '0' );
+                    }
+                    position++;
+                }
+                if( position == start ) {
+                    return NO_TIMESTAMP;
+                }
+                for( int i = position - start; i < 3; i++ ) {
+                    fraction *= 10;
+                }
+                millis += fraction;
+            }
+        }
+
+        if( position == length ) {
+            return millis;
+        }
+        char zone = value.charAt( position );
+        if( ( zone == 'Z' || zone == 'z' ) && position + 1 == length ) {
+            return millis;
+        }
+        if( zone != '+' && zone != '-' ) {
+            return NO_TIMESTAMP;
+        }
+        int offsetHours = digits( value, position + 1, 2 );
+        int offsetMinutes = 0;
+        position += 3;
+        if( position < length ) {
+            if( value.charAt( position ) == ':' ) {
+                position++;
+            }
+            offsetMinutes = digits( value, position, 2 );
+            position += 2;
+        }
+        if( offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59 || position != length ) {
+            return NO_TIMESTAMP;
+        }
+        long offset = offsetHours * 3600000L + offsetMinutes * 60000L;
+        return zone == '+' ? millis - offset : millis + offset;
+    }
+
+
+    /**
+     * Converts the given timestamp to a Date.
+     *
+     * @param millis the timestamp in milliseconds since epoch, or NO_TIMESTAMP
+     * @return the Date, null for NO_TIMESTAMP
+     */
+    public static Date toDate( long millis ) {
+        return millis == NO_TIMESTAMP ? null : new Date( millis );
+    }
+
+
+    /**
+     * Converts the given Date to a timestamp.
+     *
+     * @param date the Date; can be null
+     * @return the timestamp in milliseconds since epoch, NO_TIMESTAMP for null
+     */
+    public static long toMillis( Date date ) {
+        return date == null ? NO_TIMESTAMP : date.getTime();
+    }
+
+
+    private static boolean isEpoch( CharSequence value ) {
+        int start = value.charAt( 0 ) == '-' ? 1 : 0;
+        if( start == value.length() || value.length() - start > 18 ) {
+            return false;
+        }
+        for( int i = start; i < value.length(); i++ ) {
+            if( !Character.isDigit( value.charAt( i ) ) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    private static long parseEpoch( CharSequence value ) {
+        boolean negative = value.charAt( 0 ) == '-';
+        long result = 0;
+        for( int i = negative ? 1 : 0; i < value.length(); i++ ) {
+            result = result * 10 + ( value.charAt( i ) - '0' );
+        }
+        return negative ? -result : result;
+    }
+
+
+    /**
+     * Reads a fixed number of ASCII digits.
+     *
+     * @return the number, or -1 if the characters are not all digits
+     */
+    private static int digits( CharSequence value, int start, int count ) {
+        if( start + count > value.length() ) {
+            return -1;
+        }
+        int result = 0;
+        for( int i = start; i < start + count; i++ ) {
+            char c = value.charAt( i );
+            if( c < '0' || c > '9' ) {
+                return -1;
+            }
+            result = result * 10 + ( c - '0' );
+        }
+        return result;
+    }
+
+
+    private static int daysInMonth( int year, int month ) {
+        switch( month ) {
+            case 2:
+                return ( year % 4 == 0 && ( year % 100 != 0 || year % 400 == 0 ) ) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+
+    /**
+     * Counts the days from 1970-01-01 to the given date of the proleptic Gregorian calendar.
+     */
+    private static long daysFromCivil( int year, int month, int day ) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = ( y >= 0 ? y : y - 399 ) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = ( 153 * ( month + ( month > 2 ? -3 : 9 ) ) + 2 ) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+}
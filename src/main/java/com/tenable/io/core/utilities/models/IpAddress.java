@@ -0,0 +1,185 @@
+package com.tenable.io.core.utilities.models;
+
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+
+/**
+ * An IPv4 or IPv6 address held as two longs, the high and low 64 bits of the 128 bit address; an IPv4 address is held
+ * in the low 32 bits. Unlike InetAddress, it never has a host name and is never resolved. Immutable.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class IpAddress {
+    private final long high;
+    private final long low;
+    private final boolean ipV4;
+
+
+    private IpAddress( long high, long low, boolean ipV4 ) {
+        this.high = high;
+        this.low = low;
+        this.ipV4 = ipV4;
+    }
+
+
+    /**
+     * Creates an IPv4 address.
+     *
+     * @param address the address, most significant byte first
+     * @return the IP address
+     */
+    public static IpAddress ofIpV4( int address ) {
+        return new IpAddress( 0, address & 0xffffffffL, true );
+    }
+
+
+    /**
+     * Creates an IPv6 address.
+     *
+     * @param high the high 64 bits of the address
+     * @param low the low 64 bits of the address
+     * @return the IP address
+     */
+    public static IpAddress ofIpV6( long high, long low ) {
+        return new IpAddress( high, low, false );
+    }
+
+
+    /**
+     * Returns true if this is an IPv4 address.
+     *
+     * @return true if this is an IPv4 address, false for IPv6
+     */
+    public boolean isIpV4() {
+        return ipV4;
+    }
+
+
+    /**
+     * Gets the high 64 bits of the address, 0 for IPv4.
+     *
+     * @return the high 64 bits of the address
+     */
+    public long getHigh() {
+        return high;
+    }
+
+
+    /**
+     * Gets the low 64 bits of the address.
+     *
+     * @return the low 64 bits of the address
+     */
+    public long getLow() {
+        return low;
+    }
+
+
+    /**
+     * Returns the IPv4 address as an integer, most significant byte first.
+     *
+     * @return the IPv4 address as an integer
+     */
+    public int toInt() {
+        return (int)low;
+    }
+
+
+    /**
+     * Returns the address in network byte order: 4 bytes for IPv4, 16 for IPv6.
+     *
+     * @return the address bytes
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[ipV4 ? 4 : 16];
+        for( int i = 0; i < bytes.length; i++ ) {
+            int shift = ( bytes.length - 1 - i ) * 8;
+            bytes[i] = (byte)( shift >= 64 ? high >>> ( shift - 64 ) : low >>> shift );
+        }
+        return bytes;
+    }
+
+
+    /**
+     * Converts the address to an InetAddress, without host name lookup.
+     *
+     * @return the Inet4Address or Inet6Address
+     */
+    public InetAddress toInetAddress() {
+        try {
+            return InetAddress.getByAddress( toBytes() );
+        } catch( UnknownHostException e ) {
+            // getByAddress only fails for an address of illegal length
+            throw new IllegalStateException( e );
+        }
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode( high ) * 31 + Long.hashCode( low ) + ( ipV4 ? 1 : 0 );
+    }
+
+
+    @Override
+    public boolean equals( Object obj ) {
+        if( obj == this ) return true;
+        if( !( obj instanceof IpAddress ) ) return false;
+
+        IpAddress other = (IpAddress)obj;
+        return high == other.high && low == other.low && ipV4 == other.ipV4;
+    }
+
+
+    /**
+     * Formats the address: dotted decimal for IPv4, and the RFC 5952 text form for IPv6, lower case with the longest
+     * run of zero groups compressed.
+     *
+     * @return the address text
+     */
+    @Override
+    public String toString() {
+        if( ipV4 ) {
+            return ( ( low >>> 24 ) & 0xff ) + "." + ( ( low >>> 16 ) & 0xff ) + "." + ( ( low >>> 8 ) & 0xff ) + "." + ( low & 0xff );
+        }
+
+        int zeroStart = -1;
+        int zeroLength = 0;
+        for( int i = 0; i < 8; ) {
+            if( group( i ) != 0 ) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while( i < 8 && group( i ) == 0 ) {
+                i++;
+            }
+            if( i - start > zeroLength && i - start > 1 ) {
+                zeroStart = start;
+                zeroLength = i - start;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder( 39 );
+        for( int i = 0; i < 8; i++ ) {
+            if( i == zeroStart ) {
+                sb.append( "::" );
+                i += zeroLength - 1;
+                continue;
+            }
+            if( sb.length() > 0 && sb.charAt( sb.length() - 1 ) != ':' ) {
+                sb.append( ':' );
+            }
+            sb.append( Integer.toHexString( group( i ) ) );
+        }
+        return sb.toString();
+    }
+
+
+    private int group( int index ) {
+        long half = index < 4 ? high : low;
+        return (int)( half >>> ( ( 3 - index % 4 ) * 16 ) ) & 0xffff;
+    }
+}
@@ -0,0 +1,98 @@
+package com.tenable.io.core.utilities.models;
+
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * The JSON properties to keep when deserializing a model; the others are skipped by the parser without being bound.
+ * Paths are JSON property names, dot separated for nested objects, e.g. {@code Projection.of( "severity", "pluginID",
+ * "port" )} for Vulnerability or {@code Projection.of( "info.name", "hosts.hostname" )} for ScanDetails. Arrays are
+ * transparent: a path applies to every element of an array. Immutable.
+ *
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public final class Projection {
+    private static final Projection all = new Projection( true );
+
+    private final boolean includeAll;
+    private final Map<String, Projection> fields = new LinkedHashMap<>();
+
+
+    private Projection( boolean includeAll ) {
+        this.includeAll = includeAll;
+    }
+
+
+    /**
+     * Creates a projection keeping the given property paths.
+     *
+     * @param paths the property paths, dot separated for nested objects
+     * @return the projection
+     */
+    public static Projection of( String... paths ) {
+        Projection projection = new Projection( false );
+        for( String path : paths ) {
+            projection.add( path.split( "\\." ), 0 );
+        }
+        return projection;
+    }
+
+
+    /**
+     * Gets the projection of the given property.
+     *
+     * @param name the JSON property name
+     * @return the projection to apply to the property value, or null if the property is skipped
+     */
+    public Projection getField( String name ) {
+        return includeAll ? this : fields.get( name );
+    }
+
+
+    /**
+     * Returns true if the whole value is kept.
+     *
+     * @return true if the whole value is kept
+     */
+    public boolean isIncludeAll() {
+        return includeAll;
+    }
+
+
+    /**
+     * Gets the names of the properties kept at this level.
+     *
+     * @return the property names, empty if the whole value is kept
+     */
+    public Set<String> getFieldNames() {
+        return Collections.unmodifiableSet( fields.keySet() );
+    }
+
+
+    private void add( String[] path, int depth ) {
+        String name = path[depth];
+        if( depth == path.length - 1 ) {
+            fields.put( name, all );
+            return;
+        }
+
+        Projection child = fields.get( name );
+        if( child == null ) {
+            child = new Projection( false );
+            fields.put( name, child );
+        }
+        if( !child.includeAll ) {
+            child.add( path, depth + 1 );
+        }
+    }
+
+
+    @Override
+    public String toString() {
+        return includeAll ? "*" : fields.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.tenable.io.api.codecs;
+
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tenable.io.api.exports.models.ExportStatus;
+import com.tenable.io.api.exports.models.Status;
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.api.models.RiskFactor;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.IpAddressHelper;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class JsonCodecTest {
+
+    @Test
+    public void testSameJsonAsDatabind() throws Exception {
+        JsonHelper codecs = new JsonHelper( true );
+        JsonHelper databind = new JsonHelper( false );
+
+        Vulnerability vulnerability = new Vulnerability()
+                .withAssetUuid( UUID.randomUUID() )
+                .withPluginID( 19506 )
+                .withPort( 443 )
+                .withSeverity( SeverityLevel.CRITICAL )
+                .withRiskFactor( RiskFactor.HIGH )
+                .withCvssBaseScore( 9.3f )
+                .withHasPatch( false )
+                .withCves( Arrays.asList( "CVE-2018-0001" ) )
+                .withLastFound( new Date( 1514764800000L ) )
+                .withDescription( "text" );
+        String json = databind.getObjectMapper().writeValueAsString( vulnerability );
+        assertEquals( databind.parse( json ), codecs.parse( codecs.getObjectMapper().writeValueAsString( vulnerability ) ) );
+
+        String chunk = "[" + json + ",{\"pluginID\":\"42\",\"cves\":\"CVE-2018-0002\",\"severity\":\"low\",\"unknown\":{\"a\":[1]},\"firstFound\":\"2018-01-01T00:00:00.000Z\"}]";
+        List<Vulnerability> expected = databind.fromJson( chunk, new TypeReference<List<Vulnerability>>() {} );
+        List<Vulnerability> actual = codecs.fromJson( chunk, new TypeReference<List<Vulnerability>>() {} );
+        assertEquals( databind.toJson( expected ), databind.toJson( actual ) );
+        assertEquals( 42, actual.get( 1 ).getPluginID() );
+        assertEquals( Arrays.asList( "CVE-2018-0002" ), actual.get( 1 ).getCves() );
+
+        String status = "{\"uuid\":\"abc\",\"status\":\"FINISHED\",\"chunks_available\":[1,2],\"total_chunks\":2,\"created\":1514764800000}";
+        ExportStatus exportStatus = codecs.fromJson( status, ExportStatus.class );
+        assertEquals( Status.FINISHED, exportStatus.getStatus() );
+        assertEquals( Arrays.asList( 1, 2 ), exportStatus.getChunksAvailable() );
+        assertEquals( databind.toJson( databind.fromJson( status, ExportStatus.class ) ), codecs.toJson( exportStatus ) );
+    }
+
+
+    @Test
+    public void testAssetAddressWithoutLookup() throws Exception {
+        JsonHelper codecs = new JsonHelper( true );
+        JsonHelper databind = new JsonHelper( false );
+
+        String json = "{\"id\":\"" + UUID.randomUUID() + "\",\"hostIpV4\":\"10.0.1.2\",\"hostName\":\"db\"}";
+        Asset asset = codecs.fromJson( json, Asset.class );
+        assertEquals( 0x0A000102L, asset.getHostIpV4Address() );
+        assertEquals( "10.0.1.2", asset.getHostIpV4().getHostAddress() );
+        assertEquals( databind.toJson( asset ), codecs.toJson( asset ) );
+        assertEquals( IpAddressHelper.NO_IPV4, codecs.fromJson( "{\"hostIpV4\":null}", Asset.class ).getHostIpV4Address() );
+
+        for( String notLiteral : new String[] { "{\"hostIpV4\":\"localhost\"}", "{\"hostIpV4\":\"::1\"}" } ) {
+            try {
+                codecs.fromJson( notLiteral, Asset.class );
+                fail();
+            } catch( RuntimeException e ) {
+                assertTrue( e.getCause() instanceof JsonProcessingException );
+            }
+        }
+        try {
+            codecs.getObjectMapper().readValue( "\"localhost\"", InetAddress.class );
+            fail();
+        } catch( JsonProcessingException e ) {
+            // expected, literals only
+        }
+        assertEquals( "2001:db8:0:0:0:0:0:1", codecs.getObjectMapper().readValue( "\"2001:db8::1\"", InetAddress.class ).getHostAddress() );
+    }
+}
@@ -0,0 +1,149 @@
+package com.tenable.io.api.exports;
+
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class BinaryChunkTest {
+
+    @Test
+    public void testVulnerabilities() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 2000; i++ ) {
+            vulnerabilities.add( new Vulnerability().withAssetUuid( new UUID( i % 50, i ) ).withPluginID( 10000 + i % 300 )
+                    .withPort( i % 3 == 0 ? 0 : 443 ).withProtocol( i % 2 == 0 ? "TCP" : "UDP" )
+                    .withSeverity( SeverityLevel.values()[i % SeverityLevel.values().length] )
+                    .withVulnerabilityState( i % 4 == 0 ? VulnerabilityState.FIXED : VulnerabilityState.OPEN )
+                    .withPluginFamily( "Family " + i % 20 ).withPluginName( "Plugin \u00e9 " + i % 300 )
+                    .withCves( Arrays.asList( "CVE-2018-" + i % 100, "CVE-2017-" + i % 7 ) ).withCvssBaseScore( ( i % 100 ) / 10f )
+                    .withExploitAvailable( i % 5 == 0 ).withFirstFound( new Date( 1500000000000L + i ) )
+                    .withDescription( "A long description of the finding " + i % 300 + " that is repeated for each asset" ) );
+        }
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+        }
+
+        File binaryFile = BinaryChunkWriter.transcode( chunkFile );
+        binaryFile.deleteOnExit();
+        assertTrue( BinaryChunkWriter.isBinary( binaryFile ) );
+        assertFalse( BinaryChunkWriter.isBinary( chunkFile ) );
+        assertTrue( binaryFile.length() * 2 < chunkFile.length() );
+
+        List<Vulnerability> read = new ArrayList<>();
+        BinaryChunkReader.readAll( BinaryChunkWriter.transcodeAll( Arrays.asList( chunkFile ) ), Vulnerability.class, read::add );
+        assertEquals( jsonHelper.toJson( vulnerabilities ), jsonHelper.toJson( read ) );
+    }
+
+
+    @Test
+    public void testTokens() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        ArrayNode records = jsonHelper.getObjectMapper().createArrayNode();
+        StringBuilder longText = new StringBuilder();
+        for( int i = 0; i < 20000; i++ ) {
+            longText.append( "text \u20ac " ).append( i );
+        }
+        for( int i = 0; i < 1500; i++ ) {
+            ObjectNode record = records.addObject();
+            // more distinct names and strings than the shared tables hold
+            record.put( "name" + i, "value" + i );
+            record.put( "shared", "same" );
+            record.put( "int", -i );
+            record.put( "long", Long.MIN_VALUE + i );
+            record.set( "big", JsonNodeFactory.instance.numberNode( new BigInteger( "123456789012345678901234567890" ).add( BigInteger.valueOf( i ) ) ) );
+            record.put( "double", i / 7.0 );
+            record.put( "flag", i % 2 == 0 );
+            record.putNull( "nothing" );
+            record.putObject( "nested" ).putArray( "list" ).add( i ).addObject().put( "deep", "x" );
+            if( i % 500 == 0 ) {
+                record.put( "long_text", longText.toString() );
+            }
+        }
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, records );
+        }
+        File binaryFile = File.createTempFile( "chunk", ".bin" );
+        binaryFile.deleteOnExit();
+        BinaryChunkWriter.transcode( chunkFile, binaryFile );
+
+        List<JsonNode> expected = new ArrayList<>();
+        ExportChunkReader.readAll( Arrays.asList( chunkFile ), JsonNode.class, expected::add );
+        List<JsonNode> actual = new ArrayList<>();
+        BinaryChunkReader.readAll( Arrays.asList( binaryFile ), JsonNode.class, actual::add );
+        assertEquals( expected, actual );
+    }
+
+
+    @Test
+    public void testNumbers() throws Exception {
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            out.write( "[2147483648,-12,9.3,1.0E20]".getBytes( "UTF-8" ) );
+        }
+        File binaryFile = File.createTempFile( "chunk", ".bin" );
+        binaryFile.deleteOnExit();
+        BinaryChunkWriter.transcode( chunkFile, binaryFile );
+
+        try( JsonParser parser = new BinaryJsonParser( new FileInputStream( binaryFile ), null ) ) {
+            assertEquals( JsonToken.START_ARRAY, parser.nextToken() );
+            assertEquals( JsonToken.VALUE_NUMBER_INT, parser.nextToken() );
+            assertEquals( 2147483648L, parser.getLongValue() );
+            assertEquals( "2147483648", parser.getText() );
+            try {
+                parser.getIntValue();
+                fail();
+            } catch( JsonParseException e ) {
+                assertTrue( e.getMessage().contains( "out of range of int" ) );
+            }
+            parser.nextToken();
+            assertEquals( -12, parser.getIntValue() );
+            assertEquals( "-12", parser.getText() );
+            assertEquals( JsonToken.VALUE_NUMBER_FLOAT, parser.nextToken() );
+            assertEquals( JsonParser.NumberType.DOUBLE, parser.getNumberType() );
+            assertEquals( "9.3", parser.getText() );
+            assertEquals( 9, parser.getIntValue() );
+            parser.nextToken();
+            try {
+                parser.getLongValue();
+                fail();
+            } catch( JsonParseException e ) {
+                assertTrue( e.getMessage().contains( "out of range of long" ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tenable.io.api.exports;
+
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tenable.io.api.exports.models.BundleFormat;
+import com.tenable.io.api.exports.models.BundleManifest;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ChunkBundlerTest {
+
+    @Test
+    public void testBundle() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        List<List<Vulnerability>> chunks = new ArrayList<>();
+        for( int c = 0; c < 3; c++ ) {
+            List<Vulnerability> vulnerabilities = new ArrayList<>();
+            for( int i = 0; i < 100 * c; i++ ) {
+                vulnerabilities.add( new Vulnerability().withAssetUuid( new UUID( c, i ) ).withPluginID( i )
+                        .withDescription( "a \"quoted\" {brace} [bracket], \\ \u00e9 " + i ) );
+            }
+            chunks.add( vulnerabilities );
+        }
+        // a pretty printed chunk, an empty chunk, a compressed chunk and a compact chunk
+        File prettyFile = File.createTempFile( "chunk", ".json" );
+        prettyFile.deleteOnExit();
+        jsonHelper.getObjectMapper().writerWithDefaultPrettyPrinter().writeValue( prettyFile, chunks.get( 1 ) );
+        File emptyFile = File.createTempFile( "chunk", ".json" );
+        emptyFile.deleteOnExit();
+        Files.write( emptyFile.toPath(), " [ ]\n".getBytes( StandardCharsets.UTF_8 ) );
+        File compressedFile = File.createTempFile( "chunk", ".json" + ChunkCompression.SUFFIX );
+        compressedFile.deleteOnExit();
+        try( OutputStream out = new GZIPOutputStream( new FileOutputStream( compressedFile ) ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, chunks.get( 2 ) );
+        }
+        File compactFile = File.createTempFile( "chunk", ".json" );
+        compactFile.deleteOnExit();
+        jsonHelper.getObjectMapper().writeValue( compactFile, chunks.get( 2 ) );
+        List<File> chunkFiles = Arrays.asList( prettyFile, emptyFile, compressedFile, compactFile );
+        List<List<Vulnerability>> expected = Arrays.asList( chunks.get( 1 ), chunks.get( 0 ), chunks.get( 2 ), chunks.get( 2 ) );
+        List<Vulnerability> all = new ArrayList<>();
+        expected.forEach( all::addAll );
+
+        for( BundleFormat format : BundleFormat.values() ) {
+            File bundleFile = File.createTempFile( "bundle", ".json" );
+            bundleFile.deleteOnExit();
+            ChunkBundler.manifestFile( bundleFile ).deleteOnExit();
+            BundleManifest written = ChunkBundler.bundle( chunkFiles, bundleFile, format );
+            BundleManifest manifest = ChunkBundler.readManifest( bundleFile );
+            assertEquals( jsonHelper.toJson( written ), jsonHelper.toJson( manifest ) );
+            assertEquals( bundleFile.length(), manifest.getSize() );
+            assertEquals( 500, manifest.getRecordCount() );
+            assertEquals( 4, manifest.getChunks().size() );
+
+            byte[] bundle = Files.readAllBytes( bundleFile.toPath() );
+            if( format == BundleFormat.JSON_ARRAY ) {
+                assertEquals( parse( jsonHelper, all ), jsonHelper.parse( new String( bundle, StandardCharsets.UTF_8 ) ) );
+            } else {
+                assertEquals( parse( jsonHelper, all ), jsonHelper.toJson( parseLines( jsonHelper, new String( bundle, StandardCharsets.UTF_8 ) ) ) );
+            }
+
+            try( RandomAccessFile file = new RandomAccessFile( bundleFile, "r" ) ) {
+                for( int c = 0; c < 4; c++ ) {
+                    BundleManifest.Chunk chunk = manifest.getChunks().get( c );
+                    assertEquals( chunkFiles.get( c ).getName(), chunk.getChunkFile() );
+                    assertEquals( expected.get( c ).size(), chunk.getRecordCount() );
+                    byte[] bytes = new byte[(int) chunk.getLength()];
+                    file.seek( chunk.getOffset() );
+                    file.readFully( bytes );
+                    String text = new String( bytes, StandardCharsets.UTF_8 );
+                    JsonNode records = format == BundleFormat.JSON_ARRAY ? jsonHelper.parse( "[" + text + "]" ) : jsonHelper.toJson( parseLines( jsonHelper, text ) );
+                    assertEquals( parse( jsonHelper, expected.get( c ) ), records );
+                }
+            }
+            assertSame( manifest.getChunks().get( 0 ), manifest.chunkOfRecord( 99 ) );
+            assertSame( manifest.getChunks().get( 2 ), manifest.chunkOfRecord( 100 ) );
+            assertSame( manifest.getChunks().get( 3 ), manifest.chunkOfRecord( 499 ) );
+            assertNull( manifest.chunkOfRecord( 500 ) );
+        }
+    }
+
+
+    private static JsonNode parse( JsonHelper jsonHelper, List<Vulnerability> vulnerabilities ) throws Exception {
+        return jsonHelper.parse( jsonHelper.getObjectMapper().writeValueAsString( vulnerabilities ) );
+    }
+
+
+    private static List<JsonNode> parseLines( JsonHelper jsonHelper, String text ) {
+        List<JsonNode> records = new ArrayList<>();
+        for( String line : text.split( "\n" ) ) {
+            if( !line.isEmpty() ) {
+                records.add( jsonHelper.parse( line ) );
+            }
+        }
+        return records;
+    }
+}
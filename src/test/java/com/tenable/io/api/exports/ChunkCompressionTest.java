@@ -0,0 +1,78 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ChunkCompressionTest {
+
+    @Test
+    public void testCompressedChunks() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 500; i++ ) {
+            vulnerabilities.add( new Vulnerability().withAssetUuid( new UUID( 0, i % 20 ) ).withPluginID( i )
+                    .withDescription( "description \u00e9 " + i % 10 ) );
+        }
+        File plainFile = File.createTempFile( "chunk", ".json" );
+        plainFile.deleteOnExit();
+        try( OutputStream out = new FileOutputStream( plainFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+        }
+        File compressedFile = File.createTempFile( "chunk", ".json" + ChunkCompression.SUFFIX );
+        compressedFile.deleteOnExit();
+        try( OutputStream out = new GZIPOutputStream( new FileOutputStream( compressedFile ) ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+        }
+
+        assertTrue( ChunkCompression.isCompressed( compressedFile ) );
+        assertFalse( ChunkCompression.isCompressed( plainFile ) );
+        assertTrue( compressedFile.length() * 5 < plainFile.length() );
+        assertEquals( plainFile.length(), ChunkCompression.uncompressedSize( compressedFile ) );
+        assertEquals( plainFile.length(), ChunkCompression.uncompressedSize( plainFile ) );
+        assertEquals( 500, ExportChunkReader.countRecords( compressedFile ) );
+
+        String expected = jsonHelper.toJson( vulnerabilities ).toString();
+        List<Vulnerability> read = new ArrayList<>();
+        ExportChunkReader.readAll( Arrays.asList( plainFile, compressedFile ), Vulnerability.class, read::add );
+        assertEquals( expected, jsonHelper.toJson( read.subList( 0, 500 ) ).toString() );
+        assertEquals( expected, jsonHelper.toJson( read.subList( 500, 1000 ) ).toString() );
+
+        read.clear();
+        try( MappedChunkReader<Vulnerability> reader = new MappedChunkReader<>( compressedFile, Vulnerability.class, 64 ) ) {
+            reader.forEach( read::add );
+        }
+        assertEquals( expected, jsonHelper.toJson( read ).toString() );
+
+        read.clear();
+        LazyChunkReader.readAllVulns( Arrays.asList( compressedFile ), read::add );
+        for( int i = 0; i < 500; i++ ) {
+            assertEquals( i, read.get( i ).getPluginID() );
+            assertEquals( "description \u00e9 " + i % 10, read.get( i ).getDescription() );
+        }
+
+        read.clear();
+        File binaryFile = BinaryChunkWriter.transcode( compressedFile );
+        binaryFile.deleteOnExit();
+        BinaryChunkReader.readAll( Arrays.asList( binaryFile ), Vulnerability.class, read::add );
+        assertEquals( expected, jsonHelper.toJson( read ).toString() );
+    }
+}
@@ -0,0 +1,73 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ChunkProcessorTest {
+
+    @Test
+    public void testProcess() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        List<File> chunkFiles = new ArrayList<>();
+        for( int chunk = 0; chunk < 7; chunk++ ) {
+            List<Vulnerability> vulnerabilities = new ArrayList<>();
+            for( int i = 0; i < 50; i++ ) {
+                vulnerabilities.add( new Vulnerability().withPluginID( chunk * 1000 + i ).withPort( 1 ) );
+            }
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+            }
+            chunkFiles.add( chunkFile );
+        }
+
+        List<Vulnerability> expected = new ArrayList<>();
+        ExportChunkReader.readAll( chunkFiles, Vulnerability.class, expected::add );
+
+        ChunkProcessor<Vulnerability> processor = new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Vulnerability.class ), new ForkJoinPool( 3 ) );
+        List<Vulnerability> ordered = new ArrayList<>();
+        processor.processOrdered( chunkFiles, ordered::add );
+        assertEquals( expected.size(), ordered.size() );
+        for( int i = 0; i < expected.size(); i++ ) {
+            assertEquals( expected.get( i ).getPluginID(), ordered.get( i ).getPluginID() );
+        }
+
+        AtomicLong count = new AtomicLong();
+        processor.processUnordered( chunkFiles, vulnerability -> count.incrementAndGet() );
+        assertEquals( expected.size(), count.get() );
+
+        List<Long> pluginIds = processor.reduce( chunkFiles, ArrayList::new, ( list, vulnerability ) -> list.add( vulnerability.getPluginID() ), ( left, right ) -> {
+            left.addAll( right );
+            return left;
+        } );
+        for( int i = 0; i < expected.size(); i++ ) {
+            assertEquals( expected.get( i ).getPluginID(), (long) pluginIds.get( i ) );
+        }
+
+        chunkFiles.add( new File( chunkFiles.get( 0 ).getPath() + ".missing" ) );
+        try {
+            processor.processUnordered( chunkFiles, vulnerability -> {} );
+            fail();
+        } catch( TenableIoException e ) {
+            // expected, the missing chunk file cannot be opened
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.AssetsExportRequest;
+import com.tenable.io.api.exports.models.ExportMetrics;
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportChunkSizeTunerTest {
+
+    @Test
+    public void testConvergence() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 1 );
+        assertEquals( new AssetsExportRequest().getChunkSize(), tuner.tuneChunkSize( "tenant" ) );
+
+        // 2000 bytes per asset first, then 500 bytes per asset: the chosen size moves halfway each time
+        tuner.record( "tenant", metrics( ExportType.ASSETS, 1000, 10, 2000000, 0, 1000 ) );
+        assertEquals( 500, tuner.tuneChunkSize( "tenant" ) );
+        tuner.record( "tenant", metrics( ExportType.ASSETS, 1000, 10, 500000, 0, 1000 ) );
+        assertEquals( 800, tuner.tuneChunkSize( "tenant" ) );
+        for( int i = 0; i < 20; i++ ) {
+            tuner.record( "tenant", metrics( ExportType.ASSETS, 1000, 10, 500000, 0, 1000 ) );
+        }
+        assertEquals( 2000, tuner.tuneChunkSize( "tenant" ) );
+        assertEquals( 20, tuner.getHistory( "tenant", ExportType.ASSETS ).size() );
+    }
+
+
+    @Test
+    public void testClamping() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 1 );
+        // 10 bytes per asset asks for 100000 assets per chunk
+        tuner.record( "small", metrics( ExportType.ASSETS, 1000, 1, 10000, 0, 1000 ) );
+        tuner.record( "small", metrics( ExportType.VULNS, 1000, 1, 10000, 0, 1000 ) );
+        assertEquals( AssetsExportRequest.higherRange, tuner.tuneChunkSize( "small" ) );
+        assertEquals( VulnsExportRequest.higherRange, tuner.tuneNumAssets( "small" ) );
+
+        // 1 MB per asset asks for a single asset per chunk
+        tuner.record( "large", metrics( ExportType.ASSETS, 10, 1, 10000000, 0, 1000 ) );
+        tuner.record( "large", metrics( ExportType.VULNS, 10, 1, 10000000, 0, 1000 ) );
+        assertEquals( AssetsExportRequest.lowerRange, tuner.tuneChunkSize( "large" ) );
+        assertEquals( VulnsExportRequest.lowerRange, tuner.tuneNumAssets( "large" ) );
+    }
+
+
+    @Test
+    public void testTenants() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 1 );
+        tuner.record( "first", metrics( ExportType.VULNS, 1000, 10, 4000000, 0, 1000 ) );
+        tuner.record( "second", metrics( ExportType.VULNS, 1000, 10, 1000000, 0, 1000 ) );
+        assertEquals( 250, tuner.tuneNumAssets( "first" ) );
+        assertEquals( 1000, tuner.tuneNumAssets( "second" ) );
+        assertEquals( new VulnsExportRequest().getNumAssets(), tuner.tuneNumAssets( "third" ) );
+        // vulns and assets exports of the same tenant are tuned separately
+        assertEquals( new AssetsExportRequest().getChunkSize(), tuner.tuneChunkSize( "first" ) );
+        assertEquals( 1, tuner.getHistory( "first", ExportType.VULNS ).size() );
+        assertTrue( tuner.getHistory( "first", ExportType.ASSETS ).isEmpty() );
+    }
+
+
+    @Test
+    public void testTuneRequest() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 1 );
+        // an untuned tenant keeps the sizes of its requests
+        assertEquals( 123, tuner.tune( "tenant", new VulnsExportRequest( 123 ) ).getNumAssets() );
+        assertEquals( 456, tuner.tune( "tenant", new AssetsExportRequest( 456 ) ).getChunkSize() );
+
+        tuner.record( "tenant", metrics( ExportType.VULNS, 1000, 10, 4000000, 0, 1000 ) );
+        assertEquals( 250, tuner.tune( "tenant", new VulnsExportRequest( 123 ) ).getNumAssets() );
+        assertEquals( 456, tuner.tune( "tenant", new AssetsExportRequest( 456 ) ).getChunkSize() );
+    }
+
+
+    @Test
+    public void testThroughput() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 1 );
+        // 1000 bytes per asset, 10 chunks of 1 MB in 100 s: 100 KB/s
+        tuner.record( "tenant", metrics( ExportType.VULNS, 1000, 10, 1000000, 20000, 100000 ) );
+        tuner.record( "tenant", metrics( ExportType.VULNS, 1000, 10, 1000000, 60000, 100000 ) );
+        assertEquals( 100000, tuner.getBytesPerSecond( "tenant", ExportType.VULNS ), 0.001 );
+        assertEquals( 400, tuner.getRecordsPerSecond( "tenant", ExportType.VULNS ), 0.001 );
+        assertEquals( 0, tuner.getRecordsPerSecond( "other", ExportType.VULNS ), 0.001 );
+        assertEquals( 1000, tuner.tuneNumAssets( "tenant" ) );
+
+        // 5 s per chunk at 100 KB/s is 500 KB per chunk
+        tuner.setTargetChunkMillis( 5000 );
+        assertEquals( 500, tuner.tuneNumAssets( "tenant" ) );
+        // the byte target still applies to faster tenants
+        tuner.setTargetChunkMillis( 60000 );
+        assertEquals( 1000, tuner.tuneNumAssets( "tenant" ) );
+    }
+
+
+    @Test
+    public void testParallelism() {
+        ExportChunkSizeTuner tuner = new ExportChunkSizeTuner( 1000000, 8 );
+        // 1000 bytes per asset and 4000 assets: 8 chunks of 500 assets
+        tuner.record( "tenant", metrics( ExportType.ASSETS, 1000, 4, 1000000, 0, 1000 ) );
+        assertEquals( 500, tuner.tuneChunkSize( "tenant" ) );
+    }
+
+
+    private static ExportMetrics metrics( ExportType exportType, int chunkSize, int chunks, long chunkBytes, long records, long elapsedMillis ) {
+        ExportMetrics metrics = new ExportMetrics().withExportType( exportType ).withChunkSize( chunkSize );
+        for( int i = 0; i < chunks; i++ ) {
+            metrics.addChunk( chunkBytes );
+        }
+        metrics.addRecords( records );
+        return metrics.withElapsedMillis( elapsedMillis );
+    }
+}
@@ -0,0 +1,276 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.TenableIoClient;
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+import com.tenable.io.api.exports.models.ExportProgress;
+import com.tenable.io.api.exports.models.ExportStatus;
+import com.tenable.io.api.exports.models.Status;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportHelperTest {
+
+    @Test
+    public void testCancelOnTimeout() throws Exception {
+        StubExportsApi exportsApi = new StubExportsApi() {
+            @Override
+            public ExportStatus vulnsExportStatus( String exportUuid ) throws TenableIoException {
+                try {
+                    Thread.sleep( 20 );
+                } catch( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.vulnsExportStatus( exportUuid );
+            }
+        };
+        try( StubClient client = new StubClient( exportsApi ); ExportHelper helper = new ExportHelper( client ) ) {
+            helper.setExportTimeout( 10 );
+            try {
+                helper.downloadVulns( tempPath(), new VulnsExportRequest() );
+                fail();
+            } catch( TenableIoException e ) {
+                assertEquals( TenableIoErrorCode.Timeout, e.getErrorCode() );
+            }
+            assertEquals( 1, exportsApi.cancels.get() );
+        }
+    }
+
+
+    @Test
+    public void testCancelOnInterrupt() throws Exception {
+        StubExportsApi exportsApi = new StubExportsApi() {
+            @Override
+            public ExportStatus vulnsExportStatus( String exportUuid ) throws TenableIoException {
+                // interrupted while waiting for the export
+                Thread.currentThread().interrupt();
+                return super.vulnsExportStatus( exportUuid );
+            }
+        };
+        try( StubClient client = new StubClient( exportsApi ); ExportHelper helper = new ExportHelper( client ) ) {
+            try {
+                helper.downloadVulns( tempPath(), new VulnsExportRequest() );
+                fail();
+            } catch( TenableIoException e ) {
+                assertEquals( TenableIoErrorCode.Interrupted, e.getErrorCode() );
+            }
+            // the cancel request ran with the interrupt status cleared, and the status was restored afterwards
+            assertEquals( 1, exportsApi.cancels.get() );
+            assertTrue( Thread.interrupted() );
+        }
+    }
+
+
+    @Test
+    public void testCancelOnClose() throws Exception {
+        final CountDownLatch polled = new CountDownLatch( 1 );
+        StubExportsApi exportsApi = new StubExportsApi() {
+            @Override
+            public ExportStatus vulnsExportStatus( String exportUuid ) throws TenableIoException {
+                ExportStatus status = super.vulnsExportStatus( exportUuid );
+                polled.countDown();
+                return status;
+            }
+        };
+        exportsApi.totalChunks = 2;
+        exportsApi.finishedChunks = 1;
+        try( StubClient client = new StubClient( exportsApi ) ) {
+            ExportHelper helper = new ExportHelper( client );
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread download = new Thread( () -> {
+                try {
+                    helper.downloadVulns( tempPath(), new VulnsExportRequest() );
+                } catch( Throwable e ) {
+                    failure.set( e );
+                }
+            } );
+            download.start();
+            assertTrue( polled.await( 10, TimeUnit.SECONDS ) );
+
+            helper.close();
+            assertEquals( 1, exportsApi.cancels.get() );
+            download.join( 10000 );
+            assertFalse( download.isAlive() );
+            // the waiting thread sees the cancelled status
+            assertTrue( failure.get() instanceof TenableIoException );
+            assertTrue( failure.get().getMessage().contains( "CANCELLED" ) );
+
+            // nothing is left to cancel
+            helper.close();
+            assertEquals( 1, exportsApi.cancels.get() );
+        }
+    }
+
+
+    @Test
+    public void testDownload() throws Exception {
+        StubExportsApi exportsApi = new StubExportsApi();
+        exportsApi.status = Status.FINISHED;
+        exportsApi.chunks = new ArrayList<>( Arrays.asList( 1, 2 ) );
+        try( StubClient client = new StubClient( exportsApi ); ExportHelper helper = new ExportHelper( client ) ) {
+            String path = tempPath();
+            List<File> files = helper.downloadVulns( path, new VulnsExportRequest() );
+            assertEquals( 2, files.size() );
+            assertEquals( path + "_2", files.get( 1 ).getPath() );
+            for( File file : files ) {
+                file.deleteOnExit();
+            }
+        }
+        // nothing is left to cancel on close once the export completed
+        assertEquals( 0, exportsApi.cancels.get() );
+    }
+
+
+    @Test
+    public void testProgress() throws Exception {
+        StubExportsApi exportsApi = new StubExportsApi();
+        exportsApi.status = Status.FINISHED;
+        exportsApi.totalChunks = 2;
+        exportsApi.finishedChunks = 2;
+        exportsApi.chunks = new ArrayList<>( Arrays.asList( 1, 2 ) );
+        final List<Long> records = new ArrayList<>();
+        try( StubClient client = new StubClient( exportsApi ); ExportHelper helper = new ExportHelper( client ) ) {
+            helper.setClock( Clock.fixed( Instant.ofEpochMilli( 1000 ), ZoneOffset.UTC ) );
+            helper.setProgressListener( progress -> records.add( progress.getRecordsDownloaded() ) );
+            for( File file : helper.downloadVulns( tempPath(), new VulnsExportRequest() ) ) {
+                file.deleteOnExit();
+            }
+        }
+        // one notification for the status, then one per downloaded chunk
+        assertEquals( Arrays.asList( 0L, 1L, 2L ), records );
+    }
+
+
+    @Test
+    public void testPollInterval() {
+        Clock clock = Clock.fixed( Instant.ofEpochMilli( 10000 ), ZoneOffset.UTC );
+        // no estimate yet
+        assertEquals( 5000, ExportHelper.nextPollInterval( progress( clock, 0, 0 ) ) );
+        // half the estimated time left: 5 of 10 chunks in 10 s
+        assertEquals( 5000, ExportHelper.nextPollInterval( progress( clock, 10, 5 ) ) );
+        // at most 30 s, at least 1 s
+        assertEquals( 30000, ExportHelper.nextPollInterval( progress( clock, 100, 1 ) ) );
+        assertEquals( 1000, ExportHelper.nextPollInterval( progress( clock, 10, 9 ) ) );
+    }
+
+
+    private static ExportProgress progress( Clock clock, int totalChunks, int finishedChunks ) {
+        ExportStatus status = new ExportStatus();
+        status.setStatus( Status.PROCESSING );
+        status.setTotalChunks( totalChunks );
+        status.setFinishedChunks( finishedChunks );
+        ExportProgress progress = new ExportProgress( ExportType.VULNS, "uuid", 0, clock );
+        progress.update( status );
+        return progress;
+    }
+
+
+    static String tempPath() throws Exception {
+        File file = File.createTempFile( "export", "" );
+        file.delete();
+        return file.getPath();
+    }
+
+
+    /**
+     * A client serving the given exports API.
+     */
+    static class StubClient extends TenableIoClient {
+        private final ExportsApi exportsApi;
+
+
+        StubClient( ExportsApi exportsApi ) {
+            super( "localhost", "https", "access", "secret" );
+            this.exportsApi = exportsApi;
+        }
+
+
+        @Override
+        public synchronized ExportsApi getExportsApi() {
+            return exportsApi;
+        }
+    }
+
+
+    /**
+     * An exports API serving a single vulns export from memory. Like the HTTP client, the cancel request fails when
+     * the calling thread is interrupted.
+     */
+    static class StubExportsApi extends ExportsApi {
+        volatile Status status = Status.PROCESSING;
+        volatile int totalChunks;
+        volatile int finishedChunks;
+        volatile List<Integer> chunks = Collections.emptyList();
+        final AtomicInteger cancels = new AtomicInteger();
+
+
+        StubExportsApi() {
+            super( null, "https", "localhost" );
+        }
+
+
+        @Override
+        public String vulnsRequestExport( VulnsExportRequest exportRequest ) {
+            return "uuid";
+        }
+
+
+        @Override
+        public ExportStatus vulnsExportStatus( String exportUuid ) throws TenableIoException {
+            ExportStatus exportStatus = new ExportStatus();
+            exportStatus.setUuid( exportUuid );
+            exportStatus.setStatus( status );
+            exportStatus.setTotalChunks( totalChunks );
+            exportStatus.setFinishedChunks( finishedChunks );
+            exportStatus.setChunksAvailable( chunks );
+            return exportStatus;
+        }
+
+
+        @Override
+        public void vulnsDownloadChunk( String exportUuid, int chunkId, File destinationFile, boolean compress ) throws TenableIoException {
+            try {
+                Files.write( destinationFile.toPath(), "[{\"plugin\":{\"id\":1}}]".getBytes( StandardCharsets.UTF_8 ) );
+            } catch( Exception e ) {
+                throw new TenableIoException( TenableIoErrorCode.FileError, e.getMessage(), e );
+            }
+        }
+
+
+        @Override
+        public Status vulnsCancelExport( String exportUuid ) throws TenableIoException {
+            if( Thread.currentThread().isInterrupted() ) {
+                throw new TenableIoException( TenableIoErrorCode.Generic, "Interrupted while waiting for the response." );
+            }
+            cancels.incrementAndGet();
+            status = Status.CANCELLED;
+            return status;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.VulnsExportFilters;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.api.models.SeverityLevel;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportResultCacheTest {
+
+    @Test
+    public void testCanonicalKey() {
+        VulnsExportFilters filters1 = new VulnsExportFilters();
+        filters1.setSeverity( Arrays.asList( SeverityLevel.HIGH, SeverityLevel.CRITICAL ) );
+        filters1.setCidrRange( "10.0.0.0/8" );
+        VulnsExportFilters filters2 = new VulnsExportFilters();
+        filters2.setCidrRange( "10.0.0.0/8" );
+        filters2.setSeverity( Arrays.asList( SeverityLevel.CRITICAL, SeverityLevel.HIGH ) );
+
+        assertEquals( ExportResultCache.keyOf( new VulnsExportRequest( 50, filters1 ) ), ExportResultCache.keyOf( new VulnsExportRequest( 500, filters2 ) ) );
+
+        filters2.setCidrRange( "10.0.0.0/9" );
+        assertNotEquals( ExportResultCache.keyOf( new VulnsExportRequest( filters1 ) ), ExportResultCache.keyOf( new VulnsExportRequest( filters2 ) ) );
+        assertNotEquals( ExportResultCache.keyOf( new VulnsExportRequest() ), ExportResultCache.keyOf( new VulnsExportRequest( filters1 ) ) );
+    }
+
+
+    @Test
+    public void testCoalescing() throws Exception {
+        final ExportResultCache cache = new ExportResultCache( 60000 );
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch( 1 );
+        final CountDownLatch release = new CountDownLatch( 1 );
+        final List<File> files = Collections.singletonList( File.createTempFile( "chunk", ".json" ) );
+        files.get( 0 ).deleteOnExit();
+
+        final AtomicReference<List<File>> firstResult = new AtomicReference<>();
+        final AtomicReference<List<File>> secondResult = new AtomicReference<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread first = new Thread( () -> {
+            try {
+                firstResult.set( cache.get( "key", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        release.await();
+                    } catch( InterruptedException e ) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return files;
+                } ) );
+            } catch( Throwable e ) {
+                failure.set( e );
+            }
+        } );
+        first.start();
+        assertTrue( loading.await( 10, TimeUnit.SECONDS ) );
+
+        Thread second = new Thread( () -> {
+            try {
+                secondResult.set( cache.get( "key", () -> {
+                    loads.incrementAndGet();
+                    return files;
+                } ) );
+            } catch( Throwable e ) {
+                failure.set( e );
+            }
+        } );
+        second.start();
+        // the load is released only once the second thread waits for the in-flight export
+        long deadline = System.currentTimeMillis() + 10000;
+        while( second.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline ) {
+            Thread.sleep( 1 );
+        }
+        assertEquals( Thread.State.WAITING, second.getState() );
+        release.countDown();
+        first.join( 10000 );
+        second.join( 10000 );
+        assertNull( failure.get() );
+        assertEquals( files, firstResult.get() );
+        assertEquals( files, secondResult.get() );
+        assertEquals( 1, loads.get() );
+
+        // completed and fresh
+        assertEquals( files, cache.get( "key", () -> {
+            loads.incrementAndGet();
+            return files;
+        } ) );
+        assertEquals( 1, loads.get() );
+
+        // stale
+        ExportResultCache expired = new ExportResultCache( -1 );
+        expired.get( "key", () -> files );
+        expired.get( "key", () -> {
+            loads.incrementAndGet();
+            return files;
+        } );
+        assertEquals( 2, loads.get() );
+    }
+}
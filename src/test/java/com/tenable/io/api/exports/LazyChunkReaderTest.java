@@ -0,0 +1,121 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.LazyVulnerability;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class LazyChunkReaderTest {
+
+    @Test
+    public void testLazyDecoding() throws Exception {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 3; i++ ) {
+            vulnerabilities.add( new Vulnerability()
+                    .withAssetUuid( UUID.randomUUID() )
+                    .withPluginID( 19506 + i )
+                    .withPort( 443 )
+                    .withProtocol( "TCP" )
+                    .withSeverity( SeverityLevel.HIGH )
+                    .withCves( Arrays.asList( "CVE-2018-0001", "CVE-2018-0002" ) )
+                    .withCvss3BaseScore( 7.5f )
+                    .withExploitAvailable( true )
+                    .withFirstFound( new Date( 1514764800000L + i ) )
+                    .withDescription( "Line one\nLine \"two\" \u00e9" )
+                    .withPluginOutput( "{ \"not\": [\"a field\"] }" ) );
+        }
+        File chunk = File.createTempFile( "chunk", ".json" );
+        chunk.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunk ) ) {
+            new JsonHelper().getObjectMapper().writeValue( out, vulnerabilities );
+        }
+
+        List<LazyVulnerability> lazy = new ArrayList<>();
+        try( LazyChunkReader<LazyVulnerability> reader = LazyChunkReader.vulns( chunk ) ) {
+            reader.forEach( lazy::add );
+        }
+        assertEquals( 3, lazy.size() );
+
+        LazyVulnerability first = lazy.get( 0 );
+        int pending = first.getRecord().getPendingCount();
+        assertEquals( 19506, first.getPluginID() );
+        assertEquals( pending - 1, first.getRecord().getPendingCount() );
+        assertTrue( first.getRecord().isPending( "pluginOutput" ) );
+
+        // setters win over the raw value
+        first.setPluginOutput( "replaced" );
+        assertEquals( "replaced", first.getPluginOutput() );
+
+        // every getter decodes the same value as full binding
+        for( int i = 1; i < 3; i++ ) {
+            for( Method getter : Vulnerability.class.getMethods() ) {
+                if( getter.getName().startsWith( "get" ) && getter.getParameterCount() == 0 && getter.getDeclaringClass() == Vulnerability.class ) {
+                    assertEquals( getter.getName(), getter.invoke( vulnerabilities.get( i ) ), getter.invoke( lazy.get( i ) ) );
+                }
+            }
+            assertEquals( 0, lazy.get( i ).getRecord().getPendingCount() );
+            assertNull( lazy.get( i ).getRecord().getRaw() );
+        }
+    }
+
+
+    @Test
+    public void testFilterPushdown() throws Exception {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        SeverityLevel[] severities = { SeverityLevel.CRITICAL, SeverityLevel.HIGH, SeverityLevel.CRITICAL, SeverityLevel.LOW };
+        for( int i = 0; i < severities.length; i++ ) {
+            vulnerabilities.add( new Vulnerability()
+                    .withPluginID( 100 + i )
+                    .withPluginFamily( i % 2 == 0 ? "Windows" : "Web Servers" )
+                    .withSeverity( severities[i] )
+                    .withExploitAvailable( i != 2 )
+                    .withDescription( "text" ) );
+        }
+        File chunk = File.createTempFile( "chunk", ".json" );
+        chunk.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunk ) ) {
+            new JsonHelper().getObjectMapper().writeValue( out, vulnerabilities );
+        }
+
+        VulnerabilityFilter filter = VulnerabilityFilter.severityAtLeast( SeverityLevel.CRITICAL ).and( VulnerabilityFilter.exploitAvailable() )
+                .or( VulnerabilityFilter.pluginFamilyIn( "Web Servers" ).and( VulnerabilityFilter.pluginIdIn( 103 ) ) );
+        assertEquals( new HashSet<>( Arrays.asList( "severity", "exploitAvailable", "pluginFamily", "pluginID" ) ), filter.getFields() );
+
+        List<LazyVulnerability> matches = new ArrayList<>();
+        try( LazyChunkReader<LazyVulnerability> reader = LazyChunkReader.vulns( chunk, filter ) ) {
+            reader.forEach( matches::add );
+            assertEquals( 2, reader.getSkippedCount() );
+        }
+        assertEquals( 2, matches.size() );
+        assertEquals( 100, matches.get( 0 ).getPluginID() );
+        assertEquals( 103, matches.get( 1 ).getPluginID() );
+        assertTrue( matches.get( 0 ).getRecord().isPending( "description" ) );
+        // the filter was evaluated on the filtered fields only, so the returned record still has them all pending
+        assertTrue( matches.get( 0 ).getRecord().isPending( "severity" ) );
+        assertEquals( SeverityLevel.CRITICAL, matches.get( 0 ).getSeverity() );
+        assertEquals( "text", matches.get( 1 ).getDescription() );
+
+        assertTrue( VulnerabilityFilter.all().test( new Vulnerability() ) );
+        assertTrue( VulnerabilityFilter.exploitAvailable().not().test( new Vulnerability() ) );
+    }
+}
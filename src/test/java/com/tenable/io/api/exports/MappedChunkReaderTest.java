@@ -0,0 +1,43 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class MappedChunkReaderTest {
+
+    @Test
+    public void testSegmentedMapping() throws Exception {
+        JsonHelper jsonHelper = new JsonHelper();
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 200; i++ ) {
+            vulnerabilities.add( new Vulnerability().withPluginID( i ).withDescription( "description \u00e9 " + i ) );
+        }
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+        }
+
+        // segments much smaller than records, so values and multi byte characters straddle segments
+        for( long segmentSize : new long[] { 7, 4096, MappedInputStream.DEFAULT_SEGMENT_SIZE } ) {
+            List<Vulnerability> read = new ArrayList<>();
+            try( MappedChunkReader<Vulnerability> reader = new MappedChunkReader<>( chunkFile, Vulnerability.class, segmentSize ) ) {
+                reader.forEach( read::add );
+            }
+            assertEquals( jsonHelper.toJson( vulnerabilities ), jsonHelper.toJson( read ) );
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.DedupedVulnerability;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class PluginMetadataCacheTest {
+    private static final JsonHelper jsonHelper = new JsonHelper();
+
+
+    @Test
+    public void testDedup() {
+        PluginMetadataCache cache = new PluginMetadataCache();
+        DedupedVulnerability first = finding( 19506, "Nessus Scan Information", 80 );
+        DedupedVulnerability second = finding( 19506, "Nessus Scan Information", 443 );
+        cache.dedup( first );
+        cache.dedup( second );
+
+        assertEquals( 1, cache.size() );
+        assertSame( first.getPluginMetadata(), second.getPluginMetadata() );
+        assertSame( first.getDescription(), second.getDescription() );
+        assertEquals( Arrays.asList( "CVE-2018-0001" ), second.getCves() );
+        assertEquals( 443, second.getPort() );
+
+        // changed text keeps its own copy
+        DedupedVulnerability updated = finding( 19506, "Nessus Scan Information v2", 22 );
+        cache.dedup( updated );
+        assertNull( updated.getPluginMetadata() );
+        assertEquals( "Nessus Scan Information v2", updated.getPluginName() );
+
+        // setters detach from the shared metadata
+        second.setSolution( "Upgrade" );
+        assertNull( second.getPluginMetadata() );
+        assertEquals( "Upgrade", second.getSolution() );
+        assertEquals( "n/a", first.getSolution() );
+        assertEquals( "Information about this scan.", second.getDescription() );
+    }
+
+
+    @Test
+    public void testChunkReader() throws Exception {
+        List<Vulnerability> source = new ArrayList<>();
+        source.add( finding( 19506, "Nessus Scan Information", 80 ) );
+        source.add( finding( 19506, "Nessus Scan Information", 443 ) );
+        source.add( finding( 19506, "Nessus Scan Information v2", 22 ) );
+        source.add( finding( 19506, "Nessus Scan Information", 8080 ).withCves( Arrays.asList( "CVE-2018-0001", "CVE-2018-0002" ) ) );
+        source.add( finding( 19506, "Nessus Scan Information", 8443 ).withCves( Collections.emptyList() ).withSolution( null ) );
+        source.add( finding( 10180, "Ping the remote host", 0 ) );
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, source );
+        }
+
+        PluginMetadataCache cache = new PluginMetadataCache();
+        List<Vulnerability> read = new ArrayList<>();
+        VulnerabilityChunkReader.readAll( Collections.singletonList( chunkFile ), cache, read::add );
+        assertEquals( source.size(), read.size() );
+        for( int i = 0; i < source.size(); i++ ) {
+            assertEquals( json( source.get( i ) ), json( read.get( i ) ) );
+        }
+        assertEquals( 2, cache.size() );
+
+        // the second finding takes the cached text as is
+        DedupedVulnerability first = (DedupedVulnerability) read.get( 0 );
+        DedupedVulnerability second = (DedupedVulnerability) read.get( 1 );
+        assertSame( first.getPluginMetadata(), second.getPluginMetadata() );
+        assertSame( first.getDescription(), second.getDescription() );
+        assertSame( first.getCves(), second.getCves() );
+
+        // changed text or lists keep their own copies, modifiable like any bound record
+        DedupedVulnerability updated = (DedupedVulnerability) read.get( 2 );
+        assertNull( updated.getPluginMetadata() );
+        assertEquals( "Nessus Scan Information v2", updated.getPluginName() );
+        assertNotSame( first.getCves(), updated.getCves() );
+        updated.getCves().add( "CVE-2018-0003" );
+        assertEquals( Arrays.asList( "CVE-2018-0001" ), first.getCves() );
+        assertNull( ( (DedupedVulnerability) read.get( 3 ) ).getPluginMetadata() );
+        assertNull( ( (DedupedVulnerability) read.get( 4 ) ).getPluginMetadata() );
+        assertEquals( "Ping the remote host", read.get( 5 ).getPluginName() );
+    }
+
+
+    private static Object json( Vulnerability vulnerability ) throws Exception {
+        return jsonHelper.parse( jsonHelper.getObjectMapper().writeValueAsString( vulnerability ) );
+    }
+
+
+    private static DedupedVulnerability finding( long pluginId, String pluginName, int port ) {
+        DedupedVulnerability vulnerability = new DedupedVulnerability();
+        vulnerability.setPluginID( pluginId );
+        vulnerability.setPluginName( pluginName );
+        vulnerability.setDescription( new String( "Information about this scan." ) );
+        vulnerability.setSolution( "n/a" );
+        vulnerability.setCves( Arrays.asList( "CVE-2018-0001" ) );
+        vulnerability.setPort( port );
+        return vulnerability;
+    }
+}
@@ -0,0 +1,81 @@
+package com.tenable.io.api.exports;
+
+
+import com.tenable.io.api.exports.models.VulnsExportFilters;
+import com.tenable.io.api.exports.models.VulnsExportRequest;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnsExportPartitionerTest {
+
+    @Test
+    public void testCidrSplit() throws TenableIoException {
+        assertEquals( Arrays.asList( "10.0.0.0/9", "10.128.0.0/9" ), VulnsExportPartitioner.splitCidr( "10.0.0.0/8", 2 ) );
+        assertEquals( Arrays.asList( "192.168.1.0/26", "192.168.1.64/26", "192.168.1.128/26", "192.168.1.192/26" ),
+                VulnsExportPartitioner.splitCidr( "192.168.1.77/24", 3 ) );
+        assertEquals( Arrays.asList( "0.0.0.0/1", "128.0.0.0/1" ), VulnsExportPartitioner.splitCidr( "0.0.0.0/0", 2 ) );
+        assertEquals( Arrays.asList( "172.16.0.0/12" ), VulnsExportPartitioner.splitCidr( "172.16.0.0/12", 1 ) );
+
+        try {
+            VulnsExportPartitioner.splitCidr( "10.0.0.1/31", 4 );
+            fail();
+        } catch( TenableIoException tioe ) {
+            assertEquals( TenableIoErrorCode.InvalidParameter, tioe.getErrorCode() );
+        }
+    }
+
+
+    @Test
+    public void testSeverityPartition() throws TenableIoException {
+        VulnsExportFilters filters = new VulnsExportFilters();
+        filters.setSeverity( Arrays.asList( SeverityLevel.CRITICAL, SeverityLevel.HIGH ) );
+        filters.setPluginFamily( Arrays.asList( "Web Servers" ) );
+
+        List<VulnsExportRequest> partitions = VulnsExportPartitioner.bySeverity().partition( new VulnsExportRequest( 500, filters ) );
+        assertEquals( 2, partitions.size() );
+        assertEquals( Arrays.asList( SeverityLevel.CRITICAL ), partitions.get( 0 ).getExportFilters().getSeverity() );
+        assertEquals( Arrays.asList( SeverityLevel.HIGH ), partitions.get( 1 ).getExportFilters().getSeverity() );
+        assertEquals( Arrays.asList( "Web Servers" ), partitions.get( 1 ).getExportFilters().getPluginFamily() );
+        assertEquals( 500, partitions.get( 1 ).getNumAssets() );
+        // the original request is left untouched
+        assertEquals( 2, filters.getSeverity().size() );
+
+        assertEquals( SeverityLevel.values().length, VulnsExportPartitioner.bySeverity().partition( new VulnsExportRequest() ).size() );
+    }
+
+
+    @Test
+    public void testTagsPartition() throws TenableIoException {
+        List<VulnsExportRequest> partitions = VulnsExportPartitioner.byTags( "Location", Arrays.asList( "East", "West" ) )
+                .partition( new VulnsExportRequest() );
+        assertEquals( 2, partitions.size() );
+        assertArrayEquals( new String[]{ "West" }, (String[]) partitions.get( 1 ).getFilters().get( "tag.Location" ) );
+        assertNull( partitions.get( 1 ).getExportFilters().getCidrRange() );
+    }
+
+
+    @Test
+    public void testDisjoint() throws TenableIoException {
+        assertTrue( VulnsExportPartitioner.bySeverity().isDisjoint() );
+        // multi-homed assets are exported by every range holding one of their addresses
+        assertFalse( VulnsExportPartitioner.byCidrSplit( "10.0.0.0/8", 4 ).isDisjoint() );
+        assertFalse( VulnsExportPartitioner.byCidrRanges( Arrays.asList( "10.0.0.0/8", "192.168.0.0/16", "11.0.0.0/8" ) ).isDisjoint() );
+        assertFalse( VulnsExportPartitioner.byTags( "Location", Arrays.asList( "East", "West" ) ).isDisjoint() );
+    }
+}
@@ -0,0 +1,101 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.exports.analytics.ExportAggregations.Dimension;
+import com.tenable.io.api.exports.analytics.ExportAggregations.Metric;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportAggregationsTest {
+
+    @Test
+    public void testGroupBy() throws Exception {
+        SeverityLevel[] severities = SeverityLevel.values();
+        String[] families = { "Windows", "Web Servers", "General" };
+        JsonHelper jsonHelper = new JsonHelper();
+        List<File> chunkFiles = new ArrayList<>();
+        for( int chunk = 0; chunk < 4; chunk++ ) {
+            List<Vulnerability> vulnerabilities = new ArrayList<>();
+            for( int i = 0; i < 300; i++ ) {
+                vulnerabilities.add( new Vulnerability()
+                        .withPluginID( i % 30 )
+                        .withSeverity( severities[i % severities.length] )
+                        .withPluginFamily( i % 7 == 0 ? null : families[i % families.length] )
+                        .withCvss3BaseScore( i % 11 == 0 ? null : ( i % 100 ) / 10f ) );
+            }
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+            }
+            chunkFiles.add( chunkFile );
+        }
+        List<Vulnerability> all = new ArrayList<>();
+        ExportChunkReader.readAll( chunkFiles, Vulnerability.class, all::add );
+
+        ExportAggregations aggregations = ExportAggregations.groupBy( Dimension.SEVERITY, Dimension.PLUGIN_FAMILY ).aggregate( Metric.CVSS3_BASE_SCORE );
+        assertEquals( Arrays.asList( Metric.CVSS3_BASE_SCORE, Metric.SEVERITY ), aggregations.aggregate( Metric.SEVERITY, Metric.CVSS3_BASE_SCORE ).getMetrics() );
+        AggregationResult sequential = aggregations.aggregate( chunkFiles );
+        AggregationResult parallel = aggregations.aggregate( chunkFiles, new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Vulnerability.class ), new ForkJoinPool( 3 ) ) );
+        assertEquals( all.size(), sequential.getTotalCount() );
+        assertEquals( sequential.size(), parallel.size() );
+
+        for( AggregationResult.Group group : sequential.getGroups() ) {
+            long count = 0;
+            long valueCount = 0;
+            double max = Double.NaN;
+            double sum = 0;
+            for( Vulnerability vulnerability : all ) {
+                if( vulnerability.getSeverity() == group.getKey( Dimension.SEVERITY ) && equals( vulnerability.getPluginFamily(), group.getKey( Dimension.PLUGIN_FAMILY ) ) ) {
+                    count++;
+                    if( vulnerability.getCvss3BaseScore() != null ) {
+                        valueCount++;
+                        sum += vulnerability.getCvss3BaseScore();
+                        max = Double.isNaN( max ) ? vulnerability.getCvss3BaseScore() : Math.max( max, vulnerability.getCvss3BaseScore() );
+                    }
+                }
+            }
+            AggregationResult.Group other = parallel.get( group.getKeys().toArray() );
+            for( AggregationResult.Group result : new AggregationResult.Group[] { group, other } ) {
+                assertEquals( count, result.getCount() );
+                assertEquals( valueCount, result.getValueCount( Metric.CVSS3_BASE_SCORE ) );
+                assertEquals( max, result.getMax( Metric.CVSS3_BASE_SCORE ), 1e-6 );
+                assertEquals( sum, result.getSum( Metric.CVSS3_BASE_SCORE ), 1e-3 );
+            }
+        }
+        assertTrue( sequential.get( SeverityLevel.CRITICAL, null ).getCount() > 0 );
+        assertNull( sequential.get( SeverityLevel.CRITICAL, "Unknown" ) );
+
+        AggregationResult perPlugin = ExportAggregations.groupBy( Dimension.PLUGIN_ID ).aggregate( chunkFiles );
+        assertEquals( 30, perPlugin.size() );
+        assertEquals( 4 * 300 / 30, perPlugin.get( 7L ).getCount() );
+
+        AggregationResult total = ExportAggregations.groupBy().aggregate( chunkFiles );
+        assertEquals( 1, total.size() );
+        assertEquals( all.size(), total.getGroups().get( 0 ).getCount() );
+    }
+
+
+    private static boolean equals( Object left, Object right ) {
+        return left == null ? right == null : left.equals( right );
+    }
+}
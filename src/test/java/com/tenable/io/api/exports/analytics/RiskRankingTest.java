@@ -0,0 +1,115 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class RiskRankingTest {
+
+    @Test
+    public void testRiskScore() throws Exception {
+        Vulnerability vulnerability = new Vulnerability().withCvss3BaseScore( 7.5f ).withCvssBaseScore( 5f ).withExploitAvailable( true )
+                .withExploitedByMalware( false ).withInTheNews( true ).withHasPatch( true );
+        assertEquals( 7.5 + 2 + 1 - 1, RiskScore.DEFAULT.applyAsDouble( vulnerability ), 0.0001 );
+        assertEquals( 15 + 2 + 1, RiskScore.DEFAULT.withBaseWeight( 2 ).withHasPatchWeight( 0 ).applyAsDouble( vulnerability ), 0.0001 );
+        assertEquals( 5, RiskScore.DEFAULT.applyAsDouble( new Vulnerability().withCvssBaseScore( 5f ) ), 0.0001 );
+        assertEquals( 7.5, RiskScore.DEFAULT.applyAsDouble( new Vulnerability().withSeverity( SeverityLevel.HIGH ) ), 0.0001 );
+    }
+
+
+    @Test
+    public void testTopKHeap() throws Exception {
+        TopKHeap<Integer> left = new TopKHeap<>( 10 );
+        TopKHeap<Integer> right = left.emptyCopy();
+        for( int i = 0; i < 1000; i++ ) {
+            int value = ( i * 7919 ) % 1000;
+            ( i % 2 == 0 ? left : right ).offer( value, value );
+        }
+        List<TopKHeap.Entry<Integer>> top = left.merge( right ).getTop();
+        assertEquals( 10, top.size() );
+        for( int i = 0; i < 10; i++ ) {
+            assertEquals( 999 - i, (int) top.get( i ).getValue() );
+        }
+        assertFalse( left.accepts( 990 ) );
+        assertTrue( left.accepts( 990.5 ) );
+    }
+
+
+    @Test
+    public void testRanking() throws Exception {
+        UUID[] assets = new UUID[50];
+        for( int i = 0; i < assets.length; i++ ) {
+            assets[i] = UUID.randomUUID();
+        }
+        JsonHelper jsonHelper = new JsonHelper();
+        List<File> chunkFiles = new ArrayList<>();
+        List<Vulnerability> all = new ArrayList<>();
+        for( int chunk = 0; chunk < 4; chunk++ ) {
+            List<Vulnerability> vulnerabilities = new ArrayList<>();
+            for( int i = 0; i < 500; i++ ) {
+                int id = chunk * 500 + i;
+                vulnerabilities.add( new Vulnerability()
+                        .withAssetUuid( assets[id % assets.length] )
+                        .withPluginID( id )
+                        .withCvss3BaseScore( ( id % 97 ) / 10f )
+                        .withExploitAvailable( id % 3 == 0 )
+                        .withHasPatch( id % 5 == 0 ) );
+            }
+            all.addAll( vulnerabilities );
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+            }
+            chunkFiles.add( chunkFile );
+        }
+
+        RiskRanking ranking = new RiskRanking( RiskScore.DEFAULT, 20, 5 ).rank( chunkFiles,
+                new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Vulnerability.class ), new ForkJoinPool( 3 ) ) );
+        assertEquals( assets.length, ranking.getAssetCount() );
+
+        List<Double> expected = new ArrayList<>();
+        for( Vulnerability vulnerability : all ) {
+            expected.add( RiskScore.DEFAULT.applyAsDouble( vulnerability ) );
+        }
+        expected.sort( Comparator.reverseOrder() );
+        List<TopKHeap.Entry<Vulnerability>> topFindings = ranking.getTopFindings();
+        assertEquals( 20, topFindings.size() );
+        for( int i = 0; i < topFindings.size(); i++ ) {
+            assertEquals( expected.get( i ), topFindings.get( i ).getScore(), 0.0001 );
+            assertEquals( topFindings.get( i ).getScore(), RiskScore.DEFAULT.applyAsDouble( topFindings.get( i ).getValue() ), 0.0001 );
+        }
+
+        List<TopKHeap.Entry<UUID>> topAssets = ranking.getTopAssets();
+        assertEquals( 5, topAssets.size() );
+        for( TopKHeap.Entry<UUID> entry : topAssets ) {
+            double max = Double.NEGATIVE_INFINITY;
+            for( Vulnerability vulnerability : all ) {
+                if( vulnerability.getAssetUuid().equals( entry.getValue() ) ) {
+                    max = Math.max( max, RiskScore.DEFAULT.applyAsDouble( vulnerability ) );
+                }
+            }
+            assertEquals( max, entry.getScore(), 0.0001 );
+        }
+    }
+}
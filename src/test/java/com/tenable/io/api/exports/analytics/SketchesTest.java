@@ -0,0 +1,175 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import com.tenable.io.api.exports.ChunkProcessor;
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.exceptions.TenableIoErrorCode;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.HashHelper;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class SketchesTest {
+
+    @Test
+    public void testHyperLogLog() throws Exception {
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = left.emptyCopy();
+        for( long i = 0; i < 100000; i++ ) {
+            left.addHash( HashHelper.hash64( i ) );
+            right.addHash( HashHelper.hash64( i + 50000 ) );
+        }
+        assertEquals( 100000, left.estimate(), 3000 );
+        assertEquals( 150000, left.merge( right ).estimate(), 4500 );
+
+        HyperLogLog small = new HyperLogLog( 10 );
+        for( int i = 0; i < 100; i++ ) {
+            small.addHash( HashHelper.hash64( "asset" + ( i % 50 ) ) );
+        }
+        assertEquals( 50, small.estimate(), 2 );
+    }
+
+
+    @Test
+    public void testSparseHyperLogLog() throws Exception {
+        HyperLogLog sparse = new HyperLogLog( 10 );
+        for( int i = 0; i < 100; i++ ) {
+            sparse.addHash( HashHelper.hash64( "asset" + ( i % 50 ) ) );
+        }
+        // small sets are counted exactly, in less memory than the registers
+        assertTrue( sparse.isSparse() );
+        assertEquals( 50, sparse.estimate() );
+        assertEquals( 64 * 8, sparse.getSizeInBytes() );
+
+        HyperLogLog dense = sparse.emptyCopy();
+        for( int i = 50; i < 1000; i++ ) {
+            dense.addHash( HashHelper.hash64( "asset" + i ) );
+        }
+        assertFalse( dense.isSparse() );
+        assertEquals( 1024, dense.getSizeInBytes() );
+        assertEquals( 950, dense.estimate(), 95 );
+
+        // merging in either direction gives the same registers
+        HyperLogLog union = sparse.emptyCopy().merge( sparse ).merge( dense );
+        assertEquals( dense.emptyCopy().merge( dense ).merge( sparse ).estimate(), union.estimate() );
+        assertEquals( 1000, union.estimate(), 100 );
+        assertTrue( sparse.isSparse() );
+        assertEquals( 50, sparse.estimate() );
+
+        union.clear();
+        assertTrue( union.isSparse() );
+        assertEquals( 0, union.estimate() );
+    }
+
+
+    @Test
+    public void testCountMin() throws Exception {
+        CountMinSketch left = new CountMinSketch( 0.001, 0.99 );
+        CountMinSketch right = left.emptyCopy();
+        for( int i = 0; i < 20000; i++ ) {
+            left.add( "CVE-2018-" + ( i % 1000 ) );
+            right.add( "CVE-2018-" + ( i % 10 ) );
+        }
+        for( int i = 0; i < 1000; i++ ) {
+            long estimate = left.estimate( "CVE-2018-" + i );
+            assertTrue( estimate >= 20 );
+            assertTrue( estimate <= 20 + 0.001 * 20000 * Math.E );
+        }
+        left.merge( right );
+        assertEquals( 40000, left.getTotalCount() );
+        assertTrue( left.estimate( "CVE-2018-1" ) >= 2020 );
+
+        // bounds out of range, or needing more counters than an array holds
+        for( double[] bounds : new double[][] { { 0, 0.99 }, { 0.001, 1 }, { Double.NaN, 0.5 }, { 1e-12, 0.99 } } ) {
+            try {
+                new CountMinSketch( bounds[0], bounds[1] );
+                fail();
+            } catch( TenableIoException e ) {
+                assertEquals( TenableIoErrorCode.InvalidParameter, e.getErrorCode() );
+            }
+        }
+    }
+
+
+    @Test
+    public void testTopK() throws Exception {
+        TopKSketch<String> left = new TopKSketch<>( 20 );
+        TopKSketch<String> right = left.emptyCopy();
+        for( int i = 0; i < 10000; i++ ) {
+            String value = i % 2 == 0 ? "heavy" + ( i % 10 ) : "rare" + i;
+            ( i < 5000 ? left : right ).add( value );
+        }
+        List<TopKSketch.Entry<String>> top = left.merge( right ).getTop( 5 );
+        assertEquals( 5, top.size() );
+        for( TopKSketch.Entry<String> entry : top ) {
+            assertTrue( entry.getValue().startsWith( "heavy" ) );
+            assertTrue( entry.getCount() >= 1000 );
+            assertTrue( entry.getGuaranteedCount() <= 1000 );
+        }
+    }
+
+
+    @Test
+    public void testExportSketches() throws Exception {
+        Random random = new Random( 42 );
+        UUID[] assets = new UUID[500];
+        for( int i = 0; i < assets.length; i++ ) {
+            assets[i] = new UUID( random.nextLong(), random.nextLong() );
+        }
+        JsonHelper jsonHelper = new JsonHelper();
+        List<File> chunkFiles = new ArrayList<>();
+        for( int chunk = 0; chunk < 4; chunk++ ) {
+            List<Vulnerability> vulnerabilities = new ArrayList<>();
+            for( int i = 0; i < 1000; i++ ) {
+                vulnerabilities.add( new Vulnerability()
+                        .withAssetUuid( assets[( chunk * 1000 + i ) % assets.length] )
+                        .withPluginID( i % 4 )
+                        .withCves( i % 3 == 0 ? Arrays.asList( "CVE-2018-0001", "CVE-2018-" + i ) : null ) );
+            }
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+            }
+            chunkFiles.add( chunkFile );
+        }
+
+        ForkJoinPool pool = new ForkJoinPool( 3 );
+        ExportSketches sketches;
+        try {
+            sketches = new ExportSketches().aggregate( chunkFiles,
+                    new ChunkProcessor<>( chunkFile -> new ExportChunkReader<>( chunkFile, Vulnerability.class ), pool ) );
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals( 4000, sketches.getCount() );
+        assertEquals( 500, sketches.estimateDistinctAssets(), 5 );
+        assertEquals( 125, sketches.estimateDistinctAssets( 1 ), 5 );
+        assertEquals( 0, sketches.estimateDistinctAssets( 99 ) );
+        assertTrue( sketches.estimateCveCount( "CVE-2018-0001" ) >= 1336 );
+        assertEquals( "CVE-2018-0001", sketches.getTopCves( 1 ).get( 0 ).getValue() );
+        // the per plugin sketches stay sparse, counting their 125 assets exactly
+        for( long pluginId = 0; pluginId < 4; pluginId++ ) {
+            assertEquals( 125, sketches.estimateDistinctAssets( pluginId ) );
+        }
+    }
+}
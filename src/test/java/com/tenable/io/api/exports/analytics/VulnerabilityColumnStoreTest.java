@@ -0,0 +1,220 @@
+package com.tenable.io.api.exports.analytics;
+
+
+import com.tenable.io.api.exports.ExportChunkReader;
+import com.tenable.io.api.models.RiskFactor;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.utilities.JsonHelper;
+import com.tenable.io.core.utilities.TimestampHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class VulnerabilityColumnStoreTest {
+    private static final JsonHelper jsonHelper = new JsonHelper();
+
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        // a small initial capacity, so the columns grow
+        VulnerabilityColumnStore store = new VulnerabilityColumnStore( 16 );
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 100; i++ ) {
+            Vulnerability vulnerability = vulnerability( i );
+            vulnerabilities.add( vulnerability );
+            assertEquals( i, store.add( vulnerability ) );
+        }
+        assertEquals( 100, store.size() );
+
+        for( int i = 0; i < 100; i++ ) {
+            Vulnerability source = vulnerabilities.get( i );
+            assertEquals( json( source ), json( store.get( i ) ) );
+            assertEquals( source.getAssetUuid(), store.getAssetUuid( i ) );
+            assertEquals( source.getPluginID(), store.getPluginId( i ) );
+            assertEquals( source.getPort(), store.getPort( i ) );
+            assertEquals( source.getSeverity().getIntValue(), store.getSeverityIntValue( i ) );
+            assertEquals( source.getCvssBaseScore(), store.getCvssBaseScore( i ), 0 );
+            assertEquals( source.getFirstFoundMillis(), store.getFirstFoundMillis( i ) );
+            assertEquals( source.getExploitAvailable(), store.isExploitAvailable( i ) );
+        }
+
+        final List<String> outputs = new ArrayList<>();
+        store.forEach( vulnerability -> outputs.add( vulnerability.getPluginOutput() ) );
+        assertEquals( "output 99", outputs.get( 99 ) );
+        assertEquals( store.getAssetId( 0 ), store.getAssetId( 10 ) );
+    }
+
+
+    @Test
+    public void testNulls() throws Exception {
+        VulnerabilityColumnStore store = new VulnerabilityColumnStore();
+        store.add( new Vulnerability().withPluginID( 1 ) );
+        store.add( new Vulnerability().withExploitAvailable( false ).withBids( Collections.emptyList() ).withDescription( "" ) );
+        assertEquals( json( new Vulnerability().withPluginID( 1 ) ), json( store.get( 0 ) ) );
+
+        Vulnerability empty = store.get( 0 );
+        assertNull( empty.getAssetUuid() );
+        assertNull( empty.getSeverity() );
+        assertNull( empty.getRiskFactor() );
+        assertNull( empty.getVulnerabilityState() );
+        assertNull( empty.getDescription() );
+        assertNull( empty.getPluginOutput() );
+        assertNull( empty.getCves() );
+        assertNull( empty.getCvssBaseScore() );
+        assertNull( empty.getCvss3TemporalScore() );
+        assertNull( empty.getExploitAvailable() );
+        assertNull( empty.getHasPatch() );
+        assertNull( empty.getFirstFound() );
+        assertEquals( TimestampHelper.NO_TIMESTAMP, empty.getLastFixedMillis() );
+        assertEquals( -1, store.getAssetId( 0 ) );
+        assertEquals( -1, store.getSeverityIntValue( 0 ) );
+        assertTrue( Float.isNaN( store.getCvssBaseScore( 0 ) ) );
+
+        // false and empty values are kept apart from missing ones
+        Vulnerability falsy = store.get( 1 );
+        assertEquals( Boolean.FALSE, falsy.getExploitAvailable() );
+        assertEquals( Collections.emptyList(), falsy.getBids() );
+        assertEquals( "", falsy.getDescription() );
+    }
+
+
+    @Test
+    public void testReadOnly() throws Exception {
+        VulnerabilityColumnStore store = new VulnerabilityColumnStore();
+        store.add( vulnerability( 0 ) );
+        Vulnerability view = store.get( 0 );
+        try {
+            view.setPluginOutput( "changed" );
+            fail();
+        } catch( UnsupportedOperationException e ) {
+            assertEquals( "output 0", view.getPluginOutput() );
+        }
+        try {
+            view.withCvssBaseScore( 1f );
+            fail();
+        } catch( UnsupportedOperationException e ) {
+            assertEquals( 5f, view.getCvssBaseScore(), 0 );
+        }
+        try {
+            view.getCves().add( "CVE-2018-0000" );
+            fail();
+        } catch( UnsupportedOperationException e ) {
+            assertEquals( 2, view.getCves().size() );
+        }
+    }
+
+
+    @Test
+    public void testFootprint() throws Exception {
+        // 10000 findings of 10 plugins, each with a 2 KB description and solution, as parsed from a chunk
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 10000; i++ ) {
+            vulnerabilities.add( vulnerability( i ) );
+        }
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            jsonHelper.getObjectMapper().writeValue( out, vulnerabilities );
+        }
+        List<Vulnerability> parsed = new ArrayList<>();
+        ExportChunkReader.readAll( Collections.singletonList( chunkFile ), Vulnerability.class, parsed::add );
+        VulnerabilityColumnStore store = VulnerabilityColumnStore.load( Collections.singletonList( chunkFile ) );
+        assertEquals( parsed.size(), store.size() );
+
+        // every distinct string instance counts once, whoever references it
+        Map<String, Boolean> parsedStrings = new IdentityHashMap<>();
+        for( Vulnerability vulnerability : parsed ) {
+            addStrings( parsedStrings, vulnerability );
+        }
+        Map<String, Boolean> storedStrings = new IdentityHashMap<>();
+        store.forEach( vulnerability -> addStrings( storedStrings, vulnerability ) );
+
+        long parsedChars = chars( parsedStrings );
+        long storedChars = chars( storedStrings );
+        assertTrue( parsedChars + " parsed chars, " + storedChars + " stored", storedChars * 10 < parsedChars );
+        // only the plugin output is held per finding
+        assertTrue( store.getDistinctStrings() < 100 );
+        assertSame( store.get( 0 ).getDescription(), store.get( 10 ).getDescription() );
+    }
+
+
+    private static Vulnerability vulnerability( int i ) {
+        int plugin = i % 10;
+        char[] text = new char[2048];
+        Arrays.fill( text, (char) ( 'a' + plugin ) );
+        return new Vulnerability()
+                .withAssetUuid( new UUID( 0, i % 10 ) )
+                .withSeverity( SeverityLevel.values()[plugin % SeverityLevel.values().length] )
+                .withRiskFactor( RiskFactor.values()[plugin % RiskFactor.values().length] )
+                .withVulnerabilityState( VulnerabilityState.values()[i % VulnerabilityState.values().length] )
+                .withProtocol( "TCP" )
+                .withPort( 443 + i % 3 )
+                .withPluginID( 10000 + plugin )
+                .withPluginName( "plugin " + plugin )
+                .withPluginFamily( "family " + plugin % 3 )
+                .withPluginType( "remote" )
+                .withPluginVersion( "1." + plugin )
+                .withPluginOutput( "output " + i )
+                .withDescription( "description " + new String( text ) )
+                .withSolution( "solution " + new String( text ) )
+                .withSynopsis( "synopsis " + plugin )
+                .withCvssVector( "AV:N/AC:L/Au:N/C:P/I:P/A:P" )
+                .withCvssBaseScore( 5f )
+                .withCvssTemporalScore( 4.5f )
+                .withCvss3BaseScore( plugin == 0 ? null : Float.valueOf( plugin ) )
+                .withCves( Arrays.asList( "CVE-2018-000" + plugin, "CVE-2018-100" + plugin ) )
+                .withXrefs( Collections.singletonList( "IAVA:2018-A-000" + plugin ) )
+                .withExploitAvailable( plugin % 2 == 0 )
+                .withHasPatch( plugin % 3 == 0 ? null : true )
+                .withMalware( false )
+                .withFirstFound( new Date( 1500000000000L + i ) )
+                .withLastFound( new Date( 1510000000000L + i ) )
+                .withPluginPublicationDate( new Date( 1400000000000L + plugin ) );
+    }
+
+
+    private static Object json( Vulnerability vulnerability ) throws Exception {
+        return jsonHelper.parse( jsonHelper.getObjectMapper().writeValueAsString( vulnerability ) );
+    }
+
+
+    private static void addStrings( Map<String, Boolean> strings, Vulnerability vulnerability ) {
+        for( String value : Arrays.asList( vulnerability.getProtocol(), vulnerability.getPluginName(), vulnerability.getPluginFamily(),
+                vulnerability.getPluginType(), vulnerability.getPluginVersion(), vulnerability.getPluginOutput(),
+                vulnerability.getDescription(), vulnerability.getSolution(), vulnerability.getSynopsis(), vulnerability.getCvssVector() ) ) {
+            if( value != null ) {
+                strings.put( value, Boolean.TRUE );
+            }
+        }
+    }
+
+
+    private static long chars( Map<String, Boolean> strings ) {
+        long chars = 0;
+        for( String value : strings.keySet() ) {
+            chars += value.length();
+        }
+        return chars;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tenable.io.api.exports.diff;
+
+
+import com.tenable.io.api.exports.models.FindingKey;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class SnapshotDiffTest {
+
+    @Test
+    public void testDiff() throws Exception {
+        UUID[] assets = new UUID[20];
+        for( int i = 0; i < assets.length; i++ ) {
+            assets[i] = UUID.randomUUID();
+        }
+        List<Vulnerability> before = new ArrayList<>();
+        List<Vulnerability> after = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            Vulnerability vulnerability = new Vulnerability().withAssetUuid( assets[i % assets.length] ).withPluginID( i / 3 )
+                    .withPort( i % 3 == 2 ? 0 : 443 ).withProtocol( i % 3 == 0 ? "TCP" : i % 3 == 1 ? "UDP" : null );
+            if( i % 10 != 0 ) {
+                before.add( copy( vulnerability, i % 7 == 0 ? VulnerabilityState.FIXED : VulnerabilityState.OPEN ) );
+            }
+            if( i % 11 != 0 ) {
+                after.add( copy( vulnerability, i % 5 == 0 ? VulnerabilityState.FIXED : i % 2 == 0 ? VulnerabilityState.REOPENED : VulnerabilityState.OPEN ) );
+            }
+        }
+        // duplicate of an open finding
+        after.add( copy( after.get( 1 ), VulnerabilityState.OPEN ) );
+
+        Map<FindingKey, FindingChange.Type> expected = new HashMap<>();
+        Map<FindingKey, Boolean> beforeOpen = new HashMap<>();
+        for( Vulnerability vulnerability : before ) {
+            beforeOpen.merge( FindingKey.of( vulnerability ), vulnerability.getVulnerabilityState() != VulnerabilityState.FIXED, Boolean::logicalOr );
+        }
+        Map<FindingKey, Boolean> afterOpen = new HashMap<>();
+        for( Vulnerability vulnerability : after ) {
+            afterOpen.merge( FindingKey.of( vulnerability ), vulnerability.getVulnerabilityState() != VulnerabilityState.FIXED, Boolean::logicalOr );
+        }
+        for( Map.Entry<FindingKey, Boolean> entry : beforeOpen.entrySet() ) {
+            Boolean open = afterOpen.get( entry.getKey() );
+            if( entry.getValue() && ( open == null || !open ) ) {
+                expected.put( entry.getKey(), FindingChange.Type.FIXED );
+            } else if( !entry.getValue() && open != null && open ) {
+                expected.put( entry.getKey(), FindingChange.Type.REOPENED );
+            }
+        }
+        for( Map.Entry<FindingKey, Boolean> entry : afterOpen.entrySet() ) {
+            if( entry.getValue() && !beforeOpen.containsKey( entry.getKey() ) ) {
+                expected.put( entry.getKey(), FindingChange.Type.NEW );
+            }
+        }
+
+        File directory = Files.createTempDirectory( "diff" ).toFile();
+        directory.deleteOnExit();
+        Map<FindingKey, FindingChange.Type> actual = new HashMap<>();
+        new SnapshotDiff( directory, 7 ).diff( write( before ), write( after ), change -> actual.put( change.getKey(), change.getType() ) );
+        assertEquals( expected, actual );
+        assertEquals( 0, directory.list().length );
+
+        List<FindingChange> none = new ArrayList<>();
+        new SnapshotDiff().diff( write( before ), write( before ), none::add );
+        assertEquals( Collections.emptyList(), none );
+    }
+
+
+    @Test
+    public void testSorterGrowsBuffer() throws Exception {
+        File directory = Files.createTempDirectory( "sort" ).toFile();
+        directory.deleteOnExit();
+        Set<FindingKey> expected = new HashSet<>();
+        try( SnapshotSorter sorter = new SnapshotSorter( directory, 5000 ) ) {
+            // more findings than the initial buffer, fewer than the limit: no run is spilled before sorting
+            for( int i = 0; i < 3000; i++ ) {
+                Vulnerability vulnerability = new Vulnerability().withAssetUuid( new UUID( 0, i % 7 ) ).withPluginID( i ).withPort( 443 ).withProtocol( "TCP" );
+                sorter.add( vulnerability );
+                expected.add( FindingKey.of( vulnerability ) );
+            }
+            assertEquals( 0, sorter.getRunCount() );
+
+            Set<FindingKey> actual = new HashSet<>();
+            try( SnapshotCursor cursor = sorter.sorted() ) {
+                while( cursor.next() ) {
+                    actual.add( cursor.getKey() );
+                }
+            }
+            assertEquals( 1, sorter.getRunCount() );
+            assertEquals( expected, actual );
+        }
+    }
+
+
+    private static Vulnerability copy( Vulnerability vulnerability, VulnerabilityState state ) {
+        return new Vulnerability().withAssetUuid( vulnerability.getAssetUuid() ).withPluginID( vulnerability.getPluginID() )
+                .withPort( vulnerability.getPort() ).withProtocol( vulnerability.getProtocol() ).withVulnerabilityState( state );
+    }
+
+
+    private static List<File> write( List<Vulnerability> vulnerabilities ) throws Exception {
+        List<File> chunkFiles = new ArrayList<>();
+        for( int from = 0; from < vulnerabilities.size(); from += 300 ) {
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                new JsonHelper().getObjectMapper().writeValue( out, vulnerabilities.subList( from, Math.min( from + 300, vulnerabilities.size() ) ) );
+            }
+            chunkFiles.add( chunkFile );
+        }
+        return chunkFiles;
+    }
+}
@@ -0,0 +1,116 @@
+package com.tenable.io.api.exports.index;
+
+
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class FindingIndexTest {
+
+    @Test
+    public void testBitmapAlgebra() throws Exception {
+        Random random = new Random( 42 );
+        for( int round = 0; round < 20; round++ ) {
+            BitSet left = randomSet( random );
+            BitSet right = randomSet( random );
+            CompressedBitmap leftBitmap = CompressedBitmap.of( left.stream().toArray() );
+            CompressedBitmap rightBitmap = CompressedBitmap.of( right.stream().toArray() );
+            assertEquals( left.cardinality(), leftBitmap.getCardinality() );
+
+            BitSet and = (BitSet) left.clone();
+            and.and( right );
+            BitSet or = (BitSet) left.clone();
+            or.or( right );
+            BitSet andNot = (BitSet) left.clone();
+            andNot.andNot( right );
+            assertArrayEquals( and.stream().toArray(), leftBitmap.and( rightBitmap ).toArray() );
+            assertArrayEquals( or.stream().toArray(), leftBitmap.or( rightBitmap ).toArray() );
+            assertArrayEquals( andNot.stream().toArray(), leftBitmap.andNot( rightBitmap ).toArray() );
+            assertEquals( and.cardinality(), leftBitmap.and( rightBitmap ).getCardinality() );
+            assertEquals( or.cardinality(), leftBitmap.or( rightBitmap ).getCardinality() );
+        }
+        assertTrue( CompressedBitmap.of( 1, 70000 ).contains( 70000 ) );
+        assertFalse( CompressedBitmap.of( 1, 70000 ).contains( 2 ) );
+        assertTrue( CompressedBitmap.of( 1 ).andNot( CompressedBitmap.of( 1 ) ).isEmpty() );
+    }
+
+
+    @Test
+    public void testIndex() throws Exception {
+        List<UUID> assets = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            assets.add( UUID.randomUUID() );
+        }
+        FindingIndexBuilder builder = new FindingIndexBuilder();
+        for( int i = 0; i < 1000; i++ ) {
+            // every asset has plugin 1; even assets plugin 2 with CVE-A; multiples of 3 plugin 3
+            builder.accept( new Vulnerability().withAssetUuid( assets.get( i ) ).withPluginID( 1 ).withSeverity( SeverityLevel.LOW )
+                    .withVulnerabilityState( VulnerabilityState.OPEN ) );
+            if( i % 2 == 0 ) {
+                builder.accept( new Vulnerability().withAssetUuid( assets.get( i ) ).withPluginID( 2 ).withCves( Arrays.asList( "CVE-A", "CVE-B" ) )
+                        .withPluginFamily( "Windows" ).withSeverity( SeverityLevel.CRITICAL ) );
+            }
+            if( i % 3 == 0 ) {
+                builder.accept( new Vulnerability().withAssetUuid( assets.get( i ) ).withPluginID( 3 ) );
+            }
+        }
+        builder.accept( new Vulnerability().withPluginID( 4 ) );
+        FindingIndex built = builder.build();
+
+        File file = File.createTempFile( "index", ".bin" );
+        file.deleteOnExit();
+        built.write( file );
+        FindingIndex loaded = FindingIndex.load( file );
+
+        List<UUID> expected = new ArrayList<>();
+        for( int i = 0; i < 1000; i++ ) {
+            if( i % 2 == 0 && i % 3 != 0 ) {
+                expected.add( assets.get( i ) );
+            }
+        }
+        for( FindingIndex index : new FindingIndex[] { built, loaded } ) {
+            assertEquals( 1000, index.getAssetCount() );
+            assertEquals( expected, index.getAssetUuids( index.cve( "CVE-A" ).and( index.pluginId( 1 ) ).andNot( index.pluginId( 3 ) ) ) );
+            assertEquals( 500, index.severity( SeverityLevel.CRITICAL ).getCardinality() );
+            assertEquals( 1000, index.severity( SeverityLevel.CRITICAL ).or( index.state( VulnerabilityState.OPEN ) ).getCardinality() );
+            assertEquals( 500, index.allAssets().andNot( index.pluginFamily( "Windows" ) ).getCardinality() );
+            assertTrue( index.pluginId( 4 ).isEmpty() );
+            assertEquals( new HashSet<>( Arrays.asList( "1", "2", "3" ) ), index.getTerms( IndexField.PLUGIN_ID ) );
+            assertEquals( Collections.singletonList( assets.get( 0 ) ), index.getAssetUuids( CompressedBitmap.of( 0 ) ) );
+        }
+    }
+
+
+    private static BitSet randomSet( Random random ) {
+        BitSet result = new BitSet();
+        int blocks = 1 + random.nextInt( 4 );
+        for( int block = 0; block < blocks; block++ ) {
+            int base = random.nextInt( 8 ) << 16;
+            int count = random.nextBoolean() ? random.nextInt( 100 ) : 3000 + random.nextInt( 20000 );
+            for( int i = 0; i < count; i++ ) {
+                result.set( base + random.nextInt( 65536 ) );
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package com.tenable.io.api.exports.join;
+
+
+import com.tenable.io.api.models.Asset;
+import com.tenable.io.api.models.AssetVulnerabilities;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class AssetVulnerabilityJoinTest {
+
+    @Test
+    public void testJoin() throws Exception {
+        List<Asset> assets = new ArrayList<>();
+        for( int i = 0; i < 200; i++ ) {
+            assets.add( new Asset().withId( UUID.randomUUID() ).withHostName( "host" + i ) );
+        }
+        UUID unknown = UUID.randomUUID();
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 2000; i++ ) {
+            // assets 150 and above have no vulnerabilities
+            UUID assetUuid = i % 100 == 99 ? unknown : assets.get( ( i * 7 ) % 150 ).getId();
+            vulnerabilities.add( new Vulnerability().withAssetUuid( assetUuid ).withPluginID( i ) );
+        }
+        vulnerabilities.add( new Vulnerability().withPluginID( -1 ) );
+        List<File> assetFiles = write( assets );
+        List<File> vulnFiles = write( vulnerabilities );
+
+        File directory = Files.createTempDirectory( "join" ).toFile();
+        directory.deleteOnExit();
+        AssetVulnerabilityJoin inMemory = new AssetVulnerabilityJoin( directory, AssetVulnerabilityJoin.DEFAULT_MEMORY_BUDGET );
+        AssetVulnerabilityJoin partitioned = new AssetVulnerabilityJoin( directory, 4096 );
+        assertEquals( 1, inMemory.getPartitionCount( assetFiles, vulnFiles ) );
+        assertTrue( partitioned.getPartitionCount( assetFiles, vulnFiles ) > 1 );
+
+        for( AssetVulnerabilityJoin join : new AssetVulnerabilityJoin[] { inMemory, partitioned } ) {
+            Map<String, AssetVulnerabilities> results = new HashMap<>();
+            join.join( assetFiles, vulnFiles, result -> results.put( result.getName(), result ) );
+            assertEquals( 0, directory.list().length );
+            assertEquals( 201, results.size() );
+
+            for( int i = 0; i < assets.size(); i++ ) {
+                AssetVulnerabilities result = results.get( "host" + i );
+                assertEquals( assets.get( i ).getId(), result.getAsset().getId() );
+                List<Long> expected = new ArrayList<>();
+                for( Vulnerability vulnerability : vulnerabilities ) {
+                    if( assets.get( i ).getId().equals( vulnerability.getAssetUuid() ) ) {
+                        expected.add( vulnerability.getPluginID() );
+                    }
+                }
+                List<Long> actual = new ArrayList<>();
+                for( Vulnerability vulnerability : result.getVulnerabilities() ) {
+                    actual.add( vulnerability.getPluginID() );
+                }
+                assertEquals( expected, actual );
+            }
+            AssetVulnerabilities missing = results.get( unknown.toString() );
+            assertNull( missing.getAsset() );
+            assertEquals( 20, missing.getVulnerabilities().size() );
+        }
+    }
+
+
+    @Test
+    public void testPartitionCountCompressed() throws Exception {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for( int i = 0; i < 2000; i++ ) {
+            vulnerabilities.add( new Vulnerability().withAssetUuid( new UUID( 0, i % 10 ) ).withPluginID( i % 10 ).withDescription( "description" ) );
+        }
+        List<File> vulnFiles = write( vulnerabilities );
+        List<File> compressedFiles = new ArrayList<>();
+        long compressedSize = 0;
+        for( File chunkFile : vulnFiles ) {
+            File compressedFile = File.createTempFile( "chunk", ".json.gz" );
+            compressedFile.deleteOnExit();
+            try( OutputStream out = new GZIPOutputStream( new FileOutputStream( compressedFile ) ) ) {
+                Files.copy( chunkFile.toPath(), out );
+            }
+            compressedFiles.add( compressedFile );
+            compressedSize += compressedFile.length();
+        }
+
+        // the compressed files fit the budget, but they are joined uncompressed
+        File directory = Files.createTempDirectory( "join" ).toFile();
+        directory.deleteOnExit();
+        AssetVulnerabilityJoin join = new AssetVulnerabilityJoin( directory, compressedSize );
+        int partitionCount = join.getPartitionCount( Collections.emptyList(), vulnFiles );
+        assertTrue( partitionCount > 1 );
+        assertEquals( partitionCount, join.getPartitionCount( Collections.emptyList(), compressedFiles ) );
+    }
+
+
+    private static List<File> write( List<?> records ) throws Exception {
+        List<File> chunkFiles = new ArrayList<>();
+        for( int from = 0; from < records.size(); from += 500 ) {
+            File chunkFile = File.createTempFile( "chunk", ".json" );
+            chunkFile.deleteOnExit();
+            try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+                new JsonHelper().getObjectMapper().writeValue( out, records.subList( from, Math.min( from + 500, records.size() ) ) );
+            }
+            chunkFiles.add( chunkFile );
+        }
+        return chunkFiles;
+    }
+}
@@ -0,0 +1,113 @@
+package com.tenable.io.api.exports.models;
+
+
+import com.tenable.io.api.exports.models.ExportMetrics.ExportType;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class ExportProgressTest {
+
+    @Test
+    public void testEstimates() {
+        ManualClock clock = new ManualClock();
+        ExportProgress progress = new ExportProgress( ExportType.VULNS, "uuid", 0, clock );
+
+        // nothing to estimate from until the server finished a chunk
+        progress.update( status( Status.QUEUED, 0, 0, Arrays.<Integer>asList() ) );
+        assertEquals( -1, progress.getEstimatedServerRemainingMillis() );
+        assertEquals( -1, progress.getEstimatedRemainingMillis() );
+        assertEquals( -1, progress.getEstimatedCompletionTime() );
+
+        // 2 of 10 chunks in 20 s: 80 s left on the server
+        clock.millis = 20000;
+        progress.update( status( Status.PROCESSING, 10, 2, Arrays.asList( 1, 2 ) ) );
+        assertEquals( 80000, progress.getEstimatedServerRemainingMillis() );
+        assertEquals( 80000, progress.getEstimatedRemainingMillis() );
+        assertEquals( 100000, progress.getEstimatedCompletionTime() );
+        assertEquals( 2, progress.getChunksAvailable() );
+
+        // finished at 100 s, nothing downloaded yet
+        clock.millis = 100000;
+        progress.update( status( Status.FINISHED, 10, 10, Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 ) ) );
+        assertEquals( 0, progress.getEstimatedServerRemainingMillis() );
+        assertEquals( -1, progress.getEstimatedRemainingMillis() );
+
+        // 2 of 10 chunks downloaded in 10 s: 40 s left
+        clock.millis = 110000;
+        progress.addDownloadedChunk( 1000, 50 );
+        progress.addDownloadedChunk( 1000, 60 );
+        assertEquals( 40000, progress.getEstimatedRemainingMillis() );
+        assertEquals( 150000, progress.getEstimatedCompletionTime() );
+        assertEquals( 110000, progress.getElapsedMillis() );
+        assertEquals( 2000 * 1000.0 / 110000, progress.getBytesPerSecond(), 1e-9 );
+        assertEquals( 110 * 1000.0 / 110000, progress.getRecordsPerSecond(), 1e-9 );
+
+        // the finish time is kept from the first finished status
+        clock.millis = 120000;
+        progress.update( status( Status.FINISHED, 10, 10, Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 ) ) );
+        assertEquals( 80000, progress.getEstimatedRemainingMillis() );
+    }
+
+
+    @Test
+    public void testEmptyExport() {
+        ManualClock clock = new ManualClock();
+        ExportProgress progress = new ExportProgress( ExportType.ASSETS, "uuid", 0, clock );
+        clock.millis = 5000;
+        progress.update( status( Status.FINISHED, 0, 0, Arrays.<Integer>asList() ) );
+        assertEquals( 0, progress.getEstimatedRemainingMillis() );
+        assertEquals( 5000, progress.getEstimatedCompletionTime() );
+        assertEquals( 0, progress.getBytesPerSecond(), 0 );
+    }
+
+
+    private static ExportStatus status( Status status, int totalChunks, int finishedChunks, List<Integer> chunksAvailable ) {
+        ExportStatus exportStatus = new ExportStatus();
+        exportStatus.setStatus( status );
+        exportStatus.setTotalChunks( totalChunks );
+        exportStatus.setFinishedChunks( finishedChunks );
+        exportStatus.setChunksAvailable( chunksAvailable );
+        return exportStatus;
+    }
+
+
+    private static class ManualClock extends Clock {
+        private long millis;
+
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+
+        @Override
+        public Clock withZone( ZoneId zone ) {
+            return this;
+        }
+
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli( millis );
+        }
+    }
+}
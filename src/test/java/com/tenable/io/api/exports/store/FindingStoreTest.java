@@ -0,0 +1,162 @@
+package com.tenable.io.api.exports.store;
+
+
+import com.tenable.io.api.exports.models.FindingKey;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.models.VulnerabilityState;
+import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.JsonHelper;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class FindingStoreTest {
+
+    @Test
+    public void testUpsertsAndCompaction() throws Exception {
+        UUID[] assets = new UUID[10];
+        for( int i = 0; i < assets.length; i++ ) {
+            assets[i] = UUID.randomUUID();
+        }
+        File directory = Files.createTempDirectory( "store" ).toFile();
+        directory.deleteOnExit();
+        Map<FindingKey, Long> expected = new HashMap<>();
+
+        try( FindingStore store = new FindingStore( directory, 4096, 100 ) ) {
+            for( int round = 0; round < 3; round++ ) {
+                for( int i = 0; i < 500; i++ ) {
+                    VulnerabilityState state = ( i + round ) % 4 == 0 ? VulnerabilityState.FIXED : VulnerabilityState.OPEN;
+                    Vulnerability vulnerability = vulnerability( assets[i % assets.length], i, state ).withLastFound( new Date( round ) );
+                    store.upsert( vulnerability );
+                    if( state == VulnerabilityState.FIXED ) {
+                        expected.remove( FindingKey.of( vulnerability ) );
+                    } else {
+                        expected.put( FindingKey.of( vulnerability ), (long) round );
+                    }
+                }
+            }
+            assertTrue( store.getSegmentCount() > 2 );
+            check( store, expected, assets );
+
+            store.compact();
+            assertEquals( 1, store.getSegmentCount() );
+            check( store, expected, assets );
+
+            // left in the log only
+            Vulnerability extra = vulnerability( assets[0], 10000, VulnerabilityState.OPEN ).withLastFound( new Date( 3 ) );
+            store.upsert( extra );
+            expected.put( FindingKey.of( extra ), 3L );
+            store.delete( FindingKey.of( vulnerability( assets[1], 1, VulnerabilityState.OPEN ) ) );
+            expected.remove( FindingKey.of( vulnerability( assets[1], 1, VulnerabilityState.OPEN ) ) );
+        }
+
+        try( FindingStore store = new FindingStore( directory, 4096, 100 ) ) {
+            check( store, expected, assets );
+        }
+    }
+
+
+    @Test
+    public void testApplyExport() throws Exception {
+        UUID asset = UUID.randomUUID();
+        List<Vulnerability> first = new ArrayList<>();
+        List<Vulnerability> second = new ArrayList<>();
+        for( int i = 0; i < 100; i++ ) {
+            first.add( vulnerability( asset, i, VulnerabilityState.OPEN ) );
+            if( i % 2 == 0 ) {
+                second.add( vulnerability( asset, i, VulnerabilityState.FIXED ) );
+            }
+        }
+        File directory = Files.createTempDirectory( "store" ).toFile();
+        directory.deleteOnExit();
+        try( FindingStore store = new FindingStore( directory, 1024, 2 ) ) {
+            assertEquals( 100, store.applyExport( write( first ) ) );
+            assertEquals( 50, store.applyExport( write( second ) ) );
+            assertEquals( 50, store.count() );
+            assertNull( store.get( FindingKey.of( first.get( 0 ) ) ) );
+            assertEquals( 1, store.get( FindingKey.of( first.get( 1 ) ) ).getPluginID() );
+        }
+    }
+
+
+    @Test
+    public void testCloseDuringScan() throws Exception {
+        UUID asset = UUID.randomUUID();
+        File directory = Files.createTempDirectory( "store" ).toFile();
+        directory.deleteOnExit();
+        FindingStore store = new FindingStore( directory, 4096, 100 );
+        for( int i = 0; i < 500; i++ ) {
+            store.upsert( vulnerability( asset, i, VulnerabilityState.OPEN ) );
+        }
+        store.flush();
+        assertTrue( store.getSegmentCount() > 1 );
+
+        // the scan keeps its segments until it completes, and closing the store keeps their files
+        List<Vulnerability> scanned = new ArrayList<>();
+        store.forEach( vulnerability -> {
+            if( scanned.isEmpty() ) {
+                try {
+                    store.close();
+                } catch( TenableIoException e ) {
+                    throw new RuntimeException( e );
+                }
+            }
+            scanned.add( vulnerability );
+        } );
+        assertEquals( 500, scanned.size() );
+
+        try( FindingStore reopened = new FindingStore( directory, 4096, 100 ) ) {
+            assertEquals( 500, reopened.count() );
+        }
+    }
+
+
+    private static void check( FindingStore store, Map<FindingKey, Long> expected, UUID[] assets ) throws Exception {
+        Map<FindingKey, Long> actual = new HashMap<>();
+        store.forEach( vulnerability -> actual.put( FindingKey.of( vulnerability ), vulnerability.getLastFound().getTime() ) );
+        assertEquals( expected, actual );
+        assertEquals( expected.size(), store.count() );
+        for( int i = 0; i < 500; i++ ) {
+            FindingKey key = FindingKey.of( vulnerability( assets[i % assets.length], i, VulnerabilityState.OPEN ) );
+            Vulnerability stored = store.get( key );
+            if( expected.containsKey( key ) ) {
+                assertEquals( (long) expected.get( key ), stored.getLastFound().getTime() );
+            } else {
+                assertNull( stored );
+            }
+        }
+    }
+
+
+    private static Vulnerability vulnerability( UUID asset, long pluginId, VulnerabilityState state ) {
+        return new Vulnerability().withAssetUuid( asset ).withPluginID( pluginId ).withPort( 443 ).withProtocol( "TCP" ).withVulnerabilityState( state );
+    }
+
+
+    private static List<File> write( List<Vulnerability> vulnerabilities ) throws Exception {
+        File chunkFile = File.createTempFile( "chunk", ".json" );
+        chunkFile.deleteOnExit();
+        try( FileOutputStream out = new FileOutputStream( chunkFile ) ) {
+            new JsonHelper().getObjectMapper().writeValue( out, vulnerabilities );
+        }
+        List<File> chunkFiles = new ArrayList<>();
+        chunkFiles.add( chunkFile );
+        return chunkFiles;
+    }
+}
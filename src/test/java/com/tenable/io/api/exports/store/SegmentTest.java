@@ -0,0 +1,79 @@
+package com.tenable.io.api.exports.store;
+
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class SegmentTest {
+
+    @Test
+    public void testLargeOffsets() throws Exception {
+        // 100 records of 32 MB: the second indexed record and the end of the data are past 2^31
+        final byte[] payload = new byte[32 * 1024 * 1024];
+        EntryIterator entries = new EntryIterator() {
+            private int count;
+
+
+            @Override
+            boolean next() {
+                if( count == 100 ) {
+                    return false;
+                }
+                high = 0;
+                low = count++;
+                value = payload;
+                return true;
+            }
+        };
+        SkippingOutputStream out = new SkippingOutputStream();
+        Segment.write( out, entries, false );
+
+        long recordSize = 8 + 8 + 1 + 4 + payload.length;
+        assertEquals( 100 * recordSize + 2 * 24 + 24, out.size );
+        ByteBuffer tail = ByteBuffer.wrap( out.kept.toByteArray(), out.kept.size() - 2 * 24 - 24, 2 * 24 + 24 );
+        assertEquals( 0, tail.getLong() );
+        assertEquals( 0, tail.getLong() );
+        assertEquals( 0, tail.getLong() );
+        assertEquals( 0, tail.getLong() );
+        assertEquals( Segment.SPARSE_INTERVAL, tail.getLong() );
+        assertEquals( Segment.SPARSE_INTERVAL * recordSize, tail.getLong() );
+        // footer: index size, record count, data end and magic number
+        assertEquals( 2, tail.getInt() );
+        assertEquals( 100, tail.getLong() );
+        assertEquals( 100 * recordSize, tail.getLong() );
+    }
+
+
+    /**
+     * Counts all bytes written but only keeps the small writes, i.e. everything but the record values.
+     */
+    private static class SkippingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream kept = new ByteArrayOutputStream();
+        private long size;
+
+
+        @Override
+        public void write( int b ) {
+            kept.write( b );
+            size++;
+        }
+
+
+        @Override
+        public void write( byte[] b, int off, int len ) {
+            if( len < 1024 * 1024 ) {
+                kept.write( b, off, len );
+            }
+            size += len;
+        }
+    }
+}
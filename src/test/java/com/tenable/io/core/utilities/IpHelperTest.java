@@ -3,11 +3,14 @@ package com.tenable.io.core.utilities;
 
 import com.tenable.io.core.exceptions.TenableIoErrorCode;
 import com.tenable.io.core.exceptions.TenableIoException;
+import com.tenable.io.core.utilities.models.IpAddress;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -91,6 +94,43 @@ public class IpHelperTest {
     }
 
 
+    @Test
+    public void testIpAddressParsing() throws TenableIoException {
+        assertEquals( 0xACD9048EL, IpAddressHelper.tryParseIpV4( "172.217.4.142" ) );
+        assertEquals( IpAddressHelper.NO_IPV4, IpAddressHelper.tryParseIpV4( "172.217.4.256" ) );
+        assertEquals( IpAddressHelper.NO_IPV4, IpAddressHelper.tryParseIpV4( "172.217.4" ) );
+        assertEquals( IpAddressHelper.NO_IPV4, IpAddressHelper.tryParseIpV4( "localhost" ) );
+
+        IpAddress address = IpAddressHelper.parseIpAddress( "172.217.4.142" );
+        assertTrue( address.isIpV4() );
+        assertEquals( 0xACD9048E, address.toInt() );
+        assertEquals( "172.217.4.142", address.toString() );
+        assertEquals( "172.217.4.142", address.toInetAddress().getHostAddress() );
+
+        address = IpAddressHelper.parseIpAddress( "2001:DB8:0:0:1:0:0:1" );
+        assertFalse( address.isIpV4() );
+        assertEquals( 0x20010db800000000L, address.getHigh() );
+        assertEquals( 0x0001000000000001L, address.getLow() );
+        assertEquals( "2001:db8::1:0:0:1", address.toString() );
+        assertEquals( address, IpAddressHelper.parseIpAddress( "[2001:db8::1:0:0:1]" ) );
+        assertEquals( "::", IpAddressHelper.parseIpAddress( "::" ).toString() );
+        assertEquals( "::1", IpAddressHelper.parseIpAddress( "0:0:0:0:0:0:0:1" ).toString() );
+        assertEquals( "fe80::", IpAddressHelper.parseIpAddress( "fe80::" ).toString() );
+        assertEquals( 0xffffc0a80101L, IpAddressHelper.parseIpAddress( "::ffff:192.168.1.1" ).getLow() );
+
+        String[] invalid = { "", "hello", "1::2::3", "1:2:3:4:5:6:7", "1:2:3:4:5:6:7:8:9", "12345::", "1:", ":1", "::1.2.3", "example.com" };
+        for( String ip : invalid ) {
+            assertNull( ip, IpAddressHelper.tryParseIpAddress( ip ) );
+        }
+        try {
+            IpAddressHelper.parseIpAddress( "localhost" );
+            fail();
+        } catch( TenableIoException tioe ) {
+            assertEquals( tioe.getErrorCode(), TenableIoErrorCode.InvalidParameter );
+        }
+    }
+
+
     @Test
     public void testIpRange() throws TenableIoException {
         IpRangeHelper.IpCidr ipCidr = IpRangeHelper.parseIpRange("172.217.4.142/24" );
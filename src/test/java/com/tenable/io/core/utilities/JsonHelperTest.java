@@ -0,0 +1,43 @@
+package com.tenable.io.core.utilities;
+
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.tenable.io.api.models.SeverityLevel;
+import com.tenable.io.api.models.Vulnerability;
+import com.tenable.io.api.scans.models.ScanDetails;
+import com.tenable.io.core.utilities.models.Projection;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class JsonHelperTest {
+    @Test
+    public void testProjection() {
+        JsonHelper jsonHelper = new JsonHelper();
+
+        String details = "{\"info\":{\"policy\":\"Basic\",\"folder_id\":3},\"hosts\":[{\"host_id\":1,\"hostname\":\"a\"},{\"host_id\":2,\"hostname\":\"b\"}]," +
+                "\"vulnerabilities\":[{\"plugin_id\":19506,\"plugin_name\":\"Nessus Scan Information\"}]}";
+        ScanDetails scanDetails = jsonHelper.fromJson( details, ScanDetails.class, Projection.of( "info.policy", "hosts.hostname" ) );
+        assertEquals( "Basic", scanDetails.getInfo().getPolicy() );
+        assertEquals( 0, scanDetails.getInfo().getFolderId() );
+        assertEquals( 2, scanDetails.getHosts().size() );
+        assertEquals( "b", scanDetails.getHosts().get( 1 ).getHostname() );
+        assertEquals( 0, scanDetails.getHosts().get( 1 ).getHostId() );
+        assertNull( scanDetails.getVulnerabilities() );
+
+        String vulns = "[{\"pluginID\":19506,\"port\":443,\"severity\":\"high\",\"description\":\"text\",\"cves\":[\"CVE-2018-0001\"]},{\"description\":\"text\"}]";
+        List<Vulnerability> vulnerabilities = jsonHelper.fromJson( vulns, new TypeReference<List<Vulnerability>>() {}, Projection.of( "severity", "pluginID", "port" ) );
+        assertEquals( 2, vulnerabilities.size() );
+        assertEquals( 19506, vulnerabilities.get( 0 ).getPluginID() );
+        assertEquals( SeverityLevel.HIGH, vulnerabilities.get( 0 ).getSeverity() );
+        assertNull( vulnerabilities.get( 0 ).getDescription() );
+        assertNull( vulnerabilities.get( 0 ).getCves() );
+    }
+}
@@ -0,0 +1,33 @@
+package com.tenable.io.core.utilities;
+
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+/**
+ * Copyright (c) 2018 Tenable Network Security, Inc.
+ */
+public class TimestampHelperTest {
+    @Test
+    public void testTryParse() {
+        assertEquals( 1520899200000L, TimestampHelper.tryParse( "2018-03-13" ) );
+        assertEquals( 1520943000000L, TimestampHelper.tryParse( "2018-03-13T12:10Z" ) );
+        assertEquals( 1520943017000L, TimestampHelper.tryParse( "2018-03-13T12:10:17Z" ) );
+        assertEquals( 1520943017123L, TimestampHelper.tryParse( "2018-03-13T12:10:17.123456Z" ) );
+        assertEquals( 1520943017500L, TimestampHelper.tryParse( "2018-03-13T12:10:17.5" ) );
+        assertEquals( 1520943017000L, TimestampHelper.tryParse( "2018-03-13T14:10:17+02:00" ) );
+        assertEquals( 1520943017000L, TimestampHelper.tryParse( "2018-03-13T07:40:17-0430" ) );
+        assertEquals( 1520943017000L, TimestampHelper.tryParse( "2018-03-13T13:10:17+01" ) );
+        assertEquals( 951782400000L, TimestampHelper.tryParse( "2000-02-29" ) );
+        assertEquals( -86400000L, TimestampHelper.tryParse( "1969-12-31" ) );
+        assertEquals( 1520943017000L, TimestampHelper.tryParse( "1520943017000" ) );
+
+        assertEquals( TimestampHelper.NO_TIMESTAMP, TimestampHelper.tryParse( "" ) );
+        assertEquals( TimestampHelper.NO_TIMESTAMP, TimestampHelper.tryParse( "2018-02-29" ) );
+        assertEquals( TimestampHelper.NO_TIMESTAMP, TimestampHelper.tryParse( "2018-03-13T25:00Z" ) );
+        assertEquals( TimestampHelper.NO_TIMESTAMP, TimestampHelper.tryParse( "2018-03-13T12:10:17Zx" ) );
+        assertEquals( TimestampHelper.NO_TIMESTAMP, TimestampHelper.tryParse( "Tue, 13 Mar 2018" ) );
+    }
+}